@@ -0,0 +1,34 @@
+// Darkens the sector of the ball for the time which has passed in the turn, sweeping counter-clockwise from the top.
+
+#ifdef GL_ES
+precision mediump float;
+#endif
+
+uniform sampler2D u_texture;
+
+varying vec4 v_color;
+varying vec2 v_texCoords;
+
+// Distance from the center, relative to the radius, where the border of the ball begins
+const float BORDER_RADIUS = 0.88;
+// Opacity of the shadow at the center of the ball, and how much it increases towards the border
+const float SHADOW_ALPHA = 0.5;
+const float SHADOW_ALPHA_GRADIENT = 0.1;
+// Opacity of the shadow over the border of the ball
+const float BORDER_SHADOW_ALPHA = 0.42;
+const float TWO_PI = 6.2831853;
+
+void main() {
+    vec4 ball = texture2D(u_texture, v_texCoords);
+    vec2 position = v_color.rg * 2.0 - 1.0;
+    float radius = length(position);
+
+    // Angle from the top of the ball, counter-clockwise, from 0 to 1
+    float angle = atan(-position.x, position.y) / TWO_PI;
+    if (angle < 0.0)
+        angle += 1.0;
+
+    float shadow = (radius < BORDER_RADIUS) ? SHADOW_ALPHA + SHADOW_ALPHA_GRADIENT * radius : BORDER_SHADOW_ALPHA;
+    shadow *= step(angle, v_color.b);
+    gl_FragColor = vec4(ball.rgb * (1.0 - shadow), ball.a);
+}
@@ -0,0 +1,17 @@
+// Draws a ball with the time remaining in the turn. The corner of the ball each vertex belongs to is stored in the red
+// and green channels of its color, and the progress of the turn in the blue channel.
+
+uniform mat4 u_projTrans;
+
+attribute vec4 a_position;
+attribute vec4 a_color;
+attribute vec2 a_texCoord0;
+
+varying vec4 v_color;
+varying vec2 v_texCoords;
+
+void main() {
+    v_color = a_color;
+    v_texCoords = a_texCoord0;
+    gl_Position = u_projTrans * a_position;
+}
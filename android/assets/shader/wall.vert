@@ -0,0 +1,19 @@
+// Draws the walls from a static mesh. Each vertex is moved off screen by the slide offset of its wall, scaled by the
+// progress of the wall's slide-in animation.
+
+uniform mat4 u_projTrans;
+uniform float u_slideProgress[8];
+
+attribute vec4 a_position;
+attribute vec2 a_texCoord0;
+attribute vec2 a_slide;
+attribute float a_wall;
+
+varying vec2 v_texCoords;
+
+void main() {
+    v_texCoords = a_texCoord0;
+    vec4 position = a_position;
+    position.xy += a_slide * u_slideProgress[int(a_wall)];
+    gl_Position = u_projTrans * position;
+}
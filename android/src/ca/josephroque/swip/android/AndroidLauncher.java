@@ -1,5 +1,6 @@
 package ca.josephroque.swip.android;
 
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 
 import com.badlogic.gdx.backends.android.AndroidApplication;
@@ -12,6 +13,8 @@ public class AndroidLauncher extends AndroidApplication {
 		super.onCreate(savedInstanceState);
 		AndroidApplicationConfiguration config = new AndroidApplicationConfiguration();
 		config.numSamples = 2;
-		initialize(new SwipGame(), config);
+		// Debuggable builds are for testers, who can show the performance overlay
+		boolean debuggable = (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+		initialize(new SwipGame(debuggable), config);
 	}
 }
@@ -0,0 +1,108 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.entity.BasicBall;
+import ca.josephroque.swip.entity.GameBall;
+import ca.josephroque.swip.entity.GameColor;
+import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.game.GameSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single tick of a ball, which sweeps it against each wall. {@code GameBall.checkWalls()} is private, so it
+ * is measured through {@code GameBall.tick()} with a ball that is not moving.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameBallBenchmark {
+
+    /** Width of the simulated screen. */
+    private static final int WORLD_WIDTH = 1080;
+    /** Height of the simulated screen. */
+    private static final int WORLD_HEIGHT = 1920;
+
+    /** Walls the balls are checked against. */
+    private Wall[] mWalls;
+    /** Ball in the center of the screen, which touches no walls. */
+    private GameBall mBallInCenter;
+    /** Ball halfway through the top wall, which it can pass through. */
+    private GameBall mBallInPassableWall;
+    /** Ball touching the bottom wall, which it cannot pass through. */
+    private GameBall mBallInSolidWall;
+
+    /**
+     * Creates the walls and balls.
+     */
+    @Setup
+    public void setup() {
+        mWalls = new Wall[Wall.NUMBER_OF_WALLS];
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++)
+            mWalls[i] = new Wall(i, GameColor.get(i), WORLD_WIDTH, WORLD_HEIGHT);
+
+        final float wallSize = Wall.getDefaultWallSize(WORLD_WIDTH, WORLD_HEIGHT);
+        mBallInCenter = createBall(WORLD_WIDTH / 2, WORLD_HEIGHT / 2);
+        mBallInPassableWall = createBall(WORLD_WIDTH / 2, WORLD_HEIGHT - wallSize / 2);
+        mBallInSolidWall = createBall(WORLD_WIDTH / 2, wallSize);
+    }
+
+    /**
+     * Creates a fully grown ball which can only pass through the top wall.
+     *
+     * @param x horizontal position of the ball
+     * @param y vertical position of the ball
+     * @return the ball
+     */
+    private GameBall createBall(float x, float y) {
+        final boolean[] passableWalls = new boolean[Wall.NUMBER_OF_WALLS];
+        passableWalls[Wall.Side.Top.ordinal()] = true;
+        GameBall ball = new GameBall(GameColor.get(0),
+                passableWalls,
+                x,
+                y,
+                BasicBall.calculateDefaultBallRadius(WORLD_WIDTH, WORLD_HEIGHT));
+        ball.grow();
+        ball.tick(BasicBall.BALL_SCALE_TIME * 2, mWalls);
+        return ball;
+    }
+
+    /**
+     * Ticks a ball which touches no walls.
+     *
+     * @return {@code true} if the ball passed through a wall
+     */
+    @Benchmark
+    public boolean tickInCenter() {
+        mBallInCenter.tick(GameSimulation.TIME_STEP, mWalls);
+        return mBallInCenter.hasPassedThroughWall();
+    }
+
+    /**
+     * Ticks a ball which is passing through a wall.
+     *
+     * @return {@code true} if the ball passed through a wall
+     */
+    @Benchmark
+    public boolean tickInPassableWall() {
+        mBallInPassableWall.tick(GameSimulation.TIME_STEP, mWalls);
+        return mBallInPassableWall.hasPassedThroughWall();
+    }
+
+    /**
+     * Ticks a ball which has hit a wall it cannot pass through.
+     *
+     * @return {@code true} if the ball hit a wall it cannot pass through
+     */
+    @Benchmark
+    public boolean tickInSolidWall() {
+        mBallInSolidWall.tick(GameSimulation.TIME_STEP, mWalls);
+        return mBallInSolidWall.hasHitInvalidWall();
+    }
+}
@@ -0,0 +1,76 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.input.GameInputProcessor;
+import com.badlogic.gdx.math.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calculating the velocity of the player's finger, which happens when a ball is released.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameInputBenchmark {
+
+    /** Height of the simulated screen. */
+    private static final int SCREEN_HEIGHT = 1920;
+    /** Number of nanoseconds between simulated touch events. */
+    private static final long EVENT_INTERVAL = 16666667L;
+
+    /** Input processor with a full finger history. */
+    private GameInputProcessor mGameInput;
+    /** Time of the next simulated touch event. */
+    private long mEventTime;
+    /** Vertical location of the next simulated touch event. */
+    private int mEventY;
+
+    /**
+     * Fills the finger history of the input processor.
+     */
+    @Setup
+    public void setup() {
+        mGameInput = new GameInputProcessor(SCREEN_HEIGHT);
+        mEventY = SCREEN_HEIGHT / 2;
+        mGameInput.touchDownAt(0, mEventY, 0, mEventTime);
+        for (int i = 0; i < 10; i++)
+            drag();
+    }
+
+    /**
+     * Simulates the finger moving up the screen.
+     */
+    private void drag() {
+        mEventTime += EVENT_INTERVAL;
+        mEventY = (mEventY > 0) ? mEventY - 1 : SCREEN_HEIGHT;
+        mGameInput.touchDraggedAt(0, mEventY, 0, mEventTime);
+    }
+
+    /**
+     * Calculates the velocity from the current history.
+     *
+     * @return the velocity
+     */
+    @Benchmark
+    public Vector2 calculateFingerDragVelocity() {
+        return mGameInput.calculateFingerDragVelocity();
+    }
+
+    /**
+     * Records a new location of the finger and then calculates the velocity.
+     *
+     * @return the velocity
+     */
+    @Benchmark
+    public Vector2 dragAndCalculateFingerDragVelocity() {
+        drag();
+        return mGameInput.calculateFingerDragVelocity();
+    }
+}
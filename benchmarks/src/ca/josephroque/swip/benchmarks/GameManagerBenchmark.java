@@ -0,0 +1,127 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.game.GameSimulation;
+import ca.josephroque.swip.game.SyntheticPlayer;
+import ca.josephroque.swip.input.InputRecorder;
+import ca.josephroque.swip.manager.FontManager;
+import ca.josephroque.swip.manager.GameManager;
+import ca.josephroque.swip.manager.HeadlessBackend;
+import ca.josephroque.swip.manager.TextureManager;
+import ca.josephroque.swip.screen.GameScreen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full tick of the game manager while a synthetic player plays, including recording input. A new game is
+ * started whenever the player loses. Recordings are not saved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameManagerBenchmark {
+
+    /** Width of the simulated screen. */
+    private static final int SCREEN_WIDTH = 1080;
+    /** Height of the simulated screen. */
+    private static final int SCREEN_HEIGHT = 1920;
+
+    /** Loads the textures used by the game manager. */
+    private TextureManager mTextureManager;
+    /** Owns the texture atlas. */
+    private AssetManager mAssetManager;
+    /** Font for the score, in place of the game's font. */
+    private BitmapFont mFont;
+    /** Game manager being measured. */
+    private GameManager mGameManager;
+    /** Plays the game. */
+    private SyntheticPlayer mPlayer;
+    /** State passed to the game manager. */
+    private GameScreen.GameState mGameState;
+
+    /** Tracks the state of the game, as {@code GameScreen} would. */
+    private final GameManager.GameCallback mGameCallback = new GameManager.GameCallback() {
+        @Override
+        public void startGame() {
+            mGameState = GameScreen.GameState.GamePlaying;
+        }
+
+        @Override
+        public void pauseGame() {
+            // does nothing
+        }
+
+        @Override
+        public void ballReleased() {
+            // does nothing
+        }
+
+        @Override
+        public void endGame(int finalScore) {
+            mGameState = GameScreen.GameState.Ended;
+        }
+    };
+
+    /**
+     * Creates the game manager and starts a game.
+     */
+    @Setup
+    public void setup() {
+        HeadlessBackend.start();
+        mAssetManager = HeadlessBackend.loadTextureAtlas();
+        mTextureManager = new TextureManager(mAssetManager);
+        mFont = new BitmapFont();
+        FontManager.initialize(mFont);
+        mGameManager = new GameManager(mGameCallback,
+                mTextureManager,
+                new InputRecorder(),
+                SCREEN_WIDTH,
+                SCREEN_HEIGHT);
+        // Local storage is the working directory, which holds the game's assets, and saving is not part of a tick
+        mGameManager.setReplayFile(null);
+        mPlayer = new SyntheticPlayer(0.35f, 0.1f, 0.98f, 5000f, new Random(0));
+        startGame();
+    }
+
+    /**
+     * Frees the game manager and textures.
+     */
+    @TearDown
+    public void tearDown() {
+        mGameManager.dispose();
+        mTextureManager.dispose();
+        mAssetManager.dispose();
+        FontManager.dispose();
+        mFont.dispose();
+    }
+
+    /**
+     * Starts a new game.
+     */
+    private void startGame() {
+        mGameManager.prepareNewGame();
+        mGameState = GameScreen.GameState.GameStarting;
+    }
+
+    /**
+     * Simulates a single step of the game.
+     */
+    @Benchmark
+    public void tick() {
+        if (mGameState == GameScreen.GameState.Ended)
+            startGame();
+
+        mPlayer.think(mGameManager.getSimulation(), GameSimulation.TIME_STEP);
+        mGameManager.tick(mGameState, mPlayer, GameSimulation.TIME_STEP);
+    }
+}
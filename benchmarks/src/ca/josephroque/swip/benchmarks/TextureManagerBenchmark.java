@@ -0,0 +1,91 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.entity.GameColor;
+import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.manager.HeadlessBackend;
+import ca.josephroque.swip.manager.TextureManager;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up the textures drawn for each wall, every frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextureManagerBenchmark {
+
+    /** Sides of the walls. */
+    private static final Wall.Side[] SIDES = Wall.Side.values();
+
+    /** Loads the textures. */
+    private TextureManager mTextureManager;
+    /** Owns the texture atlas. */
+    private AssetManager mAssetManager;
+    /** Index of the next wall to look up, so each lookup uses a different key. */
+    private int mNextWall;
+
+    /**
+     * Loads the textures.
+     */
+    @Setup
+    public void setup() {
+        HeadlessBackend.start();
+        mAssetManager = HeadlessBackend.loadTextureAtlas();
+        mTextureManager = new TextureManager(mAssetManager);
+    }
+
+    /**
+     * Frees the textures.
+     */
+    @TearDown
+    public void tearDown() {
+        mTextureManager.dispose();
+        mAssetManager.dispose();
+    }
+
+    /**
+     * Looks up the texture of a wall.
+     *
+     * @return the texture
+     */
+    @Benchmark
+    public TextureRegion getWallTexture() {
+        final int wall = nextWall();
+        return mTextureManager.getWallTexture(SIDES[wall % Wall.NUMBER_OF_WALLS],
+                GameColor.get(wall / Wall.NUMBER_OF_WALLS));
+    }
+
+    /**
+     * Looks up the edge of a wall.
+     *
+     * @return the texture
+     */
+    @Benchmark
+    public TextureRegion getWallEdge() {
+        final int wall = nextWall();
+        return mTextureManager.getWallEdge(SIDES[wall % Wall.NUMBER_OF_WALLS],
+                GameColor.get(wall / Wall.NUMBER_OF_WALLS),
+                (wall & 1) == 0);
+    }
+
+    /**
+     * Gets the index of the next wall to look up.
+     *
+     * @return an index which cycles through every combination of side and color
+     */
+    private int nextWall() {
+        mNextWall = (mNextWall + 1) % (Wall.NUMBER_OF_WALLS * GameColor.getSize());
+        return mNextWall;
+    }
+}
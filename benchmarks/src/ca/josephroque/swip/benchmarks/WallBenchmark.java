@@ -0,0 +1,59 @@
+package ca.josephroque.swip.benchmarks;
+
+import ca.josephroque.swip.entity.GameColor;
+import ca.josephroque.swip.entity.Wall;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures choosing the colors of the walls for a new turn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WallBenchmark {
+
+    /** Number of colors walls can be assigned, from the start of the game to when all colors are in use. */
+    @Param({"4", "8"})
+    public int totalActiveColors;
+
+    /** Generates random numbers for the colors. */
+    private Random mRandom;
+    /** Colors walls can be assigned. */
+    private GameColor[] mActiveColors;
+    /** Colors chosen for the walls. */
+    private GameColor[] mWallColors;
+
+    /**
+     * Creates the color arrays.
+     */
+    @Setup
+    public void setup() {
+        mRandom = new Random(0);
+        mActiveColors = GameColor.values();
+        mWallColors = new GameColor[Wall.NUMBER_OF_WALLS];
+    }
+
+    /**
+     * Chooses random colors, with the chance of two walls being the same color.
+     *
+     * @return index of the first of two walls with the same color, or -1
+     */
+    @Benchmark
+    public int getRandomWallColors() {
+        return Wall.getRandomWallColors(mRandom,
+                mActiveColors,
+                totalActiveColors,
+                mWallColors,
+                Wall.CHANCE_OF_SAME_WALL_COLOR);
+    }
+}
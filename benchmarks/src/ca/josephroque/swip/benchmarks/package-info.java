@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks of the game's most frequently called code, which are not shipped with it.
+ */
+package ca.josephroque.swip.benchmarks;
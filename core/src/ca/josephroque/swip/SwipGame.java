@@ -16,11 +16,33 @@ public class SwipGame
     @SuppressWarnings("unused")
     private static final String TAG = "SwipGame";
 
+    /** Version of the application. Should match {@code versionName} in the Android manifest. */
+    public static final String VERSION = "1.0";
+
+    /** Indicates if the application was built for testers, who can show tools such as the performance overlay. */
+    private final boolean mTesterBuild;
+
+    /**
+     * Creates the game for players.
+     */
+    public SwipGame() {
+        this(false);
+    }
+
+    /**
+     * Creates the game.
+     *
+     * @param testerBuild {@code true} if the application was built for testers, such as a debuggable build
+     */
+    public SwipGame(boolean testerBuild) {
+        mTesterBuild = testerBuild;
+    }
+
     @Override
     public void create() {
         Gdx.app.setLogLevel(Application.LOG_DEBUG);
 
         // Opens the main menu when the application begins
-        setScreen(new GameScreen());
+        setScreen(new GameScreen(mTesterBuild));
     }
 }
@@ -24,7 +24,9 @@ public abstract class BasicBall
     /** Indicates if the static ball properties have been initialized. */
     private static boolean sBallsInitialized = false;
 
-    /** Scale for the ball radius, where {@code 1 = sMaximumBallRadius}. */
+    /** Radius of the ball when it is fully grown. */
+    private float mDefaultRadius;
+    /** Scale for the ball radius, where {@code 1 = mDefaultRadius}. */
     private float mScale;
     /** Number of milliseconds the ball has been scaling for. */
     private float mScaleTime = BALL_SCALE_TIME;
@@ -36,13 +38,20 @@ public abstract class BasicBall
     private boolean mScalingCompleted;
 
     /** Color of the ball. */
-    private final TextureManager.GameColor mBallColor;
+    private GameColor mBallColor;
     /** Callback interface for completion or interruption of scaling. */
     private ScalingCompleteListener mScalingListener;
 
     /** Circle which defines the ball's positioning. */
     private Circle mBoundingCircle;
 
+    /** Horizontal position of the ball when {@code savePreviousState()} was last called. */
+    private float mPreviousX;
+    /** Vertical position of the ball when {@code savePreviousState()} was last called. */
+    private float mPreviousY;
+    /** Radius of the ball when {@code savePreviousState()} was last called. */
+    private float mPreviousRadius;
+
     /**
      * Prepares a new {@code BasicBall} instance. New balls will begin to grow when they are created.
      *
@@ -50,12 +59,53 @@ public abstract class BasicBall
      * @param x horizontal position of the ball
      * @param y vertical position of the ball
      */
-    public BasicBall(TextureManager.GameColor color, float x, float y) {
-        if (!sBallsInitialized)
-            throw new IllegalStateException("Must call initialize before creating any instances");
+    public BasicBall(GameColor color, float x, float y) {
+        this(color, x, y, getDefaultBallRadius());
+    }
 
+    /**
+     * Prepares a new {@code BasicBall} instance with a specific size, rather than the size shared by all balls. New
+     * balls will begin to grow when they are created.
+     *
+     * @param color color of the ball
+     * @param x horizontal position of the ball
+     * @param y vertical position of the ball
+     * @param defaultRadius radius of the ball when it is fully grown
+     */
+    public BasicBall(GameColor color, float x, float y, float defaultRadius) {
+        mBoundingCircle = new Circle();
+        reinitialize(color, x, y, defaultRadius);
+    }
+
+    /**
+     * Returns the ball to the state of a newly created ball, so it can be reused instead of creating a new ball. The
+     * scaling listener is kept.
+     *
+     * @param color color of the ball
+     * @param x horizontal position of the ball
+     * @param y vertical position of the ball
+     * @param defaultRadius radius of the ball when it is fully grown
+     */
+    protected void reinitialize(GameColor color, float x, float y, float defaultRadius) {
+        mDefaultRadius = defaultRadius;
         mBallColor = color;
-        mBoundingCircle = new Circle(x, y, 0);
+        mScale = 0;
+        mScaleTime = BALL_SCALE_TIME;
+        mGrowingOrShrinking = false;
+        mHidden = false;
+        mScalingCompleted = false;
+        mBoundingCircle.set(x, y, 0);
+        stopMoving();
+        savePreviousState();
+    }
+
+    /**
+     * Returns the color of the ball.
+     *
+     * @return {@code mBallColor}
+     */
+    public GameColor getColor() {
+        return mBallColor;
     }
 
     /**
@@ -65,8 +115,8 @@ public abstract class BasicBall
      * @param screenHeight height of the screen
      */
     public void resize(int screenWidth, int screenHeight) {
-        sDefaultBallRadius = Math.min(screenWidth, screenHeight) * BALL_SIZE_MULTIPLIER;
-        mBoundingCircle.setRadius(sDefaultBallRadius * mScale);
+        mDefaultRadius = calculateDefaultBallRadius(screenWidth, screenHeight);
+        mBoundingCircle.setRadius(mDefaultRadius * mScale);
     }
 
     /**
@@ -85,14 +135,66 @@ public abstract class BasicBall
      * @param textureManager to get texture to draw
      */
     public void draw(SpriteBatch spriteBatch, TextureManager textureManager) {
+        draw(spriteBatch, textureManager, 1f);
+    }
+
+    /**
+     * Draws the ball to the screen, at a position between its previous and current state.
+     *
+     * @param spriteBatch graphics context to draw to
+     * @param textureManager to get texture to draw
+     * @param interpolation progress from the previous state to the current state, from 0 to 1
+     */
+    public void draw(SpriteBatch spriteBatch, TextureManager textureManager, float interpolation) {
         if (isHidden())
             return;
 
+        final float radius = getInterpolatedRadius(interpolation);
         spriteBatch.draw(textureManager.getBallTexture(mBallColor),
-                getX() - getRadius(),
-                getY() - getRadius(),
-                getWidth(),
-                getHeight());
+                getInterpolatedX(interpolation) - radius,
+                getInterpolatedY(interpolation) - radius,
+                radius * 2,
+                radius * 2);
+    }
+
+    /**
+     * Stores the current position and size of the ball, so it can be drawn between its state in the last tick and its
+     * state in the next tick.
+     */
+    public void savePreviousState() {
+        mPreviousX = mBoundingCircle.x;
+        mPreviousY = mBoundingCircle.y;
+        mPreviousRadius = mBoundingCircle.radius;
+    }
+
+    /**
+     * Gets the horizontal position of the ball between its previous and current state.
+     *
+     * @param interpolation progress from the previous state to the current state, from 0 to 1
+     * @return interpolated horizontal position
+     */
+    public float getInterpolatedX(float interpolation) {
+        return mPreviousX + (mBoundingCircle.x - mPreviousX) * interpolation;
+    }
+
+    /**
+     * Gets the vertical position of the ball between its previous and current state.
+     *
+     * @param interpolation progress from the previous state to the current state, from 0 to 1
+     * @return interpolated vertical position
+     */
+    public float getInterpolatedY(float interpolation) {
+        return mPreviousY + (mBoundingCircle.y - mPreviousY) * interpolation;
+    }
+
+    /**
+     * Gets the radius of the ball between its previous and current state.
+     *
+     * @param interpolation progress from the previous state to the current state, from 0 to 1
+     * @return interpolated radius
+     */
+    public float getInterpolatedRadius(float interpolation) {
+        return mPreviousRadius + (mBoundingCircle.radius - mPreviousRadius) * interpolation;
     }
 
     /**
@@ -120,7 +222,7 @@ public abstract class BasicBall
             }
         }
 
-        mBoundingCircle.setRadius(sDefaultBallRadius * mScale);
+        mBoundingCircle.setRadius(mDefaultRadius * mScale);
     }
 
     /**
@@ -191,6 +293,16 @@ public abstract class BasicBall
         return mScaleTime < BALL_SCALE_TIME;
     }
 
+    /**
+     * Checks if the ball will change in the next tick, because it is scaling or has not yet notified its listener that
+     * scaling completed.
+     *
+     * @return {@code true} if the ball is visible and still animating
+     */
+    public boolean isAnimating() {
+        return !mHidden && (isScaling() || !mScalingCompleted);
+    }
+
     /**
      * Checks if the ball has been hidden. Can only be unhidden by calling grow().
      *
@@ -259,10 +371,21 @@ public abstract class BasicBall
      * @param screenHeight height of the screen
      */
     public static void initialize(int screenWidth, int screenHeight) {
-        sDefaultBallRadius = Math.min(screenWidth, screenHeight) * BALL_SIZE_MULTIPLIER;
+        sDefaultBallRadius = calculateDefaultBallRadius(screenWidth, screenHeight);
         sBallsInitialized = true;
     }
 
+    /**
+     * Calculates the radius of a fully grown ball for a screen of the given size.
+     *
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     * @return radius of a ball
+     */
+    public static float calculateDefaultBallRadius(int screenWidth, int screenHeight) {
+        return Math.min(screenWidth, screenHeight) * BALL_SIZE_MULTIPLIER;
+    }
+
     /**
      * Callback interface for when the ball has finished scaling.
      */
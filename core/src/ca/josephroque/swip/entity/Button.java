@@ -1,6 +1,6 @@
 package ca.josephroque.swip.entity;
 
-import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.input.GameInput;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
@@ -41,7 +41,7 @@ public class Button
      * @param gameInput player's input events
      * @return {@code true} if the user clicked within the bounds of the button.
      */
-    public boolean wasClicked(GameInputProcessor gameInput) {
+    public boolean wasClicked(GameInput gameInput) {
         return gameInput.clickOccurred() && getBounds().contains(gameInput.getLastFingerX(),
                 gameInput.getLastFingerY());
     }
@@ -1,7 +1,7 @@
 package ca.josephroque.swip.entity;
 
 import ca.josephroque.swip.manager.TextureManager;
-import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.input.GameInput;
 import ca.josephroque.swip.manager.MenuManager;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -31,7 +31,7 @@ public class ButtonBall
      * @param y starting vertical position of the ball
      */
     public ButtonBall(MenuManager.MenuBallOption option,
-                      TextureManager.GameColor ballColor,
+                      GameColor ballColor,
                       TextureRegion buttonIcon,
                       float x,
                       float y) {
@@ -46,7 +46,7 @@ public class ButtonBall
      * @param gameInput player's input events
      * @return {@code true} if the user clicked within the bounds of the button.
      */
-    public boolean wasClicked(GameInputProcessor gameInput) {
+    public boolean wasClicked(GameInput gameInput) {
         return gameInput.clickOccurred() && getBounds().contains(gameInput.getLastFingerX(),
                 gameInput.getLastFingerY());
     }
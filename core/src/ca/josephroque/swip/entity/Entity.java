@@ -98,4 +98,11 @@ public abstract class Entity {
     void setVelocity(Vector2 velocity) {
         mVelocity.set(velocity);
     }
+
+    /**
+     * Stops the entity from moving.
+     */
+    void stopMoving() {
+        mVelocity.setZero();
+    }
 }
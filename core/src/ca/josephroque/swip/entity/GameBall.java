@@ -1,31 +1,59 @@
 package ca.josephroque.swip.entity;
 
+import ca.josephroque.swip.input.GameInput;
+import ca.josephroque.swip.manager.BallTimerRenderer;
 import ca.josephroque.swip.manager.TextureManager;
-import ca.josephroque.swip.input.GameInputProcessor;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Pool;
 
 /**
  * Balls for swiping into the walls.
+ *
+ * <p>Collisions with the walls are swept along the ball's path through each tick, rather than tested only where the
+ * ball ends up, so the order in which the ball touches, enters and passes through walls does not depend on the length
+ * of the tick. Each wall is a slab along an edge of the screen, so the depth of the ball into a wall changes linearly
+ * over the tick, and the time it crosses each threshold is found exactly.</p>
  */
 public class GameBall
-        extends BasicBall {
+        extends BasicBall
+        implements Pool.Poolable {
 
     /** Identifies output from this class in the logcat. */
     @SuppressWarnings("unused")
     private static final String TAG = "GameBall";
 
+    /** Time within a tick of an event which does not occur during the tick. */
+    private static final float NEVER = Float.POSITIVE_INFINITY;
+
     /** Indicates the walls which the ball can pass through. */
-    private final boolean[] mPassableWalls;
+    private final boolean[] mPassableWalls = new boolean[Wall.NUMBER_OF_WALLS];
     /** Indicates if the ball has touched a wall it cannot pass through. */
     private boolean mHitInvalidWall;
     /** Indicates if the ball has passed at least halfway through a valid wall. */
-    private boolean[] mHalfwayThroughWall = new boolean[Wall.NUMBER_OF_WALLS];
+    private final boolean[] mHalfwayThroughWall = new boolean[Wall.NUMBER_OF_WALLS];
     /** Indicates if the ball has completely passed through a valid wall. */
-    private boolean[] mPassedThroughWall = new boolean[Wall.NUMBER_OF_WALLS];
+    private final boolean[] mPassedThroughWall = new boolean[Wall.NUMBER_OF_WALLS];
 
     /** Indicates if the ball is currently being dragged around the screen by the user. */
     private boolean mIsDragging;
 
+    /** Horizontal position of the ball when the walls were last checked. */
+    private float mLastCheckedX;
+    /** Vertical position of the ball when the walls were last checked. */
+    private float mLastCheckedY;
+    /** Time within the current tick, from 0 to 1, that the ball's center enters each passable wall. */
+    private final float[] mHalfwayStartTimes = new float[Wall.NUMBER_OF_WALLS];
+    /** Time within the current tick, from 0 to 1, that the ball's center leaves each passable wall. */
+    private final float[] mHalfwayEndTimes = new float[Wall.NUMBER_OF_WALLS];
+
+    /**
+     * Prepares a new ball object, which must be set up with {@code reinitialize()} before it is used. Intended for
+     * pools of balls.
+     */
+    public GameBall() {
+        super(null, 0, 0, 0);
+    }
+
     /**
      * Prepares a new ball object.
      *
@@ -33,10 +61,50 @@ public class GameBall
      * @param passableWalls walls which the ball can pass through
      * @param x starting horizontal position of the ball
      * @param y starting vertical position of the ball
+     * @param defaultRadius radius of the ball when it is fully grown
      */
-    public GameBall(TextureManager.GameColor ballColor, boolean[] passableWalls, float x, float y) {
-        super(ballColor, x, y);
-        mPassableWalls = passableWalls;
+    public GameBall(GameColor ballColor,
+                    boolean[] passableWalls,
+                    float x,
+                    float y,
+                    float defaultRadius) {
+        super(ballColor, x, y, defaultRadius);
+        System.arraycopy(passableWalls, 0, mPassableWalls, 0, Wall.NUMBER_OF_WALLS);
+        mLastCheckedX = x;
+        mLastCheckedY = y;
+    }
+
+    /**
+     * Returns the ball to the state of a newly created ball with new properties, so it can be reused instead of
+     * creating a new ball.
+     *
+     * @param ballColor color of the ball
+     * @param passableWalls walls which the ball can pass through. Copied, so the array can be reused.
+     * @param x starting horizontal position of the ball
+     * @param y starting vertical position of the ball
+     * @param defaultRadius radius of the ball when it is fully grown
+     */
+    public void reinitialize(GameColor ballColor,
+                             boolean[] passableWalls,
+                             float x,
+                             float y,
+                             float defaultRadius) {
+        reset();
+        reinitialize(ballColor, x, y, defaultRadius);
+        System.arraycopy(passableWalls, 0, mPassableWalls, 0, Wall.NUMBER_OF_WALLS);
+        mLastCheckedX = x;
+        mLastCheckedY = y;
+    }
+
+    @Override
+    public void reset() {
+        mHitInvalidWall = false;
+        mIsDragging = false;
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+            mPassableWalls[i] = false;
+            mHalfwayThroughWall[i] = false;
+            mPassedThroughWall[i] = false;
+        }
     }
 
     /**
@@ -54,75 +122,145 @@ public class GameBall
     }
 
     /**
-     * Checks to see if the ball is passing through a wall or colliding with a solid wall.
+     * Checks to see if the ball passed through a wall or collided with a solid wall on its way from where the walls
+     * were last checked to its current position. A solid wall is only hit if the ball touches it while its center is
+     * not inside a passable wall, and the ball only passes through a wall if it does so before hitting a solid wall.
      *
      * @param walls walls on the screen
      */
     private void checkWalls(Wall[] walls) {
+        final float radius = getRadius();
+        final float startX = mLastCheckedX;
+        final float startY = mLastCheckedY;
+        mLastCheckedX = getX();
+        mLastCheckedY = getY();
+
+        // Find when the ball's center is inside each passable wall, and when it first passes completely into one
+        float passTime = NEVER;
+        int passedWall = -1;
         for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
-            boolean hitWall;
-            switch (walls[i].getSide()) {
-                case Top:
-                    hitWall = getY() + getRadius() > walls[i].getY();
-                    break;
-                case Bottom:
-                    hitWall = getY() - getRadius() < walls[i].getY() + walls[i].getHeight();
-                    break;
-                case Left:
-                    hitWall = getX() - getRadius() < walls[i].getX() + walls[i].getWidth();
-                    break;
-                case Right:
-                    hitWall = getX() + getRadius() > walls[i].getX();
-                    break;
-                default:
-                    throw new IllegalArgumentException("invalid wall side.");
+            if (!mPassableWalls[i]) {
+                mHalfwayStartTimes[i] = NEVER;
+                mHalfwayEndTimes[i] = NEVER;
+                continue;
+            }
+
+            final float startDepth = getDepthIntoWall(walls[i], startX, startY);
+            final float endDepth = getDepthIntoWall(walls[i], getX(), getY());
+            mHalfwayStartTimes[i] = getFirstPositiveTime(startDepth, endDepth);
+            mHalfwayEndTimes[i] = getLastPositiveTime(startDepth, endDepth);
+            mHalfwayThroughWall[i] = endDepth > 0;
+
+            final float wallPassTime = getFirstPositiveTime(startDepth - radius, endDepth - radius);
+            if (wallPassTime < passTime) {
+                passTime = wallPassTime;
+                passedWall = i;
             }
+        }
+
+        // Find the first time the ball touches a solid wall while its center is outside of every passable wall
+        float hitTime = NEVER;
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+            if (mPassableWalls[i])
+                continue;
+
+            final float startDepth = getDepthIntoWall(walls[i], startX, startY);
+            final float endDepth = getDepthIntoWall(walls[i], getX(), getY());
+            final float touchStartTime = getFirstPositiveTime(startDepth + radius, endDepth + radius);
+            if (touchStartTime == NEVER)
+                continue;
 
-            if (hitWall) {
-                if (mPassableWalls[i]) {
-                    checkIfPastWall(walls[i], i);
-                } else if (!hasPassedHalfwayThroughWall() && !hasPassedThroughWall()) {
-                    mHitInvalidWall = true;
-                }
+            final float touchEndTime = getLastPositiveTime(startDepth + radius, endDepth + radius);
+            if (!isHalfwayThroughWallAt(touchStartTime))
+                hitTime = Math.min(hitTime, touchStartTime);
+            for (int j = 0; j < Wall.NUMBER_OF_WALLS; j++) {
+                final float halfwayEndTime = mHalfwayEndTimes[j];
+                if (halfwayEndTime >= touchStartTime && halfwayEndTime < touchEndTime
+                        && !isHalfwayThroughWallAt(halfwayEndTime))
+                    hitTime = Math.min(hitTime, halfwayEndTime);
             }
         }
+
+        if (passTime != NEVER && passTime <= hitTime)
+            mPassedThroughWall[passedWall] = true;
+        else if (hitTime != NEVER)
+            mHitInvalidWall = true;
+    }
+
+    /**
+     * Checks if the ball's center was inside any passable wall at a time in the current tick.
+     *
+     * @param time time within the tick, from 0 to 1
+     * @return {@code true} if the ball was at least halfway through a passable wall
+     */
+    private boolean isHalfwayThroughWallAt(float time) {
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+            if (mHalfwayStartTimes[i] <= time && time < mHalfwayEndTimes[i])
+                return true;
+        }
+
+        return false;
     }
 
     /**
-     * Checks to see if the ball has successfully passed completely through a wall.
+     * Gets how far a point is past the inner edge of a wall, towards the edge of the screen.
      *
-     * @param wall wall to check
-     * @param index index of wall to check against member variables
+     * @param wall the wall
+     * @param x horizontal position of the point
+     * @param y vertical position of the point
+     * @return distance past the inner edge of the wall, or a negative distance if the point is in front of it
      */
-    private void checkIfPastWall(Wall wall, int index) {
+    private static float getDepthIntoWall(Wall wall, float x, float y) {
         switch (wall.getSide()) {
             case Top:
-                mPassedThroughWall[index] = getY() - getRadius() > wall.getY();
-                mHalfwayThroughWall[index] = getY() > wall.getY();
-                break;
+                return y - wall.getY();
             case Bottom:
-                mPassedThroughWall[index] = getY() + getRadius() < wall.getY() + wall.getHeight();
-                mHalfwayThroughWall[index] = getY() < wall.getY() + wall.getHeight();
-                break;
+                return wall.getY() + wall.getHeight() - y;
             case Left:
-                mPassedThroughWall[index] = getX() + getRadius() < wall.getX() + wall.getWidth();
-                mHalfwayThroughWall[index] = getX() < wall.getX() + wall.getWidth();
-                break;
+                return wall.getX() + wall.getWidth() - x;
             case Right:
-                mPassedThroughWall[index] = getX() - getRadius() > wall.getX();
-                mHalfwayThroughWall[index] = getX() > wall.getX();
-                break;
+                return x - wall.getX();
             default:
                 throw new IllegalArgumentException("invalid wall side.");
         }
     }
 
+    /**
+     * Finds the first time within a tick that a value which changes linearly over the tick is positive.
+     *
+     * @param start value at the start of the tick
+     * @param end value at the end of the tick
+     * @return time from 0 to 1, or {@code NEVER} if the value is never positive
+     */
+    private static float getFirstPositiveTime(float start, float end) {
+        if (start > 0)
+            return 0;
+        if (end <= 0)
+            return NEVER;
+        return start / (start - end);
+    }
+
+    /**
+     * Finds the time within a tick that a value which changes linearly over the tick stops being positive.
+     *
+     * @param start value at the start of the tick
+     * @param end value at the end of the tick
+     * @return time from 0 to 1, or {@code NEVER} if the value is still positive at the end of the tick
+     */
+    private static float getLastPositiveTime(float start, float end) {
+        if (end > 0)
+            return NEVER;
+        if (start <= 0)
+            return 0;
+        return start / (start - end);
+    }
+
     /**
      * Attempts to start a drag event if the player has touched the ball.
      *
      * @param gameInput player's input events
      */
-    public void drag(GameInputProcessor gameInput) {
+    public void drag(GameInput gameInput) {
         if (!gameInput.isFingerDown())
             return;
 
@@ -135,44 +273,46 @@ public class GameBall
     }
 
     /**
-     * Draws the ball and its overlay to the screen. The overlay is based on the amount of time that is remaining in the
-     * turn.
+     * Draws the ball with a timer showing the amount of time that is remaining in the turn.
      *
      * @param spriteBatch graphics context to draw to
      * @param textureManager to get texture to draw
+     * @param ballTimerRenderer draws the ball and its timer
      * @param maxTurnLength total number of seconds the current turn will last
      * @param currentTurnLength duration of the current turn
+     * @param interpolation progress from the previous state to the current state, from 0 to 1
      */
     public void draw(SpriteBatch spriteBatch,
                      TextureManager textureManager,
+                     BallTimerRenderer ballTimerRenderer,
                      float maxTurnLength,
-                     float currentTurnLength) {
-        super.draw(spriteBatch, textureManager);
-
-        final int shadowsVisible = textureManager.getTotalBallShadowParts() - 1
-                - (int) ((currentTurnLength / maxTurnLength * 100) / (100 / textureManager.getTotalBallShadowParts()));
-        for (int i = textureManager.getTotalBallShadowParts() - 1; i >= shadowsVisible; i--) {
-            spriteBatch.draw(textureManager.getBallOverlayTexture(i),
-                    getX() - getRadius(),
-                    getY() - getRadius(),
-                    getWidth(),
-                    getHeight());
-        }
+                     float currentTurnLength,
+                     float interpolation) {
+        if (isHidden())
+            return;
+
+        final float radius = getInterpolatedRadius(interpolation);
+        ballTimerRenderer.draw(spriteBatch,
+                textureManager.getBallTexture(getColor()),
+                getInterpolatedX(interpolation) - radius,
+                getInterpolatedY(interpolation) - radius,
+                radius * 2,
+                currentTurnLength / maxTurnLength);
     }
 
     /**
      * Cancels the drag on the ball and sets its velocity to move at the speed that it was being dragged.
      *
      * @param gameInput player's input events
+     * @return {@code true} if the ball was released
      */
-    public void tryToReleaseBall(GameInputProcessor gameInput) {
-        if (!mIsDragging)
-            return;
+    public boolean tryToReleaseBall(GameInput gameInput) {
+        if (!mIsDragging || gameInput.isFingerDown())
+            return false;
 
-        if (!gameInput.isFingerDown()) {
-            mIsDragging = false;
-            setVelocity(gameInput.calculateFingerDragVelocity());
-        }
+        mIsDragging = false;
+        setVelocity(gameInput.calculateFingerDragVelocity());
+        return true;
     }
 
     /**
@@ -199,6 +339,16 @@ public class GameBall
         return false;
     }
 
+    /**
+     * Checks if the ball is able to pass through a wall.
+     *
+     * @param index index of the wall, in the order of {@code Wall.Side}
+     * @return {@code true} if the ball can pass through the wall
+     */
+    public boolean canPassThroughWall(int index) {
+        return mPassableWalls[index];
+    }
+
     /**
      * Returns true if the ball has touched a wall which it cannot pass through.
      *
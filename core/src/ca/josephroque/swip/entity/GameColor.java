@@ -0,0 +1,51 @@
+package ca.josephroque.swip.entity;
+
+/**
+ * Colors of the walls and balls in the game.
+ */
+public enum GameColor {
+    /** Red color. */
+    Red,
+    /** Blue color. */
+    Blue,
+    /** Green color. */
+    Green,
+    /** Orange color. */
+    Orange,
+    /** Pink color. */
+    Pink,
+    /** Purple color. */
+    Purple,
+    /** Gray color. */
+    Gray,
+    /** Cyan color. */
+    Cyan,
+    /** Salmon color. */
+    Salmon,
+    /** Field color. */
+    Field;
+
+    /** Every color, in order of their ordinals. */
+    private static final GameColor[] VALUES = GameColor.values();
+    /** Size of the enum. */
+    private static final int SIZE = VALUES.length;
+
+    /**
+     * Gets a color by its ordinal, without allocating.
+     *
+     * @param ordinal ordinal of the color
+     * @return the color
+     */
+    public static GameColor get(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Gets the size of the enum.
+     *
+     * @return number of {@code GameColor} values
+     */
+    public static int getSize() {
+        return SIZE;
+    }
+}
@@ -1,13 +1,7 @@
 package ca.josephroque.swip.entity;
 
-import ca.josephroque.swip.manager.TextureManager;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -34,26 +28,27 @@ public class Wall
 
     /** Array of the possible values for {@code Side}. */
     private static final Side[] POSSIBLE_SIDES = Side.values();
-
-    /** Default width of a wall. */
-    private static float sDefaultWallSize;
-    /** Indicates if the static wall properties have been initialized. */
-    private static boolean sWallsInitialized = false;
-    /** Indicates the last wall that was drawn, to ensure walls are drawn in the correct order. */
-    private static int sLastWallDrawn;
+    /** Colors of the walls in the first iteration of {@code getDefaultWallColors()}. */
+    private static final GameColor[] DEFAULT_WALL_COLORS = {
+            GameColor.Red,
+            GameColor.Blue,
+            GameColor.Green,
+            GameColor.Orange
+    };
 
     /** The chance that two walls will be given the same color in a turn. */
     public static final float CHANCE_OF_SAME_WALL_COLOR = 0.2f;
-    /** List of the current active colors. */
-    private static List<TextureManager.GameColor> sListActiveColors
-            = new ArrayList<>(TextureManager.GameColor.getSize());
 
     /** The side of the screen which this wall represents. */
     private final Side mWallSide;
     /** Number of seconds a wall has been translating for. */
     private float mWallTranslationTime;
+    /** Number of seconds the wall had been translating for when {@code savePreviousState()} was last called. */
+    private float mPreviousTranslationTime;
     /** Color of the wall. */
-    private TextureManager.GameColor mWallColor;
+    private GameColor mWallColor;
+    /** Width of the wall. */
+    private float mWallSize;
 
     /** Rectangle which defines the bounds of the wall. */
     private Rectangle mBoundingBox;
@@ -70,7 +65,7 @@ public class Wall
      * @param screenHeight height of the screen
      */
     public Wall(int wallSide,
-                TextureManager.GameColor wallColor,
+                GameColor wallColor,
                 int screenWidth,
                 int screenHeight) {
         this(POSSIBLE_SIDES[wallSide], wallColor, screenWidth, screenHeight);
@@ -85,12 +80,9 @@ public class Wall
      * @param screenHeight height of the screen
      */
     public Wall(Side wallSide,
-                TextureManager.GameColor wallColor,
+                GameColor wallColor,
                 int screenWidth,
                 int screenHeight) {
-        if (!sWallsInitialized)
-            throw new IllegalStateException("Must call initialize before creating any instances");
-
         mWallSide = wallSide;
         mWallColor = wallColor;
         resize(screenWidth, screenHeight);
@@ -103,26 +95,26 @@ public class Wall
      * @param screenHeight height of the screen
      */
     public void resize(int screenWidth, int screenHeight) {
-        sDefaultWallSize = Math.min(screenWidth, screenHeight) * WALL_SIZE_MULTIPLIER;
+        mWallSize = getDefaultWallSize(screenWidth, screenHeight);
         if (mBoundingBox == null)
             mBoundingBox = new Rectangle(0, 0, 0, 0);
 
         switch (mWallSide) {
             case Top:
-                mBoundingBox.setPosition(0, screenHeight - sDefaultWallSize);
-                mBoundingBox.setSize(screenWidth, sDefaultWallSize);
+                mBoundingBox.setPosition(0, screenHeight - mWallSize);
+                mBoundingBox.setSize(screenWidth, mWallSize);
                 break;
             case Bottom:
                 mBoundingBox.setPosition(0, 0);
-                mBoundingBox.setSize(screenWidth, sDefaultWallSize);
+                mBoundingBox.setSize(screenWidth, mWallSize);
                 break;
             case Left:
                 mBoundingBox.setPosition(0, 0);
-                mBoundingBox.setSize(sDefaultWallSize, screenHeight);
+                mBoundingBox.setSize(mWallSize, screenHeight);
                 break;
             case Right:
-                mBoundingBox.setPosition(screenWidth - sDefaultWallSize, 0);
-                mBoundingBox.setSize(sDefaultWallSize, screenHeight);
+                mBoundingBox.setPosition(screenWidth - mWallSize, 0);
+                mBoundingBox.setSize(mWallSize, screenHeight);
                 break;
             default:
                 throw new IllegalArgumentException("invalid wall side.");
@@ -130,100 +122,15 @@ public class Wall
     }
 
     /**
-     * Draws the wall to the screen.
-     *
-     * @param spriteBatch graphics context to draw to
-     * @param textureManager to get texture to draw
-     */
-    public void draw(SpriteBatch spriteBatch, TextureManager textureManager) {
-        if (mWallSide.ordinal() != sLastWallDrawn + 1)
-            throw new IllegalStateException("must draw walls in the natural order determined by Wall.Side");
-
-        if (mWallSide == Side.Right)
-            sLastWallDrawn = -1;
-        else
-            sLastWallDrawn = mWallSide.ordinal();
-
-        if (mWallSide == Side.Top || mWallSide == Side.Bottom)
-            drawHorizontalWall(spriteBatch, textureManager);
-        else
-            drawVerticalWall(spriteBatch, textureManager);
-    }
-
-    /**
-     * Draws a horizontal wall to the screen.
+     * Calculates how far the wall is from its place, between its previous and current state.
      *
-     * @param spriteBatch graphics context to draw to
-     * @param textureManager to get texture to draw
+     * @param interpolation progress from the previous state to the current state, from 0 to 1
+     * @return 0 if the wall is in place, up to 1 if it is entirely off screen
      */
-    private void drawHorizontalWall(SpriteBatch spriteBatch, TextureManager textureManager) {
-        final float rotation = -90;
-        float verticalOffset =
-                Math.min(1f, Math.max(0f, (-mWallTranslationTime + WALL_TRANSLATION_TIME) / WALL_TRANSLATION_TIME))
-                        * sDefaultWallSize;
-        if (mWallSide == Side.Bottom)
-            verticalOffset *= -1;
-
-        spriteBatch.draw(textureManager.getWallTexture(mWallSide, mWallColor),
-                getX() + sDefaultWallSize,
-                getY() + sDefaultWallSize + verticalOffset,
-                0,
-                0,
-                getHeight(),
-                getWidth() - sDefaultWallSize * 2,
-                1,
-                1,
-                rotation);
-        spriteBatch.draw(textureManager.getWallEdge(mWallSide, mWallColor, true),
-                getX() + getWidth() - sDefaultWallSize,
-                getY() + sDefaultWallSize + verticalOffset,
-                0,
-                0,
-                sDefaultWallSize,
-                sDefaultWallSize,
-                1,
-                1,
-                rotation);
-        spriteBatch.draw(textureManager.getWallEdge(mWallSide, mWallColor, false),
-                getX(),
-                getY() + sDefaultWallSize + verticalOffset,
-                0,
-                0,
-                sDefaultWallSize,
-                sDefaultWallSize,
-                1,
-                1,
-                rotation);
-    }
-
-    /**
-     * Draws a vertical wall to the screen.
-     *
-     * @param spriteBatch graphics context to draw to
-     * @param textureManager to get texture to draw
-     */
-    private void drawVerticalWall(SpriteBatch spriteBatch, TextureManager textureManager) {
-        float horizontalOffset =
-                Math.min(1f, Math.max(0f, (-mWallTranslationTime + WALL_TRANSLATION_TIME) / WALL_TRANSLATION_TIME))
-                        * sDefaultWallSize;
-        if (mWallSide == Side.Left)
-            horizontalOffset *= -1;
-
-        spriteBatch.draw(textureManager.getWallTexture(mWallSide, mWallColor),
-                getX() + horizontalOffset,
-                getY() + sDefaultWallSize,
-                getWidth(),
-                getHeight() - sDefaultWallSize * 2);
-        spriteBatch.draw(textureManager.getWallEdge(mWallSide, mWallColor, true),
-                getX() + horizontalOffset,
-                getY() + getHeight() - sDefaultWallSize,
-                sDefaultWallSize,
-                sDefaultWallSize);
-        spriteBatch.draw(textureManager.getWallEdge(mWallSide, mWallColor, false),
-                getX() + horizontalOffset,
-                getY(),
-                sDefaultWallSize,
-                sDefaultWallSize);
+    public float getSlideProgress(float interpolation) {
+        final float translationTime = mPreviousTranslationTime
+                + (mWallTranslationTime - mPreviousTranslationTime) * interpolation;
+        return Math.min(1f, Math.max(0f, (-translationTime + WALL_TRANSLATION_TIME) / WALL_TRANSLATION_TIME));
     }
 
     @Override
@@ -240,7 +147,7 @@ public class Wall
      *
      * @param wallColor new color
      */
-    public void updateWallColor(TextureManager.GameColor wallColor) {
+    public void updateWallColor(GameColor wallColor) {
         mWallColor = wallColor;
     }
 
@@ -249,6 +156,15 @@ public class Wall
      */
     public void startTranslation() {
         mWallTranslationTime = 0f;
+        mPreviousTranslationTime = 0f;
+    }
+
+    /**
+     * Stores the current translation of the wall, so it can be drawn between its state in the last tick and its state
+     * in the next tick.
+     */
+    public void savePreviousState() {
+        mPreviousTranslationTime = mWallTranslationTime;
     }
 
     /**
@@ -261,56 +177,67 @@ public class Wall
     }
 
     /**
-     * Initializes static values common for all walls. Must be called before creating any instances of this object, and
-     * should be called any time the screen is resized.
+     * Returns the color of the wall.
      *
-     * @param screenWidth width of the screen
-     * @param screenHeight height of the screen
+     * @return {@code mWallColor}
      */
-    public static void initialize(int screenWidth, int screenHeight) {
-        sListActiveColors.clear();
-        sListActiveColors.addAll(Arrays.asList(TextureManager.GAME_COLORS).subList(0, NUMBER_OF_WALLS));
-
-        sLastWallDrawn = -1;
-        sDefaultWallSize = Math.min(screenWidth, screenHeight) * WALL_SIZE_MULTIPLIER;
-        sWallsInitialized = true;
+    public GameColor getColor() {
+        return mWallColor;
     }
 
     /**
-     * Adds a new color from {@code ALL_POSSIBLE_WALL_COLORS} to the current active wall colors.
+     * Returns the width of the wall, perpendicular to its side of the screen.
+     *
+     * @return {@code mWallSize}
      */
-    public static void addWallColorToActive() {
-        if (!sWallsInitialized)
-            throw new IllegalStateException("Must initialize walls.");
+    public float getWallSize() {
+        return mWallSize;
+    }
 
-        if (sListActiveColors.size() < TextureManager.GameColor.getSize())
-            sListActiveColors.add(TextureManager.GAME_COLORS[sListActiveColors.size()]);
+    /**
+     * Calculates the width of walls for a screen of the given size.
+     *
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     * @return width of a wall
+     */
+    public static float getDefaultWallSize(int screenWidth, int screenHeight) {
+        return Math.min(screenWidth, screenHeight) * WALL_SIZE_MULTIPLIER;
     }
 
     /**
      * Assigns 4 colors to {@code wallColors} to use for drawing the walls. Selects the colors from {@code
-     * sListActiveColors}.
+     * activeColors}.
      *
      * @param random to generate random numbers
+     * @param activeColors colors which may be selected. The first {@code totalActiveColors} will be shuffled.
+     * @param totalActiveColors number of colors in {@code activeColors} which may be selected. Must be at least 4.
      * @param wallColors array to return colors. Must be of length 4.
-     * @param allowSame if true, up to 2 walls may be the same color. If false, all walls will be different colors.
-     * Chance of two walls being the same is determined by {@code CHANCE_OF_SAME_WALL_COLOR}.
+     * @param chanceOfSameColor chance that 2 walls will be the same color. If 0, all walls will be different colors.
      * @return if there are two walls the same color, then the value returned is the index of the first of the pair. If
      * there are no two walls the same, this method returns -1
      */
-    public static int getRandomWallColors(Random random, TextureManager.GameColor[] wallColors, boolean allowSame) {
-        if (!sWallsInitialized)
-            throw new IllegalStateException("Must initialize walls.");
+    public static int getRandomWallColors(Random random,
+                                          GameColor[] activeColors,
+                                          int totalActiveColors,
+                                          GameColor[] wallColors,
+                                          float chanceOfSameColor) {
         if (wallColors.length != NUMBER_OF_WALLS)
             throw new IllegalArgumentException("color array must have length 4");
-
-        Collections.shuffle(sListActiveColors);
-        for (int i = 0; i < wallColors.length; i++) {
-            wallColors[i] = sListActiveColors.get(i);
+        if (totalActiveColors < NUMBER_OF_WALLS || totalActiveColors > activeColors.length)
+            throw new IllegalArgumentException("must have at least 4 active colors");
+
+        // Same swaps as Collections.shuffle, so recorded games are still replayed the same way
+        for (int i = totalActiveColors; i > 1; i--) {
+            final int swapIndex = random.nextInt(i);
+            final GameColor swap = activeColors[i - 1];
+            activeColors[i - 1] = activeColors[swapIndex];
+            activeColors[swapIndex] = swap;
         }
+        System.arraycopy(activeColors, 0, wallColors, 0, NUMBER_OF_WALLS);
 
         // Random chance of making 2 walls the same color
-        if (allowSame && random.nextFloat() < CHANCE_OF_SAME_WALL_COLOR) {
+        if (chanceOfSameColor > 0 && random.nextFloat() < chanceOfSameColor) {
             int wallToChange = random.nextInt(NUMBER_OF_WALLS);
             int wallToChangeTo = wallToChange;
             int offset = random.nextInt(NUMBER_OF_WALLS - 1) + 1;
@@ -337,23 +264,16 @@ public class Wall
      * @param iteration iteration of wall colors to use. Must be greater than or equal to 0.
      * @return {@code -1}
      */
-    public static int getDefaultWallColors(TextureManager.GameColor[] wallColors, int iteration) {
+    public static int getDefaultWallColors(GameColor[] wallColors, int iteration) {
         if (wallColors.length != NUMBER_OF_WALLS)
             throw new IllegalArgumentException("color array must have length 4");
         else if (iteration < 0)
             throw new IllegalArgumentException("iteration must be greater than or equal to 0");
 
-        final TextureManager.GameColor[] defaultColors = {
-                TextureManager.GameColor.Red,
-                TextureManager.GameColor.Blue,
-                TextureManager.GameColor.Green,
-                TextureManager.GameColor.Orange
-        };
-
-        wallColors[Side.Top.ordinal()] = defaultColors[iteration++ % NUMBER_OF_WALLS];
-        wallColors[Side.Right.ordinal()] = defaultColors[iteration++ % NUMBER_OF_WALLS];
-        wallColors[Side.Bottom.ordinal()] = defaultColors[iteration++ % NUMBER_OF_WALLS];
-        wallColors[Side.Left.ordinal()] = defaultColors[iteration % NUMBER_OF_WALLS];
+        wallColors[Side.Top.ordinal()] = DEFAULT_WALL_COLORS[iteration++ % NUMBER_OF_WALLS];
+        wallColors[Side.Right.ordinal()] = DEFAULT_WALL_COLORS[iteration++ % NUMBER_OF_WALLS];
+        wallColors[Side.Bottom.ordinal()] = DEFAULT_WALL_COLORS[iteration++ % NUMBER_OF_WALLS];
+        wallColors[Side.Left.ordinal()] = DEFAULT_WALL_COLORS[iteration % NUMBER_OF_WALLS];
 
         return -1;
     }
@@ -0,0 +1,150 @@
+package ca.josephroque.swip.game;
+
+import ca.josephroque.swip.entity.Wall;
+
+/**
+ * Parameters which determine how quickly a game becomes harder.
+ */
+public final class Difficulty {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "Difficulty";
+
+    /** Number of seconds that turns initially last. */
+    private static final float INITIAL_TURN_LENGTH = 10f; // TODO: change to actual start value, 1.2f
+    /** Number of seconds to subtract from the length of a turn at a time. */
+    private static final float TURN_LENGTH_DECREMENT = 0.05f;
+    /** Number of turns that must pass before the turn length is decremented. */
+    private static final int TURNS_BEFORE_DECREMENT = 10;
+    /** Shortest number of seconds that a turn can last. */
+    private static final float MINIMUM_TURN_LENGTH = 0.3f;
+
+    /** Difficulty used by the game. */
+    private static final Difficulty DEFAULT = new Difficulty(INITIAL_TURN_LENGTH,
+            TURN_LENGTH_DECREMENT,
+            TURNS_BEFORE_DECREMENT,
+            MINIMUM_TURN_LENGTH,
+            Wall.TURNS_BEFORE_NEW_COLOR,
+            Wall.TURNS_BEFORE_SAME_WALL_COLORS,
+            Wall.CHANCE_OF_SAME_WALL_COLOR);
+
+    /** Number of seconds that turns initially last. */
+    private final float mInitialTurnLength;
+    /** Number of seconds to subtract from the length of a turn at a time. */
+    private final float mTurnLengthDecrement;
+    /** Number of turns that must pass before the turn length is decremented. */
+    private final int mTurnsBeforeDecrement;
+    /** Shortest number of seconds that a turn can last. */
+    private final float mMinimumTurnLength;
+    /** Number of turns that must pass before a new color is added to the game. */
+    private final int mTurnsBeforeNewColor;
+    /** Number of turns that must pass before two walls can be the same color. */
+    private final int mTurnsBeforeSameWallColors;
+    /** The chance that two walls will be given the same color in a turn. */
+    private final float mChanceOfSameWallColor;
+
+    /**
+     * Creates a new set of difficulty parameters.
+     *
+     * @param initialTurnLength number of seconds that turns initially last
+     * @param turnLengthDecrement number of seconds to subtract from the length of a turn at a time
+     * @param turnsBeforeDecrement number of turns that must pass before the turn length is decremented
+     * @param minimumTurnLength shortest number of seconds that a turn can last
+     * @param turnsBeforeNewColor number of turns that must pass before a new color is added to the game
+     * @param turnsBeforeSameWallColors number of turns that must pass before two walls can be the same color
+     * @param chanceOfSameWallColor the chance that two walls will be given the same color in a turn
+     */
+    public Difficulty(float initialTurnLength,
+                      float turnLengthDecrement,
+                      int turnsBeforeDecrement,
+                      float minimumTurnLength,
+                      int turnsBeforeNewColor,
+                      int turnsBeforeSameWallColors,
+                      float chanceOfSameWallColor) {
+        if (turnsBeforeDecrement <= 0 || turnsBeforeNewColor <= 0)
+            throw new IllegalArgumentException("number of turns must be greater than 0");
+        if (chanceOfSameWallColor < 0 || chanceOfSameWallColor > 1)
+            throw new IllegalArgumentException("chance must be between 0 and 1");
+
+        mInitialTurnLength = initialTurnLength;
+        mTurnLengthDecrement = turnLengthDecrement;
+        mTurnsBeforeDecrement = turnsBeforeDecrement;
+        mMinimumTurnLength = minimumTurnLength;
+        mTurnsBeforeNewColor = turnsBeforeNewColor;
+        mTurnsBeforeSameWallColors = turnsBeforeSameWallColors;
+        mChanceOfSameWallColor = chanceOfSameWallColor;
+    }
+
+    /**
+     * Gets the difficulty used by the game.
+     *
+     * @return default difficulty
+     */
+    public static Difficulty getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the number of seconds that turns initially last.
+     *
+     * @return {@code mInitialTurnLength}
+     */
+    public float getInitialTurnLength() {
+        return mInitialTurnLength;
+    }
+
+    /**
+     * Gets the number of seconds to subtract from the length of a turn at a time.
+     *
+     * @return {@code mTurnLengthDecrement}
+     */
+    public float getTurnLengthDecrement() {
+        return mTurnLengthDecrement;
+    }
+
+    /**
+     * Gets the number of turns that must pass before the turn length is decremented.
+     *
+     * @return {@code mTurnsBeforeDecrement}
+     */
+    public int getTurnsBeforeDecrement() {
+        return mTurnsBeforeDecrement;
+    }
+
+    /**
+     * Gets the shortest number of seconds that a turn can last.
+     *
+     * @return {@code mMinimumTurnLength}
+     */
+    public float getMinimumTurnLength() {
+        return mMinimumTurnLength;
+    }
+
+    /**
+     * Gets the number of turns that must pass before a new color is added to the game.
+     *
+     * @return {@code mTurnsBeforeNewColor}
+     */
+    public int getTurnsBeforeNewColor() {
+        return mTurnsBeforeNewColor;
+    }
+
+    /**
+     * Gets the number of turns that must pass before two walls can be the same color.
+     *
+     * @return {@code mTurnsBeforeSameWallColors}
+     */
+    public int getTurnsBeforeSameWallColors() {
+        return mTurnsBeforeSameWallColors;
+    }
+
+    /**
+     * Gets the chance that two walls will be given the same color in a turn.
+     *
+     * @return {@code mChanceOfSameWallColor}
+     */
+    public float getChanceOfSameWallColor() {
+        return mChanceOfSameWallColor;
+    }
+}
@@ -0,0 +1,157 @@
+package ca.josephroque.swip.game;
+
+import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.input.InputRecording;
+
+import java.util.Random;
+
+/**
+ * Plays a recorded game again by feeding its touch events through the same input processor and simulation steps used
+ * by the game. Steps are run back to back rather than in real time, so a long game replays in a fraction of a second.
+ */
+public final class GameReplay {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "GameReplay";
+
+    /** Recording being replayed. */
+    private final InputRecording mRecording;
+    /** Receives the recorded touch events. */
+    private final GameInputProcessor mGameInput;
+    /** Simulation the recorded game is replayed in. */
+    private final GameSimulation mSimulation;
+
+    /** Number of steps which have been simulated. */
+    private int mSteps;
+    /** Score of the replayed game, or -1 if the replay has not finished. */
+    private int mReplayedScore = -1;
+
+    /**
+     * Prepares a recording to be replayed with the default difficulty.
+     *
+     * @param recording recording to replay
+     */
+    public GameReplay(InputRecording recording) {
+        this(recording, Difficulty.getDefault());
+    }
+
+    /**
+     * Prepares a recording to be replayed.
+     *
+     * @param recording recording to replay
+     * @param difficulty difficulty the game was played at
+     */
+    public GameReplay(InputRecording recording, Difficulty difficulty) {
+        mRecording = recording;
+        mGameInput = new GameInputProcessor(recording.getWorldHeight());
+        mSimulation = new GameSimulation(recording.getWorldWidth(),
+                recording.getWorldHeight(),
+                new Random(),
+                difficulty);
+    }
+
+    /**
+     * Replays the entire recording.
+     *
+     * @return the score of the replayed game
+     */
+    public int run() {
+        if (mReplayedScore >= 0)
+            throw new IllegalStateException("recording has already been replayed");
+
+        mSimulation.prepareNewGame(mRecording.getSeed());
+        int lastStep = Integer.MAX_VALUE;
+        boolean eventAvailable = mRecording.next();
+        while (mSimulation.getPhase() != GameSimulation.Phase.Ended && mSteps <= lastStep) {
+            while (eventAvailable && mRecording.getStep() == mSteps) {
+                if (mRecording.getEventType() == InputRecording.END) {
+                    // The game ended during the step following the last event
+                    lastStep = mSteps;
+                    eventAvailable = false;
+                } else {
+                    applyEvent();
+                    eventAvailable = mRecording.next();
+                }
+            }
+
+            mSimulation.step(mGameInput, GameSimulation.TIME_STEP);
+            mGameInput.tick();
+            mSteps++;
+        }
+
+        mReplayedScore = mSimulation.getTotalTurns();
+        return mReplayedScore;
+    }
+
+    /**
+     * Passes the current event of the recording to the input processor.
+     */
+    private void applyEvent() {
+        final int x = mRecording.getX();
+        final int y = mRecording.getY();
+        final int pointer = mRecording.getPointer();
+        final long time = mRecording.getTime();
+        switch (mRecording.getEventType()) {
+            case InputRecording.TOUCH_DOWN:
+                mGameInput.touchDownAt(x, y, pointer, time);
+                break;
+            case InputRecording.TOUCH_UP:
+                mGameInput.touchUpAt(x, y, pointer, time);
+                break;
+            case InputRecording.TOUCH_DRAGGED:
+                mGameInput.touchDraggedAt(x, y, pointer, time);
+                break;
+            case InputRecording.RESUME:
+                mGameInput.cancelTouches();
+                break;
+            default:
+                throw new IllegalStateException("invalid event type " + mRecording.getEventType());
+        }
+    }
+
+    /**
+     * Gets the score which was recorded at the end of the game.
+     *
+     * @return recorded score, or -1 if the recording did not finish
+     */
+    public int getRecordedScore() {
+        return mRecording.getFinalScore();
+    }
+
+    /**
+     * Gets the score of the replayed game.
+     *
+     * @return replayed score, or -1 if {@code run()} has not been called
+     */
+    public int getReplayedScore() {
+        return mReplayedScore;
+    }
+
+    /**
+     * Checks if the replayed game ended with the same score as the recorded game.
+     *
+     * @return {@code true} if the scores match
+     */
+    public boolean matchesRecording() {
+        return mReplayedScore >= 0 && mReplayedScore == getRecordedScore();
+    }
+
+    /**
+     * Gets the number of steps which were simulated.
+     *
+     * @return {@code mSteps}
+     */
+    public int getSteps() {
+        return mSteps;
+    }
+
+    /**
+     * Gets the simulation the game was replayed in.
+     *
+     * @return {@code mSimulation}
+     */
+    public GameSimulation getSimulation() {
+        return mSimulation;
+    }
+}
@@ -0,0 +1,586 @@
+package ca.josephroque.swip.game;
+
+import ca.josephroque.swip.entity.BasicBall;
+import ca.josephroque.swip.entity.GameBall;
+import ca.josephroque.swip.entity.GameColor;
+import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.input.GameInput;
+
+import com.badlogic.gdx.utils.Pool;
+
+import java.util.Random;
+
+/**
+ * Evaluates the rules of a single game, without rendering it. Does not depend on a graphics context, so games can be
+ * simulated without a screen.
+ */
+public class GameSimulation {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "GameSimulation";
+
+    /** Number of seconds simulated by a single step of the game. */
+    public static final float TIME_STEP = 1f / 120f;
+    /** Number of seconds until a game starts. */
+    private static final float TIME_UNTIL_GAME_STARTS = 2f;
+
+    /** Generates random numbers for the game. */
+    private final Random mRandomNumberGenerator;
+    /** Determines how quickly the game becomes harder. */
+    private final Difficulty mDifficulty;
+
+    /** Instance of callback interface. */
+    private SimulationListener mSimulationListener;
+
+    /** Width of the area the game is played in. */
+    private int mWorldWidth;
+    /** Height of the area the game is played in. */
+    private int mWorldHeight;
+
+    /** Current phase of the game. */
+    private Phase mPhase = Phase.Ended;
+
+    /** Time that has passed since the game began, in seconds. */
+    private float mGameCountdown;
+    /** The countdown item which was active in the last tick. */
+    private GameCountdown mLastCountdownItem;
+
+    /** The ball being used by the game. */
+    private GameBall mCurrentGameBall;
+    /** The four main walls in the game. */
+    private Wall[] mPrimaryWalls;
+    /** Four walls which switch places with the primary walls. */
+    private Wall[] mSecondaryWalls;
+    /** Indicates if the secondary walls are visible. */
+    private boolean mSecondaryWallsVisible;
+    /** Colors of the four walls. */
+    private final GameColor[] mWallColors;
+    /** Colors which walls can currently be assigned, followed by colors which have not been added yet. */
+    private final GameColor[] mActiveColors;
+    /** Number of colors at the start of {@code mActiveColors} which walls can currently be assigned. */
+    private int mTotalActiveColors;
+    /** Walls which the next ball can pass through. Reused for every ball. */
+    private final boolean[] mPassableWalls = new boolean[Wall.NUMBER_OF_WALLS];
+    /** Reuses balls from previous turns, so a new ball is not created every turn. */
+    private final Pool<GameBall> mGameBallPool = new Pool<GameBall>(2, 2) {
+        @Override
+        protected GameBall newObject() {
+            return new GameBall();
+        }
+    };
+
+    /** Length of a single turn. */
+    private float mTurnLength;
+    /** Number of seconds that have passed since this turn began. */
+    private float mTurnDuration;
+    /** Total number of turns that have passed since the game began (i.e. the player's score). */
+    private int mTotalTurns;
+
+    /** Number of secondary walls which have finished animating. */
+    private int mWallsFinishedAnimating;
+    /** Replaces primary walls with secondary walls when the secondary walls finish animating. */
+    @SuppressWarnings("FieldCanBeLocal")
+    private Wall.TranslationCompleteListener mWallTranslationListener = new Wall.TranslationCompleteListener() {
+        @Override
+        public void onTranslationCompleted(Wall wall) {
+            for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+                if (mSecondaryWalls[i] == wall)
+                    mWallsFinishedAnimating++;
+            }
+
+            // If all four walls have finished their animation
+            if (mWallsFinishedAnimating == Wall.NUMBER_OF_WALLS) {
+                mWallsFinishedAnimating = 0;
+                mSecondaryWallsVisible = false;
+                Wall[] temp = mPrimaryWalls;
+                mPrimaryWalls = mSecondaryWalls;
+                mSecondaryWalls = temp;
+            }
+        }
+    };
+
+    /**
+     * Sets up a new simulation with the default difficulty. A game will not begin until {@code prepareNewGame(long)} is
+     * called.
+     *
+     * @param worldWidth width of the area the game is played in
+     * @param worldHeight height of the area the game is played in
+     * @param random to generate random numbers
+     */
+    public GameSimulation(int worldWidth, int worldHeight, Random random) {
+        this(worldWidth, worldHeight, random, Difficulty.getDefault());
+    }
+
+    /**
+     * Sets up a new simulation. A game will not begin until {@code prepareNewGame(long)} is called.
+     *
+     * @param worldWidth width of the area the game is played in
+     * @param worldHeight height of the area the game is played in
+     * @param random to generate random numbers
+     * @param difficulty determines how quickly the game becomes harder
+     */
+    public GameSimulation(int worldWidth, int worldHeight, Random random, Difficulty difficulty) {
+        mWorldWidth = worldWidth;
+        mWorldHeight = worldHeight;
+        mRandomNumberGenerator = random;
+        mDifficulty = difficulty;
+
+        mWallColors = new GameColor[Wall.NUMBER_OF_WALLS];
+        mActiveColors = new GameColor[GameColor.getSize()];
+
+        // Getting specific colors for initial walls
+        Wall.getDefaultWallColors(mWallColors, 0);
+        mPrimaryWalls = new Wall[Wall.NUMBER_OF_WALLS];
+        mSecondaryWalls = new Wall[Wall.NUMBER_OF_WALLS];
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+            mPrimaryWalls[i] = new Wall(i, mWallColors[i], worldWidth, worldHeight);
+            mPrimaryWalls[i].setTranslationCompleteListener(mWallTranslationListener);
+            mSecondaryWalls[i] = new Wall(i, mWallColors[i], worldWidth, worldHeight);
+            mSecondaryWalls[i].setTranslationCompleteListener(mWallTranslationListener);
+        }
+    }
+
+    /**
+     * Sets up a new game, which will begin with a countdown.
+     *
+     * @param seed seed for the random number generator, so the same game can be played again with the same input
+     */
+    public void prepareNewGame(long seed) {
+        mRandomNumberGenerator.setSeed(seed);
+        mTurnDuration = 0;
+        mTurnLength = mDifficulty.getInitialTurnLength();
+        mTotalTurns = 0;
+        mGameCountdown = 0;
+        mLastCountdownItem = null;
+
+        for (int i = 0; i < mActiveColors.length; i++)
+            mActiveColors[i] = GameColor.get(i);
+        mTotalActiveColors = Wall.NUMBER_OF_WALLS;
+
+        // Every game begins with the walls sliding into the same positions
+        Wall.getDefaultWallColors(mWallColors, 0);
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+            mPrimaryWalls[i].updateWallColor(mWallColors[i]);
+            mPrimaryWalls[i].startTranslation();
+        }
+        mSecondaryWallsVisible = false;
+        mWallsFinishedAnimating = 0;
+
+        freeGameBall();
+        mPhase = Phase.Starting;
+    }
+
+    /**
+     * Advances the game by a single step.
+     *
+     * @param gameInput player's input events
+     * @param delta number of seconds to simulate
+     */
+    public void step(GameInput gameInput, float delta) {
+        savePreviousStates();
+
+        switch (mPhase) {
+            case Starting:
+                stepGameStarting(delta);
+                break;
+            case Playing:
+                stepGamePlaying(gameInput, delta);
+                break;
+            case Ended:
+                return;
+            default:
+                throw new IllegalStateException("invalid game phase.");
+        }
+
+        for (Wall wall : mPrimaryWalls)
+            wall.tick(delta);
+        if (mSecondaryWallsVisible) {
+            for (Wall wall : mSecondaryWalls)
+                wall.tick(delta);
+        }
+    }
+
+    /**
+     * Stores the current state of the moving entities, so they can be drawn between their states in the last step and
+     * the next step.
+     */
+    private void savePreviousStates() {
+        if (mCurrentGameBall != null)
+            mCurrentGameBall.savePreviousState();
+        for (Wall wall : mPrimaryWalls)
+            wall.savePreviousState();
+        for (Wall wall : mSecondaryWalls)
+            wall.savePreviousState();
+    }
+
+    /**
+     * Updates a game which is starting.
+     *
+     * @param delta number of seconds to simulate
+     */
+    private void stepGameStarting(float delta) {
+        // Counts down timer to start of game
+        mGameCountdown += delta;
+        if (mGameCountdown >= TIME_UNTIL_GAME_STARTS) {
+            startGame();
+        } else {
+            GameCountdown countdownItem = getCountdownItem();
+            if (mLastCountdownItem != null
+                    && mLastCountdownItem != countdownItem) {
+                replaceWallsAndBall(countdownItem);
+            }
+            mLastCountdownItem = countdownItem;
+        }
+    }
+
+    /**
+     * Updates a game which is being played.
+     *
+     * @param gameInput player's input events
+     * @param delta number of seconds to simulate
+     */
+    private void stepGamePlaying(GameInput gameInput, float delta) {
+        mTurnDuration += delta;
+
+        if (mTurnDuration >= mTurnLength) {
+            endGame();
+        } else {
+            mCurrentGameBall.drag(gameInput);
+            if (mCurrentGameBall.tryToReleaseBall(gameInput) && mSimulationListener != null)
+                mSimulationListener.onBallReleased();
+            mCurrentGameBall.tick(delta, mPrimaryWalls);
+
+            if (mCurrentGameBall.hasPassedThroughWall())
+                turnSucceeded();
+            else if (mCurrentGameBall.hasHitInvalidWall())
+                endGame();
+        }
+    }
+
+    /**
+     * Starts the game, once the countdown has finished.
+     */
+    private void startGame() {
+        replaceWallsAndBall(null);
+        mPhase = Phase.Playing;
+        if (mSimulationListener != null)
+            mSimulationListener.onGameStarted();
+    }
+
+    /**
+     * Creates new colors for the walls and updates the color of the ball based on those colors.
+     *
+     * @param countdown if not null, then the colors of the walls will be the four default colors in an orientation
+     * based on the {@code countdown.ordinal()}
+     */
+    private void replaceWallsAndBall(GameCountdown countdown) {
+        // Creating the four walls
+        int wallPairFirstIndex;
+        if (countdown == null) {
+            wallPairFirstIndex = Wall.getRandomWallColors(mRandomNumberGenerator,
+                    mActiveColors,
+                    mTotalActiveColors,
+                    mWallColors,
+                    (mTotalTurns > mDifficulty.getTurnsBeforeSameWallColors())
+                            ? mDifficulty.getChanceOfSameWallColor()
+                            : 0f);
+        } else {
+            wallPairFirstIndex = Wall.getDefaultWallColors(mWallColors, countdown.ordinal());
+        }
+
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+            mSecondaryWalls[i].updateWallColor(mWallColors[i]);
+            mSecondaryWalls[i].startTranslation();
+        }
+
+        // Generating new ball at center of screen
+        mSecondaryWallsVisible = true;
+        final int randomWall;
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++)
+            mPassableWalls[i] = false;
+        if (wallPairFirstIndex == -1) {
+            randomWall = mRandomNumberGenerator.nextInt(Wall.NUMBER_OF_WALLS);
+            mPassableWalls[randomWall] = true;
+        } else {
+            randomWall = wallPairFirstIndex;
+            mPassableWalls[randomWall] = true;
+            for (int i = randomWall + 1; i < Wall.NUMBER_OF_WALLS; i++)
+                mPassableWalls[i] = mWallColors[randomWall].equals(mWallColors[i]);
+        }
+
+        freeGameBall();
+        mCurrentGameBall = mGameBallPool.obtain();
+        mCurrentGameBall.reinitialize(mWallColors[randomWall],
+                mPassableWalls,
+                mWorldWidth / 2,
+                mWorldHeight / 2,
+                getDefaultBallRadius());
+        mCurrentGameBall.grow();
+    }
+
+    /**
+     * Returns the current ball to the pool, if there is one.
+     */
+    private void freeGameBall() {
+        if (mCurrentGameBall != null) {
+            mGameBallPool.free(mCurrentGameBall);
+            mCurrentGameBall = null;
+        }
+    }
+
+    /**
+     * Ends the current game - it has been lost.
+     */
+    private void endGame() {
+        mPhase = Phase.Ended;
+        if (mSimulationListener != null)
+            mSimulationListener.onGameEnded(mTotalTurns);
+    }
+
+    /**
+     * Increases the player's score and starts a new turn.
+     */
+    private void turnSucceeded() {
+        mTotalTurns++;
+        mTurnDuration = 0;
+
+        if (mTotalTurns % mDifficulty.getTurnsBeforeNewColor() == 0)
+            addWallColorToActive();
+
+        replaceWallsAndBall(null);
+
+        if (mTotalTurns % mDifficulty.getTurnsBeforeDecrement() == 0) {
+            mTurnLength = Math.max(mDifficulty.getMinimumTurnLength(),
+                    mTurnLength - mDifficulty.getTurnLengthDecrement());
+        }
+
+        if (mSimulationListener != null)
+            mSimulationListener.onTurnSucceeded(mTotalTurns);
+    }
+
+    /**
+     * Adds the next color from {@code GameColor} to the current active wall colors.
+     */
+    private void addWallColorToActive() {
+        if (mTotalActiveColors < mActiveColors.length)
+            mTotalActiveColors++;
+    }
+
+    /**
+     * Adjusts the size of the game objects to fit new world dimensions.
+     *
+     * @param worldWidth width of the area the game is played in
+     * @param worldHeight height of the area the game is played in
+     */
+    public void resize(int worldWidth, int worldHeight) {
+        mWorldWidth = worldWidth;
+        mWorldHeight = worldHeight;
+
+        for (Wall wall : mPrimaryWalls)
+            wall.resize(worldWidth, worldHeight);
+        for (Wall wall : mSecondaryWalls)
+            wall.resize(worldWidth, worldHeight);
+        if (mCurrentGameBall != null)
+            mCurrentGameBall.resize(worldWidth, worldHeight);
+    }
+
+    /**
+     * Sets the callback interface.
+     *
+     * @param listener instance of callback interface, or {@code null}
+     */
+    public void setSimulationListener(SimulationListener listener) {
+        mSimulationListener = listener;
+    }
+
+    /**
+     * Gets the current phase of the game.
+     *
+     * @return {@code mPhase}
+     */
+    public Phase getPhase() {
+        return mPhase;
+    }
+
+    /**
+     * Gets the parameters which determine how quickly the game becomes harder.
+     *
+     * @return {@code mDifficulty}
+     */
+    public Difficulty getDifficulty() {
+        return mDifficulty;
+    }
+
+    /**
+     * Gets the ball being used by the game.
+     *
+     * @return the current ball, or {@code null} if the game has not started
+     */
+    public GameBall getGameBall() {
+        return mCurrentGameBall;
+    }
+
+    /**
+     * Gets the four main walls of the game, which the ball interacts with.
+     *
+     * @return the primary walls, in the order of {@code Wall.Side}
+     */
+    public Wall[] getPrimaryWalls() {
+        return mPrimaryWalls;
+    }
+
+    /**
+     * Gets the four walls which are animating to replace the primary walls.
+     *
+     * @return the secondary walls, in the order of {@code Wall.Side}
+     */
+    public Wall[] getSecondaryWalls() {
+        return mSecondaryWalls;
+    }
+
+    /**
+     * Checks if the secondary walls are animating into place, and should be drawn.
+     *
+     * @return {@code true} if the secondary walls are visible
+     */
+    public boolean areSecondaryWallsVisible() {
+        return mSecondaryWallsVisible;
+    }
+
+    /**
+     * Gets the length of the current turn.
+     *
+     * @return number of seconds the current turn will last
+     */
+    public float getTurnLength() {
+        return mTurnLength;
+    }
+
+    /**
+     * Gets the number of seconds which have passed in the current turn.
+     *
+     * @return duration of the current turn
+     */
+    public float getTurnDuration() {
+        return mTurnDuration;
+    }
+
+    /**
+     * Gets the total number of turns that have passed since the game began.
+     *
+     * @return the player's score
+     */
+    public int getTotalTurns() {
+        return mTotalTurns;
+    }
+
+    /**
+     * Gets the countdown item which should be displayed while the game is starting.
+     *
+     * @return the current countdown item
+     */
+    public GameCountdown getCountdownItem() {
+        return GameCountdown.getCountdownItem(mGameCountdown / TIME_UNTIL_GAME_STARTS);
+    }
+
+    /**
+     * Gets the radius of a fully grown ball in this game.
+     *
+     * @return default ball radius
+     */
+    public float getDefaultBallRadius() {
+        return BasicBall.calculateDefaultBallRadius(mWorldWidth, mWorldHeight);
+    }
+
+    /**
+     * Gets the width of the area the game is played in.
+     *
+     * @return {@code mWorldWidth}
+     */
+    public int getWorldWidth() {
+        return mWorldWidth;
+    }
+
+    /**
+     * Gets the height of the area the game is played in.
+     *
+     * @return {@code mWorldHeight}
+     */
+    public int getWorldHeight() {
+        return mWorldHeight;
+    }
+
+    /**
+     * Phases of a single game.
+     */
+    public enum Phase {
+        /** Represents the countdown before the game begins. */
+        Starting,
+        /** Represents the game being played. */
+        Playing,
+        /** Represents the game being over, or not yet prepared. */
+        Ended,
+    }
+
+    /**
+     * Provides callback methods for events in the game.
+     */
+    public interface SimulationListener {
+        /**
+         * Invoked when the countdown finishes and the first turn begins.
+         */
+        void onGameStarted();
+
+        /**
+         * Invoked when the player releases the ball after dragging it.
+         */
+        void onBallReleased();
+
+        /**
+         * Invoked when the player passes the ball through a wall.
+         *
+         * @param totalTurns the player's new score
+         */
+        void onTurnSucceeded(int totalTurns);
+
+        /**
+         * Invoked when the player loses the game.
+         *
+         * @param finalScore score the player obtained
+         */
+        void onGameEnded(int finalScore);
+    }
+
+    /**
+     * Icons which represent the countdown before a game begins.
+     */
+    public enum GameCountdown {
+        /** Item which represents a 3 in the countdown. */
+        Three,
+        /** Item which represents a 2 in the countdown. */
+        Two,
+        /** Item which represents a 1 in the countdown. */
+        One,
+        /** Item which represents GO! in the countdown. */
+        Go;
+
+        /**
+         * Gets a countdown item based on the total percentage of the countdown which has passed.
+         *
+         * @param percentage a percentage from 0 to 1
+         * @return the countdown item
+         */
+        @SuppressWarnings("CheckStyle")
+        public static GameCountdown getCountdownItem(float percentage) {
+            if (percentage < 0.25f)
+                return Three;
+            else if (percentage < 0.5f)
+                return Two;
+            else if (percentage < 0.75f)
+                return One;
+            else
+                return Go;
+        }
+    }
+}
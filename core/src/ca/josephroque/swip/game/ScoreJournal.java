@@ -0,0 +1,518 @@
+package ca.josephroque.swip.game;
+
+import ca.josephroque.swip.util.FileUtils;
+import com.badlogic.gdx.Gdx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps the score of every finished game in an append-only journal in local storage, and an index of the highest and
+ * most recent scores in memory.
+ *
+ * <p>The journal is a header, then a snapshot of the index, then a record for each game finished since the snapshot.
+ * The snapshot and each record end with a checksum, so a record which was only partly written when the application
+ * was killed is detected and dropped when the journal is loaded. Once {@code COMPACTION_THRESHOLD} records have been
+ * appended, the journal is compacted by writing a new snapshot to a temporary file which then replaces the journal.
+ * Loading the journal only reads the snapshot and the records after it, so it takes the same time after any number of
+ * games.</p>
+ *
+ * <p>Only the {@code TOP_SCORES} highest and {@code RECENT_SCORES} most recent scores are kept, which is all the game
+ * shows. The high score is read in constant time, and a new score is placed among the highest scores by binary search.
+ * The journal is written on a background thread, so finishing a game never waits for the disk.</p>
+ */
+public final class ScoreJournal {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "ScoreJournal";
+
+    /** Identifies a score journal. */
+    private static final int MAGIC = 0x53574A4E;
+    /** Version of the score journal format. */
+    private static final short VERSION = 1;
+    /** Number of highest scores kept. */
+    public static final int TOP_SCORES = 20;
+    /** Number of most recent scores kept. */
+    public static final int RECENT_SCORES = 20;
+    /** Number of records appended after a snapshot before the journal is compacted. */
+    static final int COMPACTION_THRESHOLD = 128;
+    /** Size of each record in bytes: the score, the time it was set and a checksum. */
+    private static final int RECORD_SIZE = 16;
+    /** Size of the header in bytes: the magic number and version. */
+    private static final int HEADER_SIZE = 6;
+    /** Size of each score in the snapshot in bytes: the score and the time it was set. */
+    private static final int SNAPSHOT_SCORE_SIZE = 12;
+    /** Largest number of bytes read from the journal, so a damaged file length cannot exhaust memory. */
+    private static final int MAXIMUM_JOURNAL_SIZE = 1 << 20;
+
+    /** Journal file. */
+    private final File mJournalFile;
+    /** File a compacted journal is written to before replacing {@code mJournalFile}. */
+    private final File mTemporaryFile;
+    /** Writes the journal in the background, in the order the writes were requested. */
+    private ExecutorService mWriter;
+
+    /** Highest scores, from highest to lowest. */
+    private final int[] mTopScores = new int[TOP_SCORES];
+    /** Time each of {@code mTopScores} was set, in milliseconds since the epoch. */
+    private final long[] mTopTimes = new long[TOP_SCORES];
+    /** Number of valid entries in {@code mTopScores}. */
+    private int mTotalTopScores;
+    /** Most recent scores, in a ring buffer which ends before {@code mNextRecentScore}. */
+    private final int[] mRecentScores = new int[RECENT_SCORES];
+    /** Time each of {@code mRecentScores} was set, in milliseconds since the epoch. */
+    private final long[] mRecentTimes = new long[RECENT_SCORES];
+    /** Position in {@code mRecentScores} of the next score. */
+    private int mNextRecentScore;
+    /** Number of valid entries in {@code mRecentScores}. */
+    private int mTotalRecentScores;
+    /** Number of games which have been finished, ever. */
+    private long mTotalGames;
+    /** Number of records in the journal after its snapshot. */
+    private int mRecordsSinceSnapshot;
+
+    /**
+     * Prepares a journal stored in the given file. {@code load()} must be called before scores are recorded.
+     *
+     * @param journalFile file in local storage to keep the journal in
+     */
+    public ScoreJournal(File journalFile) {
+        mJournalFile = journalFile;
+        mTemporaryFile = new File(journalFile.getPath() + ".tmp");
+    }
+
+    /**
+     * Reads the journal into the index and starts the background thread. A damaged journal is rewritten from the
+     * scores which could be read. If the application was killed while the journal was being compacted, the compacted
+     * journal is recovered from the temporary file.
+     */
+    public void load() {
+        if (mWriter != null)
+            throw new IllegalStateException("journal is already loaded.");
+
+        mWriter = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, TAG);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        boolean intact = false;
+        if (FileUtils.recoverReplacedFile(mJournalFile, mTemporaryFile)) {
+            try {
+                intact = read();
+            } catch (IOException ex) {
+                Gdx.app.error(TAG, "Unable to load score journal, starting a new one", ex);
+                clearIndex();
+            }
+        }
+
+        if (!intact)
+            compact();
+    }
+
+    /**
+     * Records the score of a finished game. The index is updated immediately, and the record is appended to the
+     * journal in the background.
+     *
+     * @param score final score of the game
+     * @param time time the game finished, in milliseconds since the epoch
+     */
+    public void record(int score, long time) {
+        if (mWriter == null)
+            throw new IllegalStateException("journal is not loaded.");
+
+        index(score, time);
+        mRecordsSinceSnapshot++;
+        if (mRecordsSinceSnapshot >= COMPACTION_THRESHOLD) {
+            compact();
+            return;
+        }
+
+        final byte[] record = writeRecord(score, time);
+        mWriter.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    FileOutputStream output = new FileOutputStream(mJournalFile, true);
+                    try {
+                        output.write(record);
+                        output.getFD().sync();
+                    } finally {
+                        output.close();
+                    }
+                } catch (IOException ex) {
+                    Gdx.app.error(TAG, "Unable to append score", ex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for every score which has been recorded to be written. Should be called when the application is paused.
+     */
+    public void flush() {
+        if (mWriter == null)
+            return;
+
+        try {
+            mWriter.submit(new Runnable() {
+                @Override
+                public void run() {
+                    // does nothing
+                }
+            }).get();
+        } catch (InterruptedException | ExecutionException ex) {
+            Gdx.app.error(TAG, "Unable to flush score journal", ex);
+        }
+    }
+
+    /**
+     * Waits for every score which has been recorded to be written, and stops the background thread.
+     */
+    public void dispose() {
+        if (mWriter == null)
+            return;
+
+        flush();
+        mWriter.shutdown();
+        mWriter = null;
+    }
+
+    /**
+     * Gets the highest score, ever.
+     *
+     * @return the highest score, or 0 if no games have been finished
+     */
+    public int getHighScore() {
+        return (mTotalTopScores > 0) ? mTopScores[0] : 0;
+    }
+
+    /**
+     * Gets the number of highest scores which are kept.
+     *
+     * @return {@code mTotalTopScores}
+     */
+    public int getTotalTopScores() {
+        return mTotalTopScores;
+    }
+
+    /**
+     * Gets one of the highest scores.
+     *
+     * @param rank position of the score, where 0 is the high score
+     * @return the score
+     */
+    public int getTopScore(int rank) {
+        if (rank < 0 || rank >= mTotalTopScores)
+            throw new IllegalArgumentException("rank must be between 0 and " + mTotalTopScores + ".");
+        return mTopScores[rank];
+    }
+
+    /**
+     * Gets the time one of the highest scores was set.
+     *
+     * @param rank position of the score, where 0 is the high score
+     * @return the time the score was set, in milliseconds since the epoch
+     */
+    public long getTopScoreTime(int rank) {
+        if (rank < 0 || rank >= mTotalTopScores)
+            throw new IllegalArgumentException("rank must be between 0 and " + mTotalTopScores + ".");
+        return mTopTimes[rank];
+    }
+
+    /**
+     * Gets the number of most recent scores which are kept.
+     *
+     * @return {@code mTotalRecentScores}
+     */
+    public int getTotalRecentScores() {
+        return mTotalRecentScores;
+    }
+
+    /**
+     * Gets one of the most recent scores.
+     *
+     * @param age number of games finished since the score, where 0 is the most recent score
+     * @return the score
+     */
+    public int getRecentScore(int age) {
+        return mRecentScores[getRecentPosition(age)];
+    }
+
+    /**
+     * Gets the time one of the most recent scores was set.
+     *
+     * @param age number of games finished since the score, where 0 is the most recent score
+     * @return the time the score was set, in milliseconds since the epoch
+     */
+    public long getRecentScoreTime(int age) {
+        return mRecentTimes[getRecentPosition(age)];
+    }
+
+    /**
+     * Gets the number of games which have been finished, ever.
+     *
+     * @return {@code mTotalGames}
+     */
+    public long getTotalGames() {
+        return mTotalGames;
+    }
+
+    /**
+     * Gets the position of a recent score in the ring buffer.
+     *
+     * @param age number of games finished since the score
+     * @return position in {@code mRecentScores}
+     */
+    private int getRecentPosition(int age) {
+        if (age < 0 || age >= mTotalRecentScores)
+            throw new IllegalArgumentException("age must be between 0 and " + mTotalRecentScores + ".");
+        return (mNextRecentScore - 1 - age + RECENT_SCORES) % RECENT_SCORES;
+    }
+
+    /**
+     * Adds a score to the index.
+     *
+     * @param score final score of a game
+     * @param time time the game finished, in milliseconds since the epoch
+     */
+    private void index(int score, long time) {
+        mTotalGames++;
+        indexRecent(score, time);
+
+        if (mTotalTopScores == TOP_SCORES && score <= mTopScores[TOP_SCORES - 1])
+            return;
+
+        // Finds the first lower score, so a tied score ranks below the one which was set first
+        int low = 0;
+        int high = mTotalTopScores;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (mTopScores[middle] >= score)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        final int moved = Math.min(mTotalTopScores, TOP_SCORES - 1) - low;
+        System.arraycopy(mTopScores, low, mTopScores, low + 1, moved);
+        System.arraycopy(mTopTimes, low, mTopTimes, low + 1, moved);
+        mTopScores[low] = score;
+        mTopTimes[low] = time;
+        if (mTotalTopScores < TOP_SCORES)
+            mTotalTopScores++;
+    }
+
+    /**
+     * Adds a score to the most recent scores, replacing the oldest if they are full.
+     *
+     * @param score final score of a game
+     * @param time time the game finished, in milliseconds since the epoch
+     */
+    private void indexRecent(int score, long time) {
+        mRecentScores[mNextRecentScore] = score;
+        mRecentTimes[mNextRecentScore] = time;
+        mNextRecentScore = (mNextRecentScore + 1) % RECENT_SCORES;
+        if (mTotalRecentScores < RECENT_SCORES)
+            mTotalRecentScores++;
+    }
+
+    /**
+     * Removes every score from the index.
+     */
+    private void clearIndex() {
+        mTotalTopScores = 0;
+        mNextRecentScore = 0;
+        mTotalRecentScores = 0;
+        mTotalGames = 0;
+        mRecordsSinceSnapshot = 0;
+    }
+
+    /**
+     * Replaces the journal in the background with the snapshot of the current index.
+     */
+    private void compact() {
+        final byte[] journal = writeSnapshot();
+        mRecordsSinceSnapshot = 0;
+        mWriter.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    FileUtils.replaceFile(mJournalFile, mTemporaryFile, journal);
+                } catch (IOException ex) {
+                    Gdx.app.error(TAG, "Unable to compact score journal", ex);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes the header and a snapshot of the index, which is a journal with no records.
+     *
+     * @return contents of the compacted journal
+     */
+    private byte[] writeSnapshot() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeLong(mTotalGames);
+            output.writeShort(mTotalTopScores);
+            for (int i = 0; i < mTotalTopScores; i++) {
+                output.writeInt(mTopScores[i]);
+                output.writeLong(mTopTimes[i]);
+            }
+
+            // Oldest first, so they are indexed in the order they were set when the journal is loaded
+            output.writeShort(mTotalRecentScores);
+            for (int age = mTotalRecentScores - 1; age >= 0; age--) {
+                output.writeInt(getRecentScore(age));
+                output.writeLong(getRecentScoreTime(age));
+            }
+
+            output.writeInt(checksum(bytes.toByteArray(), 0, bytes.size()));
+        } catch (IOException ex) {
+            throw new IllegalStateException("could not write score journal", ex);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a record of a finished game.
+     *
+     * @param score final score of the game
+     * @param time time the game finished, in milliseconds since the epoch
+     * @return the record
+     */
+    private static byte[] writeRecord(int score, long time) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_SIZE);
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            output.writeInt(score);
+            output.writeLong(time);
+            output.writeInt(checksum(bytes.toByteArray(), 0, bytes.size()));
+        } catch (IOException ex) {
+            throw new IllegalStateException("could not write score record", ex);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the snapshot and the records after it into the index. The snapshot is only used once it matches its
+     * checksum. Reading stops at the first record which is incomplete or does not match its checksum.
+     *
+     * @return {@code true} if every record was read, {@code false} if the journal ended with a damaged record or was
+     * too large to read completely
+     * @throws IOException if the journal could not be read, or its header or snapshot is damaged
+     */
+    private boolean read() throws IOException {
+        final long journalSize = mJournalFile.length();
+        final byte[] contents = new byte[(int) Math.min(journalSize, MAXIMUM_JOURNAL_SIZE)];
+        DataInputStream file = new DataInputStream(new FileInputStream(mJournalFile));
+        try {
+            file.readFully(contents);
+        } finally {
+            file.close();
+        }
+
+        clearIndex();
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(contents));
+        if (input.readInt() != MAGIC)
+            throw new IOException("not a score journal");
+        if (input.readShort() != VERSION)
+            throw new IOException("unsupported score journal version");
+
+        // Finds the end of the snapshot without using its contents, so its checksum can be checked first
+        input.readLong();
+        final int totalTopScores = input.readShort();
+        if (totalTopScores < 0 || totalTopScores > TOP_SCORES)
+            throw new IOException("invalid number of top scores " + totalTopScores);
+        skipFully(input, totalTopScores * SNAPSHOT_SCORE_SIZE);
+        final int totalRecentScores = input.readShort();
+        if (totalRecentScores < 0 || totalRecentScores > RECENT_SCORES)
+            throw new IOException("invalid number of recent scores " + totalRecentScores);
+        skipFully(input, totalRecentScores * SNAPSHOT_SCORE_SIZE);
+
+        final int snapshotSize = contents.length - input.available();
+        if (input.readInt() != checksum(contents, 0, snapshotSize))
+            throw new IOException("damaged score journal snapshot");
+
+        DataInputStream snapshot = new DataInputStream(
+                new ByteArrayInputStream(contents, HEADER_SIZE, snapshotSize - HEADER_SIZE));
+        mTotalGames = snapshot.readLong();
+        snapshot.readShort();
+        for (int i = 0; i < totalTopScores; i++) {
+            mTopScores[i] = snapshot.readInt();
+            mTopTimes[i] = snapshot.readLong();
+        }
+        mTotalTopScores = totalTopScores;
+        snapshot.readShort();
+        for (int i = 0; i < totalRecentScores; i++)
+            indexRecent(snapshot.readInt(), snapshot.readLong());
+
+        int recordStart = contents.length - input.available();
+        while (recordStart < contents.length) {
+            final int score;
+            final long time;
+            try {
+                score = input.readInt();
+                time = input.readLong();
+                if (input.readInt() != checksum(contents, recordStart, RECORD_SIZE - 4))
+                    return false;
+            } catch (EOFException ex) {
+                return false;
+            }
+
+            index(score, time);
+            mRecordsSinceSnapshot++;
+            recordStart += RECORD_SIZE;
+        }
+
+        return journalSize == contents.length;
+    }
+
+    /**
+     * Skips part of the journal.
+     *
+     * @param input journal being read
+     * @param length number of bytes to skip
+     * @throws IOException if the journal ends first
+     */
+    private static void skipFully(DataInputStream input, int length) throws IOException {
+        if (input.skipBytes(length) != length)
+            throw new EOFException("score journal ended early");
+    }
+
+    /**
+     * Calculates the checksum of part of a journal.
+     *
+     * @param bytes journal contents
+     * @param offset start of the part
+     * @param length length of the part
+     * @return CRC-32 of the part
+     */
+    private static int checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
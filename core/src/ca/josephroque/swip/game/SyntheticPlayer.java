@@ -0,0 +1,161 @@
+package ca.josephroque.swip.game;
+
+import ca.josephroque.swip.entity.GameBall;
+import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.input.GameInput;
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.Random;
+
+/**
+ * Plays a game without a person, by flicking the ball towards a wall after a randomized reaction time. Used to
+ * simulate many games to evaluate the difficulty of the game.
+ */
+public class SyntheticPlayer
+        implements GameInput {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "SyntheticPlayer";
+
+    /** Horizontal direction of each wall from the center of the screen, in the order of {@code Wall.Side}. */
+    private static final int[] WALL_DIRECTION_X = {0, 0, -1, 1};
+    /** Vertical direction of each wall from the center of the screen, in the order of {@code Wall.Side}. */
+    private static final int[] WALL_DIRECTION_Y = {1, -1, 0, 0};
+
+    /** Average number of seconds the player takes to react to a new ball. */
+    private final float mMeanReactionTime;
+    /** Standard deviation of the number of seconds the player takes to react to a new ball. */
+    private final float mReactionTimeDeviation;
+    /** Chance that the player flicks the ball towards a wall it can pass through. */
+    private final float mAccuracy;
+    /** Speed that the player flicks the ball at, in pixels per second. */
+    private final float mFlickSpeed;
+
+    /** Generates random numbers for the player. */
+    private final Random mRandomNumberGenerator;
+
+    /** The turn the player last saw, to detect when a new turn begins. Balls are reused, so cannot be compared. */
+    private int mCurrentTurn = -1;
+    /** Number of seconds until the player touches the current ball. */
+    private float mTimeUntilTouch;
+    /** Indicates if the player's finger is on the ball. */
+    private boolean mFingerDown;
+    /** Indicates if the player has already flicked the current ball. */
+    private boolean mFlicked;
+    /** Last location of the player's finger. */
+    private int mFingerX;
+    /** Last location of the player's finger. */
+    private int mFingerY;
+    /** Velocity the player will flick the current ball at. */
+    private final Vector2 mFlickVelocity = new Vector2();
+
+    /**
+     * Creates a new synthetic player.
+     *
+     * @param meanReactionTime average number of seconds the player takes to react to a new ball
+     * @param reactionTimeDeviation standard deviation of the reaction time
+     * @param accuracy chance that the player flicks the ball towards a wall it can pass through, from 0 to 1
+     * @param flickSpeed speed that the player flicks the ball at, in pixels per second
+     * @param random to generate random numbers
+     */
+    public SyntheticPlayer(float meanReactionTime,
+                           float reactionTimeDeviation,
+                           float accuracy,
+                           float flickSpeed,
+                           Random random) {
+        mMeanReactionTime = meanReactionTime;
+        mReactionTimeDeviation = reactionTimeDeviation;
+        mAccuracy = accuracy;
+        mFlickSpeed = flickSpeed;
+        mRandomNumberGenerator = random;
+    }
+
+    /**
+     * Decides what the player will do in the next step of the simulation. Should be called before each step.
+     *
+     * @param simulation the game being played
+     * @param delta number of seconds the next step will simulate
+     */
+    public void think(GameSimulation simulation, float delta) {
+        final GameBall ball = simulation.getGameBall();
+        if (simulation.getPhase() != GameSimulation.Phase.Playing || ball == null) {
+            mCurrentTurn = -1;
+            mFingerDown = false;
+            return;
+        }
+
+        if (simulation.getTotalTurns() != mCurrentTurn)
+            startTurn(ball, simulation.getTotalTurns());
+
+        if (mFlicked)
+            return;
+
+        if (mFingerDown) {
+            // The ball was grabbed in the last step, so it can be released
+            mFingerDown = false;
+            mFlicked = true;
+        } else {
+            mTimeUntilTouch -= delta;
+            if (mTimeUntilTouch <= 0) {
+                mFingerDown = true;
+                mFingerX = (int) ball.getX();
+                mFingerY = (int) ball.getY();
+            }
+        }
+    }
+
+    /**
+     * Chooses a reaction time and a target wall for a new ball.
+     *
+     * @param ball the new ball
+     * @param turn the new turn
+     */
+    private void startTurn(GameBall ball, int turn) {
+        mCurrentTurn = turn;
+        mFingerDown = false;
+        mFlicked = false;
+        mTimeUntilTouch = Math.max(0f,
+                mMeanReactionTime + (float) mRandomNumberGenerator.nextGaussian() * mReactionTimeDeviation);
+
+        final boolean aimForPassableWall = mRandomNumberGenerator.nextFloat() < mAccuracy;
+        int candidates = 0;
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+            if (ball.canPassThroughWall(i) == aimForPassableWall)
+                candidates++;
+        }
+
+        int target = mRandomNumberGenerator.nextInt(candidates);
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+            if (ball.canPassThroughWall(i) == aimForPassableWall && target-- == 0) {
+                mFlickVelocity.set(WALL_DIRECTION_X[i] * mFlickSpeed, WALL_DIRECTION_Y[i] * mFlickSpeed);
+                break;
+            }
+        }
+    }
+
+    @Override
+    public int getLastFingerX() {
+        return mFingerX;
+    }
+
+    @Override
+    public int getLastFingerY() {
+        return mFingerY;
+    }
+
+    @Override
+    public boolean isFingerDown() {
+        return mFingerDown;
+    }
+
+    @Override
+    public boolean clickOccurred() {
+        return false;
+    }
+
+    @Override
+    public Vector2 calculateFingerDragVelocity() {
+        return mFlickVelocity;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides the rules of the game, independent of how it is rendered.
+ */
+package ca.josephroque.swip.game;
@@ -0,0 +1,44 @@
+package ca.josephroque.swip.input;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Provides the state of the player's input to game objects, independent of where the input came from.
+ */
+public interface GameInput {
+
+    /**
+     * Returns last known x location of finger on screen. Origin is the left of the screen.
+     *
+     * @return x location of the user's first finger
+     */
+    int getLastFingerX();
+
+    /**
+     * Returns last known y location of finger on screen. Origin is the bottom of the screen.
+     *
+     * @return y location of the user's first finger
+     */
+    int getLastFingerY();
+
+    /**
+     * Checks if the user's finger is on the screen. Only considers the first finger on the screen.
+     *
+     * @return {@code true} if the user's first finger is on the screen
+     */
+    boolean isFingerDown();
+
+    /**
+     * Checks if the user has placed their finger down and released it in a very quick "clicking" motion.
+     *
+     * @return {@code true} if the user has met the conditions for a click
+     */
+    boolean clickOccurred();
+
+    /**
+     * Calculates the velocity of the user's finger movements, in pixels per second.
+     *
+     * @return the velocity of the user's finger movements
+     */
+    Vector2 calculateFingerDragVelocity();
+}
@@ -1,161 +1,499 @@
 package ca.josephroque.swip.input;
 
-import ca.josephroque.swip.screen.GameScreen;
-import ca.josephroque.swip.util.Triplet;
+import ca.josephroque.swip.profiling.InputLatencyTracker;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.TimeUtils;
 
-import java.util.LinkedList;
-
 /**
  * Handles gesture input for the application.
+ *
+ * <p>Each finger on the screen, up to {@code MAXIMUM_POINTERS}, has its own slot with its location and history. Slots
+ * are preallocated arrays of primitives, indexed by pointer, so touch events do not allocate. Recent locations of each
+ * finger are kept in a fixed ring buffer, and the velocity of a finger is fit by least squares to the locations
+ * within a short window before its latest event, so it does not depend on how often the device samples touches.</p>
+ *
+ * <p>The methods of {@link GameInput} describe the primary finger. The first finger placed on the screen becomes the
+ * primary finger, and stays primary until it is lifted. If it is lifted while other fingers remain, the finger which
+ * has been on the screen the longest becomes primary on the next tick.</p>
  */
 public class GameInputProcessor
-        implements InputProcessor {
+        implements InputProcessor, GameInput {
 
     /** Identifies output from this class in the logcat. */
     @SuppressWarnings("unused")
     private static final String TAG = "GameInput";
 
-    /** The maximum number of locations to store of the user's finger history on the screen. */
-    private static final int MAXIMUM_FINGER_HISTORY = 5;
-    /** Maximum number of milliseconds a user can hold their finger on the screen for to be "clicking". */
-    private static final int MAXIMUM_CLICK_HOLD_THRESHOLD = 300;
+    /** Maximum number of fingers which are tracked at once. Events from further fingers are ignored. */
+    public static final int MAXIMUM_POINTERS = 10;
+    /** The maximum number of locations to store of each finger's history on the screen. Enough for 240Hz. */
+    private static final int MAXIMUM_FINGER_HISTORY = 32;
+    /** Maximum number of nanoseconds a user can hold their finger on the screen for to be "clicking". */
+    private static final long MAXIMUM_CLICK_HOLD_THRESHOLD = 300000000L;
     /** Maximum number of pixels a user's finger can move on the screen to be considered a click. */
     private static final int MAXIMUM_CLICK_MOVE_THRESHOLD = 10;
+    /** Default number of nanoseconds before the latest event which the finger velocity is calculated from. */
+    public static final long DEFAULT_VELOCITY_WINDOW = 100000000L;
 
     /**
-     * The finger velocity is calculated in milliseconds, but game object velocities use seconds, so the finger velocity
+     * The finger velocity is calculated in nanoseconds, but game object velocities use seconds, so the finger velocity
      * must be scaled up.
      */
-    private static final int FINGER_VELOCITY_SCALE = 1000;
-
-    /** Last recorded x location on screen of a finger. */
-    private int mLastFingerX;
-    /** Last recorded y location on screen of a finger. */
-    private int mLastFingerY;
-    /** X location at which the user placed their finger on the screen. */
-    private int mFingerDownX;
-    /** Y location at which the user placed their finger on the screen. */
-    private int mFingerDownY;
-    /** Indicates if the user's finger is currently on the screen. */
-    private boolean mFingerDown;
-    /** Time that the user last placed their finger on the screen. */
-    private long mFingerDownTime;
-    /** Indicates if the user took their finger off the screen in the last tick. */
-    private boolean mFingerJustReleased;
-
-    /** Past locations of the user's finger. */
-    private final LinkedList<Triplet<Integer, Integer, Long>> mFingerHistory = new LinkedList<>();
-    /** Used to store the moving velocity of the user's finger. */
+    private static final double FINGER_VELOCITY_SCALE = 1e9;
+
+    /** Height of the screen, to convert touch locations so the origin is the bottom of the screen. */
+    private int mScreenHeight;
+
+    /** Pointer of the primary finger, which {@code GameInput} describes. */
+    private int mPrimaryPointer;
+
+    /** Last recorded x location on screen of each finger. */
+    private final int[] mLastFingerX = new int[MAXIMUM_POINTERS];
+    /** Last recorded y location on screen of each finger. */
+    private final int[] mLastFingerY = new int[MAXIMUM_POINTERS];
+    /** X location at which the user placed each finger on the screen. */
+    private final int[] mFingerDownX = new int[MAXIMUM_POINTERS];
+    /** Y location at which the user placed each finger on the screen. */
+    private final int[] mFingerDownY = new int[MAXIMUM_POINTERS];
+    /** Indicates if each finger is currently on the screen. */
+    private final boolean[] mFingerDown = new boolean[MAXIMUM_POINTERS];
+    /** Time that the user last placed each finger on the screen, in nanoseconds. */
+    private final long[] mFingerDownTime = new long[MAXIMUM_POINTERS];
+    /** Time that the user last took each finger off the screen, in nanoseconds. */
+    private final long[] mFingerUpTime = new long[MAXIMUM_POINTERS];
+    /** Time that the user last took the finger which was primary at the time off the screen, in nanoseconds. */
+    private long mPrimaryFingerUpTime;
+    /** Indicates if the user took each finger off the screen in the last tick. */
+    private final boolean[] mFingerJustReleased = new boolean[MAXIMUM_POINTERS];
+
+    /** X locations of each finger. Each pointer has a ring buffer of {@code MAXIMUM_FINGER_HISTORY} locations. */
+    private final int[] mFingerHistoryX = new int[MAXIMUM_POINTERS * MAXIMUM_FINGER_HISTORY];
+    /** Y locations of each finger. Each pointer has a ring buffer of {@code MAXIMUM_FINGER_HISTORY} locations. */
+    private final int[] mFingerHistoryY = new int[MAXIMUM_POINTERS * MAXIMUM_FINGER_HISTORY];
+    /** Times of the locations of each finger, in nanoseconds. Laid out like {@code mFingerHistoryX}. */
+    private final long[] mFingerHistoryTime = new long[MAXIMUM_POINTERS * MAXIMUM_FINGER_HISTORY];
+    /** Position in each finger's ring buffer which the next location will be written to. */
+    private final int[] mNextFingerHistory = new int[MAXIMUM_POINTERS];
+    /** Number of locations in each finger's history, up to {@code MAXIMUM_FINGER_HISTORY}. */
+    private final int[] mFingerHistorySize = new int[MAXIMUM_POINTERS];
+    /** Number of nanoseconds before the latest event which the finger velocity is calculated from. */
+    private long mVelocityWindow = DEFAULT_VELOCITY_WINDOW;
+    /** Used to store the moving velocity of a finger. */
     private final Vector2 mFingerDragVelocity = new Vector2();
 
+    /** Time the oldest event which has not been consumed by a tick arrived, in nanoseconds, or 0 if none. */
+    private long mPendingArrivalTime;
+
+    /** Records touch events so they can be replayed, or {@code null}. */
+    private InputRecorder mInputRecorder;
+    /** Measures how long touch events take to be consumed and drawn, or {@code null}. */
+    private InputLatencyTracker mLatencyTracker;
+
     /**
-     * Returns last known x location of finger on screen. Origin is the left of the screen.
+     * Creates a new input processor.
      *
-     * @return x location of the user's first finger
+     * @param screenHeight height of the screen
      */
+    public GameInputProcessor(int screenHeight) {
+        mScreenHeight = screenHeight;
+    }
+
+    @Override
     public int getLastFingerX() {
-        return mLastFingerX;
+        return getPointerX(mPrimaryPointer);
+    }
+
+    @Override
+    public int getLastFingerY() {
+        return getPointerY(mPrimaryPointer);
+    }
+
+    @Override
+    public boolean isFingerDown() {
+        return mFingerDown[mPrimaryPointer];
+    }
+
+    @Override
+    public boolean clickOccurred() {
+        return wasPointerClicked(mPrimaryPointer);
+    }
+
+    @Override
+    public Vector2 calculateFingerDragVelocity() {
+        return calculatePointerVelocity(mPrimaryPointer);
     }
 
     /**
-     * Returns last known y location of finger on screen. Origin is the bottom of the screen.
+     * Gets the pointer of the primary finger, which the methods of {@code GameInput} describe.
      *
-     * @return y location of the user's first finger
+     * @return {@code mPrimaryPointer}
      */
-    public int getLastFingerY() {
-        return GameScreen.getScreenHeight() - mLastFingerY;
+    public int getPrimaryPointer() {
+        return mPrimaryPointer;
     }
 
     /**
-     * Checks if the user's finger is on the screen. Only considers the first finger on the screen.
+     * Counts the fingers which are currently on the screen.
      *
-     * @return {@code true} if the user's first finger is on the screen
+     * @return number of pointers which are down
      */
-    public boolean isFingerDown() {
-        return mFingerDown;
+    public int getTotalPointersDown() {
+        int totalPointersDown = 0;
+        for (boolean fingerDown : mFingerDown) {
+            if (fingerDown)
+                totalPointersDown++;
+        }
+
+        return totalPointersDown;
     }
 
     /**
-     * Checks if the user has placed their finger down and released it in a very quick "clicking" motion.
+     * Checks if a finger is currently on the screen.
      *
-     * @return {@code true} if the user has met the conditions for a click
+     * @param pointer index of the finger, less than {@code MAXIMUM_POINTERS}
+     * @return {@code true} if the finger is on the screen
      */
-    public boolean clickOccurred() {
-        return mFingerJustReleased && TimeUtils.timeSinceMillis(mFingerDownTime) < MAXIMUM_CLICK_HOLD_THRESHOLD
-                && Math.abs(mLastFingerX - mFingerDownX) < MAXIMUM_CLICK_MOVE_THRESHOLD
-                && Math.abs(mLastFingerY - mFingerDownY) < MAXIMUM_CLICK_MOVE_THRESHOLD;
+    public boolean isPointerDown(int pointer) {
+        return mFingerDown[pointer];
     }
 
     /**
-     * Calculates the velocity of the user's finger movements using the last {@code MAXIMUM_FINGER_HISTORY} positions.
+     * Returns last known x location of a finger on screen. Origin is the left of the screen.
      *
-     * @return the velocity of the user's finger movements
+     * @param pointer index of the finger, less than {@code MAXIMUM_POINTERS}
+     * @return x location of the finger
      */
-    public Vector2 calculateFingerDragVelocity() {
-        if (mFingerHistory.size() == 0) {
-            mFingerDragVelocity.set(0, 0);
-        } else {
-            int totalXDistance = mFingerHistory.getLast().getFirst() - mFingerHistory.getFirst().getFirst();
-            int totalYDistance = mFingerHistory.getLast().getSecond() - mFingerHistory.getFirst().getSecond();
-            float elapsedTime = mFingerHistory.getLast().getThird() - mFingerHistory.getFirst().getThird();
-            mFingerDragVelocity.set(totalXDistance / elapsedTime * FINGER_VELOCITY_SCALE,
-                    -totalYDistance / elapsedTime * FINGER_VELOCITY_SCALE);
+    public int getPointerX(int pointer) {
+        return mLastFingerX[pointer];
+    }
+
+    /**
+     * Returns last known y location of a finger on screen. Origin is the bottom of the screen.
+     *
+     * @param pointer index of the finger, less than {@code MAXIMUM_POINTERS}
+     * @return y location of the finger
+     */
+    public int getPointerY(int pointer) {
+        return mScreenHeight - mLastFingerY[pointer];
+    }
+
+    /**
+     * Checks if the user has placed a finger down and released it in a very quick "clicking" motion.
+     *
+     * @param pointer index of the finger, less than {@code MAXIMUM_POINTERS}
+     * @return {@code true} if the finger has met the conditions for a click in the last tick
+     */
+    public boolean wasPointerClicked(int pointer) {
+        return mFingerJustReleased[pointer]
+                && mFingerUpTime[pointer] - mFingerDownTime[pointer] < MAXIMUM_CLICK_HOLD_THRESHOLD
+                && Math.abs(mLastFingerX[pointer] - mFingerDownX[pointer]) < MAXIMUM_CLICK_MOVE_THRESHOLD
+                && Math.abs(mLastFingerY[pointer] - mFingerDownY[pointer]) < MAXIMUM_CLICK_MOVE_THRESHOLD;
+    }
+
+    /**
+     * Calculates the velocity of a finger's movements, in pixels per second, from the slope of the least squares line
+     * through its locations in the velocity window. The vector returned is reused by every call.
+     *
+     * @param pointer index of the finger, less than {@code MAXIMUM_POINTERS}
+     * @return the velocity of the finger's movements
+     */
+    public Vector2 calculatePointerVelocity(int pointer) {
+        mFingerDragVelocity.set(0, 0);
+        final int historySize = mFingerHistorySize[pointer];
+        if (historySize < 2)
+            return mFingerDragVelocity;
+
+        // Times and locations are taken relative to the latest event, to keep the sums small
+        final int latest = getFingerHistoryIndex(pointer, historySize - 1);
+        final long latestTime = mFingerHistoryTime[latest];
+        final int latestX = mFingerHistoryX[latest];
+        final int latestY = mFingerHistoryY[latest];
+
+        int totalSamples = 0;
+        double sumTime = 0;
+        double sumX = 0;
+        double sumY = 0;
+        double sumTimeSquared = 0;
+        double sumTimeX = 0;
+        double sumTimeY = 0;
+        for (int i = historySize - 1; i >= 0; i--) {
+            final int index = getFingerHistoryIndex(pointer, i);
+            final long elapsedTime = latestTime - mFingerHistoryTime[index];
+            if (elapsedTime > mVelocityWindow)
+                break;
+
+            final double time = -elapsedTime;
+            final double x = mFingerHistoryX[index] - latestX;
+            final double y = mFingerHistoryY[index] - latestY;
+            totalSamples++;
+            sumTime += time;
+            sumX += x;
+            sumY += y;
+            sumTimeSquared += time * time;
+            sumTimeX += time * x;
+            sumTimeY += time * y;
         }
 
+        // Slope of the least squares line through the samples. Zero if every sample occurred at the same time
+        final double timeVariance = totalSamples * sumTimeSquared - sumTime * sumTime;
+        if (totalSamples < 2 || timeVariance <= 0)
+            return mFingerDragVelocity;
+
+        final double velocityX = (totalSamples * sumTimeX - sumTime * sumX) / timeVariance;
+        final double velocityY = (totalSamples * sumTimeY - sumTime * sumY) / timeVariance;
+        mFingerDragVelocity.set((float) (velocityX * FINGER_VELOCITY_SCALE),
+                (float) (-velocityY * FINGER_VELOCITY_SCALE));
         return mFingerDragVelocity;
     }
 
+    /**
+     * Sets how far back the finger velocity is calculated from. Shorter windows respond faster to changes in direction,
+     * longer windows smooth out noisy touch sensors.
+     *
+     * @param nanos number of nanoseconds before the latest event. Must be positive.
+     */
+    public void setVelocityWindow(long nanos) {
+        if (nanos <= 0)
+            throw new IllegalArgumentException("velocity window must be positive");
+        mVelocityWindow = nanos;
+    }
+
+    /**
+     * Gets the index in the finger history ring buffers of a location.
+     *
+     * @param pointer index of the finger
+     * @param position position of the location, where 0 is the oldest location of the finger
+     * @return index in {@code mFingerHistoryX}, {@code mFingerHistoryY} and {@code mFingerHistoryTime}
+     */
+    private int getFingerHistoryIndex(int pointer, int position) {
+        final int ringPosition = (mNextFingerHistory[pointer] - mFingerHistorySize[pointer] + position
+                + MAXIMUM_FINGER_HISTORY) % MAXIMUM_FINGER_HISTORY;
+        return pointer * MAXIMUM_FINGER_HISTORY + ringPosition;
+    }
+
+    /**
+     * Adds a location to a finger's history, replacing its oldest location if the history is full.
+     *
+     * @param pointer index of the finger
+     * @param screenX x location of the finger
+     * @param screenY y location of the finger
+     * @param time time of the location, in nanoseconds
+     */
+    private void addFingerHistory(int pointer, int screenX, int screenY, long time) {
+        final int index = pointer * MAXIMUM_FINGER_HISTORY + mNextFingerHistory[pointer];
+        mFingerHistoryX[index] = screenX;
+        mFingerHistoryY[index] = screenY;
+        mFingerHistoryTime[index] = time;
+        mNextFingerHistory[pointer] = (mNextFingerHistory[pointer] + 1) % MAXIMUM_FINGER_HISTORY;
+        if (mFingerHistorySize[pointer] < MAXIMUM_FINGER_HISTORY)
+            mFingerHistorySize[pointer]++;
+    }
+
     /**
      * Updates input objects.
      */
     public void tick() {
-        mFingerJustReleased = false;
+        for (int i = 0; i < MAXIMUM_POINTERS; i++)
+            mFingerJustReleased[i] = false;
+
+        // If the primary finger was lifted while others remained, the finger which has been down longest takes over
+        if (!mFingerDown[mPrimaryPointer]) {
+            int longestPointer = -1;
+            for (int i = 0; i < MAXIMUM_POINTERS; i++) {
+                if (mFingerDown[i] && (longestPointer == -1 || mFingerDownTime[i] < mFingerDownTime[longestPointer]))
+                    longestPointer = i;
+            }
+
+            if (longestPointer != -1)
+                mPrimaryPointer = longestPointer;
+        }
+
+        if (mPendingArrivalTime != 0) {
+            if (mLatencyTracker != null)
+                mLatencyTracker.recordConsumed(mPendingArrivalTime, TimeUtils.nanoTime());
+            mPendingArrivalTime = 0;
+        }
+    }
+
+    /**
+     * Forgets every finger on the screen, as if each had been lifted before the last tick. Fingers which are still on
+     * the screen are ignored until they are placed on it again.
+     */
+    public void cancelTouches() {
+        for (int i = 0; i < MAXIMUM_POINTERS; i++) {
+            mFingerDown[i] = false;
+            mFingerJustReleased[i] = false;
+            mFingerHistorySize[i] = 0;
+        }
+        mPrimaryPointer = 0;
+    }
+
+    /**
+     * Stamps a touch event which was handled with the time it arrived, so its latency can be measured.
+     *
+     * @param eventTime time the backend stamped the event, in nanoseconds
+     * @param arrivalTime time the event arrived, in nanoseconds
+     */
+    private void onEventArrived(long eventTime, long arrivalTime) {
+        if (mPendingArrivalTime == 0)
+            mPendingArrivalTime = arrivalTime;
+        if (mLatencyTracker != null)
+            mLatencyTracker.recordArrival(eventTime, arrivalTime);
+    }
+
+    /**
+     * Gets the time the backend received the event of the user last taking their primary finger off the screen. The
+     * time is kept when the finger is lifted, so it still belongs to that finger after another finger has been
+     * promoted to primary. Comparable with {@code TimeUtils.nanoTime()} on backends which timestamp events with
+     * {@code System.nanoTime()}, such as Android.
+     *
+     * @return time in nanoseconds, or 0 if the finger has not been lifted
+     */
+    public long getFingerUpEventTime() {
+        return mPrimaryFingerUpTime;
+    }
+
+    /**
+     * Sets the recorder which touch events should be passed to.
+     *
+     * @param recorder records touch events, or {@code null}
+     */
+    public void setInputRecorder(InputRecorder recorder) {
+        mInputRecorder = recorder;
+    }
+
+    /**
+     * Sets the tracker which measures the latency of touch events.
+     *
+     * @param tracker measures touch events, or {@code null}
+     */
+    public void setLatencyTracker(InputLatencyTracker tracker) {
+        mLatencyTracker = tracker;
+    }
+
+    /**
+     * Adjusts touch locations to fit the new screen dimensions.
+     *
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     */
+    public void resize(int screenWidth, int screenHeight) {
+        mScreenHeight = screenHeight;
     }
 
     @Override
     public boolean touchDown(int screenX, int screenY, int pointer, int button) {
-        if (pointer > 0)
+        final long arrivalTime = TimeUtils.nanoTime();
+        final long eventTime = Gdx.input.getCurrentEventTime();
+        if (!touchDownAt(screenX, screenY, pointer, eventTime))
             return false;
 
-        mFingerHistory.clear();
-        mLastFingerX = screenX;
-        mLastFingerY = screenY;
-        mFingerDownX = screenX;
-        mFingerDownY = screenY;
-        mFingerDown = true;
-
-        mFingerDownTime = TimeUtils.millis();
-        mFingerHistory.add(Triplet.create(mLastFingerX, mLastFingerY, mFingerDownTime));
+        onEventArrived(eventTime, arrivalTime);
         return true;
     }
 
     @Override
     public boolean touchUp(int screenX, int screenY, int pointer, int button) {
-        if (pointer > 0)
+        final long arrivalTime = TimeUtils.nanoTime();
+        final long eventTime = Gdx.input.getCurrentEventTime();
+        if (!touchUpAt(screenX, screenY, pointer, eventTime))
             return false;
 
-        mLastFingerX = screenX;
-        mLastFingerY = screenY;
-        mFingerDown = false;
-        mFingerJustReleased = true;
-
-        mFingerHistory.add(Triplet.create(screenX, screenY, TimeUtils.millis()));
+        onEventArrived(eventTime, arrivalTime);
         return true;
     }
 
     @Override
     public boolean touchDragged(int screenX, int screenY, int pointer) {
-        if (pointer > 0)
+        final long arrivalTime = TimeUtils.nanoTime();
+        final long eventTime = Gdx.input.getCurrentEventTime();
+        if (!touchDraggedAt(screenX, screenY, pointer, eventTime))
             return false;
 
-        mLastFingerX = screenX;
-        mLastFingerY = screenY;
-        while (mFingerHistory.size() >= MAXIMUM_FINGER_HISTORY)
-            mFingerHistory.removeFirst();
-        mFingerHistory.add(Triplet.create(screenX, screenY, TimeUtils.millis()));
+        onEventArrived(eventTime, arrivalTime);
+        return true;
+    }
+
+    /**
+     * Handles the user placing a finger on the screen.
+     *
+     * @param screenX x location of the finger. Origin is the left of the screen.
+     * @param screenY y location of the finger. Origin is the top of the screen.
+     * @param pointer index of the finger
+     * @param time time of the event, in nanoseconds
+     * @return {@code true} if the event was handled
+     */
+    public boolean touchDownAt(int screenX, int screenY, int pointer, long time) {
+        if (pointer < 0 || pointer >= MAXIMUM_POINTERS)
+            return false;
+
+        if (mInputRecorder != null)
+            mInputRecorder.recordTouchEvent(InputRecording.TOUCH_DOWN, screenX, screenY, pointer, time);
+
+        // A new finger only becomes primary once the primary finger's release has been handled
+        if (!mFingerDown[mPrimaryPointer] && !mFingerJustReleased[mPrimaryPointer])
+            mPrimaryPointer = pointer;
+
+        mFingerHistorySize[pointer] = 0;
+        mLastFingerX[pointer] = screenX;
+        mLastFingerY[pointer] = screenY;
+        mFingerDownX[pointer] = screenX;
+        mFingerDownY[pointer] = screenY;
+        mFingerDown[pointer] = true;
+
+        mFingerDownTime[pointer] = time;
+        addFingerHistory(pointer, screenX, screenY, time);
+        return true;
+    }
+
+    /**
+     * Handles the user taking a finger off the screen.
+     *
+     * @param screenX x location of the finger. Origin is the left of the screen.
+     * @param screenY y location of the finger. Origin is the top of the screen.
+     * @param pointer index of the finger
+     * @param time time of the event, in nanoseconds
+     * @return {@code true} if the event was handled
+     */
+    public boolean touchUpAt(int screenX, int screenY, int pointer, long time) {
+        if (pointer < 0 || pointer >= MAXIMUM_POINTERS || !mFingerDown[pointer])
+            return false;
+
+        if (mInputRecorder != null)
+            mInputRecorder.recordTouchEvent(InputRecording.TOUCH_UP, screenX, screenY, pointer, time);
+
+        mLastFingerX[pointer] = screenX;
+        mLastFingerY[pointer] = screenY;
+        mFingerDown[pointer] = false;
+        mFingerJustReleased[pointer] = true;
+        mFingerUpTime[pointer] = time;
+        if (pointer == mPrimaryPointer)
+            mPrimaryFingerUpTime = time;
+
+        addFingerHistory(pointer, screenX, screenY, time);
+        return true;
+    }
+
+    /**
+     * Handles the user moving a finger on the screen.
+     *
+     * @param screenX x location of the finger. Origin is the left of the screen.
+     * @param screenY y location of the finger. Origin is the top of the screen.
+     * @param pointer index of the finger
+     * @param time time of the event, in nanoseconds
+     * @return {@code true} if the event was handled
+     */
+    public boolean touchDraggedAt(int screenX, int screenY, int pointer, long time) {
+        if (pointer < 0 || pointer >= MAXIMUM_POINTERS || !mFingerDown[pointer])
+            return false;
+
+        if (mInputRecorder != null)
+            mInputRecorder.recordTouchEvent(InputRecording.TOUCH_DRAGGED, screenX, screenY, pointer, time);
+
+        mLastFingerX[pointer] = screenX;
+        mLastFingerY[pointer] = screenY;
+        addFingerHistory(pointer, screenX, screenY, time);
         return true;
     }
 
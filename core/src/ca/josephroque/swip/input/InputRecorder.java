@@ -0,0 +1,239 @@
+package ca.josephroque.swip.input;
+
+import java.util.Arrays;
+
+/**
+ * Records the seed of a game and the touch events which occur during it, so the game can be replayed exactly. See
+ * {@link InputRecording} for the format of the recording.
+ *
+ * <p>Only events which a step of the game consumed are kept. Events which arrive before the game is paused are
+ * discarded when it pauses, and events are ignored until it resumes, since the game never sees them.</p>
+ */
+public final class InputRecorder {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "InputRecorder";
+
+    /** Initial size of the recording buffer. Enough for several minutes of play before it needs to grow. */
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+    /** The recording. */
+    private byte[] mBuffer = new byte[INITIAL_BUFFER_SIZE];
+    /** Number of bytes of {@code mBuffer} in use. */
+    private int mLength;
+    /** Indicates if events are currently being recorded. */
+    private boolean mRecording;
+    /** Indicates if the game is paused, so events are ignored. */
+    private boolean mPaused;
+
+    /** Number of game steps which have passed since the recording began. */
+    private int mStep;
+    /** Number of game steps which had passed before the last recorded event. */
+    private int mLastStep;
+    /** Time of the last recorded event. */
+    private long mLastTime;
+    /** X location of the last recorded event. */
+    private int mLastX;
+    /** Y location of the last recorded event. */
+    private int mLastY;
+
+    /** Number of bytes of {@code mBuffer} in use after the last step. */
+    private int mStepLength;
+    /** Value of {@code mLastStep} after the last step. */
+    private int mStepLastStep;
+    /** Value of {@code mLastTime} after the last step. */
+    private long mStepLastTime;
+    /** Value of {@code mLastX} after the last step. */
+    private int mStepLastX;
+    /** Value of {@code mLastY} after the last step. */
+    private int mStepLastY;
+
+    /**
+     * Discards any previous recording and begins recording a new game.
+     *
+     * @param seed seed of the game's random number generator
+     * @param worldWidth width of the screen
+     * @param worldHeight height of the screen
+     */
+    public void begin(long seed, int worldWidth, int worldHeight) {
+        mLength = 0;
+        mStep = 0;
+        mLastStep = 0;
+        mLastTime = 0;
+        mLastX = 0;
+        mLastY = 0;
+        mRecording = true;
+        mPaused = false;
+
+        writeByte(InputRecording.MAGIC >>> 24);
+        writeByte(InputRecording.MAGIC >>> 16);
+        writeByte(InputRecording.MAGIC >>> 8);
+        writeByte(InputRecording.MAGIC);
+        writeByte(InputRecording.VERSION);
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE)
+            writeByte((int) (seed >>> shift));
+        writeVarLong(worldWidth);
+        writeVarLong(worldHeight);
+        markStep();
+    }
+
+    /**
+     * Records a single touch event, if a recording is in progress.
+     *
+     * @param eventType one of {@code InputRecording.TOUCH_DOWN}, {@code TOUCH_UP} or {@code TOUCH_DRAGGED}
+     * @param screenX x location of the event
+     * @param screenY y location of the event
+     * @param pointer index of the finger
+     * @param time time of the event, in nanoseconds
+     */
+    public void recordTouchEvent(int eventType, int screenX, int screenY, int pointer, long time) {
+        if (!mRecording || mPaused)
+            return;
+
+        writeEventHeader(eventType, pointer);
+        writeVarLong(encodeZigZag(time - mLastTime));
+        writeVarLong(encodeZigZag(screenX - mLastX));
+        writeVarLong(encodeZigZag(screenY - mLastY));
+        mLastTime = time;
+        mLastX = screenX;
+        mLastY = screenY;
+    }
+
+    /**
+     * Marks that the game has advanced by a single step. Events recorded afterwards will be replayed after the step.
+     */
+    public void step() {
+        if (!mRecording || mPaused)
+            return;
+
+        mStep++;
+        markStep();
+    }
+
+    /**
+     * Marks that the game has been paused. Events recorded since the last step are discarded, since the game will not
+     * consume them, and further events are ignored until {@code resume()} is called.
+     */
+    public void pause() {
+        if (!mRecording || mPaused)
+            return;
+
+        mLength = mStepLength;
+        mLastStep = mStepLastStep;
+        mLastTime = mStepLastTime;
+        mLastX = mStepLastX;
+        mLastY = mStepLastY;
+        mPaused = true;
+    }
+
+    /**
+     * Marks that the game has been resumed, so the replay forgets every finger at the same point as the game, and
+     * records events again.
+     */
+    public void resume() {
+        if (!mRecording || !mPaused)
+            return;
+
+        mPaused = false;
+        writeEventHeader(InputRecording.RESUME, 0);
+    }
+
+    /**
+     * Finishes the recording.
+     *
+     * @param finalScore score of the game
+     */
+    public void end(int finalScore) {
+        if (!mRecording)
+            return;
+
+        writeEventHeader(InputRecording.END, 0);
+        writeVarLong(finalScore);
+        mRecording = false;
+    }
+
+    /**
+     * Checks if a recording is in progress.
+     *
+     * @return {@code true} if events are being recorded
+     */
+    public boolean isRecording() {
+        return mRecording;
+    }
+
+    /**
+     * Gets the number of bytes in the recording.
+     *
+     * @return size of the recording
+     */
+    public int getLength() {
+        return mLength;
+    }
+
+    /**
+     * Gets a copy of the recording.
+     *
+     * @return the recording
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(mBuffer, mLength);
+    }
+
+    /**
+     * Remembers the end of the recording after a step, so the events after it can be discarded if the game pauses.
+     */
+    private void markStep() {
+        mStepLength = mLength;
+        mStepLastStep = mLastStep;
+        mStepLastTime = mLastTime;
+        mStepLastX = mLastX;
+        mStepLastY = mLastY;
+    }
+
+    /**
+     * Writes the type of an event, its pointer and the number of steps since the last event.
+     *
+     * @param eventType type of the event
+     * @param pointer index of the finger
+     */
+    private void writeEventHeader(int eventType, int pointer) {
+        writeByte(eventType | (pointer << InputRecording.EVENT_TYPE_BITS));
+        writeVarLong(mStep - mLastStep);
+        mLastStep = mStep;
+    }
+
+    /**
+     * Writes the lowest 8 bits of an integer.
+     *
+     * @param value the byte to write
+     */
+    private void writeByte(int value) {
+        if (mLength == mBuffer.length)
+            mBuffer = Arrays.copyOf(mBuffer, mBuffer.length * 2);
+        mBuffer[mLength++] = (byte) value;
+    }
+
+    /**
+     * Writes an unsigned integer 7 bits at a time, with the lowest bits first, so small values use a single byte.
+     *
+     * @param value the integer to write. Must not be negative.
+     */
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    /**
+     * Encodes an integer so small negative values use as few bytes as small positive values.
+     *
+     * @param value the integer to encode
+     * @return the encoded integer
+     */
+    private static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> (Long.SIZE - 1));
+    }
+}
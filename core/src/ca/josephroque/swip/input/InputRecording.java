@@ -0,0 +1,252 @@
+package ca.josephroque.swip.input;
+
+/**
+ * Reads the touch events of a game recorded by {@link InputRecorder}, one event at a time.
+ *
+ * <p>A recording begins with a header containing the seed of the game and the size of the screen, followed by one
+ * entry per touch event. Each entry stores the number of game steps, time and location of the event as the difference
+ * from the previous event, encoded as variable length integers. An entry marks where the game was resumed after a
+ * pause, since touches during the pause are not recorded. The final entry marks the end of the game and stores the
+ * final score.</p>
+ */
+public final class InputRecording {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "InputRecording";
+
+    /** Event type for the user placing a finger on the screen. */
+    public static final int TOUCH_DOWN = 0;
+    /** Event type for the user taking a finger off the screen. */
+    public static final int TOUCH_UP = 1;
+    /** Event type for the user moving a finger on the screen. */
+    public static final int TOUCH_DRAGGED = 2;
+    /** Event type for the end of the game. */
+    public static final int END = 3;
+    /** Event type for the game being resumed after a pause, when every finger is forgotten. */
+    public static final int RESUME = 4;
+
+    /** First bytes of every recording. */
+    static final int MAGIC = 0x53575250;
+    /** Version of the recording format. */
+    static final int VERSION = 3;
+    /** Number of bits of an entry's first byte which store the event type. The rest store the pointer. */
+    static final int EVENT_TYPE_BITS = 3;
+    /** Mask of the bits of an entry's first byte which store the event type. */
+    static final int EVENT_TYPE_MASK = (1 << EVENT_TYPE_BITS) - 1;
+
+    /** Raw recording. */
+    private final byte[] mData;
+    /** Number of bytes of {@code mData} which belong to the recording. */
+    private final int mLength;
+    /** Position of the next byte to read. */
+    private int mPosition;
+
+    /** Seed of the game's random number generator. */
+    private final long mSeed;
+    /** Width of the screen the game was played on. */
+    private final int mWorldWidth;
+    /** Height of the screen the game was played on. */
+    private final int mWorldHeight;
+
+    /** Type of the current event. */
+    private int mEventType = -1;
+    /** Index of the finger of the current event. */
+    private int mPointer;
+    /** Number of game steps which had passed before the current event. */
+    private int mStep;
+    /** Time of the current event, in nanoseconds. */
+    private long mTime;
+    /** X location of the current event. */
+    private int mX;
+    /** Y location of the current event. */
+    private int mY;
+    /** Score of the game, once the end of the recording has been read. */
+    private int mFinalScore = -1;
+
+    /**
+     * Opens a recording and reads its header.
+     *
+     * @param data raw recording
+     */
+    public InputRecording(byte[] data) {
+        this(data, data.length);
+    }
+
+    /**
+     * Opens a recording and reads its header.
+     *
+     * @param data raw recording
+     * @param length number of bytes of {@code data} which belong to the recording
+     */
+    public InputRecording(byte[] data, int length) {
+        mData = data;
+        mLength = length;
+
+        final int magic = (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        if (magic != MAGIC)
+            throw new IllegalArgumentException("not an input recording");
+        final int version = readByte();
+        if (version != VERSION)
+            throw new IllegalArgumentException("unsupported recording version " + version);
+
+        long seed = 0;
+        for (int i = 0; i < Long.SIZE / Byte.SIZE; i++)
+            seed = (seed << Byte.SIZE) | readByte();
+        mSeed = seed;
+        mWorldWidth = (int) readVarLong();
+        mWorldHeight = (int) readVarLong();
+    }
+
+    /**
+     * Reads the next event of the recording.
+     *
+     * @return {@code true} if an event was read, {@code false} if the end of the recording was reached
+     */
+    public boolean next() {
+        if (mEventType == END || mPosition >= mLength)
+            return false;
+
+        final int header = readByte();
+        mEventType = header & EVENT_TYPE_MASK;
+        mPointer = header >>> EVENT_TYPE_BITS;
+        mStep += (int) readVarLong();
+        if (mEventType == END) {
+            mFinalScore = (int) readVarLong();
+        } else if (mEventType != RESUME) {
+            mTime += decodeZigZag(readVarLong());
+            mX += (int) decodeZigZag(readVarLong());
+            mY += (int) decodeZigZag(readVarLong());
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads a single unsigned byte.
+     *
+     * @return the byte, from 0 to 255
+     */
+    private int readByte() {
+        if (mPosition >= mLength)
+            throw new IllegalStateException("recording is truncated");
+        return mData[mPosition++] & 0xFF;
+    }
+
+    /**
+     * Reads an unsigned variable length integer, stored 7 bits at a time with the lowest bits first.
+     *
+     * @return the integer
+     */
+    private long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        int current;
+        do {
+            current = readByte();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Converts an integer which was encoded so small negative values use few bytes back to its original value.
+     *
+     * @param value encoded value
+     * @return the original value
+     */
+    private static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Gets the seed of the game's random number generator.
+     *
+     * @return {@code mSeed}
+     */
+    public long getSeed() {
+        return mSeed;
+    }
+
+    /**
+     * Gets the width of the screen the game was played on.
+     *
+     * @return {@code mWorldWidth}
+     */
+    public int getWorldWidth() {
+        return mWorldWidth;
+    }
+
+    /**
+     * Gets the height of the screen the game was played on.
+     *
+     * @return {@code mWorldHeight}
+     */
+    public int getWorldHeight() {
+        return mWorldHeight;
+    }
+
+    /**
+     * Gets the type of the current event.
+     *
+     * @return one of {@code TOUCH_DOWN}, {@code TOUCH_UP}, {@code TOUCH_DRAGGED}, {@code RESUME} or {@code END}
+     */
+    public int getEventType() {
+        return mEventType;
+    }
+
+    /**
+     * Gets the index of the finger of the current event.
+     *
+     * @return {@code mPointer}
+     */
+    public int getPointer() {
+        return mPointer;
+    }
+
+    /**
+     * Gets the number of game steps which had passed before the current event.
+     *
+     * @return {@code mStep}
+     */
+    public int getStep() {
+        return mStep;
+    }
+
+    /**
+     * Gets the time of the current event.
+     *
+     * @return time in nanoseconds
+     */
+    public long getTime() {
+        return mTime;
+    }
+
+    /**
+     * Gets the x location of the current event. Origin is the left of the screen.
+     *
+     * @return {@code mX}
+     */
+    public int getX() {
+        return mX;
+    }
+
+    /**
+     * Gets the y location of the current event. Origin is the top of the screen.
+     *
+     * @return {@code mY}
+     */
+    public int getY() {
+        return mY;
+    }
+
+    /**
+     * Gets the score of the game which was recorded. Only available once the end of the recording has been read.
+     *
+     * @return the final score, or -1 if the end has not been read
+     */
+    public int getFinalScore() {
+        return mFinalScore;
+    }
+}
@@ -0,0 +1,103 @@
+package ca.josephroque.swip.manager;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+
+/**
+ * Locations of the texture regions packed into the texture atlas, grouped by the kind of object they are drawn for.
+ * The index is generated alongside the atlas image by {@code AtlasCompiler} in the tools project, so the two cannot
+ * fall out of sync.
+ *
+ * <p>The index is stored in binary, big endian: the {@code MAGIC} number and {@code VERSION}, the file name of the
+ * atlas image, then the number of groups. Each group stores its name and number of regions, followed by the name,
+ * x, y, width and height of each region. Names are modified UTF-8 and other values are unsigned shorts.</p>
+ */
+public final class AtlasIndex {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "AtlasIndex";
+
+    /** First bytes of every index. */
+    public static final int MAGIC = 0x53574154;
+    /** Version of the index format. */
+    public static final int VERSION = 1;
+
+    /** File name of the atlas image, relative to the index. */
+    private final String mImageName;
+    /** Regions in each group, by the name of the group and then the name of the region. */
+    private final HashMap<String, HashMap<String, TextureManager.TextureProperties>> mGroups;
+
+    /**
+     * Creates a new index.
+     *
+     * @param imageName file name of the atlas image
+     * @param groups regions in each group
+     */
+    private AtlasIndex(String imageName, HashMap<String, HashMap<String, TextureManager.TextureProperties>> groups) {
+        mImageName = imageName;
+        mGroups = groups;
+    }
+
+    /**
+     * Reads an index which has been loaded into memory.
+     *
+     * @param data contents of the index file
+     * @return the index
+     */
+    public static AtlasIndex read(byte[] data) {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+        try {
+            if (input.readInt() != MAGIC)
+                throw new IllegalArgumentException("not an atlas index");
+            final int version = input.readUnsignedShort();
+            if (version != VERSION)
+                throw new IllegalArgumentException("unsupported atlas index version " + version);
+
+            final String imageName = input.readUTF();
+            final int totalGroups = input.readUnsignedShort();
+            HashMap<String, HashMap<String, TextureManager.TextureProperties>> groups = new HashMap<>(totalGroups * 2);
+            for (int i = 0; i < totalGroups; i++) {
+                final String groupName = input.readUTF();
+                final int totalRegions = input.readUnsignedShort();
+                HashMap<String, TextureManager.TextureProperties> regions = new HashMap<>(totalRegions * 2);
+                for (int j = 0; j < totalRegions; j++) {
+                    final String regionName = input.readUTF();
+                    regions.put(regionName, new TextureManager.TextureProperties(input.readUnsignedShort(),
+                            input.readUnsignedShort(),
+                            input.readUnsignedShort(),
+                            input.readUnsignedShort()));
+                }
+                groups.put(groupName, regions);
+            }
+
+            return new AtlasIndex(imageName, groups);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("atlas index is truncated", ex);
+        }
+    }
+
+    /**
+     * Gets the file name of the atlas image.
+     *
+     * @return {@code mImageName}
+     */
+    public String getImageName() {
+        return mImageName;
+    }
+
+    /**
+     * Gets the regions of a group.
+     *
+     * @param groupName name of the group
+     * @return a mapping from the name of each region to its location in the atlas
+     */
+    public HashMap<String, TextureManager.TextureProperties> getRegions(String groupName) {
+        HashMap<String, TextureManager.TextureProperties> regions = mGroups.get(groupName);
+        if (regions == null)
+            throw new IllegalArgumentException("atlas has no group " + groupName);
+        return regions;
+    }
+}
@@ -0,0 +1,81 @@
+package ca.josephroque.swip.manager;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Loads an {@code AtlasIndex} with an {@code AssetManager}. The index is read on the asset manager's worker thread,
+ * and the atlas image it names is loaded as a dependency, so only the texture upload happens on the render thread.
+ */
+public class AtlasIndexLoader
+        extends AsynchronousAssetLoader<AtlasIndex, AssetLoaderParameters<AtlasIndex>> {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "AtlasIndexLoader";
+
+    /** The index being loaded, read while finding its dependencies. */
+    private AtlasIndex mAtlasIndex;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param resolver resolves file names of the indices to load
+     */
+    public AtlasIndexLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    /**
+     * Gets the file of the atlas image named by an index.
+     *
+     * @param indexFile file of the index
+     * @param atlasIndex the index
+     * @return file of the atlas image
+     */
+    public static FileHandle getTextureFile(FileHandle indexFile, AtlasIndex atlasIndex) {
+        return indexFile.sibling(atlasIndex.getImageName());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Array<AssetDescriptor> getDependencies(String fileName,
+                                                  FileHandle file,
+                                                  AssetLoaderParameters<AtlasIndex> parameter) {
+        mAtlasIndex = AtlasIndex.read(file.readBytes());
+
+        // The atlas image reports its own loading, with the same callback as the index
+        TextureLoader.TextureParameter textureParameter = new TextureLoader.TextureParameter();
+        if (parameter != null)
+            textureParameter.loadedCallback = parameter.loadedCallback;
+
+        Array<AssetDescriptor> dependencies = new Array<>();
+        dependencies.add(new AssetDescriptor<>(getTextureFile(file, mAtlasIndex), Texture.class, textureParameter));
+        return dependencies;
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager,
+                          String fileName,
+                          FileHandle file,
+                          AssetLoaderParameters<AtlasIndex> parameter) {
+        // does nothing
+    }
+
+    @Override
+    public AtlasIndex loadSync(AssetManager manager,
+                               String fileName,
+                               FileHandle file,
+                               AssetLoaderParameters<AtlasIndex> parameter) {
+        final AtlasIndex atlasIndex = mAtlasIndex;
+        mAtlasIndex = null;
+        return atlasIndex;
+    }
+}
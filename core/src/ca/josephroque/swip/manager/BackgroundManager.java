@@ -2,9 +2,12 @@ package ca.josephroque.swip.manager;
 
 import ca.josephroque.swip.screen.GameScreen;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
 
 /**
- * Manages drawing of backgrounds.
+ * Manages drawing of backgrounds. The background panels are baked into an offscreen texture once, and then drawn as a
+ * single quad each frame until the background or the size of the screen changes.
  */
 public class BackgroundManager {
 
@@ -21,6 +24,10 @@ public class BackgroundManager {
     /** Handles loading and unloading of textures. */
     private TextureManager mTextureManager;
 
+    /** Width of the screen. */
+    private int mScreenWidth;
+    /** Height of the screen. */
+    private int mScreenHeight;
     /** Size of a single panel. */
     private float mBackgroundSize = 0f;
     /** Number of background panel columns. */
@@ -28,6 +35,11 @@ public class BackgroundManager {
     /** Number of background panel rows. */
     private int mBackgroundRows = 0;
 
+    /** Offscreen texture the background panels are baked into. */
+    private final CachedFrame mBakedBackground = new CachedFrame();
+    /** Projection used to draw the panels into {@code mBakedBackground}. */
+    private final Matrix4 mBakingProjection = new Matrix4();
+
     /**
      * Sets up properties of background textures.
      *
@@ -40,20 +52,41 @@ public class BackgroundManager {
     }
 
     /**
-     * Draws the background panels to fill the background of the screen.
+     * Bakes the background panels into an offscreen texture, if the background has changed since it was last baked.
+     * Must be called before {@code spriteBatch.begin()}. Changes the projection matrix of {@code spriteBatch}.
      *
-     * @param spriteBatch graphics context to draw to
+     * @param spriteBatch graphics context to draw the panels with
      */
-    public void draw(SpriteBatch spriteBatch) {
+    public void prepare(SpriteBatch spriteBatch) {
+        if (mBakedBackground.isValid() || mScreenWidth <= 0 || mScreenHeight <= 0)
+            return;
+
+        mBakedBackground.begin(mScreenWidth, mScreenHeight);
+        mBakingProjection.setToOrtho2D(0, 0, mScreenWidth, mScreenHeight);
+        spriteBatch.setProjectionMatrix(mBakingProjection);
+        spriteBatch.begin();
+        final TextureRegion backgroundTexture = mTextureManager.getBackgroundTexture(mCurrentBackground);
         for (int x = 0; x < mBackgroundColumns; x++) {
             for (int y = 0; y < mBackgroundRows; y++) {
-                spriteBatch.draw(mTextureManager.getBackgroundTexture(mCurrentBackground),
+                spriteBatch.draw(backgroundTexture,
                         x * mBackgroundSize,
                         y * mBackgroundSize,
                         mBackgroundSize,
                         mBackgroundSize);
             }
         }
+        spriteBatch.end();
+
+        mBakedBackground.end();
+    }
+
+    /**
+     * Draws the baked background to fill the background of the screen.
+     *
+     * @param spriteBatch graphics context to draw to
+     */
+    public void draw(SpriteBatch spriteBatch) {
+        mBakedBackground.draw(spriteBatch, mScreenWidth, mScreenHeight);
     }
 
     /**
@@ -62,6 +95,8 @@ public class BackgroundManager {
      * @param bg new background
      */
     public void setBackground(TextureManager.Background bg) {
+        if (mCurrentBackground != bg)
+            invalidate();
         mCurrentBackground = bg;
     }
 
@@ -72,15 +107,26 @@ public class BackgroundManager {
      * @param height height of the screen
      */
     public void resize(int width, int height) {
+        mScreenWidth = width;
+        mScreenHeight = height;
         mBackgroundSize = Math.min(width, height) * BACKGROUND_SIZE_MULTIPLIER;
         mBackgroundColumns = (int) (width / mBackgroundSize);
         mBackgroundRows = (int) (height / mBackgroundSize);
+        invalidate();
+    }
+
+    /**
+     * Causes the background to be baked again before it is next drawn. Should be called if the contents of the
+     * offscreen texture may have been lost, such as when the application resumes.
+     */
+    public void invalidate() {
+        mBakedBackground.invalidate();
     }
 
     /**
      * Frees resources being used by the background manager.
      */
     public void dispose() {
-        // does nothing right now
+        mBakedBackground.dispose();
     }
 }
@@ -0,0 +1,95 @@
+package ca.josephroque.swip.manager;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+/**
+ * Draws a ball and the time remaining in its turn as a single quad. The shader darkens the sector of the ball for the
+ * time which has passed, so the timer is continuous rather than made of separate overlay textures.
+ *
+ * <p>The quad is drawn by a {@code SpriteBatch}, so the shader has no uniforms of its own. The corner of the ball each
+ * vertex belongs to and the progress of the turn are passed in the vertex colors instead.</p>
+ */
+public class BallTimerRenderer {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "BallTimerRenderer";
+
+    /** Location of the vertex shader, relative to the assets directory. */
+    private static final String VERTEX_SHADER_FILE = "shader/ball_timer.vert";
+    /** Location of the fragment shader, relative to the assets directory. */
+    private static final String FRAGMENT_SHADER_FILE = "shader/ball_timer.frag";
+    /** Number of floats in a single vertex drawn by {@code SpriteBatch}: position, color and texture coordinates. */
+    private static final int VERTEX_SIZE = 5;
+
+    /** Darkens the elapsed sector of the ball. */
+    private final ShaderProgram mShader;
+    /** Vertices of the quad, reused for every ball. */
+    private final float[] mVertices = new float[VERTEX_SIZE * 4];
+
+    /**
+     * Compiles the ball timer shader.
+     */
+    public BallTimerRenderer() {
+        mShader = new ShaderProgram(Gdx.files.internal(VERTEX_SHADER_FILE), Gdx.files.internal(FRAGMENT_SHADER_FILE));
+        if (!mShader.isCompiled())
+            throw new IllegalStateException("ball timer shader could not be compiled: " + mShader.getLog());
+    }
+
+    /**
+     * Draws a ball with the time remaining in its turn. Must be called between {@code begin()} and {@code end()} of
+     * {@code spriteBatch}.
+     *
+     * @param spriteBatch graphics context to draw to
+     * @param ballTexture texture of the ball
+     * @param x left edge of the ball
+     * @param y bottom edge of the ball
+     * @param size width and height of the ball
+     * @param progress fraction of the turn which has passed, from 0 to 1
+     */
+    public void draw(SpriteBatch spriteBatch, TextureRegion ballTexture, float x, float y, float size, float progress) {
+        // Progress is stored in the blue channel, which keeps all 8 bits when the color is packed
+        final float turnProgress = Math.min(1f, Math.max(0f, progress));
+        putVertex(0, x, y, ballTexture.getU(), ballTexture.getV2(), 0, 0, turnProgress);
+        putVertex(1, x, y + size, ballTexture.getU(), ballTexture.getV(), 0, 1, turnProgress);
+        putVertex(2, x + size, y + size, ballTexture.getU2(), ballTexture.getV(), 1, 1, turnProgress);
+        putVertex(3, x + size, y, ballTexture.getU2(), ballTexture.getV2(), 1, 0, turnProgress);
+
+        spriteBatch.setShader(mShader);
+        spriteBatch.draw(ballTexture.getTexture(), mVertices, 0, mVertices.length);
+        spriteBatch.setShader(null);
+    }
+
+    /**
+     * Puts a single vertex in {@code mVertices}, in the same order as {@code SpriteBatch}.
+     *
+     * @param vertex index of the vertex in the quad
+     * @param x horizontal position of the vertex
+     * @param y vertical position of the vertex
+     * @param u horizontal texture coordinate
+     * @param v vertical texture coordinate
+     * @param cornerX horizontal position of the vertex in the ball, 0 for the left edge or 1 for the right
+     * @param cornerY vertical position of the vertex in the ball, 0 for the bottom edge or 1 for the top
+     * @param progress fraction of the turn which has passed, from 0 to 1
+     */
+    private void putVertex(int vertex, float x, float y, float u, float v, float cornerX, float cornerY,
+                           float progress) {
+        final int offset = vertex * VERTEX_SIZE;
+        mVertices[offset] = x;
+        mVertices[offset + 1] = y;
+        mVertices[offset + 2] = Color.toFloatBits(cornerX, cornerY, progress, 1f);
+        mVertices[offset + 3] = u;
+        mVertices[offset + 4] = v;
+    }
+
+    /**
+     * Frees the shader.
+     */
+    public void dispose() {
+        mShader.dispose();
+    }
+}
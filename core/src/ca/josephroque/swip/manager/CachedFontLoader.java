@@ -0,0 +1,212 @@
+package ca.josephroque.swip.manager;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Loads a TrueType font with an {@code AssetManager}, from a {@code FontCache} in local storage if one exists for the
+ * font and its parameters. Otherwise, the font is generated by {@code FreeTypeFontGenerator} and the cache is written,
+ * so it only needs to be generated again when the font file, its parameters or the screen density change.
+ *
+ * <p>The cache is read on the asset manager's worker thread, and its glyph pages are loaded as texture dependencies.
+ * Generating the font requires the render thread.</p>
+ */
+public class CachedFontLoader
+        extends AsynchronousAssetLoader<BitmapFont, FreetypeFontLoader.FreeTypeFontLoaderParameter> {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "CachedFontLoader";
+
+    /** Directory in local storage where fonts are cached. */
+    private static final String CACHE_DIRECTORY = "fonts";
+    /** Extension of the metrics file of a cached font. */
+    private static final String METRICS_EXTENSION = ".glyphs";
+    /** Width and height of each glyph page of a generated font. */
+    private static final int PAGE_SIZE = 512;
+
+    /** Key of the font being loaded, which its cache must match. */
+    private String mCacheKey;
+    /** Cache of the font being loaded, or {@code null} if it must be generated. */
+    private FontCache mFontCache;
+    /** Files of the glyph pages of {@code mFontCache}. */
+    private FileHandle[] mPageFiles;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param resolver resolves file names of the fonts to load
+     */
+    public CachedFontLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Array<AssetDescriptor> getDependencies(String fileName,
+                                                  FileHandle file,
+                                                  FreetypeFontLoader.FreeTypeFontLoaderParameter parameter) {
+        if (parameter == null)
+            throw new IllegalArgumentException("parameter must specify the font file and its parameters");
+
+        final FileHandle fontFile = resolve(parameter.fontFileName);
+        mCacheKey = FontCache.createKey(fontFile.nameWithoutExtension(),
+                fontFile.readBytes(),
+                parameter.fontParameters,
+                Gdx.graphics.getDensity());
+        mFontCache = readCache(mCacheKey);
+
+        Array<AssetDescriptor> dependencies = new Array<>();
+        if (mFontCache == null)
+            return dependencies;
+
+        // Glyph pages are decoded on the worker thread like any other texture
+        TextureLoader.TextureParameter textureParameter = new TextureLoader.TextureParameter();
+        textureParameter.minFilter = parameter.fontParameters.minFilter;
+        textureParameter.magFilter = parameter.fontParameters.magFilter;
+        for (FileHandle pageFile : mPageFiles)
+            dependencies.add(new AssetDescriptor<>(pageFile, Texture.class, textureParameter));
+        return dependencies;
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager,
+                          String fileName,
+                          FileHandle file,
+                          FreetypeFontLoader.FreeTypeFontLoaderParameter parameter) {
+        // does nothing
+    }
+
+    @Override
+    public BitmapFont loadSync(AssetManager manager,
+                               String fileName,
+                               FileHandle file,
+                               FreetypeFontLoader.FreeTypeFontLoaderParameter parameter) {
+        final BitmapFont font;
+        if (mFontCache != null) {
+            Array<TextureRegion> pages = new Array<>(mPageFiles.length);
+            for (FileHandle pageFile : mPageFiles)
+                pages.add(new TextureRegion(manager.get(pageFile.path(), Texture.class)));
+
+            // The pages are owned by the asset manager, as dependencies of the font
+            font = new BitmapFont(mFontCache.getFontData(), pages, true);
+        } else {
+            font = generateFont(resolve(parameter.fontFileName), parameter.fontParameters, mCacheKey);
+        }
+
+        mCacheKey = null;
+        mFontCache = null;
+        mPageFiles = null;
+        return font;
+    }
+
+    /**
+     * Reads the cache of a font, if one exists with every one of its pages.
+     *
+     * @param key key the cache must match
+     * @return the cache, or {@code null} if there is no valid cache
+     */
+    private FontCache readCache(String key) {
+        final FileHandle metricsFile = Gdx.files.local(CACHE_DIRECTORY).child(key + METRICS_EXTENSION);
+        if (!metricsFile.exists())
+            return null;
+
+        final FontCache fontCache;
+        try {
+            fontCache = FontCache.read(metricsFile.readBytes());
+        } catch (IllegalArgumentException | GdxRuntimeException ex) {
+            Gdx.app.error(TAG, "Font cache could not be read", ex);
+            return null;
+        }
+
+        if (!fontCache.getKey().equals(key))
+            return null;
+
+        final String[] pageNames = fontCache.getPageNames();
+        mPageFiles = new FileHandle[pageNames.length];
+        for (int i = 0; i < pageNames.length; i++) {
+            mPageFiles[i] = metricsFile.sibling(pageNames[i]);
+            if (!mPageFiles[i].exists())
+                return null;
+        }
+
+        return fontCache;
+    }
+
+    /**
+     * Generates a font, and caches it in local storage. Older caches of the same font are deleted.
+     *
+     * @param fontFile TrueType file of the font
+     * @param fontParameters parameters to generate the font with
+     * @param key key to write the cache with
+     * @return the font
+     */
+    private static BitmapFont generateFont(FileHandle fontFile,
+                                           FreeTypeFontGenerator.FreeTypeFontParameter fontParameters,
+                                           String key) {
+        Gdx.app.debug(TAG, "Generating " + key);
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 1, false);
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(fontFile);
+        final BitmapFont font;
+        try {
+            // The packer is provided, so its pages can be saved
+            fontParameters.packer = packer;
+            font = generator.generateFont(fontParameters);
+        } finally {
+            fontParameters.packer = null;
+            generator.dispose();
+        }
+
+        // Fonts generated with a provided packer do not dispose their pages by default
+        font.setOwnsTexture(true);
+
+        try {
+            writeCache(fontFile.nameWithoutExtension(), key, font.getData(), packer.getPages());
+        } catch (GdxRuntimeException ex) {
+            Gdx.app.error(TAG, "Font cache could not be written", ex);
+        }
+
+        return font;
+    }
+
+    /**
+     * Writes the metrics and glyph pages of a generated font to local storage, and deletes older caches of the font.
+     *
+     * @param name name of the font
+     * @param key key to write the cache with
+     * @param fontData metrics and glyphs of the font
+     * @param pages glyph pages of the font
+     */
+    private static void writeCache(String name, String key, BitmapFont.BitmapFontData fontData,
+                                   Array<PixmapPacker.Page> pages) {
+        final FileHandle cacheDirectory = Gdx.files.local(CACHE_DIRECTORY);
+        for (FileHandle cachedFile : cacheDirectory.list()) {
+            if (cachedFile.name().startsWith(name + "-"))
+                cachedFile.delete();
+        }
+
+        final String[] pageNames = new String[pages.size];
+        for (int i = 0; i < pages.size; i++) {
+            pageNames[i] = key + "_" + i + ".png";
+            PixmapIO.writePNG(cacheDirectory.child(pageNames[i]), pages.get(i).getPixmap());
+        }
+
+        // The metrics are written last, so the cache is only valid once every page has been written
+        cacheDirectory.child(key + METRICS_EXTENSION).writeBytes(FontCache.write(key, fontData, pageNames), false);
+    }
+}
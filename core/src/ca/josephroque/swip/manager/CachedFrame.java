@@ -0,0 +1,101 @@
+package ca.josephroque.swip.manager;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+
+/**
+ * Keeps a frame which does not change, such as the baked background or the paused game, in an offscreen texture. The
+ * frame is drawn into the texture once, and then drawn as a single quad until it is invalidated.
+ */
+public class CachedFrame {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "CachedFrame";
+
+    /** Offscreen buffer the frame is drawn into. */
+    private FrameBuffer mFrameBuffer;
+    /** Region of {@code mFrameBuffer}, flipped so it is drawn upright. */
+    private TextureRegion mFrameRegion;
+    /** Indicates if the frame must be drawn again before it is used. */
+    private boolean mFrameInvalid = true;
+
+    /**
+     * Checks if the cached frame can be drawn.
+     *
+     * @return {@code true} if the frame has been drawn and not invalidated since
+     */
+    public boolean isValid() {
+        return !mFrameInvalid && mFrameRegion != null;
+    }
+
+    /**
+     * Starts drawing the frame into the offscreen texture, which is cleared to white. Must not be called while
+     * another frame buffer is bound, or while a sprite batch is drawing.
+     *
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     */
+    public void begin(int screenWidth, int screenHeight) {
+        if (mFrameBuffer == null || mFrameBuffer.getWidth() != screenWidth
+                || mFrameBuffer.getHeight() != screenHeight) {
+            if (mFrameBuffer != null)
+                mFrameBuffer.dispose();
+            mFrameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, screenWidth, screenHeight, false);
+            mFrameRegion = new TextureRegion(mFrameBuffer.getColorBufferTexture());
+            mFrameRegion.flip(false, true);
+        }
+
+        mFrameBuffer.begin();
+
+        // Frames are drawn over the same white the screen is cleared to, so the cached frame can be drawn opaque
+        Gdx.gl.glClearColor(1f, 1f, 1f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    }
+
+    /**
+     * Finishes drawing the frame, so it can be drawn to the screen.
+     */
+    public void end() {
+        mFrameBuffer.end();
+        mFrameInvalid = false;
+    }
+
+    /**
+     * Draws the cached frame to fill the screen, if it is valid.
+     *
+     * @param spriteBatch graphics context to draw to
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     */
+    public void draw(SpriteBatch spriteBatch, int screenWidth, int screenHeight) {
+        if (!isValid())
+            return;
+
+        spriteBatch.disableBlending();
+        spriteBatch.draw(mFrameRegion, 0, 0, screenWidth, screenHeight);
+        spriteBatch.enableBlending();
+    }
+
+    /**
+     * Causes the frame to be drawn again before it is next used. Should be called when the frame changes, or if the
+     * contents of the offscreen texture may have been lost, such as when the application resumes.
+     */
+    public void invalidate() {
+        mFrameInvalid = true;
+    }
+
+    /**
+     * Frees the offscreen texture.
+     */
+    public void dispose() {
+        if (mFrameBuffer != null)
+            mFrameBuffer.dispose();
+        mFrameBuffer = null;
+        mFrameRegion = null;
+    }
+}
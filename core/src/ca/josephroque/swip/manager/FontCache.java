@@ -0,0 +1,253 @@
+package ca.josephroque.swip.manager;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+/**
+ * Glyph metrics of a font generated by {@code FreeTypeFontGenerator}, saved so the font does not need to be generated
+ * again on the next launch. The glyph pages are saved beside the metrics as PNG images. A cache is only valid for the
+ * key it was written with, which changes whenever the font file, size, color or screen density changes.
+ *
+ * <p>The metrics are stored in binary, big endian: the {@code MAGIC} number and {@code VERSION}, the key, the font's
+ * line metrics, then the file name of each page, relative to the metrics. Each glyph stores its character, location on
+ * its page, offsets and advance, followed by its kerning with other characters.</p>
+ */
+public final class FontCache {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "FontCache";
+
+    /** First bytes of every cache. */
+    public static final int MAGIC = 0x5357464E;
+    /** Version of the cache format. Changing the format invalidates every existing cache. */
+    public static final int VERSION = 1;
+
+    /** Identifies the font and parameters the cache was generated from. */
+    private final String mKey;
+    /** Metrics and glyphs of the font, without texture coordinates. */
+    private final BitmapFont.BitmapFontData mFontData;
+    /** File names of the glyph pages, relative to the metrics, indexed by page. */
+    private final String[] mPageNames;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param key identifies the font and parameters the cache was generated from
+     * @param fontData metrics and glyphs of the font
+     * @param pageNames file names of the glyph pages
+     */
+    private FontCache(String key, BitmapFont.BitmapFontData fontData, String[] pageNames) {
+        mKey = key;
+        mFontData = fontData;
+        mPageNames = pageNames;
+    }
+
+    /**
+     * Creates the key which a cache of a font must match to be used.
+     *
+     * @param name name of the font
+     * @param fontBytes contents of the font file
+     * @param parameter parameters the font is generated with
+     * @param density density of the screen
+     * @return key of the cache
+     */
+    public static String createKey(String name,
+                                   byte[] fontBytes,
+                                   FreeTypeFontGenerator.FreeTypeFontParameter parameter,
+                                   float density) {
+        CRC32 checksum = new CRC32();
+        checksum.update(fontBytes);
+        return name + "-" + Long.toHexString(checksum.getValue()) + "-" + parameter.size + "-"
+                + Integer.toHexString(parameter.color.toIntBits()) + "-" + Math.round(density * 100);
+    }
+
+    /**
+     * Reads a cache which has been loaded into memory.
+     *
+     * @param data contents of the metrics file
+     * @return the cache
+     */
+    public static FontCache read(byte[] data) {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+        try {
+            if (input.readInt() != MAGIC)
+                throw new IllegalArgumentException("not a font cache");
+            final int version = input.readUnsignedShort();
+            if (version != VERSION)
+                throw new IllegalArgumentException("unsupported font cache version " + version);
+
+            final String key = input.readUTF();
+            BitmapFont.BitmapFontData fontData = new BitmapFont.BitmapFontData();
+            fontData.flipped = input.readBoolean();
+            fontData.lineHeight = input.readFloat();
+            fontData.capHeight = input.readFloat();
+            fontData.ascent = input.readFloat();
+            fontData.descent = input.readFloat();
+            fontData.down = input.readFloat();
+            fontData.spaceWidth = input.readFloat();
+            fontData.xHeight = input.readFloat();
+
+            final String[] pageNames = new String[input.readUnsignedShort()];
+            for (int i = 0; i < pageNames.length; i++)
+                pageNames[i] = input.readUTF();
+
+            final int totalGlyphs = input.readInt();
+            for (int i = 0; i < totalGlyphs; i++) {
+                BitmapFont.Glyph glyph = new BitmapFont.Glyph();
+                glyph.id = input.readChar();
+                glyph.srcX = input.readShort();
+                glyph.srcY = input.readShort();
+                glyph.width = input.readShort();
+                glyph.height = input.readShort();
+                glyph.xoffset = input.readShort();
+                glyph.yoffset = input.readShort();
+                glyph.xadvance = input.readShort();
+                glyph.page = input.readUnsignedByte();
+
+                final int totalKernings = input.readUnsignedShort();
+                for (int j = 0; j < totalKernings; j++)
+                    glyph.setKerning(input.readChar(), input.readByte());
+                fontData.setGlyph(glyph.id, glyph);
+            }
+
+            return new FontCache(key, fontData, pageNames);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("font cache is truncated", ex);
+        }
+    }
+
+    /**
+     * Writes the metrics of a font.
+     *
+     * @param key identifies the font and parameters it was generated with
+     * @param fontData metrics and glyphs of the font
+     * @param pageNames file names the glyph pages are saved with, relative to the metrics, indexed by page
+     * @return contents of the metrics file
+     */
+    public static byte[] write(String key, BitmapFont.BitmapFontData fontData, String[] pageNames) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeUTF(key);
+            output.writeBoolean(fontData.flipped);
+            output.writeFloat(fontData.lineHeight);
+            output.writeFloat(fontData.capHeight);
+            output.writeFloat(fontData.ascent);
+            output.writeFloat(fontData.descent);
+            output.writeFloat(fontData.down);
+            output.writeFloat(fontData.spaceWidth);
+            output.writeFloat(fontData.xHeight);
+
+            output.writeShort(pageNames.length);
+            for (String pageName : pageNames)
+                output.writeUTF(pageName);
+
+            int totalGlyphs = 0;
+            for (BitmapFont.Glyph[] page : fontData.glyphs) {
+                if (page == null)
+                    continue;
+                for (BitmapFont.Glyph glyph : page) {
+                    if (glyph != null)
+                        totalGlyphs++;
+                }
+            }
+
+            output.writeInt(totalGlyphs);
+            for (BitmapFont.Glyph[] page : fontData.glyphs) {
+                if (page == null)
+                    continue;
+                for (BitmapFont.Glyph glyph : page) {
+                    if (glyph != null)
+                        writeGlyph(output, glyph);
+                }
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("could not write font cache", ex);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the location, metrics and kerning of a single glyph.
+     *
+     * @param output stream to write to
+     * @param glyph glyph to write
+     * @throws IOException if the glyph could not be written
+     */
+    private static void writeGlyph(DataOutputStream output, BitmapFont.Glyph glyph) throws IOException {
+        output.writeChar(glyph.id);
+        output.writeShort(glyph.srcX);
+        output.writeShort(glyph.srcY);
+        output.writeShort(glyph.width);
+        output.writeShort(glyph.height);
+        output.writeShort(glyph.xoffset);
+        output.writeShort(glyph.yoffset);
+        output.writeShort(glyph.xadvance);
+        output.writeByte(glyph.page);
+
+        if (glyph.kerning == null) {
+            output.writeShort(0);
+            return;
+        }
+
+        int totalKernings = 0;
+        for (byte[] page : glyph.kerning) {
+            if (page == null)
+                continue;
+            for (byte amount : page) {
+                if (amount != 0)
+                    totalKernings++;
+            }
+        }
+
+        output.writeShort(totalKernings);
+        for (int page = 0; page < glyph.kerning.length; page++) {
+            if (glyph.kerning[page] == null)
+                continue;
+            for (int i = 0; i < glyph.kerning[page].length; i++) {
+                if (glyph.kerning[page][i] != 0) {
+                    output.writeChar(page * glyph.kerning[page].length + i);
+                    output.writeByte(glyph.kerning[page][i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the key the cache was generated with.
+     *
+     * @return {@code mKey}
+     */
+    public String getKey() {
+        return mKey;
+    }
+
+    /**
+     * Gets the metrics and glyphs of the font. Texture coordinates are set when the font is created with its pages.
+     *
+     * @return {@code mFontData}
+     */
+    public BitmapFont.BitmapFontData getFontData() {
+        return mFontData;
+    }
+
+    /**
+     * Gets the file names of the glyph pages, relative to the metrics.
+     *
+     * @return file names, indexed by page
+     */
+    public String[] getPageNames() {
+        return mPageNames;
+    }
+}
@@ -1,24 +1,43 @@
 package ca.josephroque.swip.manager;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
 
 /**
  * Manages font loading and unloading.
  */
 public final class FontManager {
 
+    /** Name the default font is loaded under. {@code CachedFontLoader} loads names ending in {@code .ttf}. */
+    public static final String DEFAULT_FONT = "font/KenVectorFutureThin-16.ttf";
+    /** Location of the default font's TrueType file. */
+    private static final String DEFAULT_FONT_FILE = "font/KenVectorFutureThin.ttf";
+
     private static BitmapFont sFontKenney;
 
-    public static void initialize() {
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("font/KenVectorFutureThin.ttf"));
-        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-        parameter.size = 16;
-        parameter.color = Color.BLACK;
-        sFontKenney = generator.generateFont(parameter);
-        generator.dispose();
+    /**
+     * Creates the parameters to load the default font with a {@code CachedFontLoader}.
+     *
+     * @return parameters for {@code DEFAULT_FONT}
+     */
+    public static FreetypeFontLoader.FreeTypeFontLoaderParameter getDefaultFontParameter() {
+        FreetypeFontLoader.FreeTypeFontLoaderParameter parameter = new FreetypeFontLoader.FreeTypeFontLoaderParameter();
+        parameter.fontFileName = DEFAULT_FONT_FILE;
+        parameter.fontParameters = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        parameter.fontParameters.size = 16;
+        parameter.fontParameters.color = Color.BLACK;
+        return parameter;
+    }
+
+    /**
+     * Prepares fonts for the application.
+     *
+     * @param defaultFont {@code DEFAULT_FONT}, owned by the {@code AssetManager} which loaded it
+     */
+    public static void initialize(BitmapFont defaultFont) {
+        sFontKenney = defaultFont;
     }
 
     public static BitmapFont getDefaultFont() {
@@ -26,7 +45,8 @@ public final class FontManager {
     }
 
     public static void dispose() {
-        sFontKenney.dispose();
+        // The font is disposed when it is unloaded by its asset manager
+        sFontKenney = null;
     }
 
     /**
@@ -1,15 +1,24 @@
 package ca.josephroque.swip.manager;
 
-import ca.josephroque.swip.entity.BasicBall;
 import ca.josephroque.swip.entity.Button;
 import ca.josephroque.swip.entity.GameBall;
-import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.game.GameSimulation;
+import ca.josephroque.swip.input.GameInput;
 import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.input.InputRecorder;
 import ca.josephroque.swip.screen.GameScreen;
+import ca.josephroque.swip.text.NumberLabel;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Manages game objects and rendering them to the screen.
@@ -20,73 +29,62 @@ public class GameManager {
     @SuppressWarnings("unused")
     private static final String TAG = "GameManager";
 
-    /** Number of seconds that turns initially last. */
-    private static final float INITIAL_TURN_LENGTH = 10f; // TODO: change to actual start value, 1.2f
-    /** Number of seconds to subtract from the length of a turn at a time. */
-    private static final float TURN_LENGTH_DECREMENT = 0.05f;
-    /** Number of turns that must pass before the turn length is decremented. */
-    private static final int TURNS_BEFORE_DECREMENT = 10;
-    /** Shortest number of seconds that a turn can last. */
-    private static final float MINIMUM_TURN_LENGTH = 0.3f;
-    /** Number of seconds until a game starts. */
-    private static final float TIME_UNTIL_GAME_STARTS = 2f;
-
     /** Size of the pause button relative to the screen. */
     private static final float PAUSE_BUTTON_SCALE = 0.15f;
-
-    /** Generates random numbers for the game. */
-    private final Random mRandomNumberGenerator = new Random();
+    /** Distance of the score from the top of the screen. */
+    private static final float SCORE_OFFSET = 50;
+    /** Location of the recording of the most recent game, relative to the local storage directory. */
+    private static final String LATEST_REPLAY_FILE = "replays/latest.replay";
 
     /** Instance of callback interface. */
     private GameCallback mGameCallback;
     /** Handles loading and unloading of textures. */
     private TextureManager mTextureManager;
+    /** Draws the walls in a single draw call. */
+    private final WallRenderer mWallRenderer;
+    /** Draws the ball with the time remaining in the turn. */
+    private final BallTimerRenderer mBallTimerRenderer;
 
-    /** Time that has passed since the game began≈, in seconds. */
-    private float mGameCountdown;
-    /** The countdown item which was active in the last frame. */
-    private GameCountdown mLastCountdownItem;
-
-    /** The ball being used by the game. */
-    private GameBall mCurrentGameBall;
+    /** Rules and state of the game being played. */
+    private final GameSimulation mSimulation;
     /** Button to pause the game. */
     private Button mPauseButton;
-    /** The four main walls in the gam. */
-    private Wall[] mPrimaryWalls;
-    /** Four walls which switch places with the primary walls. */
-    private Wall[] mSecondaryWalls;
-    /** Indicates if the secondary walls should be drawn. */
-    private boolean mDrawSecondaryWalls;
-    /** Colors of the four walls. */
-    private final TextureManager.GameColor[] mWallColors;
-
-    /** Length of a single turn. */
-    private float mTurnLength;
-    /** Number of milliseconds that have passed since this turn began. */
-    private float mTurnDuration;
-    /** Total number of turns that have passed since the game began (i.e. the player's score). */
-    private int mTotalTurns;
-
-    /** Number of secondary walls which have finished animating. */
-    private int mWallsFinishedAnimating;
-    /** Replaces primary walls with secondary walls when the secondary walls finish animating. */
+    /** Displays the number of turns the player has completed. */
+    private final NumberLabel mScoreLabel;
+    /** Records the input of each game, so it can be replayed. */
+    private InputRecorder mInputRecorder;
+    /** Generates the seed of each game. */
+    private final Random mSeedGenerator = new Random();
+    /** File the recording of each game is saved to, or {@code null} if recordings are not saved. */
+    private FileHandle mReplayFile;
+    /** Writes recordings in the background, so a game ending never waits for the disk. */
+    private ExecutorService mReplayWriter;
+
+    /** Plays effects and notifies the callback interface of events in the game. */
     @SuppressWarnings("FieldCanBeLocal")
-    private Wall.TranslationCompleteListener mWallTranslationListener = new Wall.TranslationCompleteListener() {
+    private GameSimulation.SimulationListener mSimulationListener = new GameSimulation.SimulationListener() {
         @Override
-        public void onTranslationCompleted(Wall wall) {
-            for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
-                if (mSecondaryWalls[i] == wall)
-                    mWallsFinishedAnimating++;
-            }
+        public void onGameStarted() {
+            if (mGameCallback != null)
+                mGameCallback.startGame();
+        }
 
-            // If all four walls have finished their animation
-            if (mWallsFinishedAnimating == Wall.NUMBER_OF_WALLS) {
-                mWallsFinishedAnimating = 0;
-                mDrawSecondaryWalls = false;
-                Wall[] temp = mPrimaryWalls;
-                mPrimaryWalls = mSecondaryWalls;
-                mSecondaryWalls = temp;
-            }
+        @Override
+        public void onBallReleased() {
+            if (mGameCallback != null)
+                mGameCallback.ballReleased();
+        }
+
+        @Override
+        public void onTurnSucceeded(int totalTurns) {
+            MusicManager.playSoundEffect(MusicManager.SoundEffect.PointEarned);
+        }
+
+        @Override
+        public void onGameEnded(int finalScore) {
+            saveRecording(finalScore);
+            if (mGameCallback != null)
+                mGameCallback.endGame(finalScore);
         }
     };
 
@@ -95,32 +93,46 @@ public class GameManager {
      *
      * @param callback instance of callback interface
      * @param textureManager instance of texture manager
+     * @param inputRecorder records the input of each game
+     */
+    public GameManager(GameCallback callback, TextureManager textureManager, InputRecorder inputRecorder) {
+        this(callback, textureManager, inputRecorder, GameScreen.getScreenWidth(), GameScreen.getScreenHeight());
+    }
+
+    /**
+     * Sets up a new game manager for a screen of a specific size, rather than the size of the game screen.
+     *
+     * @param callback instance of callback interface
+     * @param textureManager instance of texture manager
+     * @param inputRecorder records the input of each game
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
      */
-    public GameManager(GameCallback callback, TextureManager textureManager) {
+    public GameManager(GameCallback callback,
+                       TextureManager textureManager,
+                       InputRecorder inputRecorder,
+                       int screenWidth,
+                       int screenHeight) {
         mGameCallback = callback;
         mTextureManager = textureManager;
+        mInputRecorder = inputRecorder;
+        mReplayFile = Gdx.files.local(LATEST_REPLAY_FILE);
 
-        Wall.initialize(GameScreen.getScreenWidth(), GameScreen.getScreenHeight());
-        mWallColors = new TextureManager.GameColor[Wall.NUMBER_OF_WALLS];
-
-        // Getting specific colors for initial walls
-        Wall.getDefaultWallColors(mWallColors, 0);
-        mPrimaryWalls = new Wall[Wall.NUMBER_OF_WALLS];
-        mSecondaryWalls = new Wall[Wall.NUMBER_OF_WALLS];
-        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
-            mPrimaryWalls[i] = new Wall(i, mWallColors[i], GameScreen.getScreenWidth(), GameScreen.getScreenHeight());
-            mPrimaryWalls[i].setTranslationCompleteListener(mWallTranslationListener);
-            mSecondaryWalls[i] = new Wall(i, mWallColors[i], GameScreen.getScreenWidth(), GameScreen.getScreenHeight());
-            mSecondaryWalls[i].setTranslationCompleteListener(mWallTranslationListener);
-        }
+        mSimulation = new GameSimulation(screenWidth, screenHeight, new Random());
+        mSimulation.setSimulationListener(mSimulationListener);
 
-        final float pauseButtonSize = Math.min(GameScreen.getScreenWidth(), GameScreen.getScreenHeight())
-                * PAUSE_BUTTON_SCALE;
+        final float pauseButtonSize = Math.min(screenWidth, screenHeight) * PAUSE_BUTTON_SCALE;
         mPauseButton = new Button(mTextureManager.getSystemIconTexture(TextureManager.SystemIcon.Pause),
                 0,
-                GameScreen.getScreenHeight() - pauseButtonSize,
+                screenHeight - pauseButtonSize,
                 pauseButtonSize,
                 pauseButtonSize);
+
+        mScoreLabel = new NumberLabel(FontManager.getDefaultFont());
+        positionScoreLabel(screenHeight);
+
+        mWallRenderer = new WallRenderer(mTextureManager);
+        mBallTimerRenderer = new BallTimerRenderer();
     }
 
     /**
@@ -128,141 +140,72 @@ public class GameManager {
      *
      * @param gameState state of the game
      * @param gameInput player's input events
-     * @param delta number of seconds the last rendering took
+     * @param delta number of seconds to simulate
      */
-    public void tick(GameScreen.GameState gameState, GameInputProcessor gameInput, float delta) {
+    public void tick(GameScreen.GameState gameState, GameInput gameInput, float delta) {
         switch (gameState) {
             case GameStarting:
-                tickGameStarting(gameInput, delta);
-                break;
             case GamePlaying:
-                tickGamePlaying(gameInput, delta);
+                if (mPauseButton.wasClicked(gameInput)) {
+                    pauseGame();
+                    if (mGameCallback != null)
+                        mGameCallback.pauseGame();
+                } else {
+                    mSimulation.step(gameInput, delta);
+                    mInputRecorder.step();
+                }
                 break;
             case GamePaused:
-                tickGamePaused(gameInput, delta);
+                // does nothing
                 break;
             default:
                 throw new IllegalArgumentException("invalid game state.");
         }
     }
 
-    /**
-     * Updates a game which is starting.
-     *
-     * @param gameInput player's input events
-     * @param delta number of seconds the last rendering took
-     */
-    private void tickGameStarting(GameInputProcessor gameInput, float delta) {
-        // Counts down timer to start of game
-        mGameCountdown += delta;
-        if (mGameCountdown >= TIME_UNTIL_GAME_STARTS) {
-            startGame();
-            if (mGameCallback != null)
-                mGameCallback.startGame();
-        } else {
-            GameCountdown countdownItem = GameCountdown.getCountdownItem(mGameCountdown / TIME_UNTIL_GAME_STARTS);
-            if (mLastCountdownItem != null
-                    && mLastCountdownItem != countdownItem) {
-                replaceWallsAndBall(countdownItem);
-            }
-            mLastCountdownItem = countdownItem;
-
-            if (mPauseButton.wasClicked(gameInput)) {
-                if (mGameCallback != null)
-                    mGameCallback.pauseGame();
-            }
-        }
-
-        for (Wall wall : mPrimaryWalls)
-            wall.tick(delta);
-        if (mDrawSecondaryWalls) {
-            for (Wall wall : mSecondaryWalls)
-                wall.tick(delta);
-        }
-
-        if (mPauseButton.wasClicked(gameInput) && mGameCallback != null)
-            mGameCallback.pauseGame();
-    }
-
-    /**
-     * Updates a game which is being played.
-     *
-     * @param gameInput player's input events
-     * @param delta number of seconds the last rendering took
-     */
-    private void tickGamePlaying(GameInputProcessor gameInput, float delta) {
-        mTurnDuration += delta;
-
-        if (mTurnDuration >= mTurnLength) {
-            endGame();
-        } else {
-            mCurrentGameBall.drag(gameInput);
-            mCurrentGameBall.tryToReleaseBall(gameInput);
-            mCurrentGameBall.tick(delta, mPrimaryWalls);
-
-            if (mCurrentGameBall.hasPassedThroughWall())
-                turnSucceeded();
-            else if (mCurrentGameBall.hasHitInvalidWall())
-                endGame();
-        }
-
-        if (mPauseButton.wasClicked(gameInput) && mGameCallback != null)
-            mGameCallback.pauseGame();
-
-        for (Wall wall : mPrimaryWalls)
-            wall.tick(delta);
-        if (mDrawSecondaryWalls) {
-            for (Wall wall : mSecondaryWalls)
-                wall.tick(delta);
-        }
-    }
-
-    /**
-     * Updates a game which is paused.
-     *
-     * @param gameInput player's input events
-     * @param delta number of seconds the last rendering took
-     */
-    private void tickGamePaused(GameInputProcessor gameInput, float delta) {
-
-    }
-
     /**
      * Draws the game to the screen.
      *
      * @param gameState the current state of the application
      * @param spriteBatch graphics context to draw to
+     * @param interpolation progress from the last tick to the next tick, from 0 to 1
      */
-    public void draw(GameScreen.GameState gameState, SpriteBatch spriteBatch) {
-        if (mCurrentGameBall != null)
-            mCurrentGameBall.draw(spriteBatch, mTextureManager, mTurnLength, mTurnDuration);
-        for (Wall wall : mPrimaryWalls)
-            wall.draw(spriteBatch, mTextureManager);
-        if (mDrawSecondaryWalls) {
-            for (Wall wall : mSecondaryWalls)
-                wall.draw(spriteBatch, mTextureManager);
+    public void draw(GameScreen.GameState gameState, SpriteBatch spriteBatch, float interpolation) {
+        final GameBall gameBall = mSimulation.getGameBall();
+        if (gameBall != null) {
+            gameBall.draw(spriteBatch,
+                    mTextureManager,
+                    mBallTimerRenderer,
+                    mSimulation.getTurnLength(),
+                    mSimulation.getTurnDuration(),
+                    interpolation);
         }
 
+        // The walls are drawn from their own mesh, between the ball and the interface
+        spriteBatch.end();
+        mWallRenderer.draw(spriteBatch.getProjectionMatrix(),
+                mSimulation.getPrimaryWalls(),
+                mSimulation.getSecondaryWalls(),
+                mSimulation.areSecondaryWallsVisible(),
+                interpolation);
+        spriteBatch.begin();
+
         switch (gameState) {
             case GamePlaying:
-                FontManager.getDefaultFont()
-                        .draw(spriteBatch,
-                                Integer.toString(mTotalTurns),
-                                mPauseButton.getX() + mPauseButton.getWidth(),
-                                GameScreen.getScreenHeight() - 50);
+                mScoreLabel.setValue(mSimulation.getTotalTurns());
+                mScoreLabel.draw(spriteBatch);
                 mPauseButton.draw(spriteBatch);
                 break;
             case GameStarting:
                 mPauseButton.draw(spriteBatch);
-                float countdownPosition = mGameCountdown / TIME_UNTIL_GAME_STARTS;
-                TextureRegion countdownIcon
-                        = mTextureManager.getCountdownTexture(GameCountdown.getCountdownItem(countdownPosition));
+                TextureRegion countdownIcon = mTextureManager.getCountdownTexture(mSimulation.getCountdownItem());
                 float sizeRatio = countdownIcon.getRegionWidth() / (float) countdownIcon.getRegionHeight();
+                float ballRadius = mSimulation.getDefaultBallRadius();
                 spriteBatch.draw(countdownIcon,
-                        GameScreen.getScreenWidth() / 2 - BasicBall.getDefaultBallRadius() * sizeRatio,
-                        GameScreen.getScreenHeight() / 2 - BasicBall.getDefaultBallRadius(),
-                        BasicBall.getDefaultBallRadius() * 2 * sizeRatio,
-                        BasicBall.getDefaultBallRadius() * 2);
+                        GameScreen.getScreenWidth() / 2 - ballRadius * sizeRatio,
+                        GameScreen.getScreenHeight() / 2 - ballRadius,
+                        ballRadius * 2 * sizeRatio,
+                        ballRadius * 2);
                 break;
             default:
                 // does nothing - no more to draw
@@ -273,97 +216,92 @@ public class GameManager {
      * Sets up a new game.
      */
     public void prepareNewGame() {
-        mTurnDuration = 0;
-        mTurnLength = INITIAL_TURN_LENGTH;
-        mTotalTurns = 0;
-        mGameCountdown = 0;
-
-        mCurrentGameBall = null;
+        final long seed = mSeedGenerator.nextLong();
+        mSimulation.prepareNewGame(seed);
+        mInputRecorder.begin(seed, mSimulation.getWorldWidth(), mSimulation.getWorldHeight());
     }
 
     /**
-     * Starts the game.
+     * Stops recording input while the game is paused. Input which arrived since the last step is not recorded, since
+     * the game did not consume it.
      */
-    public void startGame() {
-        // Setting initial properties of entities
-        BasicBall.initialize(GameScreen.getScreenWidth(), GameScreen.getScreenHeight());
-        Wall.initialize(GameScreen.getScreenWidth(), GameScreen.getScreenHeight());
-        replaceWallsAndBall();
+    public void pauseGame() {
+        mInputRecorder.pause();
     }
 
     /**
-     * Creates new colors for the walls and updates the color of the ball based on those colors.
+     * Forgets the fingers which were on the screen while the game was paused, and records input again. The recording
+     * marks where the game was resumed, so its replay forgets them at the same step.
+     *
+     * @param gameInput player's input events
      */
-    private void replaceWallsAndBall() {
-        replaceWallsAndBall(null);
+    public void resumeGame(GameInputProcessor gameInput) {
+        gameInput.cancelTouches();
+        mInputRecorder.resume();
     }
 
     /**
-     * Creates new colors for the walls and updates the color of the ball based on those colors.
+     * Finishes recording the current game and saves the recording, replacing the recording of the previous game.
      *
-     * @param countdown if not null, then the colors of the walls will be the four default colors in an orientation
-     * based on the {@code countdown.ordinal()}
+     * @param finalScore score the user obtained
      */
-    private void replaceWallsAndBall(GameCountdown countdown) {
-        // Creating the four walls
-        int wallPairFirstIndex;
-        if (countdown == null) {
-            wallPairFirstIndex = Wall.getRandomWallColors(mRandomNumberGenerator,
-                    mWallColors,
-                    mTotalTurns > Wall.TURNS_BEFORE_SAME_WALL_COLORS);
-        } else {
-            wallPairFirstIndex = Wall.getDefaultWallColors(mWallColors, countdown.ordinal());
-        }
-
-        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
-            mSecondaryWalls[i].updateWallColor(mWallColors[i]);
-            mSecondaryWalls[i].startTranslation();
-        }
-
-        // Generating new ball at center of screen
-        mDrawSecondaryWalls = true;
-        final int randomWall;
-        final boolean[] passableWalls = new boolean[Wall.NUMBER_OF_WALLS];
-        if (wallPairFirstIndex == -1) {
-            randomWall = mRandomNumberGenerator.nextInt(Wall.NUMBER_OF_WALLS);
-            passableWalls[randomWall] = true;
-        } else {
-            randomWall = wallPairFirstIndex;
-            passableWalls[randomWall] = true;
-            for (int i = randomWall + 1; i < Wall.NUMBER_OF_WALLS; i++)
-                passableWalls[i] = mWallColors[randomWall].equals(mWallColors[i]);
+    private void saveRecording(int finalScore) {
+        mInputRecorder.end(finalScore);
+        if (mReplayFile == null)
+            return;
+
+        if (mReplayWriter == null) {
+            mReplayWriter = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, TAG);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
         }
 
-        mCurrentGameBall = new GameBall(mWallColors[randomWall],
-                passableWalls,
-                GameScreen.getScreenWidth() / 2,
-                GameScreen.getScreenHeight() / 2);
-        mCurrentGameBall.grow();
+        final FileHandle replayFile = mReplayFile;
+        final byte[] recording = mInputRecorder.toByteArray();
+        mReplayWriter.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    replayFile.writeBytes(recording, false);
+                } catch (GdxRuntimeException ex) {
+                    Gdx.app.error(TAG, "Unable to save replay", ex);
+                }
+            }
+        });
     }
 
     /**
-     * Ends the current game - it has been lost.
+     * Sets the file the recording of each game is saved to, replacing the recording of the previous game. Recordings
+     * are saved to {@code LATEST_REPLAY_FILE} in local storage by default.
+     *
+     * @param replayFile file to save recordings to, or {@code null} to only record them in the {@code InputRecorder}
      */
-    public void endGame() {
-        if (mGameCallback != null)
-            mGameCallback.endGame(mTotalTurns);
+    public void setReplayFile(FileHandle replayFile) {
+        mReplayFile = replayFile;
     }
 
     /**
-     * Increases the player's score and starts a new turn.
+     * Waits for the recording of the previous game to be saved. Should be called when the application is paused.
      */
-    private void turnSucceeded() {
-        MusicManager.playSoundEffect(MusicManager.SoundEffect.PointEarned);
-        mTotalTurns++;
-        mTurnDuration = 0;
-
-        if (mTotalTurns % Wall.TURNS_BEFORE_NEW_COLOR == 0)
-            Wall.addWallColorToActive();
-
-        replaceWallsAndBall();
-
-        if (mTotalTurns % TURNS_BEFORE_DECREMENT == 0)
-            mTurnLength = Math.max(MINIMUM_TURN_LENGTH, mTurnLength - TURN_LENGTH_DECREMENT);
+    public void flush() {
+        if (mReplayWriter == null)
+            return;
+
+        try {
+            mReplayWriter.submit(new Runnable() {
+                @Override
+                public void run() {
+                    // does nothing
+                }
+            }).get();
+        } catch (InterruptedException | ExecutionException ex) {
+            Gdx.app.error(TAG, "Unable to save replay", ex);
+        }
     }
 
     /**
@@ -373,20 +311,43 @@ public class GameManager {
      * @param screenHeight height of the screen
      */
     public void resize(int screenWidth, int screenHeight) {
-        // Resizing entities on screen
-        for (Wall wall : mPrimaryWalls)
-            wall.resize(screenWidth, screenHeight);
-        for (Wall wall : mSecondaryWalls)
-            wall.resize(screenWidth, screenHeight);
-        if (mCurrentGameBall != null)
-            mCurrentGameBall.resize(screenWidth, screenHeight);
+        mSimulation.resize(screenWidth, screenHeight);
+        mWallRenderer.invalidate();
+        positionScoreLabel(screenHeight);
     }
 
     /**
-     * Frees references to objects.
+     * Places the score beside the pause button.
+     *
+     * @param screenHeight height of the screen
+     */
+    private void positionScoreLabel(int screenHeight) {
+        mScoreLabel.setPosition(mPauseButton.getX() + mPauseButton.getWidth(), screenHeight - SCORE_OFFSET);
+    }
+
+    /**
+     * Gets the rules and state of the game being played.
+     *
+     * @return {@code mSimulation}
+     */
+    public GameSimulation getSimulation() {
+        return mSimulation;
+    }
+
+    /**
+     * Saves the recording of the previous game, then frees the renderers and references to objects.
      */
     public void dispose() {
+        flush();
+        if (mReplayWriter != null)
+            mReplayWriter.shutdown();
+        mReplayWriter = null;
+
+        mWallRenderer.dispose();
+        mBallTimerRenderer.dispose();
         mGameCallback = null;
+        mInputRecorder = null;
+        mSimulation.setSimulationListener(null);
     }
 
     /**
@@ -404,42 +365,15 @@ public class GameManager {
         void pauseGame();
 
         /**
-         * Should end the current game - the player has lost.
-         *
-         * @param finalScore score the user obtained
+         * Should record that the player released the ball, in response to their last input.
          */
-        void endGame(int finalScore);
-    }
-
-    /**
-     * Icons which represent the countdown before a game begins.
-     */
-    public enum GameCountdown {
-        /** Item which represents a 3 in the countdown. */
-        Three,
-        /** Item which represents a 2 in the countdown. */
-        Two,
-        /** Item which represents a 1 in the countdown. */
-        One,
-        /** Item which represents GO! in the countdown. */
-        Go;
+        void ballReleased();
 
         /**
-         * Gets a countdown item based on the total percentage of the countdown which has passed.
+         * Should end the current game - the player has lost.
          *
-         * @param percentage a percentage from 0 to 1
-         * @return the countdown item
+         * @param finalScore score the user obtained
          */
-        @SuppressWarnings("CheckStyle")
-        public static GameCountdown getCountdownItem(float percentage) {
-            if (percentage < 0.25f)
-                return Three;
-            else if (percentage < 0.5f)
-                return Two;
-            else if (percentage < 0.75f)
-                return One;
-            else
-                return Go;
-        }
+        void endGame(int finalScore);
     }
 }
@@ -0,0 +1,178 @@
+package ca.josephroque.swip.manager;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.MusicLoader;
+import com.badlogic.gdx.assets.loaders.SoundLoader;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Loads the assets of the application in the background while a boot screen is drawn. Files are read and decoded on
+ * the worker thread of an {@code AssetManager}, and only uploads to the GPU happen on the render thread, a few
+ * milliseconds each frame. Reports how long each asset took to load, and how long the application took to draw its
+ * first frame and to become interactive.
+ */
+public final class LoadingManager {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "LoadingManager";
+
+    /** Maximum number of milliseconds to spend loading assets on the render thread in each frame. */
+    private static final int MAXIMUM_LOADING_TIME_PER_FRAME = 12;
+
+    /** Loads and owns the assets of the application. */
+    private final AssetManager mAssetManager;
+
+    /** Time that loading began, in nanoseconds. */
+    private final long mLoadingStartTime;
+    /** Time that the last asset finished loading, in nanoseconds. */
+    private long mLastAssetLoadedTime;
+    /** Time that the first frame was drawn, in nanoseconds. */
+    private long mFirstFrameTime;
+    /** Indicates if the first frame has been drawn. */
+    private boolean mFirstFrameDrawn;
+    /** Time that the application became interactive, in nanoseconds. */
+    private long mInteractiveTime;
+    /** Indicates if the application has become interactive. */
+    private boolean mInteractive;
+
+    /** Reports the time each asset took to load. Invoked on the render thread. */
+    private final AssetLoaderParameters.LoadedCallback mLoadedCallback = new AssetLoaderParameters.LoadedCallback() {
+        @Override
+        public void finishedLoading(AssetManager assetManager, String fileName, Class type) {
+            onAssetLoaded(fileName);
+        }
+    };
+
+    /**
+     * Queues every asset the application needs before it can be interacted with, and begins loading them.
+     *
+     * @param initialBackgroundTrack background music to load
+     */
+    public LoadingManager(MusicManager.BackgroundTrack initialBackgroundTrack) {
+        mLoadingStartTime = TimeUtils.nanoTime();
+        mLastAssetLoadedTime = mLoadingStartTime;
+
+        final FileHandleResolver resolver = new InternalFileHandleResolver();
+        mAssetManager = new AssetManager(resolver);
+        mAssetManager.setLoader(AtlasIndex.class, new AtlasIndexLoader(resolver));
+        mAssetManager.setLoader(BitmapFont.class, ".ttf", new CachedFontLoader(resolver));
+
+        // Textures first, so the largest asset starts decoding as soon as possible
+        AssetLoaderParameters<AtlasIndex> atlasParameter = new AssetLoaderParameters<>();
+        atlasParameter.loadedCallback = mLoadedCallback;
+        mAssetManager.load(TextureManager.ATLAS_INDEX_FILE, AtlasIndex.class, atlasParameter);
+
+        FreetypeFontLoader.FreeTypeFontLoaderParameter fontParameter = FontManager.getDefaultFontParameter();
+        fontParameter.loadedCallback = mLoadedCallback;
+        mAssetManager.load(FontManager.DEFAULT_FONT, BitmapFont.class, fontParameter);
+
+        MusicLoader.MusicParameter musicParameter = new MusicLoader.MusicParameter();
+        musicParameter.loadedCallback = mLoadedCallback;
+        mAssetManager.load(MusicManager.getBackgroundTrackFile(initialBackgroundTrack), Music.class, musicParameter);
+
+        for (MusicManager.SoundEffect sound : MusicManager.SoundEffect.values()) {
+            SoundLoader.SoundParameter soundParameter = new SoundLoader.SoundParameter();
+            soundParameter.loadedCallback = mLoadedCallback;
+            mAssetManager.load(MusicManager.getSoundEffectFile(sound), Sound.class, soundParameter);
+        }
+    }
+
+    /**
+     * Continues loading assets for a short time. Should be called once each frame until it returns {@code true}.
+     *
+     * @return {@code true} if every asset has been loaded
+     */
+    public boolean update() {
+        return mAssetManager.update(MAXIMUM_LOADING_TIME_PER_FRAME);
+    }
+
+    /**
+     * Gets the progress of loading assets.
+     *
+     * @return progress from 0 to 1
+     */
+    public float getProgress() {
+        return mAssetManager.getProgress();
+    }
+
+    /**
+     * Gets the asset manager which loaded the assets.
+     *
+     * @return {@code mAssetManager}
+     */
+    public AssetManager getAssetManager() {
+        return mAssetManager;
+    }
+
+    /**
+     * Records the time the first frame was drawn. Should be called after every frame drawn while loading.
+     */
+    public void onFrameDrawn() {
+        if (mFirstFrameDrawn)
+            return;
+
+        mFirstFrameDrawn = true;
+        mFirstFrameTime = TimeUtils.nanoTime();
+        Gdx.app.log(TAG, "Time to first frame: " + getTimeToFirstFrame() + "ms");
+    }
+
+    /**
+     * Records the time the application became interactive, after every asset was loaded.
+     */
+    public void onInteractive() {
+        if (mInteractive)
+            return;
+
+        mInteractive = true;
+        mInteractiveTime = TimeUtils.nanoTime();
+        Gdx.app.log(TAG, "Time to interactive: " + getTimeToInteractive() + "ms");
+    }
+
+    /**
+     * Reports the time an asset took to load.
+     *
+     * @param fileName name of the asset
+     */
+    private void onAssetLoaded(String fileName) {
+        final long time = TimeUtils.nanoTime();
+
+        // Assets are loaded one at a time, so each one took from when the last one finished
+        Gdx.app.log(TAG, "Loaded " + fileName + " in " + TimeUtils.nanosToMillis(time - mLastAssetLoadedTime) + "ms, "
+                + TimeUtils.nanosToMillis(time - mLoadingStartTime) + "ms after loading began");
+        mLastAssetLoadedTime = time;
+    }
+
+    /**
+     * Gets the number of milliseconds from when loading began until the first frame was drawn.
+     *
+     * @return time to first frame, or -1 if the first frame has not been drawn
+     */
+    public long getTimeToFirstFrame() {
+        return (mFirstFrameDrawn) ? TimeUtils.nanosToMillis(mFirstFrameTime - mLoadingStartTime) : -1;
+    }
+
+    /**
+     * Gets the number of milliseconds from when loading began until the application became interactive.
+     *
+     * @return time to interactive, or -1 if the application is not interactive yet
+     */
+    public long getTimeToInteractive() {
+        return (mInteractive) ? TimeUtils.nanosToMillis(mInteractiveTime - mLoadingStartTime) : -1;
+    }
+
+    /**
+     * Frees every asset which was loaded.
+     */
+    public void dispose() {
+        mAssetManager.dispose();
+    }
+}
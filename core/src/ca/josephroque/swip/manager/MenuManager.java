@@ -2,8 +2,10 @@ package ca.josephroque.swip.manager;
 
 import ca.josephroque.swip.entity.BasicBall;
 import ca.josephroque.swip.entity.ButtonBall;
-import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.entity.GameColor;
+import ca.josephroque.swip.input.GameInput;
 import ca.josephroque.swip.screen.GameScreen;
+import ca.josephroque.swip.text.TextLabel;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 
 /**
@@ -22,6 +24,8 @@ public class MenuManager {
 
     /** Buttons for menu options. */
     private ButtonBall[] mMenuOptionBalls;
+    /** Prompts the player to start a game. */
+    private final TextLabel mTapToBeginLabel;
 
     /** When a button ball finishes shrinking, this causes the opposing option to grow in its place. */
     @SuppressWarnings("FieldCanBeLocal")
@@ -73,30 +77,35 @@ public class MenuManager {
         mMenuOptionBalls = new ButtonBall[MenuBallOption.getSize()];
         mMenuOptionBalls[MenuBallOption.MusicOn.ordinal()]
                 = new ButtonBall(MenuBallOption.MusicOn,
-                TextureManager.GameColor.Green,
+                GameColor.Green,
                 textureManager.getMenuButtonIconTexture(MenuBallOption.MusicOn),
                 GameScreen.getScreenWidth() / 2 - BasicBall.getDefaultBallRadius() * 2,
                 GameScreen.getScreenHeight() / 2);
         mMenuOptionBalls[MenuBallOption.MusicOff.ordinal()]
                 = new ButtonBall(MenuBallOption.MusicOff,
-                TextureManager.GameColor.Red,
+                GameColor.Red,
                 textureManager.getMenuButtonIconTexture(MenuBallOption.MusicOff),
                 GameScreen.getScreenWidth() / 2 - BasicBall.getDefaultBallRadius() * 2,
                 GameScreen.getScreenHeight() / 2);
         mMenuOptionBalls[MenuBallOption.SoundEffectsOn.ordinal()]
                 = new ButtonBall(MenuBallOption.SoundEffectsOn,
-                TextureManager.GameColor.Green,
+                GameColor.Green,
                 textureManager.getMenuButtonIconTexture(MenuBallOption.SoundEffectsOn),
                 GameScreen.getScreenWidth() / 2 + BasicBall.getDefaultBallRadius() * 2,
                 GameScreen.getScreenHeight() / 2);
         mMenuOptionBalls[MenuBallOption.SoundEffectsOff.ordinal()]
                 = new ButtonBall(MenuBallOption.SoundEffectsOff,
-                TextureManager.GameColor.Red,
+                GameColor.Red,
                 textureManager.getMenuButtonIconTexture(MenuBallOption.SoundEffectsOff),
                 GameScreen.getScreenWidth() / 2 + BasicBall.getDefaultBallRadius() * 2,
                 GameScreen.getScreenHeight() / 2);
         for (ButtonBall ball : mMenuOptionBalls)
             ball.setScalingCompleteListener(mMenuOptionBallsListener);
+
+        mTapToBeginLabel = new TextLabel(FontManager.getDefaultFont(),
+                "Tap to begin",
+                GameScreen.getScreenWidth() / 2,
+                GameScreen.getScreenHeight() / 2);
     }
 
     /**
@@ -106,7 +115,7 @@ public class MenuManager {
      * @param gameInput player's input events
      * @param delta number of seconds the last rendering took
      */
-    public void tick(GameScreen.GameState gameState, GameInputProcessor gameInput, float delta) {
+    public void tick(GameScreen.GameState gameState, GameInput gameInput, float delta) {
         if (gameState != GameScreen.GameState.Ended && gameState != GameScreen.GameState.GamePaused
                 && gameState != GameScreen.GameState.MainMenu)
             throw new IllegalStateException("Invalid state for updating menu.");
@@ -168,8 +177,21 @@ public class MenuManager {
         for (ButtonBall option : mMenuOptionBalls)
             option.draw(spriteBatch, mTextureManager);
 
-        FontManager.getDefaultFont()
-                .draw(spriteBatch, "Tap to begin", GameScreen.getScreenWidth() / 2, GameScreen.getScreenHeight() / 2);
+        mTapToBeginLabel.draw(spriteBatch);
+    }
+
+    /**
+     * Checks if any menu item is animating, so the menu must keep being drawn.
+     *
+     * @return {@code true} if a menu item will change in the next tick
+     */
+    public boolean isAnimating() {
+        for (ButtonBall option : mMenuOptionBalls) {
+            if (option.isAnimating())
+                return true;
+        }
+
+        return false;
     }
 
     /**
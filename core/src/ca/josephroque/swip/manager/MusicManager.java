@@ -1,13 +1,18 @@
 package ca.josephroque.swip.manager;
 
-import ca.josephroque.swip.util.PreferenceUtils;
+import ca.josephroque.swip.util.SettingsStore;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Manages music loading and playback.
+ *
+ * <p>Background tracks are opened by the asset manager on its loading thread, so changing tracks never decodes audio
+ * on the render thread. The new track starts playing once it has been opened, and crossfades with the old track,
+ * which is then unloaded.</p>
  */
 public final class MusicManager {
 
@@ -20,18 +25,27 @@ public final class MusicManager {
     /** Preference identifier to indicate if sound effects have been disabled by the user. */
     private static final String SFX_ENABLED = "sfx_enabled";
 
-    /** Number of seconds a song will take to fade out or in. */
+    /** Number of seconds two songs take to crossfade. */
     private static final float FADE_SPEED = 1f;
 
+    /** Loads and owns the background music and sound effects. */
+    private static AssetManager sAssetManager;
+
     /** Primary background music for the application. */
     private static Music sBackgroundMusic;
+    /** Background music fading in over {@code sBackgroundMusic}, or {@code null} if the music is not fading. */
+    private static Music sIncomingMusic;
 
     /** The current background track being played by {@code sBackgroundMusic}. */
     private static BackgroundTrack sCurrentBackgroundTrack;
-    /** The background track to be played next. */
+    /** The background track to be played next, which is loading or fading in, or {@code null} if there is none. */
     private static BackgroundTrack sNextBackgroundTrack;
-    /** Number of seconds that a song has been fading for. */
-    private static float sFadeTime = 1f;
+    /** Number of seconds that {@code sIncomingMusic} has been fading in for. */
+    private static float sFadeTime;
+    /** Number of seconds {@code sIncomingMusic} will take to fade in. 0 to switch tracks without fading. */
+    private static float sFadeDuration;
+    /** Time the switch to {@code sNextBackgroundTrack} was requested, in nanoseconds. */
+    private static long sSwitchRequestTime;
 
     /** Indicates if music playback has been enabled or disabled. */
     private static boolean sMusicEnabled;
@@ -40,25 +54,31 @@ public final class MusicManager {
 
     /** Sound effects in the application. */
     private static Sound[] sSoundEffects = new Sound[SoundEffect.getSize()];
+    /** Limits the number of sound effects playing at once. */
+    private static SoundEffectMixer sSoundEffectMixer;
 
     /**
-     * Loads background music and sound effects for the game.
+     * Prepares background music and sound effects for the game.
      *
-     * @param initialBackgroundTrack initial background song to load
+     * @param assetManager asset manager which has loaded the initial background track and every sound effect. Used to
+     * load other background tracks when they are played
+     * @param initialBackgroundTrack initial background song
      */
-    public static void initialize(BackgroundTrack initialBackgroundTrack) {
+    public static void initialize(AssetManager assetManager, BackgroundTrack initialBackgroundTrack) {
+        sAssetManager = assetManager;
         sBackgroundMusic = loadBackgroundMusic(initialBackgroundTrack);
         sCurrentBackgroundTrack = initialBackgroundTrack;
 
-        Preferences preferences = Gdx.app.getPreferences(PreferenceUtils.PREFERENCES);
-        sMusicEnabled = preferences.getBoolean(MUSIC_ENABLED, true);
-        sSoundEffectsEnabled = preferences.getBoolean(SFX_ENABLED, true);
+        sMusicEnabled = SettingsStore.getBoolean(MUSIC_ENABLED, true);
+        sSoundEffectsEnabled = SettingsStore.getBoolean(SFX_ENABLED, true);
 
         // Loading sounds
         SoundEffect[] soundEffects = SoundEffect.values();
         for (int i = 0; i < sSoundEffects.length; i++) {
-            sSoundEffects[i] = loadSound(soundEffects[i]);
+            sSoundEffects[i] = sAssetManager.get(getSoundEffectFile(soundEffects[i]), Sound.class);
         }
+        sSoundEffectMixer = new SoundEffectMixer(sSoundEffects);
+        sSoundEffectMixer.prewarm();
     }
 
     /**
@@ -71,14 +91,12 @@ public final class MusicManager {
             sMusicEnabled = enabled;
 
             if (!enabled) {
-                sFadeTime = FADE_SPEED;
+                settleTrackChange();
                 stopBackgroundMusic();
             }
 
-            // Updating preferences
-            Preferences preferences = Gdx.app.getPreferences(PreferenceUtils.PREFERENCES);
-            preferences.putBoolean(MUSIC_ENABLED, enabled);
-            preferences.flush();
+            // Written in the background, so the setting changes without touching the disk
+            SettingsStore.putBoolean(MUSIC_ENABLED, enabled);
         }
     }
 
@@ -99,11 +117,11 @@ public final class MusicManager {
     public static void setSoundEffectPlaybackEnabled(boolean enabled) {
         if (sSoundEffectsEnabled != enabled) {
             sSoundEffectsEnabled = enabled;
+            if (!enabled)
+                sSoundEffectMixer.stopAll();
 
-            // Updating preferences
-            Preferences preferences = Gdx.app.getPreferences(PreferenceUtils.PREFERENCES);
-            preferences.putBoolean(SFX_ENABLED, enabled);
-            preferences.flush();
+            // Written in the background, so the setting changes without touching the disk
+            SettingsStore.putBoolean(SFX_ENABLED, enabled);
         }
     }
 
@@ -117,7 +135,7 @@ public final class MusicManager {
     }
 
     /**
-     * Plays a sound effect once.
+     * Plays a sound effect once, unless it is already playing as many times as it may at once.
      *
      * @param sound sound effect to play
      */
@@ -125,12 +143,21 @@ public final class MusicManager {
         if (!sSoundEffectsEnabled)
             return;
 
-        sSoundEffects[sound.ordinal()].play();
+        sSoundEffectMixer.play(sound, 1f);
+    }
+
+    /**
+     * Gets the mixer which plays sound effects, to check its voice usage.
+     *
+     * @return {@code sSoundEffectMixer}, or {@code null} before the sound effects are loaded
+     */
+    public static SoundEffectMixer getSoundEffectMixer() {
+        return sSoundEffectMixer;
     }
 
     /**
-     * Loads and plays the specified track as background music. If the track is already loaded, it is restarted from the
-     * beginning.
+     * Plays the specified track as background music. If the track is already playing, it is restarted from the
+     * beginning. Otherwise, it starts once it has been loaded, without fading.
      *
      * @param track track to play
      */
@@ -138,19 +165,13 @@ public final class MusicManager {
         if (!sMusicEnabled)
             return;
 
+        settleTrackChange();
         if (sCurrentBackgroundTrack != track) {
-            if (sBackgroundMusic.isPlaying())
-                sBackgroundMusic.stop();
-            sBackgroundMusic.dispose();
-
-            sBackgroundMusic = loadBackgroundMusic(track);
-            sCurrentBackgroundTrack = track;
+            requestTrackChange(track, 0f);
         } else {
             sBackgroundMusic.setPosition(0);
-            sBackgroundMusic.play();
+            playBackgroundMusic();
         }
-
-        playBackgroundMusic();
     }
 
     /**
@@ -162,6 +183,8 @@ public final class MusicManager {
 
         if (!sBackgroundMusic.isPlaying())
             sBackgroundMusic.play();
+        if (sIncomingMusic != null && !sIncomingMusic.isPlaying())
+            sIncomingMusic.play();
     }
 
     /**
@@ -170,6 +193,8 @@ public final class MusicManager {
     public static void pauseBackgroundMusic() {
         if (sBackgroundMusic.isPlaying())
             sBackgroundMusic.pause();
+        if (sIncomingMusic != null && sIncomingMusic.isPlaying())
+            sIncomingMusic.pause();
     }
 
     /**
@@ -178,10 +203,13 @@ public final class MusicManager {
     public static void stopBackgroundMusic() {
         if (sBackgroundMusic.isPlaying())
             sBackgroundMusic.stop();
+        if (sIncomingMusic != null && sIncomingMusic.isPlaying())
+            sIncomingMusic.stop();
     }
 
     /**
-     * Fades a new song in and fades out the currently playing music.
+     * Fades a new song in and fades out the currently playing music. The new song is loaded first, so the fade begins
+     * once it is ready to play.
      *
      * @param track track to fade in
      */
@@ -190,76 +218,184 @@ public final class MusicManager {
             return;
 
         // Checks if the music is already fading
-        if (sFadeTime < FADE_SPEED)
+        if (sIncomingMusic != null || track == sNextBackgroundTrack)
             return;
 
-        if (track != sCurrentBackgroundTrack) {
-            sNextBackgroundTrack = track;
-            sFadeTime = 0f;
-        }
+        if (sNextBackgroundTrack != null)
+            settleTrackChange();
+        if (track != sCurrentBackgroundTrack)
+            requestTrackChange(track, FADE_SPEED);
+    }
+
+    /**
+     * Checks if the background music is loading a new track or fading between tracks.
+     *
+     * @return {@code true} if the background music will change in the next tick
+     */
+    public static boolean isFading() {
+        return sMusicEnabled && sNextBackgroundTrack != null;
     }
 
     /**
-     * Updates volume of fading songs.
+     * Starts the next track once it has been loaded, and updates the volume of fading songs.
      *
      * @param delta number of seconds last rendering took
      */
-    @SuppressWarnings({"Convert2Lambda", "Anonymous2MethodRef"}) // Avoid Java 8 for Android
     public static void tick(float delta) {
-        if (!sMusicEnabled)
+        if (!sMusicEnabled || sNextBackgroundTrack == null)
             return;
 
-        if (sBackgroundMusic.isPlaying() && sFadeTime < FADE_SPEED * 2) {
-            if (sFadeTime < FADE_SPEED) {
-                sBackgroundMusic.setVolume((-sFadeTime + FADE_SPEED) / FADE_SPEED);
-            } else {
-                if (sNextBackgroundTrack != null) {
-                    sCurrentBackgroundTrack = sNextBackgroundTrack;
-                    sNextBackgroundTrack = null;
-
-                    sBackgroundMusic.stop();
-                    sBackgroundMusic.dispose();
-                    sBackgroundMusic = loadBackgroundMusic(sCurrentBackgroundTrack);
-                    sBackgroundMusic.setLooping(true);
-                    sBackgroundMusic.play();
-                }
-                sBackgroundMusic.setVolume(sFadeTime / FADE_SPEED);
-            }
-            sFadeTime += delta;
-        } else if (sBackgroundMusic.getVolume() < 1) {
-            sBackgroundMusic.setVolume(1);
+        if (sIncomingMusic == null) {
+            // The track is opened on the asset manager's loading thread, so this only collects it once it is ready
+            sAssetManager.update();
+            if (!sAssetManager.isLoaded(getBackgroundTrackFile(sNextBackgroundTrack), Music.class))
+                return;
+
+            startIncomingMusic();
+            return;
+        }
+
+        sFadeTime += delta;
+        if (sFadeTime >= sFadeDuration) {
+            finishTrackChange();
+        } else {
+            final float progress = sFadeTime / sFadeDuration;
+            sIncomingMusic.setVolume(progress);
+            sBackgroundMusic.setVolume(1 - progress);
         }
     }
 
     /**
-     * Loads a single background music track from the game assets.
+     * Begins loading the next track in the background, to be played once it has been loaded.
+     *
+     * @param track track to play next
+     * @param fadeDuration number of seconds the track should take to fade in
+     */
+    private static void requestTrackChange(BackgroundTrack track, float fadeDuration) {
+        sNextBackgroundTrack = track;
+        sFadeDuration = fadeDuration;
+        sSwitchRequestTime = TimeUtils.nanoTime();
+
+        final String fileName = getBackgroundTrackFile(track);
+        if (!sAssetManager.isLoaded(fileName, Music.class))
+            sAssetManager.load(fileName, Music.class);
+    }
+
+    /**
+     * Starts playing the next track, which has been loaded. The next track fades in if the current track is playing,
+     * or replaces it immediately otherwise.
+     */
+    private static void startIncomingMusic() {
+        final long handoffStartTime = TimeUtils.nanoTime();
+        final boolean crossfade = sFadeDuration > 0 && sBackgroundMusic.isPlaying();
+
+        sIncomingMusic = sAssetManager.get(getBackgroundTrackFile(sNextBackgroundTrack), Music.class);
+        sIncomingMusic.setLooping(true);
+        sIncomingMusic.setVolume((crossfade) ? 0f : 1f);
+        sIncomingMusic.play();
+        sFadeTime = 0f;
+
+        final long handoffEndTime = TimeUtils.nanoTime();
+        Gdx.app.log(TAG, "Switched to track " + sNextBackgroundTrack + " "
+                + TimeUtils.nanosToMillis(handoffEndTime - sSwitchRequestTime) + "ms after request, handoff took "
+                + (handoffEndTime - handoffStartTime) / 1000 + "us");
+
+        if (!crossfade)
+            finishTrackChange();
+    }
+
+    /**
+     * Replaces the current track with the incoming track, and unloads the current track.
+     */
+    private static void finishTrackChange() {
+        sBackgroundMusic.stop();
+        unloadBackgroundMusic(sCurrentBackgroundTrack);
+
+        sBackgroundMusic = sIncomingMusic;
+        sBackgroundMusic.setVolume(1f);
+        sCurrentBackgroundTrack = sNextBackgroundTrack;
+        sIncomingMusic = null;
+        sNextBackgroundTrack = null;
+    }
+
+    /**
+     * Ends a track change in progress. A track which is fading in replaces the current track immediately, and a track
+     * which has not started playing is no longer loaded.
+     */
+    private static void settleTrackChange() {
+        if (sIncomingMusic != null) {
+            finishTrackChange();
+        } else if (sNextBackgroundTrack != null) {
+            unloadBackgroundMusic(sNextBackgroundTrack);
+            sNextBackgroundTrack = null;
+        }
+    }
+
+    /**
+     * Gets the location of a background music track in the game assets.
+     *
+     * @param track background music track
+     * @return file name of the track
+     */
+    public static String getBackgroundTrackFile(BackgroundTrack track) {
+        return "audio/bm/" + track + ".mp3";
+    }
+
+    /**
+     * Gets the location of a sound effect in the game assets.
+     *
+     * @param sound sound effect
+     * @return file name of the sound effect
+     */
+    public static String getSoundEffectFile(SoundEffect sound) {
+        return "audio/sfx/" + sound + ".wav";
+    }
+
+    /**
+     * Gets a single background music track, loading it from the game assets if it has not been loaded already.
      *
      * @param track track to load
      * @return the background music
      */
     private static Music loadBackgroundMusic(BackgroundTrack track) {
-        return Gdx.audio.newMusic(Gdx.files.internal("audio/bm/" + track + ".mp3"));
+        final String fileName = getBackgroundTrackFile(track);
+        if (!sAssetManager.isLoaded(fileName, Music.class)) {
+            sAssetManager.load(fileName, Music.class);
+            sAssetManager.finishLoadingAsset(fileName);
+        }
+
+        return sAssetManager.get(fileName, Music.class);
     }
 
     /**
-     * Loads a single sound effect from the game assets.
+     * Unloads a single background music track, which disposes of it.
      *
-     * @param sound sound effect to load
-     * @return the sound effect
+     * @param track track to unload
      */
-    private static Sound loadSound(SoundEffect sound) {
-        return Gdx.audio.newSound(Gdx.files.internal("audio/sfx/" + sound + ".wav"));
+    private static void unloadBackgroundMusic(BackgroundTrack track) {
+        sAssetManager.unload(getBackgroundTrackFile(track));
     }
 
     /**
-     * Frees resources from objects.
+     * Frees resources from objects. The music and sound effects are disposed when they are unloaded by their asset
+     * manager.
      */
     public static void dispose() {
-        if (sBackgroundMusic != null)
-            sBackgroundMusic.dispose();
-
-        for (Sound sound : sSoundEffects)
-            sound.dispose();
+        if (sBackgroundMusic != null && sBackgroundMusic.isPlaying())
+            sBackgroundMusic.stop();
+        if (sIncomingMusic != null && sIncomingMusic.isPlaying())
+            sIncomingMusic.stop();
+
+        sBackgroundMusic = null;
+        sIncomingMusic = null;
+        sCurrentBackgroundTrack = null;
+        sNextBackgroundTrack = null;
+        sAssetManager = null;
+        if (sSoundEffectMixer != null)
+            sSoundEffectMixer.stopAll();
+        sSoundEffectMixer = null;
+        for (int i = 0; i < sSoundEffects.length; i++)
+            sSoundEffects[i] = null;
     }
 
     /**
@@ -286,10 +422,82 @@ public final class MusicManager {
      */
     public enum SoundEffect {
         /** Sound corresponding to a point earned. */
-        PointEarned;
+        PointEarned(2, 1, SoundEffectMixer.StealPolicy.Oldest, 0.17f);
 
+        /** Every sound effect, indexed by ordinal. */
+        private static final SoundEffect[] VALUES = SoundEffect.values();
         /** Number of available sound effects. */
-        private static final int SIZE = SoundEffect.values().length;
+        private static final int SIZE = VALUES.length;
+
+        /** Maximum number of times the effect may play at once. */
+        private final int mVoiceLimit;
+        /** Priority of the effect when every voice is in use. It may only stop effects of equal or lower priority. */
+        private final int mPriority;
+        /** What to do when the effect is played while it is at its voice limit. */
+        private final SoundEffectMixer.StealPolicy mStealPolicy;
+        /** Length of the effect, in seconds. */
+        private final float mDuration;
+
+        /**
+         * Assigns the playback limits of a sound effect.
+         *
+         * @param voiceLimit maximum number of times the effect may play at once
+         * @param priority priority of the effect when every voice is in use
+         * @param stealPolicy what to do when the effect is played while it is at its voice limit
+         * @param duration length of the effect, in seconds
+         */
+        SoundEffect(int voiceLimit, int priority, SoundEffectMixer.StealPolicy stealPolicy, float duration) {
+            mVoiceLimit = voiceLimit;
+            mPriority = priority;
+            mStealPolicy = stealPolicy;
+            mDuration = duration;
+        }
+
+        /**
+         * Gets the maximum number of times the effect may play at once.
+         *
+         * @return {@code mVoiceLimit}
+         */
+        public int getVoiceLimit() {
+            return mVoiceLimit;
+        }
+
+        /**
+         * Gets the priority of the effect when every voice is in use.
+         *
+         * @return {@code mPriority}
+         */
+        public int getPriority() {
+            return mPriority;
+        }
+
+        /**
+         * Gets what to do when the effect is played while it is at its voice limit.
+         *
+         * @return {@code mStealPolicy}
+         */
+        public SoundEffectMixer.StealPolicy getStealPolicy() {
+            return mStealPolicy;
+        }
+
+        /**
+         * Gets the length of the effect.
+         *
+         * @return {@code mDuration}, in seconds
+         */
+        public float getDuration() {
+            return mDuration;
+        }
+
+        /**
+         * Gets a sound effect by its ordinal, without allocating.
+         *
+         * @param ordinal ordinal of the effect
+         * @return the sound effect
+         */
+        public static SoundEffect get(int ordinal) {
+            return VALUES[ordinal];
+        }
 
         /**
          * Gets the number of available sound effects.
@@ -0,0 +1,306 @@
+package ca.josephroque.swip.manager;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Limits how many sound effects play at once, so frequent effects cannot exhaust the voice pool of the platform.
+ *
+ * <p>Each {@code MusicManager.SoundEffect} may only play a limited number of times at once. When an effect is at its
+ * limit, its {@code StealPolicy} decides if its oldest voice is stopped or the new play is dropped. When every voice of
+ * the mixer is in use, a new play stops the oldest voice with the lowest priority which is no higher than its own, or
+ * is dropped if every voice has a higher priority.</p>
+ *
+ * <p>{@code Sound} cannot report when a play has finished, so each voice is considered in use for the length of its
+ * effect. The mixer does not allocate after it has been created.</p>
+ */
+public final class SoundEffectMixer {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "SoundEffectMixer";
+
+    /** Maximum number of sound effects which play at once. Half the smallest default voice pool of the backends. */
+    public static final int MAXIMUM_VOICES = 8;
+    /** Represents a voice which is not playing. */
+    private static final int NO_EFFECT = -1;
+    /** Number of nanoseconds in a second. */
+    private static final float NANOS_PER_SECOND = 1000000000f;
+
+    /** Sound of each effect, indexed by ordinal. */
+    private final Sound[] mSounds;
+
+    /** Effect playing in each voice, by ordinal, or {@code NO_EFFECT}. */
+    private final int[] mVoiceEffects = new int[MAXIMUM_VOICES];
+    /** Identifier of the play in each voice, to stop it. */
+    private final long[] mVoiceIds = new long[MAXIMUM_VOICES];
+    /** Time each voice started playing, in nanoseconds. */
+    private final long[] mVoiceStartTimes = new long[MAXIMUM_VOICES];
+    /** Time each voice finishes playing, in nanoseconds. */
+    private final long[] mVoiceEndTimes = new long[MAXIMUM_VOICES];
+    /** Number of voices playing each effect, indexed by ordinal. */
+    private final int[] mEffectVoices;
+    /** Number of voices playing. */
+    private int mActiveVoices;
+
+    /** Number of plays which were requested. */
+    private int mPlaysRequested;
+    /** Number of voices which were stopped to play a newer effect. */
+    private int mVoicesStolen;
+    /** Number of plays which were dropped because no voice could be stolen. */
+    private int mPlaysRejected;
+    /** Number of plays which the platform failed to start. */
+    private int mPlaysFailed;
+    /** Largest number of voices which have played at once. */
+    private int mPeakVoices;
+
+    /**
+     * Prepares a mixer for the sound effects.
+     *
+     * @param sounds sound of each effect, indexed by {@code MusicManager.SoundEffect} ordinal
+     */
+    public SoundEffectMixer(Sound[] sounds) {
+        if (sounds.length != MusicManager.SoundEffect.getSize())
+            throw new IllegalArgumentException("must provide one sound for each effect.");
+
+        mSounds = sounds;
+        mEffectVoices = new int[sounds.length];
+        for (int i = 0; i < MAXIMUM_VOICES; i++)
+            mVoiceEffects[i] = NO_EFFECT;
+    }
+
+    /**
+     * Plays each effect once, silently, so the platform has prepared an instance of every effect before the first
+     * time it is heard.
+     */
+    public void prewarm() {
+        for (Sound sound : mSounds) {
+            final long id = sound.play(0f);
+            if (id != -1)
+                sound.stop(id);
+        }
+    }
+
+    /**
+     * Plays a sound effect once, if a voice is available or can be stolen.
+     *
+     * @param effect effect to play
+     * @param volume volume of the effect, from 0 to 1
+     * @return {@code true} if the effect started playing
+     */
+    public boolean play(MusicManager.SoundEffect effect, float volume) {
+        final long time = TimeUtils.nanoTime();
+        final int effectIndex = effect.ordinal();
+        mPlaysRequested++;
+        releaseFinishedVoices(time);
+
+        final int voice;
+        if (mEffectVoices[effectIndex] >= effect.getVoiceLimit()) {
+            if (effect.getStealPolicy() == StealPolicy.Reject) {
+                mPlaysRejected++;
+                return false;
+            }
+            voice = findOldestVoice(effectIndex);
+            stopVoice(voice);
+            mVoicesStolen++;
+        } else if (mActiveVoices == MAXIMUM_VOICES) {
+            voice = findVoiceToSteal(effect.getPriority());
+            if (voice == NO_EFFECT) {
+                mPlaysRejected++;
+                return false;
+            }
+            stopVoice(voice);
+            mVoicesStolen++;
+        } else {
+            voice = findFreeVoice();
+        }
+
+        final long id = mSounds[effectIndex].play(volume);
+        if (id == -1) {
+            mPlaysFailed++;
+            return false;
+        }
+
+        mVoiceEffects[voice] = effectIndex;
+        mVoiceIds[voice] = id;
+        mVoiceStartTimes[voice] = time;
+        mVoiceEndTimes[voice] = time + (long) (effect.getDuration() * NANOS_PER_SECOND);
+        mEffectVoices[effectIndex]++;
+        mActiveVoices++;
+        if (mActiveVoices > mPeakVoices)
+            mPeakVoices = mActiveVoices;
+        return true;
+    }
+
+    /**
+     * Stops every voice which is playing.
+     */
+    public void stopAll() {
+        for (int i = 0; i < MAXIMUM_VOICES; i++) {
+            if (mVoiceEffects[i] != NO_EFFECT)
+                stopVoice(i);
+        }
+    }
+
+    /**
+     * Frees voices which have finished playing.
+     *
+     * @param time current time, in nanoseconds
+     */
+    private void releaseFinishedVoices(long time) {
+        for (int i = 0; i < MAXIMUM_VOICES; i++) {
+            if (mVoiceEffects[i] != NO_EFFECT && time >= mVoiceEndTimes[i])
+                releaseVoice(i);
+        }
+    }
+
+    /**
+     * Stops a voice and frees it.
+     *
+     * @param voice voice to stop
+     */
+    private void stopVoice(int voice) {
+        mSounds[mVoiceEffects[voice]].stop(mVoiceIds[voice]);
+        releaseVoice(voice);
+    }
+
+    /**
+     * Frees a voice, so another effect can play in it.
+     *
+     * @param voice voice to free
+     */
+    private void releaseVoice(int voice) {
+        mEffectVoices[mVoiceEffects[voice]]--;
+        mActiveVoices--;
+        mVoiceEffects[voice] = NO_EFFECT;
+    }
+
+    /**
+     * Finds a voice which is not playing. There must be at least one.
+     *
+     * @return index of the voice
+     */
+    private int findFreeVoice() {
+        for (int i = 0; i < MAXIMUM_VOICES; i++) {
+            if (mVoiceEffects[i] == NO_EFFECT)
+                return i;
+        }
+
+        throw new IllegalStateException("no voice is free.");
+    }
+
+    /**
+     * Finds the voice which has been playing an effect the longest. The effect must be playing in at least one voice.
+     *
+     * @param effectIndex ordinal of the effect
+     * @return index of the voice
+     */
+    private int findOldestVoice(int effectIndex) {
+        int oldestVoice = NO_EFFECT;
+        for (int i = 0; i < MAXIMUM_VOICES; i++) {
+            if (mVoiceEffects[i] == effectIndex
+                    && (oldestVoice == NO_EFFECT || mVoiceStartTimes[i] < mVoiceStartTimes[oldestVoice]))
+                oldestVoice = i;
+        }
+
+        if (oldestVoice == NO_EFFECT)
+            throw new IllegalStateException("effect is not playing.");
+        return oldestVoice;
+    }
+
+    /**
+     * Finds the oldest voice with the lowest priority, if its priority is no higher than {@code priority}.
+     *
+     * @param priority priority of the effect which needs a voice
+     * @return index of the voice, or {@code NO_EFFECT} if every voice has a higher priority
+     */
+    private int findVoiceToSteal(int priority) {
+        int stolenVoice = NO_EFFECT;
+        int stolenPriority = priority;
+        for (int i = 0; i < MAXIMUM_VOICES; i++) {
+            final int voicePriority = MusicManager.SoundEffect.get(mVoiceEffects[i]).getPriority();
+            if (voicePriority < stolenPriority || (voicePriority == stolenPriority
+                    && (stolenVoice == NO_EFFECT || mVoiceStartTimes[i] < mVoiceStartTimes[stolenVoice]))) {
+                stolenVoice = i;
+                stolenPriority = voicePriority;
+            }
+        }
+
+        return stolenVoice;
+    }
+
+    /**
+     * Gets the number of voices which are playing.
+     *
+     * @return {@code mActiveVoices}
+     */
+    public int getActiveVoices() {
+        return mActiveVoices;
+    }
+
+    /**
+     * Gets the largest number of voices which have played at once.
+     *
+     * @return {@code mPeakVoices}
+     */
+    public int getPeakVoices() {
+        return mPeakVoices;
+    }
+
+    /**
+     * Gets the number of plays which were requested.
+     *
+     * @return {@code mPlaysRequested}
+     */
+    public int getPlaysRequested() {
+        return mPlaysRequested;
+    }
+
+    /**
+     * Gets the number of voices which were stopped to play a newer effect.
+     *
+     * @return {@code mVoicesStolen}
+     */
+    public int getVoicesStolen() {
+        return mVoicesStolen;
+    }
+
+    /**
+     * Gets the number of plays which were dropped because no voice could be stolen.
+     *
+     * @return {@code mPlaysRejected}
+     */
+    public int getPlaysRejected() {
+        return mPlaysRejected;
+    }
+
+    /**
+     * Gets the number of plays which the platform failed to start, such as when its voice pool is exhausted.
+     *
+     * @return {@code mPlaysFailed}
+     */
+    public int getPlaysFailed() {
+        return mPlaysFailed;
+    }
+
+    /**
+     * Resets the peak number of voices and the counts of plays, stolen voices, rejections and failures.
+     */
+    public void resetCounters() {
+        mPeakVoices = mActiveVoices;
+        mPlaysRequested = 0;
+        mVoicesStolen = 0;
+        mPlaysRejected = 0;
+        mPlaysFailed = 0;
+    }
+
+    /**
+     * What to do when an effect is played while it is already playing in as many voices as it is allowed.
+     */
+    public enum StealPolicy {
+        /** Stops the oldest voice playing the effect, so the new play is heard. */
+        Oldest,
+        /** Drops the new play, so the voices already playing finish. */
+        Reject
+    }
+}
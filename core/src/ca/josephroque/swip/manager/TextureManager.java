@@ -1,13 +1,15 @@
 package ca.josephroque.swip.manager;
 
+import ca.josephroque.swip.entity.GameColor;
 import ca.josephroque.swip.entity.Wall;
+import ca.josephroque.swip.game.GameSimulation;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 
 /**
  * Retrieves textures for displaying games objects.
@@ -18,154 +20,140 @@ public final class TextureManager {
     @SuppressWarnings("unused")
     private static final String TAG = "TextureManager";
 
-    /** Primary texture for game objects. */
-    private Texture mGameTexture;
-    /** Primary texture for menu objects. */
-    private Texture mMenuTexture;
-    /** Primary texture for background panels. */
-    private Texture mBackgroundTexture;
-
-    /** A map from {@code Wall.Side} and {@code TextureManager.Color} values to texture regions. */
-    private HashMap<String, TextureRegion> mWallTextures;
-    /** A map from {@code TextureManager.Color} values to texture regions. */
-    private HashMap<String, TextureRegion> mBallTextures;
-    /** An array of texture regions of shadows to overlay balls as the timer progresses. */
-    private TextureRegion[] mBallOverlayTextures;
-    /** A map from {@code GameManager.GameCountdown} values to texture regions. */
-    private HashMap<String, TextureRegion> mGameCountdownTextures;
-    /** A map from {@code MenuManager.MenuBallOption} values to texture regions. */
-    private HashMap<String, TextureRegion> mMenuIcons;
-    /** A map from {@code TextureManager.SystemIcon} values to texture regions. */
-    private HashMap<String, TextureRegion> mSystemIcons;
-    /** A map from {@code TextureManager.Background} values to texture regions. */
-    private HashMap<String, TextureRegion> mBackgroundTextures;
-
-    /** Potential colors of walls in the game. */
-    public static final GameColor[] GAME_COLORS = GameColor.values();
+    /** Location of the index of the texture atlas, generated by {@code AtlasCompiler} in the tools project. */
+    public static final String ATLAS_INDEX_FILE = "atlas/swip.regions";
+
+    /** Single texture which contains every texture region. Owned by the {@code AssetManager} which loaded it. */
+    private Texture mAtlasTexture;
+
+    /** Index of the top edge of a wall in {@code mWallEdgeTextures}. */
+    private static final int TOP_EDGE = 0;
+    /** Index of the bottom edge of a wall in {@code mWallEdgeTextures}. */
+    private static final int BOTTOM_EDGE = 1;
+    /** Names of the edges of a wall in {@code walls.txt}, by their index. */
+    private static final String[] EDGE_NAMES = {"TopEdge", "BottomEdge"};
+
+    /** Texture regions of walls, indexed by {@code GameColor} and then {@code Wall.Side} ordinals. */
+    private TextureRegion[][] mWallTextures;
+    /** Texture regions of wall edges, indexed by {@code GameColor} and {@code Wall.Side} ordinals, then the edge. */
+    private TextureRegion[][][] mWallEdgeTextures;
+    /** Texture regions of balls, indexed by {@code GameColor} ordinals. */
+    private TextureRegion[] mBallTextures;
+    /** Texture regions of the countdown, indexed by {@code GameSimulation.GameCountdown} ordinals. */
+    private TextureRegion[] mGameCountdownTextures;
+    /** Texture regions of menu icons, indexed by {@code MenuManager.MenuBallOption} ordinals. */
+    private TextureRegion[] mMenuIcons;
+    /** Texture regions of system icons, indexed by {@code TextureManager.SystemIcon} ordinals. */
+    private TextureRegion[] mSystemIcons;
+    /** Texture regions of backgrounds, indexed by {@code TextureManager.Background} ordinals. */
+    private TextureRegion[] mBackgroundTextures;
 
     /**
-     * Loads textures for the application.
+     * Prepares textures for the application from the texture atlas, which must already be loaded.
+     *
+     * @param assetManager asset manager which has loaded {@code ATLAS_INDEX_FILE} with an {@code AtlasIndexLoader}
      */
-    public TextureManager() {
+    public TextureManager(AssetManager assetManager) {
         Gdx.app.debug(TAG, "Initializing");
-        mGameTexture = new Texture(Gdx.files.internal("game_spritesheet.png"));
-        mMenuTexture = new Texture(Gdx.files.internal("menu_spritesheet.png"));
-        mBackgroundTexture = new Texture(Gdx.files.internal("bg_spritesheet.png"));
+        final AtlasIndex atlasIndex = assetManager.get(ATLAS_INDEX_FILE, AtlasIndex.class);
+        final FileHandle textureFile = AtlasIndexLoader.getTextureFile(Gdx.files.internal(ATLAS_INDEX_FILE),
+                atlasIndex);
+        mAtlasTexture = assetManager.get(textureFile.path(), Texture.class);
 
-        prepareGameTextureRegions();
-        prepareMenuTextureRegions();
+        prepareGameTextureRegions(atlasIndex);
+        prepareMenuTextureRegions(atlasIndex);
     }
 
     /**
      * Loads the textures for game objects.
+     *
+     * @param atlasIndex locations of the regions in the atlas
      */
-    private void prepareGameTextureRegions() {
-        mWallTextures = parseTextureProperties(mGameTexture, loadTextureProperties("walls.txt"));
-        mBallTextures = parseTextureProperties(mGameTexture, loadTextureProperties("balls.txt"));
-        mBallOverlayTextures = parseTexturePropertiesArray(mGameTexture, "ball_overlays.txt");
-        mGameCountdownTextures = parseTextureProperties(mMenuTexture, loadTextureProperties("countdown.txt"));
-        mBackgroundTextures = parseTextureProperties(mBackgroundTexture, loadTextureProperties("backgrounds.txt"));
+    private void prepareGameTextureRegions(AtlasIndex atlasIndex) {
+        prepareWallTextureRegions(atlasIndex.getRegions("walls"));
+        mBallTextures = parseTextureProperties(mAtlasTexture, atlasIndex.getRegions("balls"), GameColor.values());
+        mGameCountdownTextures = parseTextureProperties(mAtlasTexture,
+                atlasIndex.getRegions("countdown"),
+                GameSimulation.GameCountdown.values());
+        mBackgroundTextures = parseTextureProperties(mAtlasTexture,
+                atlasIndex.getRegions("backgrounds"),
+                Background.values());
     }
 
     /**
-     * Loads the textures for menu objects.
+     * Loads the textures for walls and their edges, so they can be retrieved without building their names.
+     *
+     * @param properties locations of the wall regions in the atlas
      */
-    private void prepareMenuTextureRegions() {
-        mMenuIcons = parseTextureProperties(mMenuTexture, loadTextureProperties("menu.txt"));
-        mSystemIcons = parseTextureProperties(mMenuTexture, loadTextureProperties("system.txt"));
+    private void prepareWallTextureRegions(HashMap<String, TextureProperties> properties) {
+        final GameColor[] colors = GameColor.values();
+        final Wall.Side[] sides = Wall.Side.values();
+
+        mWallTextures = new TextureRegion[colors.length][sides.length];
+        mWallEdgeTextures = new TextureRegion[colors.length][sides.length][EDGE_NAMES.length];
+        for (GameColor color : colors) {
+            for (Wall.Side side : sides) {
+                final String name = color.name() + side.name();
+                mWallTextures[color.ordinal()][side.ordinal()] = createTextureRegion(mAtlasTexture,
+                        properties.get(name));
+                for (int edge = 0; edge < EDGE_NAMES.length; edge++) {
+                    mWallEdgeTextures[color.ordinal()][side.ordinal()][edge] = createTextureRegion(mAtlasTexture,
+                            properties.get(name + EDGE_NAMES[edge]));
+                }
+            }
+        }
     }
 
     /**
-     * Creates a {@code HashMap} of {@code TextureRegion} objects by using {@code properties} and {@code texture} to
-     * create the instances, then mapping them to the keys provided in {@code properties}.
+     * Loads the textures for menu objects.
      *
-     * @param texture texture source for {@code TextureRegion}
-     * @param properties properties to create {@code TextureRegion}
-     * @return a mapping from the keys in {@code properties} to a new set of {@code TextureRegion} objects
+     * @param atlasIndex locations of the regions in the atlas
      */
-    private static HashMap<String, TextureRegion> parseTextureProperties(
-            Texture texture,
-            HashMap<String, TextureProperties> properties) {
-        HashMap<String, TextureRegion> textureRegions = new HashMap<>();
-        for (String key : properties.keySet()) {
-            TextureProperties textureProperties = properties.get(key);
-            TextureRegion region = new TextureRegion(texture,
-                    textureProperties.mX,
-                    textureProperties.mY,
-                    textureProperties.mWidth,
-                    textureProperties.mHeight);
-            textureRegions.put(key, region);
-        }
-
-        return textureRegions;
+    private void prepareMenuTextureRegions(AtlasIndex atlasIndex) {
+        mMenuIcons = parseTextureProperties(mAtlasTexture,
+                atlasIndex.getRegions("menu"),
+                MenuManager.MenuBallOption.values());
+        mSystemIcons = parseTextureProperties(mAtlasTexture, atlasIndex.getRegions("system"), SystemIcon.values());
     }
 
     /**
-     * Creates an array of {@code TextureRegion} objects by using {@code fileHandle} and {@code texture} to
-     * create the instances, then adding them in the order defined to an array.
+     * Creates an array of {@code TextureRegion} objects by using {@code properties} and {@code texture} to create the
+     * instances, where the region at each index is named by the enum value with that ordinal.
      *
      * @param texture texture source for {@code TextureRegion}
-     * @param fileHandle file to parse
-     * @return an array of {@code TextureRegion} objects
+     * @param properties properties to create {@code TextureRegion}
+     * @param keys every value of the enum which names the regions
+     * @param <E> enum which names the regions
+     * @return an array of {@code TextureRegion} objects, indexed by the ordinals of {@code keys}. Regions missing from
+     * {@code properties} are {@code null}
      */
-    private static TextureRegion[] parseTexturePropertiesArray(Texture texture, String fileHandle) {
-        final byte propertyX = 0;
-        final byte propertyY = 1;
-        final byte propertyWidth = 2;
-        final byte propertyHeight = 3;
-
-        final String rawFile = Gdx.files.internal("texture_properties/" + fileHandle).readString();
-        final String[] lines = rawFile.split("\n");
-        List<TextureRegion> regionList = new ArrayList<>(lines.length);
-
-        for (String line : lines) {
-            if (line != null && line.length() > 0 && line.charAt(0) != '#') {
-                String[] rawProperties = line.split("\\s+");
-                TextureRegion textureRegion = new TextureRegion(texture,
-                        Integer.parseInt(rawProperties[propertyX]),
-                        Integer.parseInt(rawProperties[propertyY]),
-                        Integer.parseInt(rawProperties[propertyWidth]),
-                        Integer.parseInt(rawProperties[propertyHeight]));
-                regionList.add(textureRegion);
-            }
-        }
+    private static <E extends Enum<E>> TextureRegion[] parseTextureProperties(
+            Texture texture,
+            HashMap<String, TextureProperties> properties,
+            E[] keys) {
+        TextureRegion[] textureRegions = new TextureRegion[keys.length];
+        for (E key : keys)
+            textureRegions[key.ordinal()] = createTextureRegion(texture, properties.get(key.name()));
 
-        TextureRegion[] regionArray = new TextureRegion[regionList.size()];
-        regionList.toArray(regionArray);
-        return regionArray;
+        return textureRegions;
     }
 
     /**
-     * Opens the file defined by {@code fileHandle} and parses its contents to create a {@code HashMap} of {@code
-     * TextureProperties} objects.
+     * Creates a {@code TextureRegion} from its properties.
      *
-     * @param fileHandle file to parse
-     * @return a mapping from the first word on each line to a {@code TextureProperties} object created using the rest
-     * of the information on the line in the file
+     * @param texture texture source for {@code TextureRegion}
+     * @param textureProperties properties to create {@code TextureRegion}, or {@code null}
+     * @return a new {@code TextureRegion}, or {@code null} if {@code textureProperties} was {@code null}
      */
-    private static HashMap<String, TextureProperties> loadTextureProperties(String fileHandle) {
-        final byte propertyName = 0;
-        final byte propertyX = 1;
-        final byte propertyY = 2;
-        final byte propertyWidth = 3;
-        final byte propertyHeight = 4;
-
-        final String rawFile = Gdx.files.internal("texture_properties/" + fileHandle).readString();
-        final String[] lines = rawFile.split("\n");
-        HashMap<String, TextureProperties> properties = new HashMap<>();
-
-        for (String line : lines) {
-            if (line != null && line.length() > 0 && line.charAt(0) != '#') {
-                String[] rawProperties = line.split("\\s+");
-                TextureProperties textureProperties = new TextureProperties(Integer.parseInt(rawProperties[propertyX]),
-                        Integer.parseInt(rawProperties[propertyY]),
-                        Integer.parseInt(rawProperties[propertyWidth]),
-                        Integer.parseInt(rawProperties[propertyHeight]));
-                properties.put(rawProperties[propertyName], textureProperties);
-            }
-        }
-
-        return properties;
+    private static TextureRegion createTextureRegion(Texture texture, TextureProperties textureProperties) {
+        if (textureProperties == null)
+            return null;
+
+        return new TextureRegion(texture,
+                textureProperties.mX,
+                textureProperties.mY,
+                textureProperties.mWidth,
+                textureProperties.mHeight);
     }
 
     /**
@@ -176,7 +164,7 @@ public final class TextureManager {
      * @return the texture to draw
      */
     public TextureRegion getWallTexture(Wall.Side side, GameColor color) {
-        return mWallTextures.get(color.name() + side.name());
+        return mWallTextures[color.ordinal()][side.ordinal()];
     }
 
     /**
@@ -189,9 +177,9 @@ public final class TextureManager {
      * @return the texture to draw
      */
     public TextureRegion getWallEdge(Wall.Side side, GameColor color, boolean topEdge) {
-        return mWallTextures.get(color.name() + side.name() + ((topEdge)
-                ? "Top"
-                : "Bottom") + "Edge");
+        return mWallEdgeTextures[color.ordinal()][side.ordinal()][(topEdge)
+                ? TOP_EDGE
+                : BOTTOM_EDGE];
     }
 
     /**
@@ -201,7 +189,7 @@ public final class TextureManager {
      * @return icon texture
      */
     public TextureRegion getSystemIconTexture(SystemIcon icon) {
-        return mSystemIcons.get(icon.name());
+        return mSystemIcons[icon.ordinal()];
     }
 
     /**
@@ -211,7 +199,7 @@ public final class TextureManager {
      * @return icon texture
      */
     public TextureRegion getMenuButtonIconTexture(MenuManager.MenuBallOption option) {
-        return mMenuIcons.get(option.name());
+        return mMenuIcons[option.ordinal()];
     }
 
     /**
@@ -221,20 +209,7 @@ public final class TextureManager {
      * @return the texture to draw
      */
     public TextureRegion getBallTexture(GameColor color) {
-        return mBallTextures.get(color.name());
-    }
-
-    /**
-     * Gets the texture of a particular section of the ball overlay, where 0 is the beginning of the shadow shape,
-     * and {@code getTotalBallShadowParts()} is the end of the shadow shape.
-     *
-     * @param index index of shadow overlay piece
-     * @return the texture to draw
-     */
-    public TextureRegion getBallOverlayTexture(int index) {
-        if (index < 0 || index > getTotalBallShadowParts())
-            throw new IndexOutOfBoundsException("Must be between 0 and getTotalBallShadowParts()");
-        return mBallOverlayTextures[index];
+        return mBallTextures[color.ordinal()];
     }
 
     /**
@@ -243,8 +218,8 @@ public final class TextureManager {
      * @param item position in the countdown
      * @return the texture to draw
      */
-    public TextureRegion getCountdownTexture(GameManager.GameCountdown item) {
-        return mGameCountdownTextures.get(item.name());
+    public TextureRegion getCountdownTexture(GameSimulation.GameCountdown item) {
+        return mGameCountdownTextures[item.ordinal()];
     }
 
     /**
@@ -254,7 +229,7 @@ public final class TextureManager {
      * @return the texture to draw
      */
     public TextureRegion getBackgroundTexture(Background bg) {
-        return mBackgroundTextures.get(bg.name());
+        return mBackgroundTextures[bg.ordinal()];
     }
 
     /**
@@ -263,24 +238,15 @@ public final class TextureManager {
     public void dispose() {
         Gdx.app.debug(TAG, "Disposing");
         mWallTextures = null;
+        mWallEdgeTextures = null;
         mBallTextures = null;
         mGameCountdownTextures = null;
         mMenuIcons = null;
         mSystemIcons = null;
         mBackgroundTextures = null;
 
-        mGameTexture.dispose();
-        mMenuTexture.dispose();
-        mBackgroundTexture.dispose();
-    }
-
-    /**
-     * The total number of parts required to fill the ball overlay shadow.
-     *
-     * @return size of {@code mBallOverlayTextures}
-     */
-    public int getTotalBallShadowParts() {
-        return mBallOverlayTextures.length;
+        // The atlas texture is disposed when it is unloaded by its asset manager
+        mAtlasTexture = null;
     }
 
     /**
@@ -321,44 +287,6 @@ public final class TextureManager {
         Default,
     }
 
-    /**
-     * Available texture colors.
-     */
-    public enum GameColor {
-        /** Red color. */
-        Red,
-        /** Blue color. */
-        Blue,
-        /** Green color. */
-        Green,
-        /** Orange color. */
-        Orange,
-        /** Pink color. */
-        Pink,
-        /** Purple color. */
-        Purple,
-        /** Gray color. */
-        Gray,
-        /** Cyan color. */
-        Cyan,
-        /** Salmon color. */
-        Salmon,
-        /** Field color. */
-        Field;
-
-        /** Size of the enum. */
-        private static final int SIZE = GameColor.values().length;
-
-        /**
-         * Gets the size of the enum.
-         *
-         * @return number of {@code GameColor} values
-         */
-        public static int getSize() {
-            return SIZE;
-        }
-    }
-
     /**
      * Icons which represent system operations.
      */
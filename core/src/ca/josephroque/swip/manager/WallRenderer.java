@@ -0,0 +1,303 @@
+package ca.josephroque.swip.manager;
+
+import ca.josephroque.swip.entity.GameColor;
+import ca.josephroque.swip.entity.Wall;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * Draws the primary and secondary walls from a single static mesh. The vertices of a wall are only rebuilt when its
+ * color or the size of the screen changes. Each wall slides into place by an offset computed in the vertex shader, so
+ * all of the walls are drawn in one draw call without touching their vertices each frame.
+ */
+public class WallRenderer {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "WallRenderer";
+
+    /** Location of the vertex shader, relative to the assets directory. */
+    private static final String VERTEX_SHADER_FILE = "shader/wall.vert";
+    /** Location of the fragment shader, relative to the assets directory. */
+    private static final String FRAGMENT_SHADER_FILE = "shader/wall.frag";
+    /** Name of the attribute containing the offset of a vertex when its wall is entirely off screen. */
+    private static final String SLIDE_ATTRIBUTE = "a_slide";
+    /** Name of the attribute containing the index of the wall a vertex belongs to. */
+    private static final String WALL_ATTRIBUTE = "a_wall";
+    /** Name of the uniform containing the progress of each wall's slide-in animation. */
+    private static final String SLIDE_PROGRESS_UNIFORM = "u_slideProgress";
+
+    /** Total number of walls drawn, the primary walls followed by the secondary walls. */
+    private static final int TOTAL_WALLS = Wall.NUMBER_OF_WALLS * 2;
+    /** Number of quads which make up a wall: its body, and its top and bottom edges. */
+    private static final int QUADS_PER_WALL = 3;
+    /** Number of floats in a single vertex: position, texture coordinates, slide offset and wall index. */
+    private static final int VERTEX_SIZE = 7;
+    /** Number of floats in the vertices of a single wall. */
+    private static final int FLOATS_PER_WALL = QUADS_PER_WALL * 4 * VERTEX_SIZE;
+    /** Number of indices in the triangles of a single wall. */
+    private static final int INDICES_PER_WALL = QUADS_PER_WALL * 6;
+
+    /** Handles loading and unloading of textures. */
+    private TextureManager mTextureManager;
+
+    /** Draws the walls, sliding each one into place. */
+    private final ShaderProgram mShader;
+    /** Vertices of every wall. */
+    private final Mesh mMesh;
+    /** Copy of the vertices in {@code mMesh}, updated when a wall is rebuilt. */
+    private final float[] mVertices = new float[TOTAL_WALLS * FLOATS_PER_WALL];
+    /** Progress of each wall's slide-in animation, from 0 when it is in place to 1 when it is entirely off screen. */
+    private final float[] mSlideProgress = new float[TOTAL_WALLS];
+    /** Colors each wall's vertices were last built with, or {@code null} if they must be built. */
+    private final GameColor[] mBuiltColors = new GameColor[TOTAL_WALLS];
+    /** Indicates if {@code mVertices} has changed since it was last uploaded to {@code mMesh}. */
+    private boolean mVerticesChanged;
+
+    /**
+     * Compiles the wall shader and creates the mesh of the walls.
+     *
+     * @param textureManager instance of texture manager
+     */
+    public WallRenderer(TextureManager textureManager) {
+        mTextureManager = textureManager;
+
+        mShader = new ShaderProgram(Gdx.files.internal(VERTEX_SHADER_FILE), Gdx.files.internal(FRAGMENT_SHADER_FILE));
+        if (!mShader.isCompiled())
+            throw new IllegalStateException("wall shader could not be compiled: " + mShader.getLog());
+
+        mMesh = new Mesh(true,
+                TOTAL_WALLS * QUADS_PER_WALL * 4,
+                TOTAL_WALLS * INDICES_PER_WALL,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2,
+                        ShaderProgram.TEXCOORD_ATTRIBUTE + "0"),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 2, SLIDE_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 1, WALL_ATTRIBUTE));
+
+        // Every quad is two triangles, the same as SpriteBatch
+        final short[] indices = new short[TOTAL_WALLS * INDICES_PER_WALL];
+        for (int i = 0, vertex = 0; i < indices.length; i += 6, vertex += 4) {
+            indices[i] = (short) vertex;
+            indices[i + 1] = (short) (vertex + 1);
+            indices[i + 2] = (short) (vertex + 2);
+            indices[i + 3] = (short) (vertex + 2);
+            indices[i + 4] = (short) (vertex + 3);
+            indices[i + 5] = (short) vertex;
+        }
+        mMesh.setIndices(indices);
+        mMesh.setVertices(mVertices);
+    }
+
+    /**
+     * Draws the walls to the screen, at positions between their previous and current states. Must not be called
+     * between {@code begin()} and {@code end()} of a batch.
+     *
+     * @param projection projection matrix to draw with
+     * @param primaryWalls walls which the ball can pass through, in the order of {@code Wall.Side}
+     * @param secondaryWalls walls which replace the primary walls, in the order of {@code Wall.Side}
+     * @param secondaryWallsVisible indicates if the secondary walls should be drawn
+     * @param interpolation progress from the last tick to the next tick, from 0 to 1
+     */
+    public void draw(Matrix4 projection,
+                     Wall[] primaryWalls,
+                     Wall[] secondaryWalls,
+                     boolean secondaryWallsVisible,
+                     float interpolation) {
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+            prepareWall(i, primaryWalls[i], interpolation);
+            prepareWall(Wall.NUMBER_OF_WALLS + i, secondaryWalls[i], interpolation);
+        }
+
+        if (mVerticesChanged) {
+            mMesh.setVertices(mVertices);
+            mVerticesChanged = false;
+        }
+
+        final int totalWalls = (secondaryWallsVisible) ? TOTAL_WALLS : Wall.NUMBER_OF_WALLS;
+        mTextureManager.getWallTexture(Wall.Side.Top, mBuiltColors[0]).getTexture().bind(0);
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        mShader.begin();
+        mShader.setUniformMatrix("u_projTrans", projection);
+        mShader.setUniformi("u_texture", 0);
+        mShader.setUniform1fv(SLIDE_PROGRESS_UNIFORM, mSlideProgress, 0, TOTAL_WALLS);
+        mMesh.render(mShader, GL20.GL_TRIANGLES, 0, totalWalls * INDICES_PER_WALL);
+        mShader.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    /**
+     * Updates the slide progress of a wall, and rebuilds its vertices if its color has changed.
+     *
+     * @param index index of the wall in the mesh
+     * @param wall the wall
+     * @param interpolation progress from the last tick to the next tick, from 0 to 1
+     */
+    private void prepareWall(int index, Wall wall, float interpolation) {
+        mSlideProgress[index] = wall.getSlideProgress(interpolation);
+        if (mBuiltColors[index] == wall.getColor())
+            return;
+
+        buildWall(index, wall);
+        mBuiltColors[index] = wall.getColor();
+        mVerticesChanged = true;
+    }
+
+    /**
+     * Builds the vertices of a wall in its final position. Horizontal walls use textures rotated 90 degrees clockwise.
+     *
+     * @param index index of the wall in the mesh
+     * @param wall the wall
+     */
+    private void buildWall(int index, Wall wall) {
+        final Wall.Side side = wall.getSide();
+        final GameColor color = wall.getColor();
+        final TextureRegion body = mTextureManager.getWallTexture(side, color);
+        final TextureRegion topEdge = mTextureManager.getWallEdge(side, color, true);
+        final TextureRegion bottomEdge = mTextureManager.getWallEdge(side, color, false);
+        final float wallSize = wall.getWallSize();
+        final float x = wall.getX();
+        final float y = wall.getY();
+        final float width = wall.getWidth();
+        final float height = wall.getHeight();
+
+        float slideX = 0;
+        float slideY = 0;
+        switch (side) {
+            case Top:
+                slideY = wallSize;
+                break;
+            case Bottom:
+                slideY = -wallSize;
+                break;
+            case Left:
+                slideX = -wallSize;
+                break;
+            case Right:
+                slideX = wallSize;
+                break;
+            default:
+                throw new IllegalArgumentException("invalid wall side.");
+        }
+
+        int offset = index * FLOATS_PER_WALL;
+        if (side == Wall.Side.Top || side == Wall.Side.Bottom) {
+            offset = putRotatedQuad(offset, body, x + wallSize, y + wallSize, height, width - wallSize * 2,
+                    slideX, slideY, index);
+            offset = putRotatedQuad(offset, topEdge, x + width - wallSize, y + wallSize, wallSize, wallSize,
+                    slideX, slideY, index);
+            putRotatedQuad(offset, bottomEdge, x, y + wallSize, wallSize, wallSize, slideX, slideY, index);
+        } else {
+            offset = putQuad(offset, body, x, y + wallSize, width, height - wallSize * 2, slideX, slideY, index);
+            offset = putQuad(offset, topEdge, x, y + height - wallSize, wallSize, wallSize, slideX, slideY, index);
+            putQuad(offset, bottomEdge, x, y, wallSize, wallSize, slideX, slideY, index);
+        }
+    }
+
+    /**
+     * Puts the vertices of an upright quad in {@code mVertices}, in the same order as {@code SpriteBatch}.
+     *
+     * @param offset index of the first float to put
+     * @param region texture of the quad
+     * @param x left edge of the quad
+     * @param y bottom edge of the quad
+     * @param width width of the quad
+     * @param height height of the quad
+     * @param slideX horizontal offset of the quad when its wall is off screen
+     * @param slideY vertical offset of the quad when its wall is off screen
+     * @param wall index of the wall in the mesh
+     * @return index after the last float put
+     */
+    private int putQuad(int offset,
+                        TextureRegion region,
+                        float x,
+                        float y,
+                        float width,
+                        float height,
+                        float slideX,
+                        float slideY,
+                        int wall) {
+        offset = putVertex(offset, x, y, region.getU(), region.getV2(), slideX, slideY, wall);
+        offset = putVertex(offset, x, y + height, region.getU(), region.getV(), slideX, slideY, wall);
+        offset = putVertex(offset, x + width, y + height, region.getU2(), region.getV(), slideX, slideY, wall);
+        return putVertex(offset, x + width, y, region.getU2(), region.getV2(), slideX, slideY, wall);
+    }
+
+    /**
+     * Puts the vertices of a quad rotated 90 degrees clockwise around its origin in {@code mVertices}, matching a
+     * quad drawn by {@code SpriteBatch} with a rotation of -90.
+     *
+     * @param offset index of the first float to put
+     * @param region texture of the quad
+     * @param x horizontal position of the origin of the quad
+     * @param y vertical position of the origin of the quad
+     * @param width width of the quad before it is rotated
+     * @param height height of the quad before it is rotated
+     * @param slideX horizontal offset of the quad when its wall is off screen
+     * @param slideY vertical offset of the quad when its wall is off screen
+     * @param wall index of the wall in the mesh
+     * @return index after the last float put
+     */
+    private int putRotatedQuad(int offset,
+                               TextureRegion region,
+                               float x,
+                               float y,
+                               float width,
+                               float height,
+                               float slideX,
+                               float slideY,
+                               int wall) {
+        offset = putVertex(offset, x, y, region.getU(), region.getV2(), slideX, slideY, wall);
+        offset = putVertex(offset, x + height, y, region.getU(), region.getV(), slideX, slideY, wall);
+        offset = putVertex(offset, x + height, y - width, region.getU2(), region.getV(), slideX, slideY, wall);
+        return putVertex(offset, x, y - width, region.getU2(), region.getV2(), slideX, slideY, wall);
+    }
+
+    /**
+     * Puts a single vertex in {@code mVertices}.
+     *
+     * @param offset index of the first float to put
+     * @param x horizontal position of the vertex
+     * @param y vertical position of the vertex
+     * @param u horizontal texture coordinate
+     * @param v vertical texture coordinate
+     * @param slideX horizontal offset of the vertex when its wall is off screen
+     * @param slideY vertical offset of the vertex when its wall is off screen
+     * @param wall index of the wall in the mesh
+     * @return index after the last float put
+     */
+    private int putVertex(int offset, float x, float y, float u, float v, float slideX, float slideY, int wall) {
+        mVertices[offset] = x;
+        mVertices[offset + 1] = y;
+        mVertices[offset + 2] = u;
+        mVertices[offset + 3] = v;
+        mVertices[offset + 4] = slideX;
+        mVertices[offset + 5] = slideY;
+        mVertices[offset + 6] = wall;
+        return offset + VERTEX_SIZE;
+    }
+
+    /**
+     * Rebuilds the vertices of every wall before they are next drawn. Should be called when the walls are resized.
+     */
+    public void invalidate() {
+        for (int i = 0; i < TOTAL_WALLS; i++)
+            mBuiltColors[i] = null;
+    }
+
+    /**
+     * Frees the shader and mesh.
+     */
+    public void dispose() {
+        mTextureManager = null;
+        mShader.dispose();
+        mMesh.dispose();
+    }
+}
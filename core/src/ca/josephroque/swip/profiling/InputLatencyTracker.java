@@ -0,0 +1,105 @@
+package ca.josephroque.swip.profiling;
+
+/**
+ * Measures how long the player's touches take to pass through the input pipeline, in three stages:
+ * <ul>
+ * <li>dispatch, from the time the backend stamped the event to the time it arrived at the input processor</li>
+ * <li>tick, from the event arriving to the first tick which consumed it</li>
+ * <li>frame, from the event arriving to the end of the first frame which was drawn after it was consumed</li>
+ * </ul>
+ *
+ * <p>The frame stage ends when the frame is submitted to OpenGL, so it does not include the time the display takes to
+ * swap buffers and show the frame. When several events arrive before a tick, only the oldest is measured, since it
+ * waited the longest. Each stage is kept in a {@code LatencyHistogram} for the whole session.</p>
+ */
+public final class InputLatencyTracker {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "InputLatencyTracker";
+
+    /** Time from the backend stamping each event to the event arriving, in microseconds. */
+    private final LatencyHistogram mDispatchLatencies = new LatencyHistogram();
+    /** Time from each event arriving to a tick consuming it, in microseconds. */
+    private final LatencyHistogram mTickLatencies = new LatencyHistogram();
+    /** Time from each event arriving to the frame showing its effect being submitted, in microseconds. */
+    private final LatencyHistogram mFrameLatencies = new LatencyHistogram();
+
+    /** Arrival time of the oldest event which has been consumed but not drawn, in nanoseconds, or 0 if none. */
+    private long mUndrawnArrivalTime;
+
+    /**
+     * Records an event arriving at the input processor.
+     *
+     * @param eventTime time the backend stamped the event, in nanoseconds, or 0 if the backend does not stamp events
+     * @param arrivalTime time the event arrived, in nanoseconds
+     */
+    public void recordArrival(long eventTime, long arrivalTime) {
+        // Backends which do not stamp events with System.nanoTime() cannot be compared with the arrival time
+        if (eventTime > 0 && eventTime <= arrivalTime)
+            mDispatchLatencies.recordNanos(arrivalTime - eventTime);
+    }
+
+    /**
+     * Records a tick consuming events.
+     *
+     * @param arrivalTime time the oldest event consumed by the tick arrived, in nanoseconds
+     * @param tickTime time the tick finished, in nanoseconds
+     */
+    public void recordConsumed(long arrivalTime, long tickTime) {
+        mTickLatencies.recordNanos(tickTime - arrivalTime);
+        if (mUndrawnArrivalTime == 0)
+            mUndrawnArrivalTime = arrivalTime;
+    }
+
+    /**
+     * Records a frame being submitted. The effect of every event consumed before it is now drawn.
+     *
+     * @param submitTime time the frame was submitted, in nanoseconds
+     */
+    public void recordFrameSubmitted(long submitTime) {
+        if (mUndrawnArrivalTime == 0)
+            return;
+
+        mFrameLatencies.recordNanos(submitTime - mUndrawnArrivalTime);
+        mUndrawnArrivalTime = 0;
+    }
+
+    /**
+     * Removes every measurement.
+     */
+    public void clear() {
+        mDispatchLatencies.clear();
+        mTickLatencies.clear();
+        mFrameLatencies.clear();
+        mUndrawnArrivalTime = 0;
+    }
+
+    /**
+     * Gets the time from the backend stamping each event to the event arriving at the input processor. Empty on
+     * backends which do not stamp events with {@code System.nanoTime()}.
+     *
+     * @return {@code mDispatchLatencies}, in microseconds
+     */
+    public LatencyHistogram getDispatchLatencies() {
+        return mDispatchLatencies;
+    }
+
+    /**
+     * Gets the time from each event arriving to a tick consuming it.
+     *
+     * @return {@code mTickLatencies}, in microseconds
+     */
+    public LatencyHistogram getTickLatencies() {
+        return mTickLatencies;
+    }
+
+    /**
+     * Gets the time from each event arriving to the frame showing its effect being submitted.
+     *
+     * @return {@code mFrameLatencies}, in microseconds
+     */
+    public LatencyHistogram getFrameLatencies() {
+        return mFrameLatencies;
+    }
+}
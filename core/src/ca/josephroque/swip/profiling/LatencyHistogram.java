@@ -0,0 +1,246 @@
+package ca.josephroque.swip.profiling;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Counts durations in log-linear buckets, in the style of an HDR histogram, so percentiles can be found to within
+ * 1 part in {@code SUB_BUCKET_HALF_COUNT}, about 1.6%, with a fixed amount of memory, however many durations are
+ * recorded. Durations are recorded in microseconds, from 0 up to {@code HIGHEST_TRACKABLE_VALUE}; longer durations
+ * are counted as the highest trackable value.
+ *
+ * <p>Values below {@code SUB_BUCKET_COUNT} each have their own bucket. Above that, each power of two is split into
+ * {@code SUB_BUCKET_COUNT / 2} buckets of equal width. Histograms with the same layout can be merged by adding their
+ * counts, so histograms from many sessions can be combined.</p>
+ */
+public final class LatencyHistogram {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "LatencyHistogram";
+
+    /** Number of bits of precision of each value. */
+    private static final int SUB_BUCKET_BITS = 7;
+    /** Number of buckets in each power of two, counting both halves. */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /** Number of buckets which are added by each power of two. */
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    /** Number of bits of the highest trackable value. */
+    private static final int HIGHEST_TRACKABLE_BITS = 26;
+    /** Highest value which can be recorded, in microseconds. A little over a minute. */
+    public static final long HIGHEST_TRACKABLE_VALUE = (1L << HIGHEST_TRACKABLE_BITS) - 1;
+    /** Number of counts in every histogram. */
+    private static final int TOTAL_COUNTS = (HIGHEST_TRACKABLE_BITS - SUB_BUCKET_BITS + 2) * SUB_BUCKET_HALF_COUNT;
+    /** Number of nanoseconds in a microsecond. */
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    /** Number of values recorded in each bucket. */
+    private final long[] mCounts = new long[TOTAL_COUNTS];
+    /** Total number of values recorded. */
+    private long mTotalCount;
+    /** Sum of every value recorded, in microseconds. */
+    private long mTotalValue;
+    /** Smallest value recorded, in microseconds. */
+    private long mMinimum = Long.MAX_VALUE;
+    /** Largest value recorded, in microseconds. */
+    private long mMaximum;
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos duration in nanoseconds. Negative durations are recorded as 0.
+     */
+    public void recordNanos(long nanos) {
+        record(nanos / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param micros duration in microseconds. Negative durations are recorded as 0.
+     */
+    public void record(long micros) {
+        final long value = Math.min(HIGHEST_TRACKABLE_VALUE, Math.max(0, micros));
+        mCounts[getCountsIndex(value)]++;
+        mTotalCount++;
+        mTotalValue += value;
+        mMinimum = Math.min(mMinimum, value);
+        mMaximum = Math.max(mMaximum, value);
+    }
+
+    /**
+     * Gets the index of the bucket which counts a value.
+     *
+     * @param value value to find, in microseconds
+     * @return index in {@code mCounts}
+     */
+    private static int getCountsIndex(long value) {
+        final int bucketIndex = 63 - Long.numberOfLeadingZeros(value | (SUB_BUCKET_COUNT - 1)) - (SUB_BUCKET_BITS - 1);
+        final int subBucketIndex = (int) (value >>> bucketIndex);
+        return (bucketIndex << (SUB_BUCKET_BITS - 1)) + subBucketIndex;
+    }
+
+    /**
+     * Gets the smallest value counted by a bucket.
+     *
+     * @param index index in {@code mCounts}
+     * @return smallest value of the bucket, in microseconds
+     */
+    private static long getLowestValue(int index) {
+        int bucketIndex = (index >> (SUB_BUCKET_BITS - 1)) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+
+        return (long) subBucketIndex << bucketIndex;
+    }
+
+    /**
+     * Gets the largest value counted by a bucket.
+     *
+     * @param index index in {@code mCounts}
+     * @return largest value of the bucket, in microseconds
+     */
+    private static long getHighestValue(int index) {
+        final int bucketIndex = Math.max(0, (index >> (SUB_BUCKET_BITS - 1)) - 1);
+        return getLowestValue(index) + (1L << bucketIndex) - 1;
+    }
+
+    /**
+     * Gets the value which a percentage of the recorded values do not exceed.
+     *
+     * @param percentile a percentage from 0 to 100
+     * @return the value at the percentile, in microseconds, or 0 if no values have been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (mTotalCount == 0)
+            return 0;
+
+        final long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * mTotalCount));
+        long totalCounted = 0;
+        for (int i = 0; i < mCounts.length; i++) {
+            totalCounted += mCounts[i];
+            if (totalCounted >= countAtPercentile)
+                return Math.min(mMaximum, getHighestValue(i));
+        }
+
+        return mMaximum;
+    }
+
+    /**
+     * Adds the values recorded by another histogram to this one.
+     *
+     * @param other histogram to add
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < mCounts.length; i++)
+            mCounts[i] += other.mCounts[i];
+        mTotalCount += other.mTotalCount;
+        mTotalValue += other.mTotalValue;
+        mMinimum = Math.min(mMinimum, other.mMinimum);
+        mMaximum = Math.max(mMaximum, other.mMaximum);
+    }
+
+    /**
+     * Removes every recorded value.
+     */
+    public void clear() {
+        for (int i = 0; i < mCounts.length; i++)
+            mCounts[i] = 0;
+        mTotalCount = 0;
+        mTotalValue = 0;
+        mMinimum = Long.MAX_VALUE;
+        mMaximum = 0;
+    }
+
+    /**
+     * Writes the histogram. Only buckets with values are written, each as its index and count.
+     *
+     * @param output stream to write to
+     * @throws IOException if the histogram could not be written
+     */
+    public void write(DataOutputStream output) throws IOException {
+        int totalBuckets = 0;
+        for (long count : mCounts) {
+            if (count > 0)
+                totalBuckets++;
+        }
+
+        output.writeLong(mTotalValue);
+        output.writeLong(getMinimum());
+        output.writeLong(mMaximum);
+        output.writeShort(totalBuckets);
+        for (int i = 0; i < mCounts.length; i++) {
+            if (mCounts[i] > 0) {
+                output.writeShort(i);
+                output.writeLong(mCounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a histogram written by {@code write()}.
+     *
+     * @param input stream to read from
+     * @return the histogram
+     * @throws IOException if the histogram could not be read
+     */
+    public static LatencyHistogram read(DataInputStream input) throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.mTotalValue = input.readLong();
+        final long minimum = input.readLong();
+        histogram.mMaximum = input.readLong();
+
+        final int totalBuckets = input.readUnsignedShort();
+        for (int i = 0; i < totalBuckets; i++) {
+            final int index = input.readUnsignedShort();
+            if (index >= TOTAL_COUNTS)
+                throw new IOException("bucket " + index + " is out of range");
+            histogram.mCounts[index] = input.readLong();
+            histogram.mTotalCount += histogram.mCounts[index];
+        }
+
+        if (histogram.mTotalCount > 0)
+            histogram.mMinimum = minimum;
+        return histogram;
+    }
+
+    /**
+     * Gets the total number of values recorded.
+     *
+     * @return {@code mTotalCount}
+     */
+    public long getTotalCount() {
+        return mTotalCount;
+    }
+
+    /**
+     * Gets the mean of the values recorded.
+     *
+     * @return mean value in microseconds, or 0 if no values have been recorded
+     */
+    public double getMean() {
+        return (mTotalCount == 0) ? 0 : (double) mTotalValue / mTotalCount;
+    }
+
+    /**
+     * Gets the smallest value recorded.
+     *
+     * @return smallest value in microseconds, or 0 if no values have been recorded
+     */
+    public long getMinimum() {
+        return (mTotalCount == 0) ? 0 : mMinimum;
+    }
+
+    /**
+     * Gets the largest value recorded.
+     *
+     * @return {@code mMaximum}, in microseconds
+     */
+    public long getMaximum() {
+        return mMaximum;
+    }
+}
@@ -0,0 +1,365 @@
+package ca.josephroque.swip.profiling;
+
+import ca.josephroque.swip.manager.MusicManager;
+import ca.josephroque.swip.manager.SoundEffectMixer;
+import ca.josephroque.swip.text.TextLabel;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Displays where the time of each frame goes, for testers on devices. Each frame is split into the time spent ticking
+ * the game, drawing it and outside of {@code render()}, where the backend swaps buffers and waits for the display.
+ * The median, 99th percentile and maximum of recent frames are shown for each phase, with the draw calls, sprites,
+ * texture binds, heap sizes and garbage collections of the last frame, the median and 99th percentile input latency
+ * of the session, and the sound effect voices in use.
+ *
+ * <p>The overlay is disabled by default and costs a single check per phase until it is enabled, by touching the
+ * screen with three fingers or pressing F3, once {@code getInputProcessor()} receives input. Only builds for testers
+ * should give it input. It does not allocate while enabled, except to replace its garbage collection sentinel after a
+ * collection.</p>
+ */
+public class PerformanceOverlay {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "PerformanceOverlay";
+
+    /** Number of recent frames to calculate percentiles from. */
+    private static final int TOTAL_SAMPLES = 240;
+    /** Number of frames between updates of the displayed text. */
+    private static final int FRAMES_PER_UPDATE = 30;
+    /** Pointer which toggles the overlay when it touches the screen, so three fingers are required. */
+    private static final int TOGGLE_POINTER = 2;
+    /** Key which toggles the overlay. */
+    private static final int TOGGLE_KEY = Input.Keys.F3;
+    /** Distance of the text from the top left corner of the screen, relative to the size of the screen. */
+    private static final float TEXT_OFFSET = 0.2f;
+    /** Number of nanoseconds in a millisecond. */
+    private static final long NANOS_PER_MILLI = 1000000L;
+    /** Number of bytes in a kilobyte. */
+    private static final long BYTES_PER_KILOBYTE = 1024L;
+    /** Number of nanoseconds in a microsecond. */
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    /** Indicates if frames are being measured and the overlay is being drawn. */
+    private boolean mEnabled;
+
+    /** Durations of entire frames, from the start of one {@code render()} to the next. */
+    private final RollingTimings mFrameTimings = new RollingTimings(TOTAL_SAMPLES);
+    /** Durations of the ticks in each frame. */
+    private final RollingTimings mTickTimings = new RollingTimings(TOTAL_SAMPLES);
+    /** Durations of drawing each frame. */
+    private final RollingTimings mDrawTimings = new RollingTimings(TOTAL_SAMPLES);
+    /** Durations between the end of one {@code render()} and the start of the next. */
+    private final RollingTimings mSwapTimings = new RollingTimings(TOTAL_SAMPLES);
+
+    /** Time the current frame began, in nanoseconds. */
+    private long mFrameStartTime;
+    /** Time the previous frame ended, in nanoseconds, or 0 if it was not measured. */
+    private long mLastFrameEndTime;
+    /** Time the current phase began, in nanoseconds. */
+    private long mPhaseStartTime;
+    /** Number of nanoseconds spent ticking in the current frame. */
+    private long mTickTime;
+    /** Number of frames since the text was last updated. */
+    private int mFramesSinceUpdate;
+
+    /** Value of {@code SpriteBatch.totalRenderCalls} at the end of the previous frame. */
+    private int mLastTotalRenderCalls;
+    /** Number of batches flushed by the sprite batch in the last frame. */
+    private int mRenderCalls;
+    /** Largest number of sprites in a single batch in the last frame. */
+    private int mMaxSpritesInBatch;
+    /** Number of texture binds in the last frame. */
+    private int mTextureBindings;
+    /** Number of OpenGL draw calls in the last frame. */
+    private int mDrawCalls;
+    /** Number of garbage collections observed since the overlay was enabled. */
+    private int mGarbageCollections;
+    /** Referenced only weakly, so it is cleared by the next garbage collection. */
+    private WeakReference<Object> mGarbageCollectionSentinel;
+
+    /** Latency of the player's touches, which is displayed with the frame timings. */
+    private final InputLatencyTracker mInputLatencyTracker;
+
+    /** Text of the overlay, rebuilt each update. */
+    private final StringBuilder mText = new StringBuilder();
+    /** Draws the text of the overlay. */
+    private final TextLabel mLabel;
+
+    /** Toggles the overlay when the screen is touched with enough fingers, or the toggle key is pressed. */
+    private final InputProcessor mToggleInputProcessor = new InputAdapter() {
+        @Override
+        public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+            if (pointer != TOGGLE_POINTER)
+                return false;
+
+            setEnabled(!mEnabled);
+            return true;
+        }
+
+        @Override
+        public boolean keyDown(int keycode) {
+            if (keycode != TOGGLE_KEY)
+                return false;
+
+            setEnabled(!mEnabled);
+            return true;
+        }
+    };
+
+    /**
+     * Creates a new overlay, which is disabled.
+     *
+     * @param font font to draw the overlay with
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     * @param inputLatencyTracker latency of the player's touches
+     */
+    public PerformanceOverlay(BitmapFont font,
+                              int screenWidth,
+                              int screenHeight,
+                              InputLatencyTracker inputLatencyTracker) {
+        mInputLatencyTracker = inputLatencyTracker;
+        mLabel = new TextLabel(font);
+        resize(screenWidth, screenHeight);
+    }
+
+    /**
+     * Enables or disables the overlay. Enabling the overlay clears its measurements and starts profiling OpenGL calls.
+     *
+     * @param enabled {@code true} to measure frames and draw the overlay
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled == mEnabled)
+            return;
+
+        mEnabled = enabled;
+        if (enabled) {
+            mFrameTimings.clear();
+            mTickTimings.clear();
+            mDrawTimings.clear();
+            mSwapTimings.clear();
+            mLastFrameEndTime = 0;
+            mFramesSinceUpdate = FRAMES_PER_UPDATE;
+            mGarbageCollections = 0;
+            mGarbageCollectionSentinel = new WeakReference<>(new Object());
+            GLProfiler.enable();
+            GLProfiler.reset();
+        } else {
+            GLProfiler.disable();
+            mGarbageCollectionSentinel = null;
+        }
+
+        Gdx.app.debug(TAG, "Performance overlay " + ((enabled) ? "enabled" : "disabled"));
+    }
+
+    /**
+     * Checks if the overlay is enabled.
+     *
+     * @return {@code mEnabled}
+     */
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    /**
+     * Gets the input processor which toggles the overlay. Should receive input before the game, only in builds for
+     * testers.
+     *
+     * @return {@code mToggleInputProcessor}
+     */
+    public InputProcessor getInputProcessor() {
+        return mToggleInputProcessor;
+    }
+
+    /**
+     * Records the start of a frame. Should be called first in {@code render()}.
+     */
+    public void beginFrame() {
+        if (!mEnabled)
+            return;
+
+        final long time = TimeUtils.nanoTime();
+        if (mLastFrameEndTime != 0) {
+            mFrameTimings.add(time - mFrameStartTime);
+            mSwapTimings.add(time - mLastFrameEndTime);
+        }
+
+        mFrameStartTime = time;
+        mTickTime = 0;
+    }
+
+    /**
+     * Records the start of the ticks in a frame.
+     */
+    public void beginTicks() {
+        if (mEnabled)
+            mPhaseStartTime = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Records the end of the ticks in a frame.
+     */
+    public void endTicks() {
+        if (mEnabled)
+            mTickTime = TimeUtils.nanoTime() - mPhaseStartTime;
+    }
+
+    /**
+     * Records the start of drawing a frame.
+     */
+    public void beginDraw() {
+        if (mEnabled)
+            mPhaseStartTime = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Records the end of drawing a frame.
+     */
+    public void endDraw() {
+        if (mEnabled)
+            mDrawTimings.add(TimeUtils.nanoTime() - mPhaseStartTime);
+    }
+
+    /**
+     * Records the end of a frame, and the counters of the sprite batch and OpenGL. Should be called last in
+     * {@code render()}.
+     *
+     * @param spriteBatch graphics context the frame was drawn with
+     */
+    public void endFrame(SpriteBatch spriteBatch) {
+        if (!mEnabled)
+            return;
+
+        mTickTimings.add(mTickTime);
+
+        mRenderCalls = spriteBatch.totalRenderCalls - mLastTotalRenderCalls;
+        mLastTotalRenderCalls = spriteBatch.totalRenderCalls;
+        mMaxSpritesInBatch = spriteBatch.maxSpritesInBatch;
+        spriteBatch.maxSpritesInBatch = 0;
+        mTextureBindings = GLProfiler.textureBindings;
+        mDrawCalls = GLProfiler.drawCalls;
+        GLProfiler.reset();
+
+        if (mGarbageCollectionSentinel.get() == null) {
+            mGarbageCollections++;
+            mGarbageCollectionSentinel = new WeakReference<>(new Object());
+        }
+
+        if (++mFramesSinceUpdate >= FRAMES_PER_UPDATE) {
+            mFramesSinceUpdate = 0;
+            updateText();
+        }
+
+        mLastFrameEndTime = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Draws the overlay, if it is enabled.
+     *
+     * @param spriteBatch graphics context to draw to
+     */
+    public void draw(SpriteBatch spriteBatch) {
+        if (mEnabled)
+            mLabel.draw(spriteBatch);
+    }
+
+    /**
+     * Rebuilds the text of the overlay from the latest measurements.
+     */
+    private void updateText() {
+        mText.setLength(0);
+        appendTimings("frame ", mFrameTimings);
+        appendTimings("tick ", mTickTimings);
+        appendTimings("draw ", mDrawTimings);
+        appendTimings("swap ", mSwapTimings);
+        appendLatencies("input tick ", mInputLatencyTracker.getTickLatencies());
+        appendLatencies("input frame ", mInputLatencyTracker.getFrameLatencies());
+        mText.append("batches ").append(mRenderCalls)
+                .append(" sprites ").append(mMaxSpritesInBatch)
+                .append(" draws ").append(mDrawCalls)
+                .append(" binds ").append(mTextureBindings)
+                .append('\n');
+        mText.append("heap ").append(Gdx.app.getJavaHeap() / BYTES_PER_KILOBYTE)
+                .append("K native ").append(Gdx.app.getNativeHeap() / BYTES_PER_KILOBYTE)
+                .append("K gc ").append(mGarbageCollections);
+
+        final SoundEffectMixer mixer = MusicManager.getSoundEffectMixer();
+        if (mixer != null) {
+            mText.append("\nsfx voices ").append(mixer.getActiveVoices())
+                    .append(" peak ").append(mixer.getPeakVoices())
+                    .append(" stolen ").append(mixer.getVoicesStolen())
+                    .append(" rejected ").append(mixer.getPlaysRejected() + mixer.getPlaysFailed());
+        }
+        mLabel.setText(mText);
+    }
+
+    /**
+     * Appends a line with the median, 99th percentile and maximum of a phase to the text, in milliseconds.
+     *
+     * @param name name of the phase
+     * @param timings durations of the phase
+     */
+    private void appendTimings(String name, RollingTimings timings) {
+        timings.calculatePercentiles();
+        mText.append(name);
+        appendMillis(timings.getMedian());
+        mText.append(" / ");
+        appendMillis(timings.getNinetyNinthPercentile());
+        mText.append(" / ");
+        appendMillis(timings.getMaximum());
+        mText.append(" ms\n");
+    }
+
+    /**
+     * Appends a line with the median and 99th percentile of a latency histogram to the text, in milliseconds.
+     *
+     * @param name name of the latency
+     * @param latencies the latency histogram
+     */
+    private void appendLatencies(String name, LatencyHistogram latencies) {
+        mText.append(name);
+        appendMillis(latencies.getValueAtPercentile(50) * NANOS_PER_MICRO);
+        mText.append(" / ");
+        appendMillis(latencies.getValueAtPercentile(99) * NANOS_PER_MICRO);
+        mText.append(" ms\n");
+    }
+
+    /**
+     * Appends a duration to the text, in milliseconds with two decimal places.
+     *
+     * @param nanos duration in nanoseconds
+     */
+    private void appendMillis(long nanos) {
+        final long hundredths = nanos / (NANOS_PER_MILLI / 100);
+        mText.append(hundredths / 100).append('.').append(hundredths % 100, 2);
+    }
+
+    /**
+     * Moves the overlay to fit the new screen dimensions.
+     *
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     */
+    public void resize(int screenWidth, int screenHeight) {
+        final float offset = Math.min(screenWidth, screenHeight) * TEXT_OFFSET;
+        mLabel.setPosition(offset, screenHeight - offset);
+    }
+
+    /**
+     * Disables the overlay, so OpenGL calls are no longer profiled.
+     */
+    public void dispose() {
+        setEnabled(false);
+    }
+}
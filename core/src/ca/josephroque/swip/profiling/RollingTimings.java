@@ -0,0 +1,126 @@
+package ca.josephroque.swip.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent durations of a repeated operation, such as a phase of a frame, and calculates their
+ * percentiles. Samples are kept in a fixed ring buffer, so adding a sample or calculating percentiles does not
+ * allocate.
+ */
+public final class RollingTimings {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "RollingTimings";
+
+    /**
+     * Largest number of samples which can be kept. {@code Arrays.sort} uses an in-place quicksort for arrays shorter
+     * than this, rather than a merge sort which allocates.
+     */
+    public static final int MAXIMUM_SAMPLES = 256;
+
+    /** Most recent samples, in nanoseconds. */
+    private final long[] mSamples;
+    /** Copy of the samples, sorted to find percentiles. */
+    private final long[] mSortedSamples;
+    /** Index in {@code mSamples} the next sample will be written to. */
+    private int mNextSample;
+    /** Number of samples which have been added, up to the length of {@code mSamples}. */
+    private int mTotalSamples;
+
+    /** Median of the samples when percentiles were last calculated, in nanoseconds. */
+    private long mMedian;
+    /** 99th percentile of the samples when percentiles were last calculated, in nanoseconds. */
+    private long mNinetyNinthPercentile;
+    /** Largest sample when percentiles were last calculated, in nanoseconds. */
+    private long mMaximum;
+
+    /**
+     * Creates a new set of timings.
+     *
+     * @param capacity number of recent samples to keep. Must be between 1 and {@code MAXIMUM_SAMPLES}.
+     */
+    public RollingTimings(int capacity) {
+        if (capacity < 1 || capacity > MAXIMUM_SAMPLES)
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAXIMUM_SAMPLES);
+
+        mSamples = new long[capacity];
+        mSortedSamples = new long[capacity];
+    }
+
+    /**
+     * Adds a sample, replacing the oldest sample if the buffer is full.
+     *
+     * @param nanos duration of the operation, in nanoseconds
+     */
+    public void add(long nanos) {
+        mSamples[mNextSample] = nanos;
+        mNextSample = (mNextSample + 1) % mSamples.length;
+        if (mTotalSamples < mSamples.length)
+            mTotalSamples++;
+    }
+
+    /**
+     * Calculates the median, 99th percentile and maximum of the samples currently kept.
+     */
+    public void calculatePercentiles() {
+        if (mTotalSamples == 0) {
+            mMedian = 0;
+            mNinetyNinthPercentile = 0;
+            mMaximum = 0;
+            return;
+        }
+
+        System.arraycopy(mSamples, 0, mSortedSamples, 0, mTotalSamples);
+        Arrays.sort(mSortedSamples, 0, mTotalSamples);
+        mMedian = mSortedSamples[getRank(50)];
+        mNinetyNinthPercentile = mSortedSamples[getRank(99)];
+        mMaximum = mSortedSamples[mTotalSamples - 1];
+    }
+
+    /**
+     * Gets the index of a percentile in the sorted samples, by the nearest-rank method.
+     *
+     * @param percentile percentile to find, from 1 to 100
+     * @return index in {@code mSortedSamples}
+     */
+    private int getRank(int percentile) {
+        return Math.max(0, (percentile * mTotalSamples + 99) / 100 - 1);
+    }
+
+    /**
+     * Removes every sample.
+     */
+    public void clear() {
+        mNextSample = 0;
+        mTotalSamples = 0;
+        calculatePercentiles();
+    }
+
+    /**
+     * Gets the median of the samples when percentiles were last calculated.
+     *
+     * @return {@code mMedian}, in nanoseconds
+     */
+    public long getMedian() {
+        return mMedian;
+    }
+
+    /**
+     * Gets the 99th percentile of the samples when percentiles were last calculated.
+     *
+     * @return {@code mNinetyNinthPercentile}, in nanoseconds
+     */
+    public long getNinetyNinthPercentile() {
+        return mNinetyNinthPercentile;
+    }
+
+    /**
+     * Gets the largest sample when percentiles were last calculated.
+     *
+     * @return {@code mMaximum}, in nanoseconds
+     */
+    public long getMaximum() {
+        return mMaximum;
+    }
+}
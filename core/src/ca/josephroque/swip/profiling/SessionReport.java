@@ -0,0 +1,368 @@
+package ca.josephroque.swip.profiling;
+
+import ca.josephroque.swip.SwipGame;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Summary of the performance of a single session of the application, so sessions from many devices can be combined.
+ * Records the duration of each frame and tick, and the latency from the player lifting their finger to the ball being
+ * released, in {@code LatencyHistogram}s.
+ *
+ * <p>The report is saved to local storage whenever the application is paused or closed, replacing the report saved
+ * earlier in the same session. Only the {@code MAXIMUM_REPORTS} most recent reports are kept. It is stored in
+ * binary, big endian: the {@code MAGIC} number and {@code VERSION}, the metadata of the device and build, the start
+ * time and length of the session, then each histogram.</p>
+ */
+public final class SessionReport {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "SessionReport";
+
+    /** First bytes of every report. */
+    public static final int MAGIC = 0x53575052;
+    /** Version of the report format. */
+    public static final int VERSION = 1;
+    /** Directory in local storage where reports are saved. */
+    public static final String REPORT_DIRECTORY = "sessions";
+    /** Extension of report files. */
+    public static final String REPORT_EXTENSION = ".session";
+    /** Number of reports kept in local storage. Older reports are deleted when a report is saved. */
+    private static final int MAXIMUM_REPORTS = 50;
+
+    /** Orders reports from the oldest to the most recent session, by the start time which names each file. */
+    private static final Comparator<FileHandle> OLDEST_FIRST = new Comparator<FileHandle>() {
+        @Override
+        public int compare(FileHandle first, FileHandle second) {
+            return Long.compare(getReportStartTime(first), getReportStartTime(second));
+        }
+    };
+
+    /** Version of the application which recorded the session. */
+    private final String mBuildVersion;
+    /** Platform the application ran on, such as Android or Desktop. */
+    private final String mPlatform;
+    /** Version of the platform, such as the Android API level. */
+    private final int mPlatformVersion;
+    /** Renderer reported by OpenGL, which usually names the GPU. */
+    private final String mRenderer;
+    /** Width of the screen. */
+    private final int mScreenWidth;
+    /** Height of the screen. */
+    private final int mScreenHeight;
+    /** Time the session started, in milliseconds since the epoch. */
+    private final long mStartTime;
+    /** Number of milliseconds the session lasted. */
+    private long mDuration;
+
+    /** Time between the start of each frame, in microseconds. */
+    private final LatencyHistogram mFrameTimes;
+    /** Time taken by each tick, in microseconds. */
+    private final LatencyHistogram mTickTimes;
+    /** Time from the player lifting their finger to the ball being released, in microseconds. */
+    private final LatencyHistogram mReleaseLatencies;
+
+    /** Time the session started, in nanoseconds, to measure its duration. */
+    private final long mStartNanoTime;
+    /** Time the previous frame started, in nanoseconds, or 0 if no frame has started. */
+    private long mLastFrameTime;
+
+    /**
+     * Starts a report for a new session on this device.
+     */
+    public SessionReport() {
+        this(SwipGame.VERSION,
+                Gdx.app.getType().name(),
+                Gdx.app.getVersion(),
+                Gdx.gl.glGetString(GL20.GL_RENDERER),
+                Gdx.graphics.getWidth(),
+                Gdx.graphics.getHeight(),
+                TimeUtils.millis(),
+                0,
+                new LatencyHistogram(),
+                new LatencyHistogram(),
+                new LatencyHistogram());
+    }
+
+    /**
+     * Creates a report.
+     *
+     * @param buildVersion version of the application
+     * @param platform platform the application ran on
+     * @param platformVersion version of the platform
+     * @param renderer renderer reported by OpenGL, or {@code null}
+     * @param screenWidth width of the screen
+     * @param screenHeight height of the screen
+     * @param startTime time the session started, in milliseconds since the epoch
+     * @param duration number of milliseconds the session lasted
+     * @param frameTimes time between the start of each frame
+     * @param tickTimes time taken by each tick
+     * @param releaseLatencies time from the player lifting their finger to the ball being released
+     */
+    private SessionReport(String buildVersion,
+                          String platform,
+                          int platformVersion,
+                          String renderer,
+                          int screenWidth,
+                          int screenHeight,
+                          long startTime,
+                          long duration,
+                          LatencyHistogram frameTimes,
+                          LatencyHistogram tickTimes,
+                          LatencyHistogram releaseLatencies) {
+        mBuildVersion = buildVersion;
+        mPlatform = platform;
+        mPlatformVersion = platformVersion;
+        mRenderer = (renderer != null) ? renderer : "";
+        mScreenWidth = screenWidth;
+        mScreenHeight = screenHeight;
+        mStartTime = startTime;
+        mDuration = duration;
+        mFrameTimes = frameTimes;
+        mTickTimes = tickTimes;
+        mReleaseLatencies = releaseLatencies;
+        mStartNanoTime = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Records the start of a frame. The time since the previous frame started is recorded.
+     */
+    public void recordFrame() {
+        final long time = TimeUtils.nanoTime();
+        if (mLastFrameTime != 0)
+            mFrameTimes.recordNanos(time - mLastFrameTime);
+        mLastFrameTime = time;
+    }
+
+    /**
+     * Stops measuring the time between frames until the next frame, so time spent paused is not recorded as a frame.
+     */
+    public void skipFrame() {
+        mLastFrameTime = 0;
+    }
+
+    /**
+     * Records the time taken by a tick.
+     *
+     * @param nanos duration of the tick, in nanoseconds
+     */
+    public void recordTick(long nanos) {
+        mTickTimes.recordNanos(nanos);
+    }
+
+    /**
+     * Records the time from the player lifting their finger to the ball being released.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void recordReleaseLatency(long nanos) {
+        mReleaseLatencies.recordNanos(nanos);
+    }
+
+    /**
+     * Saves the report to local storage, replacing the report saved earlier in the session, and deletes the oldest
+     * reports so only {@code MAXIMUM_REPORTS} are kept.
+     */
+    public void save() {
+        mDuration = TimeUtils.nanosToMillis(TimeUtils.nanoTime() - mStartNanoTime);
+        try {
+            final FileHandle directory = Gdx.files.local(REPORT_DIRECTORY);
+            directory.child(mStartTime + REPORT_EXTENSION).writeBytes(write(), false);
+
+            final FileHandle[] reports = directory.list(REPORT_EXTENSION);
+            if (reports.length > MAXIMUM_REPORTS) {
+                Arrays.sort(reports, OLDEST_FIRST);
+                for (int i = 0; i < reports.length - MAXIMUM_REPORTS; i++)
+                    reports[i].delete();
+            }
+        } catch (GdxRuntimeException ex) {
+            Gdx.app.error(TAG, "Unable to save session report", ex);
+        }
+    }
+
+    /**
+     * Gets the start time of the session a report file was saved for, from its name.
+     *
+     * @param report report file
+     * @return time the session started, in milliseconds since the epoch, or {@code Long.MIN_VALUE} if the file is not
+     * named by a start time
+     */
+    private static long getReportStartTime(FileHandle report) {
+        try {
+            return Long.parseLong(report.nameWithoutExtension());
+        } catch (NumberFormatException ex) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Writes the report.
+     *
+     * @return contents of the report file
+     */
+    public byte[] write() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeUTF(mBuildVersion);
+            output.writeUTF(mPlatform);
+            output.writeInt(mPlatformVersion);
+            output.writeUTF(mRenderer);
+            output.writeShort(mScreenWidth);
+            output.writeShort(mScreenHeight);
+            output.writeLong(mStartTime);
+            output.writeLong(mDuration);
+            mFrameTimes.write(output);
+            mTickTimes.write(output);
+            mReleaseLatencies.write(output);
+        } catch (IOException ex) {
+            throw new IllegalStateException("could not write session report", ex);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a report written by {@code write()}.
+     *
+     * @param data contents of the report file
+     * @return the report
+     */
+    public static SessionReport read(byte[] data) {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+        try {
+            if (input.readInt() != MAGIC)
+                throw new IllegalArgumentException("not a session report");
+            final int version = input.readUnsignedShort();
+            if (version != VERSION)
+                throw new IllegalArgumentException("unsupported session report version " + version);
+
+            return new SessionReport(input.readUTF(),
+                    input.readUTF(),
+                    input.readInt(),
+                    input.readUTF(),
+                    input.readUnsignedShort(),
+                    input.readUnsignedShort(),
+                    input.readLong(),
+                    input.readLong(),
+                    LatencyHistogram.read(input),
+                    LatencyHistogram.read(input),
+                    LatencyHistogram.read(input));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("session report is truncated", ex);
+        }
+    }
+
+    /**
+     * Gets the version of the application which recorded the session.
+     *
+     * @return {@code mBuildVersion}
+     */
+    public String getBuildVersion() {
+        return mBuildVersion;
+    }
+
+    /**
+     * Gets the platform the application ran on.
+     *
+     * @return {@code mPlatform}
+     */
+    public String getPlatform() {
+        return mPlatform;
+    }
+
+    /**
+     * Gets the version of the platform the application ran on.
+     *
+     * @return {@code mPlatformVersion}
+     */
+    public int getPlatformVersion() {
+        return mPlatformVersion;
+    }
+
+    /**
+     * Gets the renderer reported by OpenGL.
+     *
+     * @return {@code mRenderer}
+     */
+    public String getRenderer() {
+        return mRenderer;
+    }
+
+    /**
+     * Gets the width of the screen.
+     *
+     * @return {@code mScreenWidth}
+     */
+    public int getScreenWidth() {
+        return mScreenWidth;
+    }
+
+    /**
+     * Gets the height of the screen.
+     *
+     * @return {@code mScreenHeight}
+     */
+    public int getScreenHeight() {
+        return mScreenHeight;
+    }
+
+    /**
+     * Gets the time the session started.
+     *
+     * @return {@code mStartTime}, in milliseconds since the epoch
+     */
+    public long getStartTime() {
+        return mStartTime;
+    }
+
+    /**
+     * Gets the length of the session, when it was last saved.
+     *
+     * @return {@code mDuration}, in milliseconds
+     */
+    public long getDuration() {
+        return mDuration;
+    }
+
+    /**
+     * Gets the time between the start of each frame.
+     *
+     * @return {@code mFrameTimes}
+     */
+    public LatencyHistogram getFrameTimes() {
+        return mFrameTimes;
+    }
+
+    /**
+     * Gets the time taken by each tick.
+     *
+     * @return {@code mTickTimes}
+     */
+    public LatencyHistogram getTickTimes() {
+        return mTickTimes;
+    }
+
+    /**
+     * Gets the time from the player lifting their finger to the ball being released.
+     *
+     * @return {@code mReleaseLatencies}
+     */
+    public LatencyHistogram getReleaseLatencies() {
+        return mReleaseLatencies;
+    }
+}
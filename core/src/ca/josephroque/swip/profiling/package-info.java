@@ -0,0 +1,4 @@
+/**
+ * Provides objects for measuring the performance of the application on devices.
+ */
+package ca.josephroque.swip.profiling;
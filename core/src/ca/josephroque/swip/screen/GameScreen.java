@@ -1,17 +1,32 @@
 package ca.josephroque.swip.screen;
 
+import ca.josephroque.swip.game.GameSimulation;
+import ca.josephroque.swip.game.ScoreJournal;
 import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.input.InputRecorder;
 import ca.josephroque.swip.manager.BackgroundManager;
+import ca.josephroque.swip.manager.CachedFrame;
 import ca.josephroque.swip.manager.FontManager;
 import ca.josephroque.swip.manager.GameManager;
+import ca.josephroque.swip.manager.LoadingManager;
 import ca.josephroque.swip.manager.MenuManager;
 import ca.josephroque.swip.manager.MusicManager;
 import ca.josephroque.swip.manager.TextureManager;
+import ca.josephroque.swip.profiling.InputLatencyTracker;
+import ca.josephroque.swip.profiling.PerformanceOverlay;
+import ca.josephroque.swip.profiling.SessionReport;
+import ca.josephroque.swip.util.SettingsStore;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
@@ -25,6 +40,23 @@ public class GameScreen
     @SuppressWarnings("unused")
     private static final String TAG = "GameScreen";
 
+    /** Maximum number of ticks to run in a single frame, so the game can catch up after a slow frame. */
+    private static final int MAXIMUM_TICKS_PER_FRAME = 8;
+
+    /** Background music played when the application starts. */
+    private static final MusicManager.BackgroundTrack INITIAL_BACKGROUND_TRACK = MusicManager.BackgroundTrack.One;
+    /** Width of the loading progress bar, relative to the width of the screen. */
+    private static final float LOADING_BAR_WIDTH = 0.5f;
+    /** Height of the loading progress bar, relative to the height of the screen. */
+    private static final float LOADING_BAR_HEIGHT = 0.01f;
+    /** Color of the loaded portion of the loading progress bar. */
+    private static final Color LOADING_BAR_COLOR = Color.BLACK;
+    /** Color of the portion of the loading progress bar which has not been loaded. */
+    private static final Color LOADING_BAR_BACKGROUND_COLOR = Color.LIGHT_GRAY;
+
+    /** File in local storage where the score of every finished game is kept. */
+    private static final String SCORE_JOURNAL_FILE = "scores.journal";
+
     /** Width of the screen. */
     private static int sScreenWidth;
     /** Height of the screen. */
@@ -36,15 +68,26 @@ public class GameScreen
     private OrthographicCamera mPrimaryCamera;
     /** Default viewport of the game. */
     private Viewport mPrimaryViewport;
+    /** Draws the loading progress bar, which cannot use textures before they are loaded. */
+    private ShapeRenderer mShapeRenderer;
 
     /** Handles gesture input events. */
     private GameInputProcessor mGameInput;
+    /** Passes input events to the performance overlay, then the game. */
+    private InputMultiplexer mInputMultiplexer;
+    /** Records input during each game, so it can be replayed. */
+    private InputRecorder mInputRecorder;
+
+    /** Number of seconds which have passed, but have not yet been simulated by a tick. */
+    private float mTimeAccumulator;
 
     /** Current state of the application. */
     private GameState mGameState;
     /** State of the application prior to it being paused. */
     private GameState mPausedState;
 
+    /** Loads the assets of the application while the boot screen is shown. */
+    private LoadingManager mLoadingManager;
     /** Handles loading and unloading textures. */
     private TextureManager mTextureManager;
     /** Handles game logic and rendering. */
@@ -53,6 +96,19 @@ public class GameScreen
     private MenuManager mMenuManager;
     /** Handles drawing of the background panels of the game. */
     private BackgroundManager mBackgroundManager;
+    /** The game as it was when it was paused, which does not change until the game resumes. */
+    private CachedFrame mPausedFrame;
+    /** Indicates if the application was built for testers, who can show the performance overlay. */
+    private final boolean mTesterBuild;
+    /** Displays where the time of each frame goes, when enabled by a tester. */
+    private PerformanceOverlay mPerformanceOverlay;
+    /** Records frame times, tick times and input latency for the session. */
+    private SessionReport mSessionReport;
+    /** Measures how long the player's touches take to be consumed by a tick and drawn. */
+    private InputLatencyTracker mInputLatencyTracker;
+
+    /** Keeps the score of every finished game. */
+    private ScoreJournal mScoreJournal;
 
     /** The most recent score the user obtained in the game. */
     private int mMostRecentScore;
@@ -79,6 +135,7 @@ public class GameScreen
 
         @Override
         public void resumeGame() {
+            mGameManager.resumeGame(mGameInput);
             setState(mPausedState);
         }
 
@@ -105,23 +162,96 @@ public class GameScreen
             setState(GameState.GamePaused);
         }
 
+        @Override
+        public void ballReleased() {
+            final long fingerUpTime = mGameInput.getFingerUpEventTime();
+            if (fingerUpTime != 0)
+                mSessionReport.recordReleaseLatency(TimeUtils.nanoTime() - fingerUpTime);
+        }
+
         @Override
         public void endGame(int finalScore) {
+            mScoreJournal.record(finalScore, TimeUtils.millis());
             updateMostRecentScore(finalScore);
             saveIfHighScore(finalScore);
             setState(GameState.Ended);
         }
     };
 
+    /**
+     * Creates the screen, which loads the application's assets when it is shown.
+     *
+     * @param testerBuild {@code true} if the application was built for testers, so the performance overlay can be
+     * shown
+     */
+    public GameScreen(boolean testerBuild) {
+        mTesterBuild = testerBuild;
+    }
+
     @Override
     public void render(float delta) {
+        // Without continuous rendering, frames only occur for input, so the time between them is not simulated
+        if (!Gdx.graphics.isContinuousRendering()) {
+            delta = Math.min(delta, GameSimulation.TIME_STEP);
+            mSessionReport.skipFrame();
+        }
+
+        mSessionReport.recordFrame();
         mPrimaryCamera.update();
-        tick(delta);
+
+        if (mGameState == GameState.Loading) {
+            renderLoading();
+            return;
+        }
+
+        mPerformanceOverlay.beginFrame();
+
+        // Time beyond the maximum number of ticks is dropped, so the game slows down rather than jumping ahead
+        mPerformanceOverlay.beginTicks();
+        mTimeAccumulator += Math.min(delta, GameSimulation.TIME_STEP * MAXIMUM_TICKS_PER_FRAME);
+        while (mTimeAccumulator >= GameSimulation.TIME_STEP) {
+            final long tickStartTime = TimeUtils.nanoTime();
+            tick(GameSimulation.TIME_STEP);
+            mSessionReport.recordTick(TimeUtils.nanoTime() - tickStartTime);
+            mTimeAccumulator -= GameSimulation.TIME_STEP;
+        }
+        MusicManager.tick(delta);
+        mPerformanceOverlay.endTicks();
 
         // Clear the screen to white
+        mPerformanceOverlay.beginDraw();
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         Gdx.gl.glClearColor(1f, 1f, 1f, 1f);
-        draw();
+        draw(mTimeAccumulator / GameSimulation.TIME_STEP);
+        mInputLatencyTracker.recordFrameSubmitted(TimeUtils.nanoTime());
+        mPerformanceOverlay.endDraw();
+
+        mPerformanceOverlay.endFrame(mSpriteBatch);
+        updateContinuousRendering();
+    }
+
+    /**
+     * Renders continuously while the game is being played or anything on screen is animating. Otherwise, frames are
+     * only rendered when input arrives, so a menu left open does not redraw the same frame every vsync.
+     */
+    private void updateContinuousRendering() {
+        final boolean continuous;
+        switch (mGameState) {
+            case GameStarting:
+            case GamePlaying:
+                continuous = true;
+                break;
+            case MainMenu:
+            case GamePaused:
+            case Ended:
+                continuous = mMenuManager.isAnimating() || MusicManager.isFading() || mPerformanceOverlay.isEnabled();
+                break;
+            default:
+                throw new IllegalStateException("invalid game state.");
+        }
+
+        if (continuous != Gdx.graphics.isContinuousRendering())
+            Gdx.graphics.setContinuousRendering(continuous);
     }
 
     @Override
@@ -136,25 +266,92 @@ public class GameScreen
         mPrimaryViewport = new ScreenViewport(mPrimaryCamera);
         mPrimaryViewport.apply();
 
+        mSessionReport = new SessionReport();
+        SettingsStore.initialize();
+
+        // Restoring scores from previous sessions
+        mScoreJournal = new ScoreJournal(Gdx.files.local(SCORE_JOURNAL_FILE).file());
+        mScoreJournal.load();
+        mHighScore = mScoreJournal.getHighScore();
+        if (mScoreJournal.getTotalRecentScores() > 0)
+            mMostRecentScore = mScoreJournal.getRecentScore(0);
+
         // Preparing UI objects
         mSpriteBatch = new SpriteBatch();
+        mShapeRenderer = new ShapeRenderer();
+        mPausedFrame = new CachedFrame();
 
         // Creating gesture handler
-        mGameInput = new GameInputProcessor();
-        Gdx.input.setInputProcessor(mGameInput);
+        mGameInput = new GameInputProcessor(sScreenHeight);
+        mInputRecorder = new InputRecorder();
+        mGameInput.setInputRecorder(mInputRecorder);
+        mInputLatencyTracker = new InputLatencyTracker();
+        mGameInput.setLatencyTracker(mInputLatencyTracker);
+        mInputMultiplexer = new InputMultiplexer(mGameInput);
+        Gdx.input.setInputProcessor(mInputMultiplexer);
+
+        // Loading assets in the background, while the boot screen is displayed
+        mLoadingManager = new LoadingManager(INITIAL_BACKGROUND_TRACK);
+        setState(GameState.Loading);
+    }
+
+    /**
+     * Continues loading assets and draws the boot screen. Once every asset is loaded, the main menu is displayed.
+     */
+    private void renderLoading() {
+        // Clear the screen to white
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        Gdx.gl.glClearColor(1f, 1f, 1f, 1f);
+        drawLoading(mLoadingManager.getProgress());
+        mLoadingManager.onFrameDrawn();
 
-        // Loading assets
-        mTextureManager = new TextureManager();
-        MusicManager.initialize(MusicManager.BackgroundTrack.One);
-        FontManager.initialize();
+        if (mLoadingManager.update())
+            finishLoading();
+    }
+
+    /**
+     * Draws the progress of loading assets.
+     *
+     * @param progress progress from 0 to 1
+     */
+    private void drawLoading(float progress) {
+        final float barWidth = sScreenWidth * LOADING_BAR_WIDTH;
+        final float barHeight = sScreenHeight * LOADING_BAR_HEIGHT;
+        final float barX = (sScreenWidth - barWidth) / 2;
+        final float barY = (sScreenHeight - barHeight) / 2;
+
+        mShapeRenderer.setProjectionMatrix(mPrimaryCamera.combined);
+        mShapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        mShapeRenderer.setColor(LOADING_BAR_BACKGROUND_COLOR);
+        mShapeRenderer.rect(barX, barY, barWidth, barHeight);
+        mShapeRenderer.setColor(LOADING_BAR_COLOR);
+        mShapeRenderer.rect(barX, barY, barWidth * progress, barHeight);
+        mShapeRenderer.end();
+    }
+
+    /**
+     * Sets up the game and menu with the loaded assets, then displays the main menu.
+     */
+    private void finishLoading() {
+        final AssetManager assetManager = mLoadingManager.getAssetManager();
+        mTextureManager = new TextureManager(assetManager);
+        MusicManager.initialize(assetManager, INITIAL_BACKGROUND_TRACK);
+        FontManager.initialize(assetManager.get(FontManager.DEFAULT_FONT, BitmapFont.class));
 
         // Setting up the game and menu
-        mGameManager = new GameManager(mGameCallback, mTextureManager);
+        mGameManager = new GameManager(mGameCallback, mTextureManager, mInputRecorder);
         mMenuManager = new MenuManager(mMenuCallback, mTextureManager);
         mBackgroundManager = new BackgroundManager(mTextureManager);
+        mPerformanceOverlay = new PerformanceOverlay(FontManager.getDefaultFont(),
+                sScreenWidth,
+                sScreenHeight,
+                mInputLatencyTracker);
+        if (mTesterBuild)
+            mInputMultiplexer.addProcessor(0, mPerformanceOverlay.getInputProcessor());
 
         // Displaying the main menu
         setState(GameState.MainMenu);
+        mLoadingManager.onInteractive();
     }
 
     @Override
@@ -164,13 +361,27 @@ public class GameScreen
 
     @Override
     public void pause() {
-        if (mGameState == GameState.GamePlaying || mGameState == GameState.GameStarting)
+        if (mGameState == GameState.GamePlaying || mGameState == GameState.GameStarting) {
+            mGameManager.pauseGame();
             setState(GameState.GamePaused);
+        }
+        mSessionReport.save();
+        SettingsStore.flush();
+        mScoreJournal.flush();
+        if (mGameManager != null)
+            mGameManager.flush();
     }
 
     @Override
     public void resume() {
-        // does nothing
+        // Time spent paused is not a frame
+        mSessionReport.skipFrame();
+
+        // The contents of the baked background are lost if the OpenGL context was lost
+        if (mBackgroundManager != null)
+            mBackgroundManager.invalidate();
+        mPausedFrame.invalidate();
+        Gdx.graphics.requestRendering();
     }
 
     @Override
@@ -178,32 +389,57 @@ public class GameScreen
         sScreenWidth = width;
         sScreenHeight = height;
         mPrimaryViewport.update(width, height);
-        mGameManager.resize(width, height);
+        mGameInput.resize(width, height);
+        mPausedFrame.invalidate();
+        if (mGameManager != null) {
+            mGameManager.resize(width, height);
+            mBackgroundManager.resize(width, height);
+            mPerformanceOverlay.resize(width, height);
+        }
     }
 
     @Override
     public void dispose() {
+        mSessionReport.save();
+        SettingsStore.dispose();
+        mScoreJournal.dispose();
+        Gdx.graphics.setContinuousRendering(true);
+
         // Disposes resources being used by instances
         mSpriteBatch.dispose();
-        mTextureManager.dispose();
-        mGameManager.dispose();
-        mMenuManager.dispose();
-        mBackgroundManager.dispose();
-        MusicManager.dispose();
-        FontManager.dispose();
+        mShapeRenderer.dispose();
+        mPausedFrame.dispose();
+        if (mGameState != GameState.Loading) {
+            mTextureManager.dispose();
+            mGameManager.dispose();
+            mMenuManager.dispose();
+            mBackgroundManager.dispose();
+            mPerformanceOverlay.dispose();
+            MusicManager.dispose();
+            FontManager.dispose();
+        }
+        mLoadingManager.dispose();
 
         // Removes references
         mSpriteBatch = null;
+        mShapeRenderer = null;
+        mPausedFrame = null;
+        mScoreJournal = null;
+        mLoadingManager = null;
         mGameManager = null;
         mMenuManager = null;
         mTextureManager = null;
         mBackgroundManager = null;
+        mPerformanceOverlay = null;
+        mInputMultiplexer = null;
+        mSessionReport = null;
+        mInputLatencyTracker = null;
     }
 
     /**
-     * Updates the game's objects.
+     * Updates the game's objects by a single, fixed step.
      *
-     * @param delta number of seconds the last rendering took
+     * @param delta number of seconds to simulate
      */
     private void tick(float delta) {
         switch (mGameState) {
@@ -222,19 +458,36 @@ public class GameScreen
                 throw new IllegalStateException("invalid game state.");
         }
 
-        // Clear up input
+        // Clear up input, so events are only handled by the first tick after they occur
         mGameInput.tick();
     }
 
     /**
      * Draws the game to the screen.
+     *
+     * @param interpolation progress from the last tick to the next tick, from 0 to 1
      */
-    private void draw() {
+    private void draw(float interpolation) {
+        // The background is only drawn to its offscreen texture when it changes
+        mBackgroundManager.prepare(mSpriteBatch);
+
+        // The paused game does not change, so it is only drawn to its offscreen texture once
+        if (mGameState == GameState.GamePaused && !mPausedFrame.isValid()) {
+            mPausedFrame.begin(sScreenWidth, sScreenHeight);
+            mSpriteBatch.setProjectionMatrix(mPrimaryCamera.combined);
+            mSpriteBatch.begin();
+            drawGame(interpolation);
+            mSpriteBatch.end();
+            mPausedFrame.end();
+        }
+
         mSpriteBatch.setProjectionMatrix(mPrimaryCamera.combined);
         mSpriteBatch.begin();
 
-        mBackgroundManager.draw(mSpriteBatch);
-        mGameManager.draw(mGameState, mSpriteBatch);
+        if (mGameState == GameState.GamePaused)
+            mPausedFrame.draw(mSpriteBatch, sScreenWidth, sScreenHeight);
+        else
+            drawGame(interpolation);
 
         switch (mGameState) {
             case MainMenu:
@@ -250,9 +503,23 @@ public class GameScreen
                 throw new IllegalStateException("invalid game state.");
         }
 
+        mPerformanceOverlay.draw(mSpriteBatch);
         mSpriteBatch.end();
     }
 
+    /**
+     * Draws the background and the game.
+     *
+     * @param interpolation progress from the last tick to the next tick, from 0 to 1
+     */
+    private void drawGame(float interpolation) {
+        // Entities only move between ticks while the game is active
+        final boolean gameActive = mGameState == GameState.GameStarting || mGameState == GameState.GamePlaying;
+
+        mBackgroundManager.draw(mSpriteBatch);
+        mGameManager.draw(mGameState, mSpriteBatch, (gameActive) ? interpolation : 1f);
+    }
+
     /**
      * Updates the score which the user most recently obtained in a game.
      *
@@ -270,7 +537,7 @@ public class GameScreen
      */
     private void saveIfHighScore(int score) {
         if (score > mHighScore) {
-            // TODO: save the user's high score locally
+            // The score is already saved locally by the score journal
             // TODO: submit user's high score to leaderboard
             mHighScore = score;
         }
@@ -290,13 +557,25 @@ public class GameScreen
      * @param newState new state
      */
     public void setState(GameState newState) {
-        if (newState == GameState.GamePaused)
+        if (newState == GameState.GamePaused) {
             mPausedState = mGameState;
+            mPausedFrame.invalidate();
+        }
         mGameState = newState;
 
         resetMenuIfShown();
     }
 
+    /**
+     * Gets the latency of the player's touches in this session, from arriving to being consumed by a tick and to the
+     * frame showing their effect being submitted.
+     *
+     * @return {@code mInputLatencyTracker}, or {@code null} if the screen is not shown
+     */
+    public InputLatencyTracker getInputLatencyTracker() {
+        return mInputLatencyTracker;
+    }
+
     /**
      * Gets the current width of the screen.
      *
@@ -319,6 +598,8 @@ public class GameScreen
      * Possible states of the application.
      */
     public enum GameState {
+        /** Represents the application loading its assets, before anything else can be displayed. */
+        Loading,
         /** Represents the application being in a main menu. */
         MainMenu,
         /** Represents the game being a startup state. */
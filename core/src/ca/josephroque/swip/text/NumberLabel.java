@@ -0,0 +1,84 @@
+package ca.josephroque.swip.text;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+/**
+ * Label which displays a number, such as a score. Digits are copied from a preformatted table rather than formatting
+ * a new string, so changing the number does not allocate.
+ */
+public class NumberLabel
+        extends TextLabel {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "NumberLabel";
+
+    /** Every pair of digits from "00" to "99", so two digits can be copied at a time. */
+    private static final char[] DIGIT_PAIRS = new char[200];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[i * 2] = (char) ('0' + i / 10);
+            DIGIT_PAIRS[i * 2 + 1] = (char) ('0' + i % 10);
+        }
+    }
+
+    /** Maximum number of characters in an {@code int}, including the sign. */
+    private static final int MAXIMUM_LENGTH = 11;
+
+    /** Characters of the number, filled from the end of the array. */
+    private final char[] mDigits = new char[MAXIMUM_LENGTH];
+
+    /** The number being displayed. */
+    private int mValue;
+    /** Indicates if a number has been set yet. */
+    private boolean mValueSet;
+
+    /**
+     * Creates a new label with no number.
+     *
+     * @param font font to draw the number with
+     */
+    public NumberLabel(BitmapFont font) {
+        super(font);
+    }
+
+    /**
+     * Changes the number displayed by the label. The number is only formatted and laid out again if it is different.
+     *
+     * @param value new number
+     */
+    public void setValue(int value) {
+        if (mValueSet && value == mValue)
+            return;
+
+        mValue = value;
+        mValueSet = true;
+
+        // Negative values are formatted as positive longs, so the minimum value does not overflow
+        long remaining = Math.abs((long) value);
+        int start = MAXIMUM_LENGTH;
+        while (remaining >= 10) {
+            final int pair = (int) (remaining % 100);
+            remaining /= 100;
+            mDigits[--start] = DIGIT_PAIRS[pair * 2 + 1];
+            mDigits[--start] = DIGIT_PAIRS[pair * 2];
+        }
+
+        if (remaining > 0 || start == MAXIMUM_LENGTH)
+            mDigits[--start] = DIGIT_PAIRS[(int) remaining * 2 + 1];
+        if (value < 0)
+            mDigits[--start] = '-';
+
+        setText(mDigits, start, MAXIMUM_LENGTH - start);
+    }
+
+    /**
+     * Gets the number displayed by the label.
+     *
+     * @return {@code mValue}
+     */
+    public int getValue() {
+        return mValue;
+    }
+}
@@ -0,0 +1,175 @@
+package ca.josephroque.swip.text;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * Text drawn to the screen from cached vertex data. The text is only laid out again when it changes, so drawing a
+ * label which has not changed does not allocate, and moving a label only translates its vertices.
+ */
+public class TextLabel {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "TextLabel";
+
+    /** Font to draw the text with. */
+    private final BitmapFont mFont;
+    /** Vertex data of the laid out text. */
+    private final BitmapFontCache mFontCache;
+    /** Layout of the text, reused each time the text changes. */
+    private final GlyphLayout mLayout = new GlyphLayout();
+    /** The text of the label. */
+    private final StringBuilder mText = new StringBuilder();
+
+    /** Horizontal position of the left of the text. */
+    private float mX;
+    /** Vertical position of the top of the text. */
+    private float mY;
+    /** Indicates if the text has changed since it was last laid out. */
+    private boolean mLayoutInvalid = true;
+
+    /**
+     * Creates a new label with no text.
+     *
+     * @param font font to draw the text with
+     */
+    public TextLabel(BitmapFont font) {
+        mFont = font;
+        mFontCache = new BitmapFontCache(font, font.usesIntegerPositions());
+    }
+
+    /**
+     * Creates a new label.
+     *
+     * @param font font to draw the text with
+     * @param text text of the label
+     * @param x horizontal position of the left of the text
+     * @param y vertical position of the top of the text
+     */
+    public TextLabel(BitmapFont font, CharSequence text, float x, float y) {
+        this(font);
+        setText(text);
+        setPosition(x, y);
+    }
+
+    /**
+     * Changes the text of the label. The text is laid out again before it is next drawn, only if it is different.
+     *
+     * @param text new text
+     */
+    public void setText(CharSequence text) {
+        if (contentEquals(text))
+            return;
+
+        mText.setLength(0);
+        mText.append(text);
+        mLayoutInvalid = true;
+    }
+
+    /**
+     * Changes the text of the label to a range of characters. The text is laid out again before it is next drawn, only
+     * if it is different.
+     *
+     * @param text characters of the new text
+     * @param start index of the first character of the new text
+     * @param length number of characters in the new text
+     */
+    protected void setText(char[] text, int start, int length) {
+        if (contentEquals(text, start, length))
+            return;
+
+        mText.setLength(0);
+        mText.append(text, start, length);
+        mLayoutInvalid = true;
+    }
+
+    /**
+     * Moves the label. The text is not laid out again.
+     *
+     * @param x horizontal position of the left of the text
+     * @param y vertical position of the top of the text
+     */
+    public void setPosition(float x, float y) {
+        if (mX == x && mY == y)
+            return;
+
+        mFontCache.translate(x - mX, y - mY);
+        mX = x;
+        mY = y;
+    }
+
+    /**
+     * Draws the label, laying out the text first if it has changed.
+     *
+     * @param batch graphics context to draw to
+     */
+    public void draw(Batch batch) {
+        if (mLayoutInvalid) {
+            mLayout.setText(mFont, mText);
+            mFontCache.setText(mLayout, mX, mY);
+            mLayoutInvalid = false;
+        }
+
+        mFontCache.draw(batch);
+    }
+
+    /**
+     * Gets the width of the laid out text.
+     *
+     * @return width of the text, as of when it was last drawn
+     */
+    public float getWidth() {
+        return mLayout.width;
+    }
+
+    /**
+     * Gets the height of the laid out text.
+     *
+     * @return height of the text, as of when it was last drawn
+     */
+    public float getHeight() {
+        return mLayout.height;
+    }
+
+    /**
+     * Checks if the label's text is the same as {@code text}.
+     *
+     * @param text text to compare
+     * @return {@code true} if the text is the same
+     */
+    private boolean contentEquals(CharSequence text) {
+        if (text.length() != mText.length)
+            return false;
+
+        for (int i = 0; i < mText.length; i++) {
+            if (text.charAt(i) != mText.chars[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the label's text is the same as a range of characters.
+     *
+     * @param text characters to compare
+     * @param start index of the first character
+     * @param length number of characters
+     * @return {@code true} if the text is the same
+     */
+    private boolean contentEquals(char[] text, int start, int length) {
+        if (length != mText.length)
+            return false;
+
+        for (int i = 0; i < length; i++) {
+            if (text[start + i] != mText.chars[i])
+                return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides objects for drawing text without laying it out again every frame.
+ */
+package ca.josephroque.swip.text;
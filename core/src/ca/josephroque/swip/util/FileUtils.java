@@ -0,0 +1,59 @@
+package ca.josephroque.swip.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Provides methods for replacing files in local storage without losing them if the application is killed.
+ */
+public final class FileUtils {
+
+    /**
+     * Writes new contents to a temporary file, then replaces a file with it, so the file always has either its previous
+     * or its new contents. If the application is killed while the file is being replaced, the file may be missing, and
+     * {@code recoverReplacedFile} should be called before the file is next read.
+     *
+     * @param file file to replace
+     * @param temporaryFile file to write the new contents to first
+     * @param contents new contents of the file
+     * @throws IOException if the temporary file could not be written, or could not replace the file
+     */
+    public static void replaceFile(File file, File temporaryFile, byte[] contents) throws IOException {
+        FileOutputStream output = new FileOutputStream(temporaryFile);
+        try {
+            output.write(contents);
+            output.getFD().sync();
+        } finally {
+            output.close();
+        }
+
+        // Renaming over an existing file fails on some platforms, so the file is deleted first and missing until the
+        // rename. The temporary file is complete by then, so recoverReplacedFile() can finish the replacement.
+        if (!temporaryFile.renameTo(file) && !(file.delete() && temporaryFile.renameTo(file)))
+            throw new IOException("could not replace " + file);
+    }
+
+    /**
+     * Finishes replacing a file if the application was killed after the file was deleted by {@code replaceFile}, but
+     * before the temporary file was renamed to it. If the file had never been written, the temporary file may instead be
+     * left from a write which was killed before it finished, so its contents should still be checked when it is read.
+     *
+     * @param file file which was being replaced
+     * @param temporaryFile file the new contents were written to
+     * @return {@code true} if the file exists
+     */
+    public static boolean recoverReplacedFile(File file, File temporaryFile) {
+        if (file.exists())
+            return true;
+
+        return temporaryFile.exists() && temporaryFile.renameTo(file);
+    }
+
+    /**
+     * Default private constructor.
+     */
+    private FileUtils() {
+        // does nothing
+    }
+}
@@ -5,7 +5,7 @@ package ca.josephroque.swip.util;
  */
 public final class PreferenceUtils {
 
-    /** Identifier for the application preferences. */
+    /** Identifier for the application preferences. Settings are now kept by {@code SettingsStore}. */
     public static final String PREFERENCES = "SwipPreferences";
 
     /**
@@ -0,0 +1,325 @@
+package ca.josephroque.swip.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the user's settings in memory and writes them to local storage on a background thread, so changing a setting
+ * never touches the disk on the frame it happens.
+ *
+ * <p>Changes are written {@code WRITE_DELAY} milliseconds after the first unwritten change, so several changes in quick
+ * succession are written once. The settings are written to a temporary file which then replaces the settings file, so
+ * a crash while writing leaves the previous or the new settings intact. {@code flush()} writes any unwritten changes immediately
+ * and should be called when the application is paused, since it may be killed without being disposed.</p>
+ *
+ * <p>The settings file is a magic number and version, followed by the number of settings and each setting as its key,
+ * a type and its value. Settings saved in {@code PreferenceUtils.PREFERENCES} by earlier versions are copied over the
+ * first time the settings are loaded.</p>
+ */
+public final class SettingsStore {
+
+    /** Identifies output from this class in the logcat. */
+    @SuppressWarnings("unused")
+    private static final String TAG = "SettingsStore";
+
+    /** Identifies a settings file. */
+    private static final int MAGIC = 0x53574953;
+    /** Version of the settings file format. */
+    private static final short VERSION = 1;
+    /** File in local storage where the settings are saved. */
+    private static final String SETTINGS_FILE = "settings.bin";
+    /** File in local storage where the settings are written before replacing {@code SETTINGS_FILE}. */
+    private static final String TEMPORARY_FILE = "settings.tmp";
+    /** Number of milliseconds to wait after a change before writing, so quick changes are written together. */
+    private static final long WRITE_DELAY = 500L;
+
+    /** Type of a boolean setting in the settings file. */
+    private static final byte TYPE_BOOLEAN = 0;
+    /** Type of an integer setting in the settings file. */
+    private static final byte TYPE_INTEGER = 1;
+
+    /** Guards {@code sSettings}, {@code sDirty} and {@code sWriteScheduled}. */
+    private static final Object SETTINGS_LOCK = new Object();
+    /** Prevents the background thread and {@code flush()} from writing the file at the same time. */
+    private static final Object WRITE_LOCK = new Object();
+
+    /** Value of each setting, which is either a {@code Boolean} or an {@code Integer}. */
+    private static Map<String, Object> sSettings = new HashMap<>();
+    /** Indicates if a setting has changed since the settings were last written. */
+    private static boolean sDirty;
+    /** Indicates if the background thread will write the settings. */
+    private static boolean sWriteScheduled;
+
+    /** Settings file. */
+    private static File sSettingsFile;
+    /** File the settings are written to before replacing {@code sSettingsFile}. */
+    private static File sTemporaryFile;
+    /** Writes the settings in the background. */
+    private static ScheduledExecutorService sWriter;
+
+    /** Writes the settings on the background thread. */
+    private static final Runnable WRITE_TASK = new Runnable() {
+        @Override
+        public void run() {
+            write();
+        }
+    };
+
+    /**
+     * Loads the settings from local storage and starts the background thread. Must be called before any setting is
+     * read or changed. If the application was killed while the settings file was being replaced, the new settings are
+     * recovered from the temporary file, rather than copied again from the preferences of earlier versions.
+     */
+    public static void initialize() {
+        if (sWriter != null)
+            return;
+
+        sSettingsFile = Gdx.files.local(SETTINGS_FILE).file();
+        sTemporaryFile = Gdx.files.local(TEMPORARY_FILE).file();
+        sWriter = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, TAG);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        synchronized (SETTINGS_LOCK) {
+            sSettings.clear();
+            if (FileUtils.recoverReplacedFile(sSettingsFile, sTemporaryFile))
+                read();
+            else
+                migratePreferences();
+        }
+    }
+
+    /**
+     * Gets a boolean setting.
+     *
+     * @param key identifier of the setting
+     * @param defaultValue value to return if the setting has not been saved
+     * @return the value of the setting, or {@code defaultValue}
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        synchronized (SETTINGS_LOCK) {
+            Object value = sSettings.get(key);
+            return (value instanceof Boolean) ? (Boolean) value : defaultValue;
+        }
+    }
+
+    /**
+     * Changes a boolean setting. The change is written in the background.
+     *
+     * @param key identifier of the setting
+     * @param value new value of the setting
+     */
+    public static void putBoolean(String key, boolean value) {
+        put(key, value);
+    }
+
+    /**
+     * Gets an integer setting.
+     *
+     * @param key identifier of the setting
+     * @param defaultValue value to return if the setting has not been saved
+     * @return the value of the setting, or {@code defaultValue}
+     */
+    public static int getInteger(String key, int defaultValue) {
+        synchronized (SETTINGS_LOCK) {
+            Object value = sSettings.get(key);
+            return (value instanceof Integer) ? (Integer) value : defaultValue;
+        }
+    }
+
+    /**
+     * Changes an integer setting. The change is written in the background.
+     *
+     * @param key identifier of the setting
+     * @param value new value of the setting
+     */
+    public static void putInteger(String key, int value) {
+        put(key, value);
+    }
+
+    /**
+     * Writes any unwritten changes immediately, on the calling thread. Should be called when the application is paused.
+     */
+    public static void flush() {
+        if (sWriter != null)
+            write();
+    }
+
+    /**
+     * Writes any unwritten changes and stops the background thread.
+     */
+    public static void dispose() {
+        if (sWriter == null)
+            return;
+
+        flush();
+        sWriter.shutdownNow();
+        sWriter = null;
+    }
+
+    /**
+     * Changes a setting and schedules the settings to be written, if the value is different.
+     *
+     * @param key identifier of the setting
+     * @param value new value of the setting
+     */
+    private static void put(String key, Object value) {
+        if (sWriter == null)
+            throw new IllegalStateException("settings have not been initialized.");
+
+        synchronized (SETTINGS_LOCK) {
+            if (value.equals(sSettings.put(key, value)))
+                return;
+
+            sDirty = true;
+            if (!sWriteScheduled) {
+                sWriteScheduled = true;
+                sWriter.schedule(WRITE_TASK, WRITE_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Writes the settings to a temporary file, then replaces the settings file with it, if a setting has changed.
+     */
+    private static void write() {
+        synchronized (WRITE_LOCK) {
+            final byte[] contents;
+            synchronized (SETTINGS_LOCK) {
+                sWriteScheduled = false;
+                if (!sDirty)
+                    return;
+
+                contents = serialize();
+                sDirty = false;
+            }
+
+            try {
+                FileUtils.replaceFile(sSettingsFile, sTemporaryFile, contents);
+            } catch (IOException ex) {
+                Gdx.app.error(TAG, "Unable to save settings", ex);
+                synchronized (SETTINGS_LOCK) {
+                    sDirty = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the settings in the settings file format. Must be called while holding {@code SETTINGS_LOCK}.
+     *
+     * @return contents of the settings file
+     */
+    private static byte[] serialize() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeShort(sSettings.size());
+            for (Map.Entry<String, Object> setting : sSettings.entrySet()) {
+                output.writeUTF(setting.getKey());
+                if (setting.getValue() instanceof Boolean) {
+                    output.writeByte(TYPE_BOOLEAN);
+                    output.writeBoolean((Boolean) setting.getValue());
+                } else {
+                    output.writeByte(TYPE_INTEGER);
+                    output.writeInt((Integer) setting.getValue());
+                }
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("could not write settings", ex);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the settings file into {@code sSettings}. Settings are left at their defaults if the file cannot be read.
+     * Must be called while holding {@code SETTINGS_LOCK}.
+     */
+    private static void read() {
+        try {
+            byte[] contents = new byte[(int) sSettingsFile.length()];
+            DataInputStream file = new DataInputStream(new FileInputStream(sSettingsFile));
+            try {
+                file.readFully(contents);
+            } finally {
+                file.close();
+            }
+
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(contents));
+            if (input.readInt() != MAGIC)
+                throw new IOException("not a settings file");
+            if (input.readShort() != VERSION)
+                throw new IOException("unsupported settings version");
+
+            final int totalSettings = input.readShort();
+            for (int i = 0; i < totalSettings; i++) {
+                final String key = input.readUTF();
+                final byte type = input.readByte();
+                switch (type) {
+                    case TYPE_BOOLEAN:
+                        sSettings.put(key, input.readBoolean());
+                        break;
+                    case TYPE_INTEGER:
+                        sSettings.put(key, input.readInt());
+                        break;
+                    default:
+                        throw new IOException("invalid setting type " + type);
+                }
+            }
+        } catch (IOException ex) {
+            Gdx.app.error(TAG, "Unable to load settings", ex);
+            sSettings.clear();
+        }
+    }
+
+    /**
+     * Copies the settings saved in preferences by earlier versions of the application, and writes them to the settings
+     * file in the background. Must be called while holding {@code SETTINGS_LOCK}.
+     */
+    private static void migratePreferences() {
+        Preferences preferences = Gdx.app.getPreferences(PreferenceUtils.PREFERENCES);
+        for (Map.Entry<String, ?> preference : preferences.get().entrySet()) {
+            // Some backends store every preference as a string
+            Object value = preference.getValue();
+            if (value instanceof Boolean || value instanceof Integer)
+                sSettings.put(preference.getKey(), value);
+            else if ("true".equals(value) || "false".equals(value))
+                sSettings.put(preference.getKey(), Boolean.valueOf((String) value));
+        }
+
+        if (!sSettings.isEmpty()) {
+            sDirty = true;
+            sWriteScheduled = true;
+            sWriter.schedule(WRITE_TASK, WRITE_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Default private constructor.
+     */
+    private SettingsStore() {
+        // does nothing
+    }
+}
@@ -0,0 +1,119 @@
+package ca.josephroque.swip.entity;
+
+import com.badlogic.gdx.math.Vector2;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that whether a flicked ball passes through a wall or hits one does not depend on the length of the ticks it
+ * is moved in, since its collisions with the walls are swept along its path.
+ */
+public class GameBallSweepTest {
+
+    /** Width of the screen the balls are flicked on. */
+    private static final int SCREEN_WIDTH = 1080;
+    /** Height of the screen the balls are flicked on. */
+    private static final int SCREEN_HEIGHT = 1920;
+    /** Radius of the balls. */
+    private static final float BALL_RADIUS = SCREEN_WIDTH * 0.1f;
+    /** Seed of the flicks. */
+    private static final long SEED = 20L;
+    /** Number of flicks compared. */
+    private static final int FLICKS = 2000;
+    /** Slowest speed a ball is flicked at, in pixels per second. */
+    private static final float MINIMUM_SPEED = 500f;
+    /** Fastest speed a ball is flicked at, in pixels per second, which crosses a wall in a single tick at 20 Hz. */
+    private static final float MAXIMUM_SPEED = 12000f;
+    /** Number of seconds the ball is left to grow before it is flicked. */
+    private static final float GROWING_TIME = BasicBall.BALL_SCALE_TIME * 2;
+    /** Number of seconds the ball is followed after it is flicked. */
+    private static final float FLIGHT_TIME = 5f;
+    /** Length of a tick at 20 Hz, in seconds. */
+    private static final float SLOW_TICK = 1f / 20f;
+    /** Length of a tick at 240 Hz, in seconds. */
+    private static final float FAST_TICK = 1f / 240f;
+
+    /** Result of a flick which neither passed through nor hit a wall. */
+    private static final int MISSED = 0;
+    /** Result of a flick which passed through a wall. */
+    private static final int PASSED = 1;
+    /** Result of a flick which hit a wall it cannot pass through. */
+    private static final int HIT = 2;
+
+    /**
+     * Flicks balls from random positions, in random directions and at random speeds, towards random passable walls,
+     * and checks that each flick has the same result at 20 Hz and 240 Hz.
+     */
+    @Test
+    public void resultsMatchAtEveryTickRate() {
+        final Wall[] walls = new Wall[Wall.NUMBER_OF_WALLS];
+        for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++)
+            walls[i] = new Wall(i, GameColor.get(i), SCREEN_WIDTH, SCREEN_HEIGHT);
+        final float wallSize = walls[0].getHeight();
+        final float margin = wallSize + BALL_RADIUS;
+
+        final Random random = new Random(SEED);
+        final boolean[] passableWalls = new boolean[Wall.NUMBER_OF_WALLS];
+        final Vector2 velocity = new Vector2();
+        final int[] totals = new int[HIT + 1];
+        for (int flick = 0; flick < FLICKS; flick++) {
+            boolean anyPassable = false;
+            for (int i = 0; i < Wall.NUMBER_OF_WALLS; i++) {
+                passableWalls[i] = random.nextBoolean();
+                anyPassable |= passableWalls[i];
+            }
+            if (!anyPassable)
+                passableWalls[random.nextInt(Wall.NUMBER_OF_WALLS)] = true;
+
+            final float x = margin + random.nextFloat() * (SCREEN_WIDTH - margin * 2);
+            final float y = margin + random.nextFloat() * (SCREEN_HEIGHT - margin * 2);
+            final float angle = random.nextFloat() * 360f;
+            final float speed = MINIMUM_SPEED + random.nextFloat() * (MAXIMUM_SPEED - MINIMUM_SPEED);
+            velocity.set(speed, 0).setAngle(angle);
+
+            final int slowResult = flick(walls, passableWalls, x, y, velocity, SLOW_TICK);
+            final int fastResult = flick(walls, passableWalls, x, y, velocity, FAST_TICK);
+            assertEquals("result of flick " + flick + " from (" + x + ", " + y + ") at " + velocity,
+                    fastResult,
+                    slowResult);
+            totals[slowResult]++;
+        }
+
+        assertTrue("flicks which passed " + totals[PASSED], totals[PASSED] > 0);
+        assertTrue("flicks which hit " + totals[HIT], totals[HIT] > 0);
+    }
+
+    /**
+     * Grows a ball, flicks it, and follows it until it passes through or hits a wall.
+     *
+     * @param walls walls on the screen
+     * @param passableWalls walls the ball can pass through
+     * @param x starting horizontal position of the ball
+     * @param y starting vertical position of the ball
+     * @param velocity velocity of the flick
+     * @param tick length of each tick, in seconds
+     * @return {@code MISSED}, {@code PASSED} or {@code HIT}
+     */
+    private static int flick(Wall[] walls, boolean[] passableWalls, float x, float y, Vector2 velocity, float tick) {
+        final GameBall ball = new GameBall(GameColor.Red, passableWalls, x, y, BALL_RADIUS);
+        ball.grow();
+        for (float time = 0; time < GROWING_TIME; time += tick)
+            ball.tick(tick, walls);
+        assertEquals("radius before flick", BALL_RADIUS, ball.getRadius(), 0f);
+
+        ball.setVelocity(velocity);
+        for (float time = 0; time < FLIGHT_TIME; time += tick) {
+            ball.tick(tick, walls);
+            if (ball.hasPassedThroughWall())
+                return PASSED;
+            if (ball.hasHitInvalidWall())
+                return HIT;
+        }
+
+        return MISSED;
+    }
+}
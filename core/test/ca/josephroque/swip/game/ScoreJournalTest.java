@@ -0,0 +1,248 @@
+package ca.josephroque.swip.game;
+
+import ca.josephroque.swip.manager.HeadlessBackend;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the score journal keeps the scores it was given across loads, including when it was damaged or its
+ * compaction was interrupted.
+ */
+public class ScoreJournalTest {
+
+    /** Size of each record in bytes. */
+    private static final int RECORD_SIZE = 16;
+
+    /** Holds the journal files. */
+    @Rule
+    public final TemporaryFolder mFolder = new TemporaryFolder();
+
+    /**
+     * Starts libGDX, so a damaged journal can be logged.
+     */
+    @BeforeClass
+    public static void startBackend() {
+        HeadlessBackend.start();
+    }
+
+    /**
+     * Checks that a record which was only partly written is dropped, and that the journal is rewritten so later records
+     * are read after the records before it.
+     *
+     * @throws IOException if the journal could not be truncated
+     */
+    @Test
+    public void tornRecordIsDropped() throws IOException {
+        final File file = journalFile();
+        ScoreJournal journal = new ScoreJournal(file);
+        journal.load();
+        journal.record(10, 1L);
+        journal.record(30, 2L);
+        journal.record(20, 3L);
+        journal.dispose();
+
+        truncate(file, RECORD_SIZE / 2);
+        journal = new ScoreJournal(file);
+        journal.load();
+        assertEquals("games after torn record", 2, journal.getTotalGames());
+        assertEquals("high score after torn record", 30, journal.getHighScore());
+        assertEquals("recent score after torn record", 30, journal.getRecentScore(0));
+        journal.record(40, 4L);
+        journal.dispose();
+
+        journal = new ScoreJournal(file);
+        journal.load();
+        assertEquals("games after next record", 3, journal.getTotalGames());
+        assertEquals("high score after next record", 40, journal.getHighScore());
+        assertEquals("recent score after next record", 30, journal.getRecentScore(1));
+        journal.dispose();
+    }
+
+    /**
+     * Checks that a journal whose snapshot does not match its checksum is replaced by an empty journal, rather than
+     * loading the damaged scores.
+     *
+     * @throws IOException if the journal could not be damaged
+     */
+    @Test
+    public void damagedSnapshotIsDiscarded() throws IOException {
+        final File file = journalFile();
+        ScoreJournal journal = new ScoreJournal(file);
+        journal.load();
+        for (int i = 0; i < ScoreJournal.COMPACTION_THRESHOLD; i++)
+            journal.record(i, i);
+        journal.dispose();
+
+        // The first top score in the snapshot follows the header, the number of games and the number of top scores
+        flipByte(file, 6 + 8 + 2);
+        journal = new ScoreJournal(file);
+        journal.load();
+        assertEquals("games", 0, journal.getTotalGames());
+        assertEquals("high score", 0, journal.getHighScore());
+        journal.record(5, 1L);
+        journal.dispose();
+
+        journal = new ScoreJournal(file);
+        journal.load();
+        assertEquals("games after new record", 1, journal.getTotalGames());
+        assertEquals("high score after new record", 5, journal.getHighScore());
+        journal.dispose();
+    }
+
+    /**
+     * Checks that the highest scores are ordered from highest to lowest, with a tied score below the one which was set
+     * first, both in memory and after they are loaded from a snapshot.
+     */
+    @Test
+    public void tiedTopScoresAreOrderedBySetTime() {
+        final File file = journalFile();
+        ScoreJournal journal = new ScoreJournal(file);
+        journal.load();
+        // Fills the highest scores with ties, then a tie with the lowest, which is not kept, then a new high score
+        for (int i = 0; i < ScoreJournal.TOP_SCORES; i++)
+            journal.record((i % 2 == 0) ? 5 : 7, i);
+        journal.record(5, ScoreJournal.TOP_SCORES);
+        journal.record(9, ScoreJournal.TOP_SCORES + 1);
+        assertTopScores(journal);
+        for (int i = 0; i < ScoreJournal.COMPACTION_THRESHOLD; i++)
+            journal.record(0, ScoreJournal.TOP_SCORES + 2 + i);
+        assertTopScores(journal);
+        journal.dispose();
+
+        journal = new ScoreJournal(file);
+        journal.load();
+        assertTopScores(journal);
+        journal.dispose();
+    }
+
+    /**
+     * Checks that the journal is compacted to a snapshot once {@code COMPACTION_THRESHOLD} records have been appended,
+     * and that the snapshot holds the same scores.
+     */
+    @Test
+    public void journalIsCompactedAtThreshold() {
+        final File file = journalFile();
+        ScoreJournal journal = new ScoreJournal(file);
+        journal.load();
+        journal.flush();
+        final long emptyLength = file.length();
+
+        for (int i = 1; i < ScoreJournal.COMPACTION_THRESHOLD; i++)
+            journal.record(i, i);
+        journal.flush();
+        assertEquals("length before threshold",
+                emptyLength + (ScoreJournal.COMPACTION_THRESHOLD - 1) * RECORD_SIZE,
+                file.length());
+
+        journal.record(ScoreJournal.COMPACTION_THRESHOLD, ScoreJournal.COMPACTION_THRESHOLD);
+        journal.flush();
+        final long compactedLength = file.length();
+        assertTrue("length after threshold " + compactedLength, compactedLength < emptyLength
+                + ScoreJournal.COMPACTION_THRESHOLD * RECORD_SIZE);
+        assertFalse("temporary file remains", new File(file.getPath() + ".tmp").exists());
+
+        journal.record(1, 1L);
+        journal.flush();
+        assertEquals("length after next record", compactedLength + RECORD_SIZE, file.length());
+        journal.dispose();
+
+        journal = new ScoreJournal(file);
+        journal.load();
+        assertEquals("games", ScoreJournal.COMPACTION_THRESHOLD + 1, journal.getTotalGames());
+        assertEquals("high score", ScoreJournal.COMPACTION_THRESHOLD, journal.getHighScore());
+        assertEquals("recent score", 1, journal.getRecentScore(0));
+        assertEquals("previous recent score", ScoreJournal.COMPACTION_THRESHOLD, journal.getRecentScore(1));
+        journal.dispose();
+    }
+
+    /**
+     * Checks that the compacted journal is recovered from the temporary file if the application was killed after the
+     * journal was deleted to replace it.
+     */
+    @Test
+    public void interruptedCompactionIsRecovered() {
+        final File file = journalFile();
+        ScoreJournal journal = new ScoreJournal(file);
+        journal.load();
+        for (int i = 1; i <= ScoreJournal.COMPACTION_THRESHOLD; i++)
+            journal.record(i, i);
+        journal.dispose();
+
+        assertTrue("journal moved", file.renameTo(new File(file.getPath() + ".tmp")));
+        journal = new ScoreJournal(file);
+        journal.load();
+        assertEquals("games", ScoreJournal.COMPACTION_THRESHOLD, journal.getTotalGames());
+        assertEquals("high score", ScoreJournal.COMPACTION_THRESHOLD, journal.getHighScore());
+        journal.dispose();
+    }
+
+    /**
+     * Checks the highest scores recorded by {@code tiedTopScoresAreOrderedBySetTime()}.
+     *
+     * @param journal the journal
+     */
+    private static void assertTopScores(ScoreJournal journal) {
+        assertEquals("top scores", ScoreJournal.TOP_SCORES, journal.getTotalTopScores());
+        assertEquals("high score", 9, journal.getTopScore(0));
+        for (int rank = 1; rank < ScoreJournal.TOP_SCORES; rank++) {
+            final int tiedRank = (rank - 1) % (ScoreJournal.TOP_SCORES / 2);
+            final boolean seven = rank <= ScoreJournal.TOP_SCORES / 2;
+            assertEquals("score at rank " + rank, seven ? 7 : 5, journal.getTopScore(rank));
+            assertEquals("time at rank " + rank, tiedRank * 2 + (seven ? 1 : 0), journal.getTopScoreTime(rank));
+        }
+    }
+
+    /**
+     * Gets a journal file which does not exist yet.
+     *
+     * @return the journal file
+     */
+    private File journalFile() {
+        return new File(mFolder.getRoot(), "scores.journal");
+    }
+
+    /**
+     * Removes bytes from the end of a file.
+     *
+     * @param file the file
+     * @param length number of bytes to remove
+     * @throws IOException if the file could not be changed
+     */
+    private static void truncate(File file, int length) throws IOException {
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        try {
+            output.setLength(output.length() - length);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Inverts the bits of one byte of a file.
+     *
+     * @param file the file
+     * @param position position of the byte
+     * @throws IOException if the file could not be changed
+     */
+    private static void flipByte(File file, long position) throws IOException {
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        try {
+            output.seek(position);
+            final int value = output.read();
+            output.seek(position);
+            output.write(~value);
+        } finally {
+            output.close();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package ca.josephroque.swip.manager;
+
+import ca.josephroque.swip.game.GameSimulation;
+import ca.josephroque.swip.game.SyntheticPlayer;
+import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.input.InputRecorder;
+import ca.josephroque.swip.screen.GameScreen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that playing the game does not allocate, so turns do not cause garbage collection pauses. The game is played
+ * through the game manager with touch events, so the input processor, the input recorder and the pause button are
+ * measured along with the simulation.
+ */
+public class GameManagerAllocationTest {
+
+    /** Width of the screen the games are played on. */
+    private static final int SCREEN_WIDTH = 1080;
+    /** Height of the screen the games are played on. */
+    private static final int SCREEN_HEIGHT = 1920;
+    /** Seed of the player. */
+    private static final long SEED = 1L;
+    /**
+     * Number of games played before measuring, so every pool and lazily created object is filled and the game is
+     * compiled before the measured game.
+     */
+    private static final int WARM_UP_GAMES = 100;
+    /**
+     * Number of turns in each game played before measuring. Shorter than the measured game, so the recording buffer
+     * would need to grow during the measured game if it was too small.
+     */
+    private static final int WARM_UP_TURNS = 100;
+    /** Number of turns in the measured game. */
+    private static final int MEASURED_TURNS = 500;
+    /** Number of ticks between each pause. */
+    private static final int PAUSE_INTERVAL = 1000;
+    /** Number of seconds the player takes to react to each ball, short enough to finish every turn in time. */
+    private static final float REACTION_TIME = 0.05f;
+    /** Speed the player flicks each ball at, in pixels per second. */
+    private static final float FLICK_SPEED = SCREEN_HEIGHT * 4f;
+    /** Maximum number of ticks to play in each game, in case the player stops earning turns. */
+    private static final int MAXIMUM_TICKS = 2000000;
+
+    /** Owns the texture atlas. */
+    private static AssetManager sAssetManager;
+    /** Textures of the game manager. */
+    private static TextureManager sTextureManager;
+    /** Font for the score, in place of the game's font. */
+    private static BitmapFont sFont;
+
+    /** State of the game, as {@code GameScreen} would track it. */
+    private GameScreen.GameState mGameState;
+    /** State of the game before it was paused. */
+    private GameScreen.GameState mPausedState;
+
+    /** Tracks the state of the game, as {@code GameScreen} would. */
+    private final GameManager.GameCallback mGameCallback = new GameManager.GameCallback() {
+        @Override
+        public void startGame() {
+            mGameState = GameScreen.GameState.GamePlaying;
+        }
+
+        @Override
+        public void pauseGame() {
+            mPausedState = mGameState;
+            mGameState = GameScreen.GameState.GamePaused;
+        }
+
+        @Override
+        public void ballReleased() {
+            // does nothing
+        }
+
+        @Override
+        public void endGame(int finalScore) {
+            mGameState = GameScreen.GameState.Ended;
+        }
+    };
+
+    /**
+     * Starts libGDX and loads the textures of the game manager.
+     */
+    @BeforeClass
+    public static void loadTextures() {
+        HeadlessBackend.start();
+        sAssetManager = HeadlessBackend.loadTextureAtlas();
+        sTextureManager = new TextureManager(sAssetManager);
+        sFont = new BitmapFont();
+        FontManager.initialize(sFont);
+    }
+
+    /**
+     * Frees the textures of the game manager.
+     */
+    @AfterClass
+    public static void disposeTextures() {
+        sTextureManager.dispose();
+        sAssetManager.dispose();
+        FontManager.dispose();
+        sFont.dispose();
+    }
+
+    /**
+     * Plays many short games to warm up, then checks that no bytes were allocated while playing a longer one.
+     */
+    @Test
+    public void playingTurnsDoesNotAllocate() {
+        final com.sun.management.ThreadMXBean threads = getThreadMXBean();
+
+        final InputRecorder inputRecorder = new InputRecorder();
+        final GameInputProcessor gameInput = new GameInputProcessor(SCREEN_HEIGHT);
+        gameInput.setInputRecorder(inputRecorder);
+        final GameManager gameManager = new GameManager(mGameCallback,
+                sTextureManager,
+                inputRecorder,
+                SCREEN_WIDTH,
+                SCREEN_HEIGHT);
+        gameManager.setReplayFile(null);
+        final TouchPlayer player = new TouchPlayer(new SyntheticPlayer(REACTION_TIME, 0f, 1f, FLICK_SPEED,
+                new Random(SEED)), gameInput, SCREEN_HEIGHT);
+
+        for (int game = 0; game < WARM_UP_GAMES; game++)
+            playGame(gameManager, gameInput, player, threads, WARM_UP_TURNS);
+
+        assertEquals("bytes allocated while playing",
+                0,
+                playGame(gameManager, gameInput, player, threads, MEASURED_TURNS));
+        gameManager.dispose();
+    }
+
+    /**
+     * Plays a new game through the game manager, pausing it from the pause button and resuming it periodically, and
+     * counts the bytes allocated while it was played.
+     *
+     * @param gameManager the game manager
+     * @param gameInput receives the touch events
+     * @param player the player of the game
+     * @param threads thread bean to measure allocation with
+     * @param turns number of turns to play
+     * @return number of bytes allocated while playing
+     */
+    private long playGame(GameManager gameManager,
+                          GameInputProcessor gameInput,
+                          TouchPlayer player,
+                          com.sun.management.ThreadMXBean threads,
+                          int turns) {
+        final GameSimulation simulation = gameManager.getSimulation();
+        final int pauseButtonSize = (int) (Math.min(SCREEN_WIDTH, SCREEN_HEIGHT) * 0.15f);
+        final long threadId = Thread.currentThread().getId();
+
+        // Starting a new game is not part of the tick and turn cycle, so it is not measured
+        gameManager.prepareNewGame();
+        mGameState = GameScreen.GameState.GameStarting;
+        int pauses = 0;
+
+        final long before = threads.getThreadAllocatedBytes(threadId);
+        for (int tick = 1; tick < MAXIMUM_TICKS && mGameState != GameScreen.GameState.Ended
+                && simulation.getTotalTurns() < turns; tick++) {
+            if (tick % PAUSE_INTERVAL == 0 && !player.isFingerDown()) {
+                player.tap(pauseButtonSize / 2, SCREEN_HEIGHT - pauseButtonSize / 2, TouchPlayer.PLAYER_POINTER);
+                gameManager.tick(mGameState, gameInput, GameSimulation.TIME_STEP);
+                gameInput.tick();
+                if (mGameState == GameScreen.GameState.GamePaused)
+                    pauses++;
+
+                gameManager.resumeGame(gameInput);
+                mGameState = mPausedState;
+                continue;
+            }
+
+            player.think(simulation, GameSimulation.TIME_STEP);
+            gameManager.tick(mGameState, gameInput, GameSimulation.TIME_STEP);
+            gameInput.tick();
+        }
+        final long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals("turns played", turns, simulation.getTotalTurns());
+        assertTrue("game was paused", pauses > 0);
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the thread bean with allocation counters, skipping the test if the virtual machine does not provide them.
+     *
+     * @return the thread bean
+     */
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
@@ -0,0 +1,209 @@
+package ca.josephroque.swip.manager;
+
+import ca.josephroque.swip.entity.GameBall;
+import ca.josephroque.swip.game.GameReplay;
+import ca.josephroque.swip.game.GameSimulation;
+import ca.josephroque.swip.game.SyntheticPlayer;
+import ca.josephroque.swip.input.GameInputProcessor;
+import ca.josephroque.swip.input.InputRecorder;
+import ca.josephroque.swip.input.InputRecording;
+import ca.josephroque.swip.screen.GameScreen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a game played through the game manager is replayed exactly from its recording, even when it is paused.
+ */
+public class GameManagerReplayTest {
+
+    /** Width of the screen the game is played on. */
+    private static final int SCREEN_WIDTH = 1080;
+    /** Height of the screen the game is played on. */
+    private static final int SCREEN_HEIGHT = 1920;
+    /** Seed of the player. */
+    private static final long SEED = 4L;
+    /** Number of ticks between each pause. */
+    private static final int PAUSE_INTERVAL = 150;
+    /** Minimum number of pauses the game must include for the test to be meaningful. */
+    private static final int MINIMUM_PAUSES = 4;
+    /** Pointer of a finger which is held on the ball while the game is paused, and lifted once it resumes. */
+    private static final int HELD_POINTER = 1;
+    /** Maximum number of ticks to play, in case the game does not end. */
+    private static final int MAXIMUM_TICKS = 1000000;
+
+    /** Owns the texture atlas. */
+    private static AssetManager sAssetManager;
+    /** Textures of the game manager. */
+    private static TextureManager sTextureManager;
+    /** Font for the score, in place of the game's font. */
+    private static BitmapFont sFont;
+
+    /** State of the game, as {@code GameScreen} would track it. */
+    private GameScreen.GameState mGameState;
+    /** State of the game before it was paused. */
+    private GameScreen.GameState mPausedState;
+    /** Final score of the game, once it has ended. */
+    private int mFinalScore = -1;
+
+    /** Tracks the state of the game, as {@code GameScreen} would. */
+    private final GameManager.GameCallback mGameCallback = new GameManager.GameCallback() {
+        @Override
+        public void startGame() {
+            mGameState = GameScreen.GameState.GamePlaying;
+        }
+
+        @Override
+        public void pauseGame() {
+            mPausedState = mGameState;
+            mGameState = GameScreen.GameState.GamePaused;
+        }
+
+        @Override
+        public void ballReleased() {
+            // does nothing
+        }
+
+        @Override
+        public void endGame(int finalScore) {
+            mFinalScore = finalScore;
+            mGameState = GameScreen.GameState.Ended;
+        }
+    };
+
+    /**
+     * Starts libGDX and loads the textures of the game manager.
+     */
+    @BeforeClass
+    public static void loadTextures() {
+        HeadlessBackend.start();
+        sAssetManager = HeadlessBackend.loadTextureAtlas();
+        sTextureManager = new TextureManager(sAssetManager);
+        sFont = new BitmapFont();
+        FontManager.initialize(sFont);
+    }
+
+    /**
+     * Frees the textures of the game manager.
+     */
+    @AfterClass
+    public static void disposeTextures() {
+        sTextureManager.dispose();
+        sAssetManager.dispose();
+        FontManager.dispose();
+        sFont.dispose();
+    }
+
+    /**
+     * Plays a game which is paused from the pause button and by the application, with touches during each pause and a
+     * finger held through each resume, then checks that its replay steps as many times and ends with the same score.
+     */
+    @Test
+    public void replayOfPausedGameMatchesGame() {
+        final InputRecorder inputRecorder = new InputRecorder();
+        final GameInputProcessor gameInput = new GameInputProcessor(SCREEN_HEIGHT);
+        gameInput.setInputRecorder(inputRecorder);
+        final GameManager gameManager = new GameManager(mGameCallback,
+                sTextureManager,
+                inputRecorder,
+                SCREEN_WIDTH,
+                SCREEN_HEIGHT);
+        gameManager.setReplayFile(null);
+        final GameSimulation simulation = gameManager.getSimulation();
+        final TouchPlayer player = new TouchPlayer(new SyntheticPlayer(0.3f, 0.1f, 1f, 5000f, new Random(SEED)),
+                gameInput,
+                SCREEN_HEIGHT);
+
+        gameManager.prepareNewGame();
+        mGameState = GameScreen.GameState.GameStarting;
+        int steps = 0;
+        int pauses = 0;
+        for (int tick = 1; tick < MAXIMUM_TICKS && mGameState != GameScreen.GameState.Ended; tick++) {
+            if (tick % PAUSE_INTERVAL == 0 && !player.isFingerDown()) {
+                if (pauses % 2 == 0)
+                    pauseFromButton(gameManager, gameInput, player);
+                else
+                    pauseFromApplication(gameManager, gameInput, player);
+                touchWhilePaused(gameManager, gameInput, player);
+                pauses++;
+                continue;
+            }
+
+            player.think(simulation, GameSimulation.TIME_STEP);
+            gameManager.tick(mGameState, gameInput, GameSimulation.TIME_STEP);
+            gameInput.tick();
+            steps++;
+        }
+
+        assertEquals("game state", GameScreen.GameState.Ended, mGameState);
+        assertTrue("game was paused " + pauses + " times", pauses >= MINIMUM_PAUSES);
+
+        final GameReplay replay = new GameReplay(new InputRecording(inputRecorder.toByteArray()));
+        replay.run();
+        assertEquals("replayed steps", steps, replay.getSteps());
+        assertEquals("recorded score", mFinalScore, replay.getRecordedScore());
+        assertEquals("replayed score", mFinalScore, replay.getReplayedScore());
+        gameManager.dispose();
+    }
+
+    /**
+     * Taps the pause button, and checks that the game manager paused the game without stepping it.
+     *
+     * @param gameManager the game manager
+     * @param gameInput receives the touch events
+     * @param player the player of the game
+     */
+    private void pauseFromButton(GameManager gameManager, GameInputProcessor gameInput, TouchPlayer player) {
+        final int pauseButtonSize = (int) (Math.min(SCREEN_WIDTH, SCREEN_HEIGHT) * 0.15f);
+        player.tap(pauseButtonSize / 2, SCREEN_HEIGHT - pauseButtonSize / 2, TouchPlayer.PLAYER_POINTER);
+        gameManager.tick(mGameState, gameInput, GameSimulation.TIME_STEP);
+        gameInput.tick();
+        assertEquals("game state after tapping pause", GameScreen.GameState.GamePaused, mGameState);
+    }
+
+    /**
+     * Pauses the game as {@code GameScreen} does when the application is paused, after a touch which no tick consumed.
+     *
+     * @param gameManager the game manager
+     * @param gameInput receives the touch events
+     * @param player the player of the game
+     */
+    private void pauseFromApplication(GameManager gameManager, GameInputProcessor gameInput, TouchPlayer player) {
+        player.tap(SCREEN_WIDTH / 2, SCREEN_HEIGHT / 2, TouchPlayer.PLAYER_POINTER);
+        gameManager.pauseGame();
+        mPausedState = mGameState;
+        mGameState = GameScreen.GameState.GamePaused;
+    }
+
+    /**
+     * Holds a finger on the ball and taps the menu while the game is paused, then resumes the game, as the pause menu
+     * would, and lifts the held finger after flicking it.
+     *
+     * @param gameManager the game manager
+     * @param gameInput receives the touch events
+     * @param player the player of the game
+     */
+    private void touchWhilePaused(GameManager gameManager, GameInputProcessor gameInput, TouchPlayer player) {
+        final GameBall ball = gameManager.getSimulation().getGameBall();
+        final int ballX = (ball != null) ? (int) ball.getX() : SCREEN_WIDTH / 2;
+        final int ballY = SCREEN_HEIGHT - ((ball != null) ? (int) ball.getY() : SCREEN_HEIGHT / 2);
+        gameInput.touchDownAt(ballX, ballY, HELD_POINTER, player.getTime());
+        gameInput.tick();
+        player.tap(SCREEN_WIDTH / 2, SCREEN_HEIGHT / 4, TouchPlayer.PLAYER_POINTER);
+        gameInput.tick();
+
+        gameManager.resumeGame(gameInput);
+        mGameState = mPausedState;
+        gameInput.tick();
+
+        gameInput.touchDraggedAt(ballX + SCREEN_WIDTH / 4, ballY, HELD_POINTER, player.getTime() + 1);
+        gameInput.touchUpAt(ballX + SCREEN_WIDTH / 2, ballY, HELD_POINTER, player.getTime() + 2);
+    }
+}
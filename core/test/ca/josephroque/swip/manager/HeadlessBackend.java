@@ -0,0 +1,108 @@
+package ca.josephroque.swip.manager;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * Starts libGDX without a window, so managers which load assets can be created by tests and benchmarks. OpenGL calls
+ * are ignored, so textures are decoded but never uploaded, and shaders always report that they compiled.
+ */
+public final class HeadlessBackend {
+
+    /** Indicates if the backend has been started. */
+    private static boolean sStarted;
+
+    /**
+     * Default constructor, cannot be instantiated.
+     */
+    private HeadlessBackend() {
+        // does nothing
+    }
+
+    /**
+     * Starts the backend, if it has not been started already. Assets are loaded relative to the working directory.
+     */
+    public static synchronized void start() {
+        if (sStarted)
+            return;
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        new HeadlessApplication(new ApplicationAdapter() { }, config);
+
+        Gdx.gl20 = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(),
+                new Class<?>[]{GL20.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        return invokeIgnored(method, args);
+                    }
+                });
+        Gdx.gl = Gdx.gl20;
+        sStarted = true;
+    }
+
+    /**
+     * Loads the texture atlas, so a {@code TextureManager} can be created. The backend must be started.
+     *
+     * @return asset manager which owns the atlas. Should be disposed once the test or benchmark is finished
+     */
+    public static AssetManager loadTextureAtlas() {
+        AssetManager assetManager = new AssetManager();
+        assetManager.setLoader(AtlasIndex.class, new AtlasIndexLoader(new InternalFileHandleResolver()));
+        assetManager.load(TextureManager.ATLAS_INDEX_FILE, AtlasIndex.class);
+        assetManager.finishLoading();
+        return assetManager;
+    }
+
+    /**
+     * Handles an ignored OpenGL call. Shaders and programs are created and compiled successfully, so a
+     * {@code ShaderProgram} can be created.
+     *
+     * @param method the call
+     * @param args arguments of the call
+     * @return value returned by the call
+     */
+    private static Object invokeIgnored(Method method, Object[] args) {
+        switch (method.getName()) {
+            case "glCreateShader":
+            case "glCreateProgram":
+                return 1;
+            case "glGetShaderiv":
+            case "glGetProgramiv":
+                final int parameter = (Integer) args[1];
+                if (parameter == GL20.GL_COMPILE_STATUS || parameter == GL20.GL_LINK_STATUS)
+                    ((IntBuffer) args[2]).put(0, GL20.GL_TRUE);
+                return null;
+            default:
+                return getDefaultValue(method.getReturnType());
+        }
+    }
+
+    /**
+     * Gets the value returned by an ignored OpenGL call.
+     *
+     * @param type return type of the call
+     * @return zero for numeric types, {@code false} for booleans, otherwise {@code null}
+     */
+    private static Object getDefaultValue(Class<?> type) {
+        if (type == int.class)
+            return 0;
+        else if (type == boolean.class)
+            return false;
+        else if (type == float.class)
+            return 0f;
+        else if (type == long.class)
+            return 0L;
+        return null;
+    }
+}
@@ -0,0 +1,112 @@
+package ca.josephroque.swip.manager;
+
+import ca.josephroque.swip.game.GameSimulation;
+import ca.josephroque.swip.game.SyntheticPlayer;
+import ca.josephroque.swip.input.GameInputProcessor;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Plays a game through an input processor by turning the decisions of a {@code SyntheticPlayer} into touch events, so
+ * the game sees the same input it would from a person. Does not allocate.
+ */
+final class TouchPlayer {
+
+    /** Pointer of the finger the player touches the ball with. */
+    static final int PLAYER_POINTER = 0;
+    /** Number of nanoseconds in a second. */
+    private static final float NANOS_PER_SECOND = 1000000000f;
+
+    /** Decides when to touch and flick the ball. */
+    private final SyntheticPlayer mPlayer;
+    /** Receives the touch events. */
+    private final GameInputProcessor mGameInput;
+    /** Height of the screen, to convert locations so the origin is the top of the screen. */
+    private final int mScreenHeight;
+
+    /** Indicates if the player's finger is on the screen. */
+    private boolean mFingerDown;
+    /** X location the player's finger was placed at, with the origin at the left of the screen. */
+    private int mFingerDownX;
+    /** Y location the player's finger was placed at, with the origin at the top of the screen. */
+    private int mFingerDownY;
+    /** Time the player's finger was placed on the screen, in nanoseconds. */
+    private long mFingerDownTime;
+    /** Time of the current step, in nanoseconds. */
+    private long mTime;
+
+    /**
+     * Creates a player which touches the screen through an input processor.
+     *
+     * @param player decides when to touch and flick the ball
+     * @param gameInput receives the touch events
+     * @param screenHeight height of the screen
+     */
+    TouchPlayer(SyntheticPlayer player, GameInputProcessor gameInput, int screenHeight) {
+        mPlayer = player;
+        mGameInput = gameInput;
+        mScreenHeight = screenHeight;
+    }
+
+    /**
+     * Decides what the player will do in the next step of the game, and sends the touch events for it. Should be
+     * called before each step.
+     *
+     * @param simulation the game being played
+     * @param delta number of seconds the next step will simulate
+     */
+    void think(GameSimulation simulation, float delta) {
+        mTime += (long) (delta * NANOS_PER_SECOND);
+        mPlayer.think(simulation, delta);
+
+        if (mPlayer.isFingerDown() && !mFingerDown) {
+            mFingerDown = true;
+            mFingerDownX = mPlayer.getLastFingerX();
+            mFingerDownY = mScreenHeight - mPlayer.getLastFingerY();
+            mFingerDownTime = mTime;
+            mGameInput.touchDownAt(mFingerDownX, mFingerDownY, PLAYER_POINTER, mTime);
+        } else if (!mPlayer.isFingerDown() && mFingerDown) {
+            // The finger moves at the flick velocity from where it was placed, with one location half way
+            final Vector2 velocity = mPlayer.calculateFingerDragVelocity();
+            final float seconds = (mTime - mFingerDownTime) / NANOS_PER_SECOND;
+            mGameInput.touchDraggedAt(mFingerDownX + (int) (velocity.x * seconds / 2),
+                    mFingerDownY - (int) (velocity.y * seconds / 2),
+                    PLAYER_POINTER,
+                    mFingerDownTime + (mTime - mFingerDownTime) / 2);
+            mGameInput.touchUpAt(mFingerDownX + (int) (velocity.x * seconds),
+                    mFingerDownY - (int) (velocity.y * seconds),
+                    PLAYER_POINTER,
+                    mTime);
+            mFingerDown = false;
+        }
+    }
+
+    /**
+     * Taps the screen at a location, with the origin at the bottom left of the screen.
+     *
+     * @param x x location of the tap
+     * @param y y location of the tap
+     * @param pointer finger which taps
+     */
+    void tap(int x, int y, int pointer) {
+        mGameInput.touchDownAt(x, mScreenHeight - y, pointer, mTime);
+        mGameInput.touchUpAt(x, mScreenHeight - y, pointer, mTime);
+    }
+
+    /**
+     * Checks if the player's finger is on the screen.
+     *
+     * @return {@code mFingerDown}
+     */
+    boolean isFingerDown() {
+        return mFingerDown;
+    }
+
+    /**
+     * Gets the time of the current step.
+     *
+     * @return time in nanoseconds
+     */
+    long getTime() {
+        return mTime;
+    }
+}
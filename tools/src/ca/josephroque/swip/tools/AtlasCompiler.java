@@ -0,0 +1,403 @@
+package ca.josephroque.swip.tools;
+
+import ca.josephroque.swip.manager.AtlasIndex;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line tool which packs the regions of the sprite sheets into a single texture atlas, and writes a binary
+ * index of the regions for {@code TextureManager}. The regions to pack are listed in {@code atlas.txt} in the sprites
+ * directory, which names each group of regions, the file which defines its regions and the sprite sheet they are cut
+ * from.
+ *
+ * <p>Regions are packed along a skyline, tallest first, with their edge pixels extruded into the padding between them so
+ * filtering never samples a neighbouring region. Regions with the same location in the same sheet are only packed
+ * once.</p>
+ */
+public final class AtlasCompiler {
+
+    /** Empty pixels between regions, including the extruded edge. */
+    private static final int PADDING = 2;
+    /** Number of pixels each region's edge is copied outwards. */
+    private static final int EXTRUDE = 1;
+    /** Smallest width of the atlas which is tried. */
+    private static final int MINIMUM_SIZE = 256;
+
+    /** Directory containing {@code atlas.txt}, the region files and the sprite sheets. */
+    private final File mSpritesDirectory;
+    /** Largest width and height of the atlas. */
+    private final int mMaximumSize;
+
+    /** Regions of each group, in the order they are listed. */
+    private final Map<String, List<Region>> mGroups = new LinkedHashMap<>();
+    /** Unique regions to pack, by their sheet and location. */
+    private final Map<String, Sprite> mSprites = new LinkedHashMap<>();
+
+    /**
+     * Creates a new compiler.
+     *
+     * @param spritesDirectory directory containing {@code atlas.txt}
+     * @param maximumSize largest width and height of the atlas
+     */
+    private AtlasCompiler(File spritesDirectory, int maximumSize) {
+        mSpritesDirectory = spritesDirectory;
+        mMaximumSize = maximumSize;
+    }
+
+    /**
+     * Runs the compiler.
+     *
+     * @param args pairs of {@code --option value}. {@code --sprites} is the directory containing {@code atlas.txt},
+     * {@code --output} is the directory to write the atlas to, {@code --name} is the file name of the atlas without
+     * an extension and {@code --max-size} is the largest width and height of the atlas.
+     * @throws IOException if the sprites cannot be read or the atlas cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length)
+                throw new IllegalArgumentException("expected --option value, found " + args[i]);
+            options.put(args[i].substring(2), args[++i]);
+        }
+
+        final File spritesDirectory = new File(getOption(options, "sprites", "sprites"));
+        final File outputDirectory = new File(getOption(options, "output", "atlas"));
+        final String name = getOption(options, "name", "swip");
+        final int maximumSize = Integer.parseInt(getOption(options, "max-size", "2048"));
+
+        AtlasCompiler compiler = new AtlasCompiler(spritesDirectory, maximumSize);
+        compiler.loadRegions();
+        compiler.write(outputDirectory, name);
+    }
+
+    /**
+     * Gets the value of an option.
+     *
+     * @param options options and their values
+     * @param name name of the option
+     * @param defaultValue value if the option was not provided
+     * @return the value of the option
+     */
+    private static String getOption(Map<String, String> options, String name, String defaultValue) {
+        return options.containsKey(name) ? options.get(name) : defaultValue;
+    }
+
+    /**
+     * Reads {@code atlas.txt}, then the regions of each group listed in it.
+     *
+     * @throws IOException if a file cannot be read
+     */
+    private void loadRegions() throws IOException {
+        Map<String, BufferedImage> sheets = new HashMap<>();
+        for (String[] entry : readTable(new File(mSpritesDirectory, "atlas.txt"))) {
+            if (entry.length != 3)
+                throw new IllegalArgumentException("expected group, regions and sheet, found " + entry.length + " values");
+
+            final String groupName = entry[0];
+            final String sheetName = entry[2];
+            if (!sheets.containsKey(sheetName))
+                sheets.put(sheetName, ImageIO.read(new File(mSpritesDirectory, sheetName)));
+            final BufferedImage sheet = sheets.get(sheetName);
+            if (sheet == null)
+                throw new IOException("unable to read " + sheetName);
+
+            List<Region> regions = new ArrayList<>();
+            for (String[] line : readTable(new File(mSpritesDirectory, entry[1]))) {
+                // Regions without a name are named by their index
+                final int offset = line.length - 4;
+                if (offset != 0 && offset != 1)
+                    throw new IllegalArgumentException("expected [name] x y width height in " + entry[1]);
+
+                final String regionName = (offset == 0) ? Integer.toString(regions.size()) : line[0];
+                final int x = Integer.parseInt(line[offset]);
+                final int y = Integer.parseInt(line[offset + 1]);
+                final int width = Integer.parseInt(line[offset + 2]);
+                final int height = Integer.parseInt(line[offset + 3]);
+                if (x < 0 || y < 0 || width <= 0 || height <= 0
+                        || x + width > sheet.getWidth() || y + height > sheet.getHeight())
+                    throw new IllegalArgumentException(regionName + " in " + entry[1] + " is outside " + sheetName);
+
+                final String spriteKey = sheetName + ':' + x + ',' + y + ',' + width + ',' + height;
+                Sprite sprite = mSprites.get(spriteKey);
+                if (sprite == null) {
+                    sprite = new Sprite(sheet.getSubimage(x, y, width, height));
+                    mSprites.put(spriteKey, sprite);
+                }
+                regions.add(new Region(regionName, sprite));
+            }
+
+            if (mGroups.put(groupName, regions) != null)
+                throw new IllegalArgumentException("group " + groupName + " is listed twice");
+        }
+    }
+
+    /**
+     * Reads a file of whitespace separated values, ignoring empty lines and lines starting with {@code #}.
+     *
+     * @param file file to read
+     * @return the values on each line
+     * @throws IOException if the file cannot be read
+     */
+    private static List<String[]> readTable(File file) throws IOException {
+        List<String[]> table = new ArrayList<>();
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.length() > 0 && line.charAt(0) != '#')
+                table.add(line.split("\\s+"));
+        }
+        return table;
+    }
+
+    /**
+     * Packs the regions and writes the atlas image and index.
+     *
+     * @param outputDirectory directory to write to
+     * @param name file name of the atlas, without an extension
+     * @throws IOException if the atlas cannot be written
+     */
+    private void write(File outputDirectory, String name) throws IOException {
+        List<Sprite> sprites = new ArrayList<>(mSprites.values());
+        Collections.sort(sprites, new Comparator<Sprite>() {
+            @Override
+            public int compare(Sprite first, Sprite second) {
+                if (first.getHeight() != second.getHeight())
+                    return second.getHeight() - first.getHeight();
+                return second.getWidth() - first.getWidth();
+            }
+        });
+
+        // Chooses the smallest power of two atlas the regions fit in
+        int bestWidth = 0;
+        int bestHeight = 0;
+        for (int width = MINIMUM_SIZE; width <= mMaximumSize; width *= 2) {
+            final int height = pack(sprites, width);
+            if (height > 0 && height <= mMaximumSize
+                    && (bestWidth == 0 || (long) width * height < (long) bestWidth * bestHeight)) {
+                bestWidth = width;
+                bestHeight = height;
+            }
+        }
+        if (bestWidth == 0)
+            throw new IllegalStateException("regions do not fit in a " + mMaximumSize + " pixel atlas");
+        pack(sprites, bestWidth);
+
+        BufferedImage atlas = new BufferedImage(bestWidth, bestHeight, BufferedImage.TYPE_INT_ARGB);
+        for (Sprite sprite : sprites)
+            sprite.drawTo(atlas);
+
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs())
+            throw new IOException("unable to create " + outputDirectory);
+        final String imageName = name + ".png";
+        ImageIO.write(atlas, "png", new File(outputDirectory, imageName));
+        writeIndex(new File(outputDirectory, name + ".regions"), imageName);
+
+        System.out.println(String.format("Packed %d regions from %d groups into a %dx%d atlas",
+                sprites.size(),
+                mGroups.size(),
+                bestWidth,
+                bestHeight));
+    }
+
+    /**
+     * Places the sprites in an atlas of a fixed width. Each sprite is placed where its bottom edge is highest, by
+     * tracking the skyline formed by the bottom edges of the sprites which have been placed so far.
+     *
+     * @param sprites sprites to place, tallest first
+     * @param width width of the atlas
+     * @return power of two height of the atlas, or -1 if a sprite is wider than the atlas
+     */
+    private static int pack(List<Sprite> sprites, int width) {
+        // Each segment of the skyline is {x, y, width}, ordered by x
+        List<int[]> skyline = new ArrayList<>();
+        skyline.add(new int[]{0, 0, width});
+        int usedHeight = 0;
+
+        for (Sprite sprite : sprites) {
+            final int paddedWidth = sprite.getWidth() + PADDING * 2;
+            final int paddedHeight = sprite.getHeight() + PADDING * 2;
+
+            int bestSegment = -1;
+            int bestY = Integer.MAX_VALUE;
+            for (int i = 0; i < skyline.size(); i++) {
+                final int y = getFittingY(skyline, i, paddedWidth);
+                if (y >= 0 && y < bestY) {
+                    bestSegment = i;
+                    bestY = y;
+                }
+            }
+            if (bestSegment == -1)
+                return -1;
+
+            final int x = skyline.get(bestSegment)[0];
+            sprite.mAtlasX = x + PADDING;
+            sprite.mAtlasY = bestY + PADDING;
+            usedHeight = Math.max(usedHeight, bestY + paddedHeight);
+
+            // Raises the skyline under the sprite
+            skyline.add(bestSegment, new int[]{x, bestY + paddedHeight, paddedWidth});
+            for (int i = bestSegment + 1; i < skyline.size(); i++) {
+                int[] segment = skyline.get(i);
+                final int overlap = x + paddedWidth - segment[0];
+                if (overlap <= 0)
+                    break;
+                if (overlap < segment[2]) {
+                    segment[0] += overlap;
+                    segment[2] -= overlap;
+                    break;
+                }
+                skyline.remove(i--);
+            }
+            for (int i = 0; i < skyline.size() - 1; i++) {
+                if (skyline.get(i)[1] == skyline.get(i + 1)[1]) {
+                    skyline.get(i)[2] += skyline.get(i + 1)[2];
+                    skyline.remove(i-- + 1);
+                }
+            }
+        }
+
+        int height = MINIMUM_SIZE;
+        while (height < usedHeight)
+            height *= 2;
+        return height;
+    }
+
+    /**
+     * Finds the height a sprite would be placed at if its left edge is at the start of a segment of the skyline.
+     *
+     * @param skyline segments of the skyline
+     * @param segment index of the segment
+     * @param width width of the sprite
+     * @return the highest point of the skyline under the sprite, or -1 if the sprite would extend past the atlas
+     */
+    private static int getFittingY(List<int[]> skyline, int segment, int width) {
+        int remainingWidth = width;
+        int y = 0;
+        for (int i = segment; i < skyline.size() && remainingWidth > 0; i++) {
+            y = Math.max(y, skyline.get(i)[1]);
+            remainingWidth -= skyline.get(i)[2];
+        }
+
+        return (remainingWidth > 0) ? -1 : y;
+    }
+
+    /**
+     * Writes the location of every region in the atlas. See {@code AtlasIndex} for the format.
+     *
+     * @param file file to write
+     * @param imageName file name of the atlas image
+     * @throws IOException if the index cannot be written
+     */
+    private void writeIndex(File file, String imageName) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(AtlasIndex.MAGIC);
+            output.writeShort(AtlasIndex.VERSION);
+            output.writeUTF(imageName);
+            output.writeShort(mGroups.size());
+            for (Map.Entry<String, List<Region>> group : mGroups.entrySet()) {
+                output.writeUTF(group.getKey());
+                output.writeShort(group.getValue().size());
+                for (Region region : group.getValue()) {
+                    output.writeUTF(region.mName);
+                    output.writeShort(region.mSprite.mAtlasX);
+                    output.writeShort(region.mSprite.mAtlasY);
+                    output.writeShort(region.mSprite.getWidth());
+                    output.writeShort(region.mSprite.getHeight());
+                }
+            }
+        }
+    }
+
+    /**
+     * A named region of a group.
+     */
+    private static final class Region {
+
+        /** Name of the region in its group. */
+        private final String mName;
+        /** Image of the region. */
+        private final Sprite mSprite;
+
+        /**
+         * Creates a new region.
+         *
+         * @param name name of the region in its group
+         * @param sprite image of the region
+         */
+        private Region(String name, Sprite sprite) {
+            mName = name;
+            mSprite = sprite;
+        }
+    }
+
+    /**
+     * An image cut from a sprite sheet, and its location in the atlas.
+     */
+    private static final class Sprite {
+
+        /** Pixels of the sprite. */
+        private final BufferedImage mImage;
+        /** Left edge of the sprite in the atlas. */
+        private int mAtlasX;
+        /** Top edge of the sprite in the atlas. */
+        private int mAtlasY;
+
+        /**
+         * Creates a new sprite.
+         *
+         * @param image pixels of the sprite
+         */
+        private Sprite(BufferedImage image) {
+            mImage = image;
+        }
+
+        /**
+         * Gets the width of the sprite.
+         *
+         * @return width in pixels
+         */
+        private int getWidth() {
+            return mImage.getWidth();
+        }
+
+        /**
+         * Gets the height of the sprite.
+         *
+         * @return height in pixels
+         */
+        private int getHeight() {
+            return mImage.getHeight();
+        }
+
+        /**
+         * Copies the sprite to its location in the atlas, extruding its edge pixels outwards.
+         *
+         * @param atlas image of the atlas
+         */
+        private void drawTo(BufferedImage atlas) {
+            final int width = getWidth();
+            final int height = getHeight();
+            for (int y = -EXTRUDE; y < height + EXTRUDE; y++) {
+                for (int x = -EXTRUDE; x < width + EXTRUDE; x++) {
+                    final int sourceX = Math.max(0, Math.min(width - 1, x));
+                    final int sourceY = Math.max(0, Math.min(height - 1, y));
+                    atlas.setRGB(mAtlasX + x, mAtlasY + y, mImage.getRGB(sourceX, sourceY));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package ca.josephroque.swip.tools;
+
+import ca.josephroque.swip.game.Difficulty;
+import ca.josephroque.swip.game.GameSimulation;
+import ca.josephroque.swip.game.SyntheticPlayer;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Command line tool which plays many headless games with synthetic players, for every combination of a set of
+ * difficulty parameters, and writes the distribution of scores for each combination.
+ *
+ * <p>Each difficulty option accepts a comma separated list of values. For example, {@code --minimum-turn-length
+ * 0.3,0.4 --turns-before-decrement 5,10} evaluates four combinations. Options which are not provided use the game's
+ * default difficulty.</p>
+ */
+public final class DifficultyExplorer {
+
+    /** Number of games simulated by a single task before it is split further. */
+    private static final int GAMES_PER_TASK = 256;
+    /** Percentiles of the score distribution included in the report. */
+    private static final double[] REPORTED_PERCENTILES = {0.1, 0.25, 0.5, 0.75, 0.9, 0.99};
+
+    /** Players used when {@code --players} is not provided. */
+    private static final String DEFAULT_PLAYERS = "novice:0.9:0.3:0.85:2500,"
+            + "casual:0.6:0.2:0.93:3500,"
+            + "expert:0.35:0.1:0.98:5000";
+
+    /** Options and their values. */
+    private final Map<String, String> mOptions;
+
+    /**
+     * Creates a new explorer from command line arguments.
+     *
+     * @param options options and their values
+     */
+    private DifficultyExplorer(Map<String, String> options) {
+        mOptions = options;
+    }
+
+    /**
+     * Runs the explorer.
+     *
+     * @param args pairs of {@code --option value}
+     * @throws IOException if the report cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length)
+                throw new IllegalArgumentException("expected --option value, found " + args[i]);
+            options.put(args[i].substring(2), args[++i]);
+        }
+
+        new DifficultyExplorer(options).explore();
+    }
+
+    /**
+     * Simulates games for every combination of parameters and writes the reports.
+     *
+     * @throws IOException if the report cannot be written
+     */
+    private void explore() throws IOException {
+        final int gamesPerCombination = Integer.parseInt(getOption("games", "10000"));
+        final int maximumScore = Integer.parseInt(getOption("max-turns", "1000"));
+        final long seed = Long.parseLong(getOption("seed", "0"));
+        final int threads = Integer.parseInt(getOption("threads",
+                Integer.toString(Runtime.getRuntime().availableProcessors())));
+        final int histogramBucket = Integer.parseInt(getOption("histogram-bucket", "5"));
+        final String output = getOption("output", "difficulty-report.csv");
+        final String[] worldSize = getOption("world", "1080x1920").split("x");
+        final int worldWidth = Integer.parseInt(worldSize[0]);
+        final int worldHeight = Integer.parseInt(worldSize[1]);
+
+        final List<Difficulty> difficulties = buildDifficultyGrid();
+        final List<PlayerProfile> players = parsePlayers(getOption("players", DEFAULT_PLAYERS));
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long totalTurns = 0;
+        final long startTime = System.nanoTime();
+
+        try (PrintWriter report = new PrintWriter(new FileWriter(output));
+             PrintWriter histogram = new PrintWriter(new FileWriter(output.replace(".csv", "") + "-histogram.csv"))) {
+            report.print("combination,initial_turn_length,turn_length_decrement,turns_before_decrement,"
+                    + "minimum_turn_length,turns_before_new_color,turns_before_same_wall_colors,"
+                    + "chance_of_same_wall_color,player,games,turns,mean");
+            for (double percentile : REPORTED_PERCENTILES)
+                report.print(",p" + Math.round(percentile * 100));
+            report.println(",max,capped");
+            histogram.println("combination,player,score_from,score_to,games");
+
+            int combination = 0;
+            for (Difficulty difficulty : difficulties) {
+                for (PlayerProfile player : players) {
+                    SimulateGamesTask task = new SimulateGamesTask(difficulty,
+                            player,
+                            worldWidth,
+                            worldHeight,
+                            maximumScore,
+                            seed + combination * (long) gamesPerCombination,
+                            0,
+                            gamesPerCombination);
+                    ScoreDistribution distribution = pool.invoke(task);
+                    totalTurns += distribution.getTotalTurns();
+
+                    writeReportRow(report, combination, difficulty, player, distribution);
+                    writeHistogramRows(histogram, combination, player, distribution, histogramBucket);
+                    combination++;
+                }
+
+                final double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+                System.out.printf(Locale.US, "%d/%d combinations, %d turns, %.0f turns/s%n",
+                        combination,
+                        difficulties.size() * players.size(),
+                        totalTurns,
+                        totalTurns / elapsedSeconds);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Writes the summary of a single combination of difficulty and player.
+     *
+     * @param report destination of the summary
+     * @param combination index of the combination
+     * @param difficulty difficulty parameters
+     * @param player player parameters
+     * @param distribution scores of the simulated games
+     */
+    private static void writeReportRow(PrintWriter report,
+                                       int combination,
+                                       Difficulty difficulty,
+                                       PlayerProfile player,
+                                       ScoreDistribution distribution) {
+        report.printf(Locale.US, "%d,%s,%s,%d,%s,%d,%d,%s,%s,%d,%d,%.3f",
+                combination,
+                difficulty.getInitialTurnLength(),
+                difficulty.getTurnLengthDecrement(),
+                difficulty.getTurnsBeforeDecrement(),
+                difficulty.getMinimumTurnLength(),
+                difficulty.getTurnsBeforeNewColor(),
+                difficulty.getTurnsBeforeSameWallColors(),
+                difficulty.getChanceOfSameWallColor(),
+                player.mName,
+                distribution.getTotalGames(),
+                distribution.getTotalTurns(),
+                distribution.getMeanScore());
+        for (double percentile : REPORTED_PERCENTILES)
+            report.print("," + distribution.getScoreAtPercentile(percentile));
+        report.println("," + distribution.getMaximumScore() + "," + distribution.getCappedGames());
+        report.flush();
+    }
+
+    /**
+     * Writes the number of games in each range of scores for a single combination of difficulty and player.
+     *
+     * @param histogram destination of the histogram
+     * @param combination index of the combination
+     * @param player player parameters
+     * @param distribution scores of the simulated games
+     * @param bucketSize number of scores in each range
+     */
+    private static void writeHistogramRows(PrintWriter histogram,
+                                           int combination,
+                                           PlayerProfile player,
+                                           ScoreDistribution distribution,
+                                           int bucketSize) {
+        for (int from = 0; from <= distribution.getScoreLimit(); from += bucketSize) {
+            final int to = Math.min(from + bucketSize - 1, distribution.getScoreLimit());
+            long games = 0;
+            for (int score = from; score <= to; score++)
+                games += distribution.getGamesWithScore(score);
+            if (games > 0)
+                histogram.println(combination + "," + player.mName + "," + from + "," + to + "," + games);
+        }
+        histogram.flush();
+    }
+
+    /**
+     * Creates every combination of the difficulty values provided in the options.
+     *
+     * @return list of difficulties to evaluate
+     */
+    private List<Difficulty> buildDifficultyGrid() {
+        final Difficulty defaults = Difficulty.getDefault();
+        final float[] initialTurnLengths = getFloats("initial-turn-length", defaults.getInitialTurnLength());
+        final float[] turnLengthDecrements = getFloats("turn-length-decrement", defaults.getTurnLengthDecrement());
+        final int[] turnsBeforeDecrement = getInts("turns-before-decrement", defaults.getTurnsBeforeDecrement());
+        final float[] minimumTurnLengths = getFloats("minimum-turn-length", defaults.getMinimumTurnLength());
+        final int[] turnsBeforeNewColor = getInts("turns-before-new-color", defaults.getTurnsBeforeNewColor());
+        final int[] turnsBeforeSameColors = getInts("turns-before-same-wall-colors",
+                defaults.getTurnsBeforeSameWallColors());
+        final float[] chancesOfSameColor = getFloats("chance-of-same-wall-color",
+                defaults.getChanceOfSameWallColor());
+
+        List<Difficulty> difficulties = new ArrayList<>();
+        for (float initialTurnLength : initialTurnLengths)
+            for (float turnLengthDecrement : turnLengthDecrements)
+                for (int decrementTurns : turnsBeforeDecrement)
+                    for (float minimumTurnLength : minimumTurnLengths)
+                        for (int newColorTurns : turnsBeforeNewColor)
+                            for (int sameColorTurns : turnsBeforeSameColors)
+                                for (float chanceOfSameColor : chancesOfSameColor)
+                                    difficulties.add(new Difficulty(initialTurnLength,
+                                            turnLengthDecrement,
+                                            decrementTurns,
+                                            minimumTurnLength,
+                                            newColorTurns,
+                                            sameColorTurns,
+                                            chanceOfSameColor));
+        return difficulties;
+    }
+
+    /**
+     * Parses a list of players in the form {@code name:meanReaction:reactionDeviation:accuracy:flickSpeed}.
+     *
+     * @param players comma separated list of players
+     * @return the players
+     */
+    private static List<PlayerProfile> parsePlayers(String players) {
+        List<PlayerProfile> profiles = new ArrayList<>();
+        for (String player : players.split(",")) {
+            String[] properties = player.split(":");
+            if (properties.length != 5)
+                throw new IllegalArgumentException("invalid player " + player);
+            profiles.add(new PlayerProfile(properties[0],
+                    Float.parseFloat(properties[1]),
+                    Float.parseFloat(properties[2]),
+                    Float.parseFloat(properties[3]),
+                    Float.parseFloat(properties[4])));
+        }
+
+        return profiles;
+    }
+
+    /**
+     * Gets the value of an option.
+     *
+     * @param name name of the option
+     * @param defaultValue value if the option was not provided
+     * @return value of the option
+     */
+    private String getOption(String name, String defaultValue) {
+        final String value = mOptions.get(name);
+        return (value == null)
+                ? defaultValue
+                : value;
+    }
+
+    /**
+     * Gets the comma separated values of an option as floats.
+     *
+     * @param name name of the option
+     * @param defaultValue value if the option was not provided
+     * @return values of the option
+     */
+    private float[] getFloats(String name, float defaultValue) {
+        final String[] values = getOption(name, Float.toString(defaultValue)).split(",");
+        float[] parsed = new float[values.length];
+        for (int i = 0; i < values.length; i++)
+            parsed[i] = Float.parseFloat(values[i]);
+        return parsed;
+    }
+
+    /**
+     * Gets the comma separated values of an option as ints.
+     *
+     * @param name name of the option
+     * @param defaultValue value if the option was not provided
+     * @return values of the option
+     */
+    private int[] getInts(String name, int defaultValue) {
+        final String[] values = getOption(name, Integer.toString(defaultValue)).split(",");
+        int[] parsed = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+            parsed[i] = Integer.parseInt(values[i]);
+        return parsed;
+    }
+
+    /**
+     * Parameters of a synthetic player.
+     */
+    private static final class PlayerProfile {
+
+        /** Name of the player in reports. */
+        private final String mName;
+        /** Average number of seconds the player takes to react to a new ball. */
+        private final float mMeanReactionTime;
+        /** Standard deviation of the player's reaction time. */
+        private final float mReactionTimeDeviation;
+        /** Chance that the player flicks the ball towards a wall it can pass through. */
+        private final float mAccuracy;
+        /** Speed that the player flicks the ball at, in pixels per second. */
+        private final float mFlickSpeed;
+
+        /**
+         * Creates a new player profile.
+         *
+         * @param name name of the player in reports
+         * @param meanReactionTime average number of seconds the player takes to react to a new ball
+         * @param reactionTimeDeviation standard deviation of the player's reaction time
+         * @param accuracy chance that the player flicks the ball towards a wall it can pass through
+         * @param flickSpeed speed that the player flicks the ball at, in pixels per second
+         */
+        private PlayerProfile(String name,
+                              float meanReactionTime,
+                              float reactionTimeDeviation,
+                              float accuracy,
+                              float flickSpeed) {
+            mName = name;
+            mMeanReactionTime = meanReactionTime;
+            mReactionTimeDeviation = reactionTimeDeviation;
+            mAccuracy = accuracy;
+            mFlickSpeed = flickSpeed;
+        }
+    }
+
+    /**
+     * Simulates a range of games, splitting the range across threads when it is large.
+     */
+    private static final class SimulateGamesTask
+            extends RecursiveTask<ScoreDistribution> {
+
+        /** Identifies the serialized form of the task, since {@code RecursiveTask} is {@code Serializable}. */
+        private static final long serialVersionUID = 1L;
+
+        /** Difficulty of the games. */
+        private final Difficulty mDifficulty;
+        /** Player of the games. */
+        private final PlayerProfile mPlayer;
+        /** Width of the area the games are played in. */
+        private final int mWorldWidth;
+        /** Height of the area the games are played in. */
+        private final int mWorldHeight;
+        /** Score at which games are stopped. */
+        private final int mMaximumScore;
+        /** Seed of the first game in the combination, so results do not depend on how the range is split. */
+        private final long mSeed;
+        /** Index of the first game in the range. */
+        private final int mFirstGame;
+        /** Index after the last game in the range. */
+        private final int mLastGame;
+
+        /**
+         * Creates a task to simulate a range of games.
+         *
+         * @param difficulty difficulty of the games
+         * @param player player of the games
+         * @param worldWidth width of the area the games are played in
+         * @param worldHeight height of the area the games are played in
+         * @param maximumScore score at which games are stopped
+         * @param seed seed of the first game in the combination
+         * @param firstGame index of the first game in the range
+         * @param lastGame index after the last game in the range
+         */
+        private SimulateGamesTask(Difficulty difficulty,
+                                  PlayerProfile player,
+                                  int worldWidth,
+                                  int worldHeight,
+                                  int maximumScore,
+                                  long seed,
+                                  int firstGame,
+                                  int lastGame) {
+            mDifficulty = difficulty;
+            mPlayer = player;
+            mWorldWidth = worldWidth;
+            mWorldHeight = worldHeight;
+            mMaximumScore = maximumScore;
+            mSeed = seed;
+            mFirstGame = firstGame;
+            mLastGame = lastGame;
+        }
+
+        @Override
+        protected ScoreDistribution compute() {
+            if (mLastGame - mFirstGame > GAMES_PER_TASK) {
+                final int middle = (mFirstGame + mLastGame) >>> 1;
+                SimulateGamesTask first = createSubtask(mFirstGame, middle);
+                SimulateGamesTask second = createSubtask(middle, mLastGame);
+                first.fork();
+                ScoreDistribution distribution = second.compute();
+                distribution.merge(first.join());
+                return distribution;
+            }
+
+            return simulateGames();
+        }
+
+        /**
+         * Creates a task for part of this task's range.
+         *
+         * @param firstGame index of the first game in the range
+         * @param lastGame index after the last game in the range
+         * @return the new task
+         */
+        private SimulateGamesTask createSubtask(int firstGame, int lastGame) {
+            return new SimulateGamesTask(mDifficulty,
+                    mPlayer,
+                    mWorldWidth,
+                    mWorldHeight,
+                    mMaximumScore,
+                    mSeed,
+                    firstGame,
+                    lastGame);
+        }
+
+        /**
+         * Plays every game in the range on the current thread.
+         *
+         * @return scores of the games
+         */
+        private ScoreDistribution simulateGames() {
+            ScoreDistribution distribution = new ScoreDistribution(mMaximumScore);
+            Random random = new Random();
+            GameSimulation simulation = new GameSimulation(mWorldWidth, mWorldHeight, random, mDifficulty);
+            SyntheticPlayer player = new SyntheticPlayer(mPlayer.mMeanReactionTime,
+                    mPlayer.mReactionTimeDeviation,
+                    mPlayer.mAccuracy,
+                    mPlayer.mFlickSpeed,
+                    random);
+
+            for (int game = mFirstGame; game < mLastGame; game++) {
+                simulation.prepareNewGame(mSeed + game);
+                while (simulation.getPhase() != GameSimulation.Phase.Ended
+                        && simulation.getTotalTurns() < mMaximumScore) {
+                    player.think(simulation, GameSimulation.TIME_STEP);
+                    simulation.step(player, GameSimulation.TIME_STEP);
+                }
+
+                distribution.record(simulation.getTotalTurns());
+            }
+
+            return distribution;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ca.josephroque.swip.tools;
+
+import ca.josephroque.swip.game.GameReplay;
+import ca.josephroque.swip.input.InputRecording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Command line tool which replays recorded games as fast as possible and checks that each one ends with the score
+ * that was recorded. Exits with a non-zero status if any replay does not match its recording, so it can be used as a
+ * regression check after changes to the game's rules.
+ */
+public final class ReplayVerifier {
+
+    /**
+     * Default constructor, cannot be instantiated.
+     */
+    private ReplayVerifier() {
+        // does nothing
+    }
+
+    /**
+     * Replays each recording.
+     *
+     * @param args paths of the recordings to replay
+     * @throws IOException if a recording cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0)
+            throw new IllegalArgumentException("expected one or more recordings");
+
+        int mismatches = 0;
+        for (String path : args) {
+            final InputRecording recording = new InputRecording(Files.readAllBytes(Paths.get(path)));
+            final GameReplay replay = new GameReplay(recording);
+
+            final long startTime = System.nanoTime();
+            replay.run();
+            final double elapsedMillis = (System.nanoTime() - startTime) / 1e6;
+
+            final boolean matches = replay.matchesRecording();
+            if (!matches)
+                mismatches++;
+            System.out.println(String.format(Locale.US,
+                    "%s: %s recorded=%d replayed=%d steps=%d time=%.2fms",
+                    path,
+                    matches ? "OK" : "MISMATCH",
+                    replay.getRecordedScore(),
+                    replay.getReplayedScore(),
+                    replay.getSteps(),
+                    elapsedMillis));
+        }
+
+        if (mismatches > 0) {
+            System.err.println(mismatches + " of " + args.length + " replays did not match");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ca.josephroque.swip.tools;
+
+/**
+ * Counts the number of games which ended with each score.
+ */
+public final class ScoreDistribution {
+
+    /** Number of games which ended with each score, where the index is the score. */
+    private final long[] mScoreCounts;
+    /** Total number of games recorded. */
+    private long mTotalGames;
+    /** Total number of turns played across all games, including the turn which ended each game. */
+    private long mTotalTurns;
+
+    /**
+     * Creates an empty distribution.
+     *
+     * @param maximumScore highest score that can be recorded
+     */
+    public ScoreDistribution(int maximumScore) {
+        mScoreCounts = new long[maximumScore + 1];
+    }
+
+    /**
+     * Records the score of a single game.
+     *
+     * @param score final score of the game
+     */
+    public void record(int score) {
+        mScoreCounts[Math.min(score, mScoreCounts.length - 1)]++;
+        mTotalGames++;
+        mTotalTurns += score + 1;
+    }
+
+    /**
+     * Adds the games recorded by another distribution to this one.
+     *
+     * @param other distribution to add. Must have the same maximum score.
+     */
+    public void merge(ScoreDistribution other) {
+        if (other.mScoreCounts.length != mScoreCounts.length)
+            throw new IllegalArgumentException("distributions must have the same maximum score");
+
+        for (int i = 0; i < mScoreCounts.length; i++)
+            mScoreCounts[i] += other.mScoreCounts[i];
+        mTotalGames += other.mTotalGames;
+        mTotalTurns += other.mTotalTurns;
+    }
+
+    /**
+     * Gets the lowest score which at least {@code percentile} of games did not exceed.
+     *
+     * @param percentile a percentage from 0 to 1
+     * @return the score at the percentile
+     */
+    public int getScoreAtPercentile(double percentile) {
+        final long gamesBelow = (long) Math.ceil(percentile * mTotalGames);
+        long gamesCounted = 0;
+        for (int i = 0; i < mScoreCounts.length; i++) {
+            gamesCounted += mScoreCounts[i];
+            if (gamesCounted >= gamesBelow && gamesCounted > 0)
+                return i;
+        }
+
+        return getMaximumScore();
+    }
+
+    /**
+     * Gets the average score of all games.
+     *
+     * @return mean score
+     */
+    public double getMeanScore() {
+        if (mTotalGames == 0)
+            return 0;
+
+        double total = 0;
+        for (int i = 0; i < mScoreCounts.length; i++)
+            total += (double) i * mScoreCounts[i];
+        return total / mTotalGames;
+    }
+
+    /**
+     * Gets the highest score of any game.
+     *
+     * @return highest recorded score
+     */
+    public int getMaximumScore() {
+        for (int i = mScoreCounts.length - 1; i >= 0; i--) {
+            if (mScoreCounts[i] > 0)
+                return i;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Gets the number of games which ended with the given score.
+     *
+     * @param score score to check
+     * @return number of games
+     */
+    public long getGamesWithScore(int score) {
+        return mScoreCounts[score];
+    }
+
+    /**
+     * Gets the number of games which reached the highest score which can be recorded, and were stopped before ending.
+     *
+     * @return number of games which were stopped early
+     */
+    public long getCappedGames() {
+        return mScoreCounts[mScoreCounts.length - 1];
+    }
+
+    /**
+     * Gets the highest score that can be recorded.
+     *
+     * @return maximum score
+     */
+    public int getScoreLimit() {
+        return mScoreCounts.length - 1;
+    }
+
+    /**
+     * Gets the total number of games recorded.
+     *
+     * @return {@code mTotalGames}
+     */
+    public long getTotalGames() {
+        return mTotalGames;
+    }
+
+    /**
+     * Gets the total number of turns played across all games.
+     *
+     * @return {@code mTotalTurns}
+     */
+    public long getTotalTurns() {
+        return mTotalTurns;
+    }
+}
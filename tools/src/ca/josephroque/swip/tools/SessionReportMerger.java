@@ -0,0 +1,261 @@
+package ca.josephroque.swip.tools;
+
+import ca.josephroque.swip.profiling.LatencyHistogram;
+import ca.josephroque.swip.profiling.SessionReport;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Command line tool which merges the session reports saved by many devices, and prints percentile tables of frame
+ * times, tick times and release latency across all of them. Sessions can be grouped by their build, platform or
+ * renderer, to compare devices.
+ */
+public final class SessionReportMerger {
+
+    /** Percentiles printed for each group. */
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    /** Group which contains every session, when sessions are not grouped. */
+    private static final String ALL_SESSIONS = "all";
+
+    /** Merged reports of each group, sorted by the name of the group. */
+    private final Map<String, MergedSessions> mGroups = new TreeMap<>();
+
+    /**
+     * Default constructor, cannot be instantiated from outside of the tool.
+     */
+    private SessionReportMerger() {
+        // does nothing
+    }
+
+    /**
+     * Runs the tool.
+     *
+     * @param args paths of reports, or directories of reports, optionally preceded by {@code --group-by} and one of
+     * {@code none}, {@code build}, {@code platform} or {@code renderer}, in any case
+     * @throws IOException if a report cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        GroupBy groupBy = GroupBy.None;
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--group-by".equals(args[i]) && i + 1 < args.length)
+                groupBy = GroupBy.parse(args[++i]);
+            else
+                addReports(new File(args[i]), files);
+        }
+
+        if (files.isEmpty())
+            throw new IllegalArgumentException("expected one or more session reports");
+
+        SessionReportMerger merger = new SessionReportMerger();
+        for (File file : files)
+            merger.add(SessionReport.read(Files.readAllBytes(file.toPath())), groupBy);
+
+        System.out.println(String.format(Locale.US, "Merged %d sessions", files.size()));
+        merger.printTable("Frame time (ms)", Metric.FrameTimes);
+        merger.printTable("Tick time (ms)", Metric.TickTimes);
+        merger.printTable("Release latency (ms)", Metric.ReleaseLatencies);
+    }
+
+    /**
+     * Adds a report, or every report in a directory, to the list of reports to merge.
+     *
+     * @param file report or directory of reports
+     * @param files list of reports to merge
+     */
+    private static void addReports(File file, List<File> files) {
+        if (!file.isDirectory()) {
+            files.add(file);
+            return;
+        }
+
+        final File[] children = file.listFiles();
+        if (children == null)
+            return;
+        for (File child : children) {
+            if (child.getName().endsWith(SessionReport.REPORT_EXTENSION))
+                files.add(child);
+        }
+    }
+
+    /**
+     * Merges a report into its group.
+     *
+     * @param report the report
+     * @param groupBy property of the report which names its group
+     */
+    private void add(SessionReport report, GroupBy groupBy) {
+        final String group;
+        switch (groupBy) {
+            case None:
+                group = ALL_SESSIONS;
+                break;
+            case Build:
+                group = report.getBuildVersion();
+                break;
+            case Platform:
+                group = report.getPlatform() + " " + report.getPlatformVersion();
+                break;
+            case Renderer:
+                group = report.getRenderer();
+                break;
+            default:
+                throw new IllegalArgumentException("invalid grouping.");
+        }
+
+        MergedSessions sessions = mGroups.get(group);
+        if (sessions == null) {
+            sessions = new MergedSessions();
+            mGroups.put(group, sessions);
+        }
+        sessions.add(report);
+    }
+
+    /**
+     * Prints the percentiles of a metric for each group.
+     *
+     * @param title title of the table
+     * @param metric metric to print
+     */
+    private void printTable(String title, Metric metric) {
+        System.out.println();
+        System.out.println(title);
+
+        StringBuilder header = new StringBuilder(String.format(Locale.US,
+                "%-32s %8s %10s",
+                "group",
+                "sessions",
+                "count"));
+        for (double percentile : PERCENTILES)
+            header.append(String.format(Locale.US, " %8s", "p" + formatPercentile(percentile)));
+        header.append(String.format(Locale.US, " %8s %8s", "mean", "max"));
+        System.out.println(header);
+
+        for (Map.Entry<String, MergedSessions> group : mGroups.entrySet()) {
+            final LatencyHistogram histogram = group.getValue().get(metric);
+            StringBuilder row = new StringBuilder(String.format(Locale.US,
+                    "%-32s %8d %10d",
+                    group.getKey(),
+                    group.getValue().getTotalSessions(),
+                    histogram.getTotalCount()));
+            for (double percentile : PERCENTILES)
+                row.append(String.format(Locale.US, " %8.2f", histogram.getValueAtPercentile(percentile) / 1000.0));
+            row.append(String.format(Locale.US,
+                    " %8.2f %8.2f",
+                    histogram.getMean() / 1000.0,
+                    histogram.getMaximum() / 1000.0));
+            System.out.println(row);
+        }
+    }
+
+    /**
+     * Formats a percentile without trailing zeros.
+     *
+     * @param percentile the percentile
+     * @return the formatted percentile
+     */
+    private static String formatPercentile(double percentile) {
+        return (percentile == Math.rint(percentile))
+                ? Integer.toString((int) percentile)
+                : Double.toString(percentile);
+    }
+
+    /**
+     * Histograms of every session in a group, merged together.
+     */
+    private static final class MergedSessions {
+
+        /** Merged histogram of each metric, indexed by {@code Metric} ordinals. */
+        private final LatencyHistogram[] mHistograms = new LatencyHistogram[Metric.values().length];
+        /** Number of sessions in the group. */
+        private int mTotalSessions;
+
+        /**
+         * Creates an empty group.
+         */
+        private MergedSessions() {
+            for (int i = 0; i < mHistograms.length; i++)
+                mHistograms[i] = new LatencyHistogram();
+        }
+
+        /**
+         * Merges a report into the group.
+         *
+         * @param report the report
+         */
+        private void add(SessionReport report) {
+            mHistograms[Metric.FrameTimes.ordinal()].merge(report.getFrameTimes());
+            mHistograms[Metric.TickTimes.ordinal()].merge(report.getTickTimes());
+            mHistograms[Metric.ReleaseLatencies.ordinal()].merge(report.getReleaseLatencies());
+            mTotalSessions++;
+        }
+
+        /**
+         * Gets the merged histogram of a metric.
+         *
+         * @param metric the metric
+         * @return the histogram
+         */
+        private LatencyHistogram get(Metric metric) {
+            return mHistograms[metric.ordinal()];
+        }
+
+        /**
+         * Gets the number of sessions in the group.
+         *
+         * @return {@code mTotalSessions}
+         */
+        private int getTotalSessions() {
+            return mTotalSessions;
+        }
+    }
+
+    /**
+     * Metrics recorded by each session.
+     */
+    private enum Metric {
+        /** Time between the start of each frame. */
+        FrameTimes,
+        /** Time taken by each tick. */
+        TickTimes,
+        /** Time from the player lifting their finger to the ball being released. */
+        ReleaseLatencies,
+    }
+
+    /**
+     * Properties which sessions can be grouped by.
+     */
+    private enum GroupBy {
+        /** Every session is in a single group. */
+        None,
+        /** Sessions are grouped by the version of the application. */
+        Build,
+        /** Sessions are grouped by the platform and its version. */
+        Platform,
+        /** Sessions are grouped by the renderer reported by OpenGL. */
+        Renderer;
+
+        /**
+         * Gets the grouping named by a command line argument, ignoring case.
+         *
+         * @param name name of the grouping
+         * @return the grouping
+         */
+        private static GroupBy parse(String name) {
+            for (GroupBy groupBy : values()) {
+                if (groupBy.name().equalsIgnoreCase(name))
+                    return groupBy;
+            }
+
+            throw new IllegalArgumentException("invalid grouping " + name
+                    + ", expected none, build, platform or renderer");
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Desktop tools for developing the game, which are not shipped with it.
+ */
+package ca.josephroque.swip.tools;